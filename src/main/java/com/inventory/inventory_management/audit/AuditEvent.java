@@ -0,0 +1,32 @@
+package com.inventory.inventory_management.audit;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 監査ログ 1 件分の内容（audit_logs テーブルの 1 行に対応）
+ * 操作者・接続元・日時は操作時点のリクエストスレッドで取得し、値の JSON 化は書き込みスレッドで行う。
+ *
+ * @param actionType 操作種別（CREATE / UPDATE / DELETE など）
+ * @param tableName 対象テーブル名
+ * @param recordId 対象レコードの ID
+ * @param userId 操作者のユーザー ID（不明な場合は null）
+ * @param username 操作者のユーザー名（不明な場合は system）
+ * @param oldValue 変更前の値（変更された項目のみ、新規作成の場合は null）
+ * @param newValue 変更後の値（変更された項目のみ）
+ * @param ipAddress 接続元 IP アドレス
+ * @param userAgent User-Agent
+ * @param createdAt 操作日時
+ */
+public record AuditEvent(
+        String actionType,
+        String tableName,
+        String recordId,
+        Integer userId,
+        String username,
+        Map<String, Object> oldValue,
+        Map<String, Object> newValue,
+        String ipAddress,
+        String userAgent,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,447 @@
+package com.inventory.inventory_management.audit;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.inventory.inventory_management.security.UserDetailsImpl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 監査ログ（audit_logs テーブル）の非同期書き込み
+ * <p>
+ * 操作時点では変更前後の値と操作者の情報を上限付きのロックフリーなキューに積むだけで、INSERT は行いません。
+ * 専用の書き込みスレッドがキューから一定件数（batch-size）ずつ取り出し、複数行の INSERT 1 文で書き込みます。
+ * 件数が揃わない場合も flush-interval ごとに書き込みます。
+ * </p>
+ * <p>
+ * トランザクション内で記録した操作は、コミット後にキューへ積みます（ロールバックした変更は記録しない）。
+ * キューが満杯の場合の扱いは overflow-policy で選択します。
+ * <ul>
+ * <li>block: 書き込みスレッドが空きを作るまで block-timeout だけ待ち、空かなければ破棄する（既定）</li>
+ * <li>drop-newest: 新しいログを破棄する</li>
+ * <li>drop-oldest: 最も古いログを破棄して新しいログを積む</li>
+ * </ul>
+ * 破棄した件数は統計に記録し、ログの出力は 1, 2, 4, 8... 件目に抑えます。
+ * 終了時はキューに残ったログを書き切ってから停止します（shutdown-timeout まで）。
+ * </p>
+ */
+@Component
+public class AuditLogWriter implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_logs (action_type, table_name, record_id, user_id, "
+            + "username, old_value, new_value, ip_address, user_agent, created_at) VALUES ";
+
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int COLUMNS = 10;
+
+    /** ユーザー名・レコード ID 列の長さ */
+    private static final int SHORT_COLUMN_LENGTH = 50;
+
+    private static final String SYSTEM_USER = "system";
+
+    /**
+     * キューが満杯の場合の扱い
+     */
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JsonMapper jsonMapper;
+
+    private final Clock clock;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long blockTimeoutNanos;
+
+    private final long shutdownTimeoutMillis;
+
+    /** 満杯の場合の SQL（件数が揃った場合に再利用する） */
+    private final String fullBatchSql;
+
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+
+    /** キューの件数（上限の判定に使う。ConcurrentLinkedQueue#size は全件を数えるため使わない） */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong enqueued = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong flushes = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    private volatile Thread writerThread;
+
+    /**
+     * コンストラクタ
+     * @param jdbcTemplate JDBC テンプレート
+     * @param jsonMapper 変更前後の値の JSON 化に使うマッパー
+     * @param capacity キューの上限件数
+     * @param batchSize 1 回の INSERT で書き込む最大件数
+     * @param flushIntervalMillis 件数が揃わない場合に書き込む間隔（ミリ秒）
+     * @param overflowPolicy キューが満杯の場合の扱い
+     * @param blockTimeoutMillis block の場合に空きを待つ最大時間（ミリ秒）
+     * @param shutdownTimeoutMillis 終了時に残りを書き込む最大時間（ミリ秒）
+     */
+    @Autowired
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper,
+            @Value("${audit.queue-capacity:10000}") int capacity,
+            @Value("${audit.batch-size:100}") int batchSize,
+            @Value("${audit.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${audit.overflow-policy:block}") OverflowPolicy overflowPolicy,
+            @Value("${audit.block-timeout-ms:50}") long blockTimeoutMillis,
+            @Value("${audit.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this(jdbcTemplate, jsonMapper, Clock.systemDefaultZone(), capacity, batchSize, flushIntervalMillis,
+                overflowPolicy, blockTimeoutMillis, shutdownTimeoutMillis);
+    }
+
+    AuditLogWriter(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper, Clock clock, int capacity, int batchSize,
+            long flushIntervalMillis, OverflowPolicy overflowPolicy, long blockTimeoutMillis,
+            long shutdownTimeoutMillis) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("audit.queue-capacity と audit.batch-size は 1 以上を指定してください");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.clock = clock;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.fullBatchSql = insertSql(batchSize);
+    }
+
+    /**
+     * 書き込みスレッドを開始する
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Thread thread = new Thread(this::runWriter, "audit-log-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        logger.info("監査ログ書き込みを開始: capacity={}, batchSize={}, overflowPolicy={}",
+                capacity, batchSize, overflowPolicy);
+    }
+
+    /**
+     * 新しい記録の受け付けを止め、キューに残ったログを書き切ってから停止する
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        thread.join(shutdownTimeoutMillis);
+        if (thread.isAlive()) {
+            logger.error("監査ログを書き切れないまま停止します: remaining={}", queued.get());
+        } else {
+            logger.info("監査ログ書き込みを停止: written={}, dropped={}, failed={}",
+                    written.get(), dropped.get(), failed.get());
+        }
+    }
+
+    /**
+     * 操作を記録する
+     * 変更前後で値が同じ項目は記録せず、変更された項目がない更新は記録しない。
+     * トランザクション内の場合はコミット後にキューへ積む。
+     * @param actionType 操作種別
+     * @param tableName 対象テーブル名
+     * @param recordId 対象レコードの ID
+     * @param oldValue 変更前の値（新規作成の場合は null）
+     * @param newValue 変更後の値
+     */
+    public void record(String actionType, String tableName, Object recordId,
+            Map<String, Object> oldValue, Map<String, Object> newValue) {
+        Map<String, Object> changedOld = oldValue;
+        Map<String, Object> changedNew = newValue;
+        if (oldValue != null && newValue != null) {
+            changedOld = new LinkedHashMap<>();
+            changedNew = new LinkedHashMap<>();
+            Set<String> keys = new HashSet<>(oldValue.keySet());
+            keys.addAll(newValue.keySet());
+            for (String key : keys) {
+                Object before = oldValue.get(key);
+                Object after = newValue.get(key);
+                if (!Objects.equals(before, after)) {
+                    changedOld.put(key, before);
+                    changedNew.put(key, after);
+                }
+            }
+            if (changedNew.isEmpty()) {
+                return;
+            }
+        }
+        AuditEvent event = captureEvent(actionType, tableName, String.valueOf(recordId), changedOld, changedNew);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * 書き込み状況を取得
+     * @return キューの件数と書き込み・破棄・失敗の件数
+     */
+    public Stats getStats() {
+        return new Stats(queued.get(), capacity, overflowPolicy, enqueued.get(), written.get(), dropped.get(),
+                failed.get(), flushes.get());
+    }
+
+    /**
+     * キューに積む（満杯の場合は overflow-policy に従う）
+     * @param event 監査ログ
+     * @return キューに積んだ場合 true
+     */
+    boolean enqueue(AuditEvent event) {
+        if (!running) {
+            drop("停止後の記録");
+            return false;
+        }
+        long blockDeadline = 0;
+        while (true) {
+            int size = queued.get();
+            if (size < capacity) {
+                if (queued.compareAndSet(size, size + 1)) {
+                    queue.offer(event);
+                    enqueued.incrementAndGet();
+                    if (size + 1 >= batchSize) {
+                        wakeWriter();
+                    }
+                    return true;
+                }
+                continue;
+            }
+            switch (overflowPolicy) {
+                case DROP_NEWEST -> {
+                    drop("キューが満杯");
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    if (queue.poll() != null) {
+                        queued.decrementAndGet();
+                        drop("キューが満杯のため最も古いログを破棄");
+                    }
+                }
+                case BLOCK -> {
+                    long now = System.nanoTime();
+                    if (blockDeadline == 0) {
+                        blockDeadline = now + blockTimeoutNanos;
+                    } else if (now - blockDeadline >= 0) {
+                        drop("キューの空き待ちがタイムアウト");
+                        return false;
+                    }
+                    wakeWriter();
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * キューから最大 batch-size 件を取り出して書き込む
+     * @return 取り出した件数
+     */
+    int flush() {
+        List<AuditEvent> batch = new ArrayList<>(Math.min(batchSize, Math.max(queued.get(), 1)));
+        AuditEvent event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        queued.addAndGet(-batch.size());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEvent audit : batch) {
+            rows.add(toRow(audit));
+        }
+        try {
+            jdbcTemplate.update(batch.size() == batchSize ? fullBatchSql : insertSql(batch.size()), flatten(rows));
+            written.addAndGet(batch.size());
+            flushes.incrementAndGet();
+        } catch (DataAccessException e) {
+            // 1 件の不正な行で全件を失わないよう、1 行ずつ書き込み直す
+            logger.warn("監査ログの一括書き込みに失敗したため 1 件ずつ書き込みます: rows={}, error={}",
+                    rows.size(), e.getMessage());
+            for (Object[] row : rows) {
+                try {
+                    jdbcTemplate.update(insertSql(1), row);
+                    written.incrementAndGet();
+                } catch (DataAccessException rowError) {
+                    failed.incrementAndGet();
+                    logger.error("監査ログを書き込めませんでした: action={}, table={}, recordId={}, error={}",
+                            row[0], row[1], row[2], rowError.getMessage());
+                }
+            }
+        }
+        return batch.size();
+    }
+
+    private void runWriter() {
+        while (running || queued.get() > 0) {
+            try {
+                int flushed = flush();
+                if (flushed < batchSize && running) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                logger.error("監査ログ書き込みスレッドでエラーが発生しました: error={}", e.getMessage(), e);
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    private void wakeWriter() {
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void drop(String reason) {
+        long count = dropped.incrementAndGet();
+        if (Long.bitCount(count) == 1) {
+            logger.warn("監査ログを破棄しました: reason={}, dropped={}, capacity={}", reason, count, capacity);
+        }
+    }
+
+    /**
+     * 操作者・接続元・日時を現在のスレッドから取得して監査ログを組み立てる
+     */
+    private AuditEvent captureEvent(String actionType, String tableName, String recordId,
+            Map<String, Object> oldValue, Map<String, Object> newValue) {
+        Integer userId = null;
+        String username = SYSTEM_USER;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            username = authentication.getName();
+            if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+                userId = userDetails.getUser().getId();
+            }
+        }
+        String ipAddress = null;
+        String userAgent = null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            ipAddress = request.getRemoteAddr();
+            userAgent = request.getHeader("User-Agent");
+        }
+        return new AuditEvent(actionType, tableName, truncate(recordId, SHORT_COLUMN_LENGTH), userId,
+                truncate(username, SHORT_COLUMN_LENGTH), oldValue, newValue, ipAddress, userAgent,
+                LocalDateTime.now(clock));
+    }
+
+    private Object[] toRow(AuditEvent event) {
+        return new Object[] {
+                event.actionType(), event.tableName(), event.recordId(), event.userId(), event.username(),
+                toJson(event.oldValue()), toJson(event.newValue()), event.ipAddress(), event.userAgent(),
+                Timestamp.valueOf(event.createdAt())};
+    }
+
+    private String toJson(Map<String, Object> values) {
+        return values == null ? null : jsonMapper.writeValueAsString(values);
+    }
+
+    private static Object[] flatten(List<Object[]> rows) {
+        Object[] args = new Object[rows.size() * COLUMNS];
+        for (int i = 0; i < rows.size(); i++) {
+            System.arraycopy(rows.get(i), 0, args, i * COLUMNS, COLUMNS);
+        }
+        return args;
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 監査ログの書き込み状況
+     * @param queued キューの件数
+     * @param capacity キューの上限件数
+     * @param overflowPolicy キューが満杯の場合の扱い
+     * @param enqueued キューに積んだ件数
+     * @param written 書き込んだ件数
+     * @param dropped キューが満杯などの理由で破棄した件数
+     * @param failed 書き込みに失敗した件数
+     * @param flushes 複数行 INSERT の実行回数
+     */
+    public record Stats(int queued, int capacity, OverflowPolicy overflowPolicy, long enqueued, long written,
+            long dropped, long failed, long flushes) {
+    }
+}
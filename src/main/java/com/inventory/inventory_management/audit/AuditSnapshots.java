@@ -0,0 +1,67 @@
+package com.inventory.inventory_management.audit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.hibernate.Hibernate;
+
+import com.inventory.inventory_management.entity.Product;
+import com.inventory.inventory_management.entity.User;
+
+/**
+ * 監査ログに記録するエンティティの値の抽出
+ * 変更前後の比較に使うため、毎回変わる更新日時などは含めない。
+ */
+public final class AuditSnapshots {
+
+    private AuditSnapshots() {
+    }
+
+    /**
+     * 商品の値を抽出する
+     * @param product 商品
+     * @return 項目名と値（null を含む）
+     */
+    public static Map<String, Object> product(Product product) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("productCode", product.getProductCode());
+        values.put("productName", product.getProductName());
+        values.put("category", product.getCategory());
+        values.put("sku", product.getSku());
+        values.put("price", product.getPrice());
+        values.put("stock", product.getStock());
+        values.put("status", product.getStatus());
+        values.put("description", product.getDescription());
+        values.put("warrantyMonths", product.getWarrantyMonths());
+        values.put("dimensions", product.getDimensions());
+        values.put("variations", product.getVariations());
+        values.put("manufacturingDate", product.getManufacturingDate());
+        values.put("expirationDate", product.getExpirationDate());
+        values.put("tags", product.getTags());
+        values.put("deletedAt", product.getDeletedAt());
+        return values;
+    }
+
+    /**
+     * ユーザーの値を抽出する（パスワードは含めない）
+     * ロールは読み込み済みの場合のみ含める（監査のために遅延読み込みを発生させない）
+     * @param user ユーザー
+     * @return 項目名と値（null を含む）
+     */
+    public static Map<String, Object> user(User user) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("username", user.getUsername());
+        values.put("email", user.getEmail());
+        values.put("fullName", user.getFullName());
+        values.put("isActive", user.getIsActive());
+        if (user.getUserRoles() != null && Hibernate.isInitialized(user.getUserRoles())) {
+            values.put("roles", user.getUserRoles().stream()
+                    .map(userRole -> userRole.getRole() != null ? userRole.getRole().getRoleName() : null)
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .toList());
+        }
+        return values;
+    }
+}
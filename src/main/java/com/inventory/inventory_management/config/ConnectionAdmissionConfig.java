@@ -0,0 +1,49 @@
+package com.inventory.inventory_management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 接続プールの取得制限設定クラス
+ * Hikari の接続プールを {@link ConnectionAdmissionDataSource} で包み、
+ * 最後の reserved-connections 本を主キー採番などの入れ子の接続取得のために空けておきます。
+ */
+@Configuration
+public class ConnectionAdmissionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionAdmissionConfig.class);
+
+    /**
+     * 接続プールを取得制限付きの DataSource で包む
+     * reserved-connections が 0 以下の場合、またはプールの最大接続数以上の場合は包まない
+     * @param environment Springの環境情報
+     * @return Bean ポストプロセッサー
+     */
+    @Bean
+    public static BeanPostProcessor connectionAdmissionPostProcessor(Environment environment) {
+        int reserved = environment.getProperty("inventory.datasource.reserved-connections", Integer.class, 1);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool) || reserved <= 0) {
+                    return bean;
+                }
+                int maxOuterConnections = pool.getMaximumPoolSize() - reserved;
+                if (maxOuterConnections <= 0) {
+                    logger.warn("接続プールの最大接続数が少ないため取得制限を行いません: maximumPoolSize={}, reserved={}",
+                            pool.getMaximumPoolSize(), reserved);
+                    return bean;
+                }
+                logger.info("接続プールの取得制限を設定: maximumPoolSize={}, reserved={}",
+                        pool.getMaximumPoolSize(), reserved);
+                return new ConnectionAdmissionDataSource(pool, maxOuterConnections, pool.getConnectionTimeout());
+            }
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.inventory.inventory_management.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 接続プールの最後の数本を入れ子の接続取得のために空けておく DataSource
+ * <p>
+ * 主キーの採番テーブル（id_generators）からの ID ブロックの取得は、Hibernate・{@code IdBlockAllocator} とも
+ * 呼び出し元のトランザクションの接続を保持したまま、別の接続を取得して行います。
+ * プールの接続をすべて呼び出し元のトランザクションが保持していると、この入れ子の取得は空きが出るまで待ち、
+ * 採番を待つ他のトランザクションも接続を返さないため、接続タイムアウトまで停止します
+ * （プラットフォームスレッドでも起きますが、仮想スレッドでは同時に実行するリクエスト数の上限がないため起きやすくなります）。
+ * </p>
+ * <p>
+ * そこで、接続を保持していないスレッドによる取得（外側の取得）は、プールの最大接続数から reserve を引いた数までに制限し、
+ * すでに接続を保持しているスレッドによる取得（入れ子の取得）は制限しません。
+ * 外側の取得の待機は仮想スレッドを固定しないため、多数のリクエストが待つ場合もキャリアスレッドを消費しません。
+ * </p>
+ */
+public class ConnectionAdmissionDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    /** スレッドごとの保持中の接続数（別スレッドで閉じられた場合も取得したスレッドの数を減らす） */
+    private final ThreadLocal<AtomicInteger> heldConnections = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private final Semaphore permits;
+
+    private final int maxOuterConnections;
+
+    private final long timeoutMillis;
+
+    private final LongAdder outerAcquired = new LongAdder();
+
+    private final LongAdder nestedAcquired = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * コンストラクタ
+     * @param target 接続プール
+     * @param maxOuterConnections 外側の取得で同時に保持できる接続数
+     * @param timeoutMillis 外側の取得の待機時間の上限（ミリ秒）
+     */
+    public ConnectionAdmissionDataSource(DataSource target, int maxOuterConnections, long timeoutMillis) {
+        super(target);
+        if (maxOuterConnections <= 0) {
+            throw new IllegalArgumentException("外側の取得で保持できる接続数は1以上を指定してください");
+        }
+        this.permits = new Semaphore(maxOuterConnections, true);
+        this.maxOuterConnections = maxOuterConnections;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return admit(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return admit(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection admit(ConnectionSupplier supplier) throws SQLException {
+        AtomicInteger held = heldConnections.get();
+        boolean outer = held.get() == 0;
+        if (outer) {
+            acquirePermit();
+        }
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            if (outer) {
+                permits.release();
+            }
+            throw e;
+        }
+        held.incrementAndGet();
+        (outer ? outerAcquired : nestedAcquired).increment();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class}, new AdmittedConnection(connection, held, outer));
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "接続を取得できませんでした（待機時間の上限を超えました）: timeout=" + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("接続の取得待ちが中断されました", e);
+        }
+    }
+
+    /**
+     * 接続プールを閉じる（アプリの終了時）
+     * @throws Exception 接続プールを閉じる際の例外
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    /**
+     * 統計を取得する
+     * @return 統計
+     */
+    public Stats getStats() {
+        return new Stats(maxOuterConnections, maxOuterConnections - permits.availablePermits(),
+                permits.getQueueLength(), outerAcquired.sum(), nestedAcquired.sum(), timeouts.sum());
+    }
+
+    /**
+     * 接続の取得の統計
+     * @param maxOuterConnections 外側の取得で同時に保持できる接続数
+     * @param outerConnections 外側の取得で保持中の接続数
+     * @param waiting 外側の取得を待っているスレッド数（概算）
+     * @param outerAcquired 外側の取得の件数
+     * @param nestedAcquired 入れ子の取得の件数
+     * @param timeouts 外側の取得が待機時間の上限を超えた件数
+     */
+    public record Stats(int maxOuterConnections, int outerConnections, int waiting,
+            long outerAcquired, long nestedAcquired, long timeouts) {
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * 閉じたときに保持数を減らし、外側の取得の場合は枠を返す接続
+     */
+    private final class AdmittedConnection implements InvocationHandler {
+
+        private final Connection target;
+
+        private final AtomicInteger held;
+
+        private final boolean outer;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        AdmittedConnection(Connection target, AtomicInteger held, boolean outer) {
+            this.target = target;
+            this.held = held;
+            this.outer = outer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            held.decrementAndGet();
+                            if (outer) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    if (closed.get()) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.inventory.inventory_management.config;
+
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JPA 主キー採番設定クラス
+ * 採番テーブル（id_generators）を使う @TableGenerator の最適化方式を pooled-lo に固定します。
+ * <p>
+ * ID ブロックの取得は呼び出し元の接続を保持したまま別の接続で行うため、接続プールが呼び出し元の接続で埋まると
+ * 接続タイムアウトまで停止します。{@link ConnectionAdmissionConfig} がこの取得のための接続を空けておきます。
+ * </p>
+ */
+@Configuration
+public class JpaIdGenerationConfig {
+
+    /**
+     * Hibernate の採番最適化方式の設定
+     * pooled-lo では next_val（割り当て済みの最後の ID）の次から増分数ぶんを払い出すため、
+     * JDBC 一括登録用の IdBlockAllocator と同じ規約で採番テーブルを共有できる（プロファイル設定に依存させない）
+     * @return Hibernate プロパティカスタマイザー
+     */
+    @Bean
+    public HibernatePropertiesCustomizer pooledLoOptimizerCustomizer() {
+        return properties -> {
+            properties.put("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+            properties.put("hibernate.id.generator.stored_last_used", "true");
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventory.inventory_management.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.inventory.inventory_management.dto.response.InventoryApiResponse;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * API レスポンスの JSON シリアライザーの事前解決
+ * <p>
+ * Jackson はレスポンスの型ごとのシリアライザーを初回の変換時に作成し、マッパー内にキャッシュします。
+ * 在庫 API のレスポンス（{@link InventoryApiResponse} の実装レコード）について起動時に作成しておき、
+ * 初回のリクエストでレコードの解析を行わないようにします。
+ * 対象の型は sealed インターフェースの許可された実装から求めるため、レスポンスを追加した場合も自動で対象になります。
+ * </p>
+ */
+@Component
+public class JsonSerializerPreloader implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonSerializerPreloader.class);
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * コンストラクタ
+     * @param jsonMapper HTTP メッセージ変換と共有する JSON マッパー
+     */
+    public JsonSerializerPreloader(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * 全 Bean の作成後に、在庫 API のレスポンスのシリアライザーを解決する
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        List<Class<?>> types = preloadedTypes();
+        // ObjectWriter は作成時にルートの型のシリアライザーを解決し、マッパーのキャッシュに登録する
+        types.forEach(jsonMapper::writerFor);
+        logger.info("APIレスポンスのシリアライザーを解決: types={}, elapsed={}ms",
+                types.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 事前に解決する型を返す
+     * @return 在庫 API のレスポンスの型
+     */
+    static List<Class<?>> preloadedTypes() {
+        List<Class<?>> types = new ArrayList<>();
+        for (Class<?> type : InventoryApiResponse.class.getPermittedSubclasses()) {
+            types.add(type);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.inventory_management.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 静的リソース（css・js・images）の配信設定
+ * <p>
+ * テンプレートの {@code @{/js/inventory.js}} は、{@link ResourceUrlEncodingFilter} により内容のハッシュ付きの URL
+ * （例: /js/inventory-&lt;MD5&gt;.js）に書き換えて出力します。内容が変われば URL も変わるため、ハッシュ付きの URL には
+ * 長期間（既定 1 年）の immutable なキャッシュを指定し、ブラウザは画面遷移のたびに再検証しません。
+ * ハッシュなしの URL で要求された場合は従来どおり Last-Modified による再検証とします。
+ * </p>
+ * <p>
+ * ビルド時に作成した圧縮済みファイル（style.css.gz など、pom.xml の precompress-static-resources）があり、
+ * クライアントが対応している場合は、リクエストのたびに圧縮せずにそのファイルを返します（.br があれば優先）。
+ * URL の解決結果はリソースチェーンのキャッシュに保持するため、ハッシュの計算はファイルごとに初回のみです。
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /** 静的リソースのパス */
+    private static final String[] RESOURCE_PATHS = { "css", "js", "images" };
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+    private final CacheControl versionedCacheControl;
+
+    /**
+     * コンストラクタ
+     *
+     * @param resourceUrlProvider 静的リソースの URL の変換（MVC 設定で作成されるため、リクエスト時に取得する）
+     * @param maxAge              ハッシュ付き URL のキャッシュ有効期間
+     */
+    public StaticResourceConfig(ObjectProvider<ResourceUrlProvider> resourceUrlProvider,
+            @Value("${inventory.static-resources.max-age:365d}") Duration maxAge) {
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.versionedCacheControl = CacheControl.maxAge(maxAge).cachePublic().immutable();
+        log.info("静的リソース配信設定: versionedCacheControl={}", versionedCacheControl.getHeaderValue());
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String path : RESOURCE_PATHS) {
+            registry.addResourceHandler("/" + path + "/**")
+                    .addResourceLocations("classpath:/static/" + path + "/")
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VersionedResourceCacheInterceptor(resourceUrlProvider, versionedCacheControl))
+                .addPathPatterns(Arrays.stream(RESOURCE_PATHS).map(path -> "/" + path + "/**").toArray(String[]::new));
+    }
+
+    /**
+     * テンプレートが出力する静的リソースの URL をハッシュ付きの URL に書き換えるフィルター
+     * Spring Security は URL の encode を無効化するため、セキュリティフィルターより内側（既定の順序）に登録する
+     *
+     * @return フィルター登録
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+    }
+}
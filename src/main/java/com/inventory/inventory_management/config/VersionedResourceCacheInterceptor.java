@@ -0,0 +1,48 @@
+package com.inventory.inventory_management.config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ハッシュ付きの URL で要求された静的リソースに、長期間の immutable なキャッシュ制御を付けるインターセプター
+ * <p>
+ * 要求された URL からハッシュを除いたパスを {@link ResourceUrlProvider} でハッシュ付きの URL に変換し、
+ * 要求された URL と一致する場合（現在の内容のハッシュである場合）のみ Cache-Control を付けます。
+ * ハッシュなしの URL や、古い内容のハッシュ（404 になる）の場合は何もしません。
+ * </p>
+ */
+class VersionedResourceCacheInterceptor implements HandlerInterceptor {
+
+    /** ハッシュ付きのファイル名（name-&lt;MD5&gt;.ext） */
+    private static final Pattern VERSIONED_PATH = Pattern.compile("^(.+)-[0-9a-f]{32}(\\.[^./]+)$");
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+    private final String cacheControl;
+
+    VersionedResourceCacheInterceptor(ObjectProvider<ResourceUrlProvider> resourceUrlProvider,
+            CacheControl cacheControl) {
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.cacheControl = cacheControl.getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String lookupPath = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = VERSIONED_PATH.matcher(lookupPath);
+        if (matcher.matches()
+                && lookupPath.equals(resourceUrlProvider.getObject().getForLookupPath(matcher.group(1) + matcher.group(2)))) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return true;
+    }
+}
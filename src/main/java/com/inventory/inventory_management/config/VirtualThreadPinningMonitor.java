@@ -0,0 +1,185 @@
+package com.inventory.inventory_management.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * 仮想スレッドの固定（pinning）の検出
+ * <p>
+ * 仮想スレッドで実行する設定（spring.threads.virtual.enabled=true）の場合のみ有効になり、
+ * JFR の jdk.VirtualThreadPinned イベントをアプリ内で購読します。
+ * synchronized ブロック内でのデータベースアクセスなど、仮想スレッドがキャリアスレッドを手放せずに
+ * threshold-ms 以上待った箇所を、このアプリのクラス（com.inventory）の最も内側のフレームで集計して警告ログに出力します。
+ * 同じ箇所のログの出力は 1, 2, 4, 8... 件目に抑えます。
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "inventory.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.inventory.";
+
+    /** アプリのクラスのフレームがない場合の箇所 */
+    static final String UNKNOWN_SITE = "(unknown)";
+
+    /** 集計する箇所数の上限（超えた分は件数のみ数える） */
+    static final int MAX_SITES = 100;
+
+    private final Duration threshold;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    private final LongAdder pinned = new LongAdder();
+
+    private final LongAdder totalPinnedNanos = new LongAdder();
+
+    private final AtomicLong maxPinnedNanos = new AtomicLong();
+
+    private RecordingStream stream;
+
+    /**
+     * コンストラクタ
+     * @param thresholdMs 記録する固定時間の下限（ミリ秒）
+     */
+    public VirtualThreadPinningMonitor(
+            @Value("${inventory.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        if (thresholdMs < 0) {
+            throw new IllegalArgumentException("threshold-ms は0以上を指定してください");
+        }
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    /**
+     * JFR イベントの購読を開始する
+     */
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT_NAME, this::onPinned);
+        stream.startAsync();
+        logger.info("仮想スレッドの固定の検出を開始: threshold={}ms", threshold.toMillis());
+    }
+
+    /**
+     * JFR イベントの購読を終了する
+     */
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+        Stats stats = getStats();
+        if (stats.pinned() > 0) {
+            logger.info("仮想スレッドの固定の検出を終了: pinned={}, maxPinnedMillis={}, sites={}",
+                    stats.pinned(), stats.maxPinnedMillis(), stats.sites());
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        record(site(event.getStackTrace()), event.getDuration(), thread != null ? thread.getJavaName() : null);
+    }
+
+    /**
+     * 固定を 1 件記録する
+     * @param site 箇所（クラス名.メソッド名:行番号）
+     * @param duration 固定していた時間
+     * @param threadName スレッド名
+     */
+    void record(String site, Duration duration, String threadName) {
+        long nanos = duration.toNanos();
+        pinned.increment();
+        totalPinnedNanos.add(nanos);
+        maxPinnedNanos.accumulateAndGet(nanos, Math::max);
+
+        LongAdder count = sites.get(site);
+        if (count == null && sites.size() < MAX_SITES) {
+            count = sites.computeIfAbsent(site, key -> new LongAdder());
+        }
+        if (count == null) {
+            return;
+        }
+        count.increment();
+        long occurrences = count.sum();
+        if (Long.bitCount(occurrences) == 1) {
+            logger.warn("仮想スレッドの固定を検出しました: site={}, durationMillis={}, thread={}, occurrences={}",
+                    site, duration.toMillis(), threadName, occurrences);
+        }
+    }
+
+    /**
+     * スタックトレースから固定の箇所を求める
+     * @param stackTrace スタックトレース（取得できない場合は null）
+     * @return このアプリのクラスの最も内側のフレーム（クラス名.メソッド名:行番号）
+     */
+    static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN_SITE;
+        }
+        return site(stackTrace.getFrames());
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame() || frame.getMethod() == null) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (className.startsWith(APPLICATION_PACKAGE)) {
+                return className + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return UNKNOWN_SITE;
+    }
+
+    /**
+     * 統計を取得する
+     * @return 統計
+     */
+    public Stats getStats() {
+        Map<String, Long> counts = new TreeMap<>();
+        sites.forEach((site, count) -> counts.put(site, count.sum()));
+        return new Stats(threshold.toMillis(), pinned.sum(),
+                Duration.ofNanos(totalPinnedNanos.sum()).toMillis(),
+                Duration.ofNanos(maxPinnedNanos.get()).toMillis(), counts);
+    }
+
+    /**
+     * 仮想スレッドの固定の統計
+     * @param thresholdMillis 記録する固定時間の下限（ミリ秒）
+     * @param pinned 検出した固定の件数
+     * @param totalPinnedMillis 固定していた時間の合計（ミリ秒）
+     * @param maxPinnedMillis 固定していた時間の最大（ミリ秒）
+     * @param sites 箇所ごとの件数（上限を超えた箇所は含まない）
+     */
+    public record Stats(long thresholdMillis, long pinned, long totalPinnedMillis, long maxPinnedMillis,
+            Map<String, Long> sites) {
+    }
+}
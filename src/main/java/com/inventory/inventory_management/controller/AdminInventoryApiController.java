@@ -1,11 +1,12 @@
 package com.inventory.inventory_management.controller;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,11 +15,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.inventory.inventory_management.dto.request.SearchCriteriaDto;
 import com.inventory.inventory_management.dto.request.UpdateStockRequest;
+import com.inventory.inventory_management.dto.response.ApiErrorResponse;
+import com.inventory.inventory_management.dto.response.InventoryApiResponse;
+import com.inventory.inventory_management.dto.response.InventoryItemsResponse;
+import com.inventory.inventory_management.dto.response.ProductActionResponse;
+import com.inventory.inventory_management.dto.response.ProductSummaryDto;
+import com.inventory.inventory_management.dto.response.StockHistoryBatchResponse;
+import com.inventory.inventory_management.dto.response.StockHistoryResponse;
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
 import com.inventory.inventory_management.entity.Product;
-import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.service.AdminInventoryService;
+import com.inventory.inventory_management.service.CatalogVersion;
+import com.inventory.inventory_management.service.InventoryItemService;
+import com.inventory.inventory_management.service.StockChangeBroadcaster;
+import com.inventory.inventory_management.view.InventoryRowCache;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +42,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * 管理者用在庫管理API コントローラー
- * 在庫更新・履歴取得・商品削除復元などのAPI処理を提供
+ * 在庫一覧取得・在庫変更の配信・在庫更新・履歴取得（複数商品の一括取得を含む）・商品削除復元・在庫一覧行キャッシュの利用状況などのAPI処理を提供
  */
 @Slf4j
 @RestController
@@ -36,15 +52,94 @@ public class AdminInventoryApiController {
 
     private final AdminInventoryService adminInventoryService;
 
+    private final InventoryItemService inventoryItemService;
+
+    private final InventoryRowCache inventoryRowCache;
+
+    private final CatalogVersion catalogVersion;
+
+    private final StockChangeBroadcaster stockChangeBroadcaster;
+
+    /**
+     * 在庫一覧の商品を取得（画面の行をその場で更新するための API）
+     * 検索条件は管理者用在庫一覧画面と同じ。ページ番号の代わりにカーソル（前回の nextCursor）でも取得できる
+     * @param criteria 検索条件（SearchCriteriaDto）
+     * @param cursor カーソル
+     * @param size 取得件数（デフォルト：画面のページサイズ、最大100）
+     * @param webRequest リクエスト（条件付き GET の判定に使用）
+     * @return ResponseEntity（商品リスト・次のページのカーソル。商品・在庫が変わっていない場合は 304）
+     */
+    @GetMapping("/products")
+    public ResponseEntity<InventoryApiResponse> getProducts(
+            SearchCriteriaDto criteria,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            ServletWebRequest webRequest) {
+        try {
+            // 商品・在庫が前回の取得から変わっていなければ、検索を行わずに 304 を返す
+            String etag = catalogVersion.requestEtag("admin-products", webRequest.getRequest());
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL).build();
+            }
+
+            // 版は検索前に読む（検索中に更新された場合、次回の取得で再検索されるようにする）
+            String version = catalogVersion.getVersion();
+            InventoryItemService.InventoryItems result = inventoryItemService.findItems(
+                    criteria.getSearch(),
+                    criteria.getCategory(),
+                    criteria.getStatus(),
+                    criteria.getStock(),
+                    criteria.getSort(),
+                    criteria.isIncludeDeleted(),
+                    criteria.getPage(),
+                    cursor,
+                    size);
+
+            return ResponseEntity.ok().eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL)
+                    .body(InventoryItemsResponse.of(version, result.items(), result.nextCursor()));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("在庫一覧取得バリデーションエラー: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiErrorResponse.of(e.getMessage()));
+
+        } catch (Exception e) {
+            log.error("在庫一覧取得時にエラーが発生: error={}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiErrorResponse.of("在庫情報の取得に失敗しました。"));
+        }
+    }
+
+    /**
+     * 在庫変更の配信を購読（Server-Sent Events）
+     * 在庫更新のコミット後に stock イベント（商品ID・在庫数・在庫状態）を送る。
+     * 未送信の変更が溜まりすぎた場合は resync イベントを送るため、在庫一覧 API で行を取得し直すこと
+     * @return ResponseEntity（イベントストリーム。購読数が上限に達している場合は 503）
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStockChanges() {
+        try {
+            SseEmitter emitter = stockChangeBroadcaster.subscribe();
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    // リバースプロキシでイベントが溜め込まれないようにする
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+
+        } catch (IllegalStateException e) {
+            log.warn("在庫変更の購読を拒否: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
     /**
      * 在庫を更新（入庫・出庫・在庫数直接設定）
      * @param request 在庫更新リクエスト（UpdateStockRequest）
      * @return ResponseEntity（成功/エラー情報）
      */
     @PostMapping("/update-stock")
-    public ResponseEntity<Map<String, Object>> updateStock(@Valid @RequestBody UpdateStockRequest request) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<InventoryApiResponse> updateStock(@Valid @RequestBody UpdateStockRequest request) {
         try {
             log.info("在庫更新リクエスト: productId={}, type={}, quantity={}", 
                     request.getProductId(), request.getTransactionType(), request.getQuantity());
@@ -72,35 +167,22 @@ public class AdminInventoryApiController {
                     message = "在庫更新が完了しました。";
             }
 
-            response.put("success", true);
-            response.put("message", message);
-            response.put("product", Map.of(
-                    "id", updatedProduct.getId(),
-                    "productName", updatedProduct.getProductName(),
-                    "stock", updatedProduct.getStock()
-            ));
-
             log.info("在庫更新成功: productId={}, newStock={}", 
                     request.getProductId(), updatedProduct.getStock());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ProductActionResponse.of(message, ProductSummaryDto.withStock(updatedProduct)));
 
         } catch (IllegalArgumentException e) {
             log.warn("在庫更新バリデーションエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (IllegalStateException e) {
             log.warn("在庫更新ビジネスエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (Exception e) {
             log.error("在庫更新時にエラーが発生: error={}", e.getMessage(), e);
-            response.put("success", false);
-            response.put("message", "在庫更新に失敗しました。システム管理者に連絡してください。");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiErrorResponse.of("在庫更新に失敗しました。システム管理者に連絡してください。"));
         }
     }
 
@@ -108,46 +190,80 @@ public class AdminInventoryApiController {
      * 商品の入出庫履歴を取得
      * @param productId 商品ID
      * @param limit 取得件数（デフォルト：全件）
-     * @return ResponseEntity（履歴リスト）
+     * @param webRequest リクエスト（条件付き GET の判定に使用）
+     * @return ResponseEntity（履歴リスト。商品・在庫が変わっていない場合は 304）
      */
     @GetMapping("/products/{productId}/history")
-    public ResponseEntity<Map<String, Object>> getStockHistory(
+    public ResponseEntity<InventoryApiResponse> getStockHistory(
             @PathVariable("productId") Integer productId,
-            @RequestParam(value = "limit", required = false) Integer limit) {
-        
-        Map<String, Object> response = new HashMap<>();
-        
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
         try {
             log.debug("在庫履歴取得リクエスト: productId={}, limit={}", productId, limit);
 
+            // 商品・在庫が前回の取得から変わっていなければ、検索を行わずに 304 を返す
+            String etag = catalogVersion.etag("history", productId + ":" + limit);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL).build();
+            }
+
             // 商品の存在チェック
             Optional<Product> product = adminInventoryService.getProductById(productId);
             if (product.isEmpty()) {
-                response.put("success", false);
-                response.put("message", "商品が見つかりません: ID=" + productId);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiErrorResponse.of("商品が見つかりません: ID=" + productId));
             }
 
             // 在庫履歴を取得
-            List<StockTransaction> transactions = adminInventoryService.getStockTransactions(productId, limit);
-
-            response.put("success", true);
-            response.put("product", Map.of(
-                    "id", product.get().getId(),
-                    "productName", product.get().getProductName(),
-                    "stock", product.get().getStock()
-            ));
-            response.put("transactions", transactions);
-            response.put("totalCount", transactions.size());
+            List<StockTransactionDto> transactions = adminInventoryService.getStockHistory(productId, limit);
 
             log.debug("在庫履歴取得成功: productId={}, count={}", productId, transactions.size());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL)
+                    .body(StockHistoryResponse.of(ProductSummaryDto.withStock(product.get()), transactions));
 
         } catch (Exception e) {
             log.error("在庫履歴取得時にエラーが発生: productId={}, error={}", productId, e.getMessage(), e);
-            response.put("success", false);
-            response.put("message", "在庫履歴の取得に失敗しました。");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiErrorResponse.of("在庫履歴の取得に失敗しました。"));
+        }
+    }
+
+    /**
+     * 複数商品の最新の在庫履歴を取得（商品ごとに履歴 API を呼ぶ代わりに 1 回で取得する）
+     * @param productIds 商品IDのリスト（カンマ区切り、最大100件）
+     * @param limit 商品ごとの取得件数（デフォルト：10、最大100）
+     * @param webRequest リクエスト（条件付き GET の判定に使用）
+     * @return ResponseEntity（商品ごとの履歴・見つからなかった商品ID。商品・在庫が変わっていない場合は 304）
+     */
+    @GetMapping("/products/history")
+    public ResponseEntity<InventoryApiResponse> getStockHistories(
+            @RequestParam(value = "productIds", required = false) List<Integer> productIds,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            ServletWebRequest webRequest) {
+        try {
+            log.debug("複数商品の在庫履歴取得リクエスト: productIds={}, limit={}", productIds, limit);
+
+            // 商品・在庫が前回の取得から変わっていなければ、検索を行わずに 304 を返す
+            String etag = catalogVersion.requestEtag("history-batch", webRequest.getRequest());
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL).build();
+            }
+
+            AdminInventoryService.StockHistories result = adminInventoryService.getStockHistories(productIds, limit);
+
+            log.debug("複数商品の在庫履歴取得成功: products={}, notFound={}",
+                    result.histories().size(), result.notFoundProductIds().size());
+            return ResponseEntity.ok().eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL)
+                    .body(StockHistoryBatchResponse.of(result.limit(), result.histories(), result.notFoundProductIds()));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("複数商品の在庫履歴取得バリデーションエラー: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiErrorResponse.of(e.getMessage()));
+
+        } catch (Exception e) {
+            log.error("複数商品の在庫履歴取得時にエラーが発生: productIds={}, error={}", productIds, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiErrorResponse.of("在庫履歴の取得に失敗しました。"));
         }
     }
 
@@ -157,41 +273,27 @@ public class AdminInventoryApiController {
      * @return ResponseEntity（成功/エラー情報）
      */
     @PostMapping("/products/{productId}/delete")
-    public ResponseEntity<Map<String, Object>> deleteProduct(@PathVariable("productId") Integer productId) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<InventoryApiResponse> deleteProduct(@PathVariable("productId") Integer productId) {
         try {
             log.info("商品削除リクエスト: productId={}", productId);
 
             Product deletedProduct = adminInventoryService.deleteProduct(productId);
 
-            response.put("success", true);
-            response.put("message", "商品を削除しました（論理削除）");
-            response.put("product", Map.of(
-                    "id", deletedProduct.getId(),
-                    "productName", deletedProduct.getProductName()
-            ));
-
             log.info("商品削除成功: productId={}", productId);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ProductActionResponse.of("商品を削除しました（論理削除）",
+                    ProductSummaryDto.of(deletedProduct)));
 
         } catch (IllegalArgumentException e) {
             log.warn("商品削除バリデーションエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (IllegalStateException e) {
             log.warn("商品削除ビジネスエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (Exception e) {
             log.error("商品削除時にエラーが発生: productId={}, error={}", productId, e.getMessage(), e);
-            response.put("success", false);
-            response.put("message", "商品削除に失敗しました。");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiErrorResponse.of("商品削除に失敗しました。"));
         }
     }
 
@@ -201,41 +303,44 @@ public class AdminInventoryApiController {
      * @return ResponseEntity（成功/エラー情報）
      */
     @PostMapping("/products/{productId}/restore")
-    public ResponseEntity<Map<String, Object>> restoreProduct(@PathVariable("productId") Integer productId) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<InventoryApiResponse> restoreProduct(@PathVariable("productId") Integer productId) {
         try {
             log.info("商品復元リクエスト: productId={}", productId);
 
             Product restoredProduct = adminInventoryService.restoreProduct(productId);
 
-            response.put("success", true);
-            response.put("message", "商品を復元しました");
-            response.put("product", Map.of(
-                    "id", restoredProduct.getId(),
-                    "productName", restoredProduct.getProductName()
-            ));
-
             log.info("商品復元成功: productId={}", productId);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ProductActionResponse.of("商品を復元しました", ProductSummaryDto.of(restoredProduct)));
 
         } catch (IllegalArgumentException e) {
             log.warn("商品復元バリデーションエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (IllegalStateException e) {
             log.warn("商品復元ビジネスエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (Exception e) {
             log.error("商品復元時にエラーが発生: productId={}, error={}", productId, e.getMessage(), e);
-            response.put("success", false);
-            response.put("message", "商品復元に失敗しました。");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiErrorResponse.of("商品復元に失敗しました。"));
         }
     }
+
+    /**
+     * 在庫一覧行キャッシュの利用状況を取得
+     * @return ヒット率・1 行の平均描画時間などの利用状況
+     */
+    @GetMapping("/row-cache")
+    public ResponseEntity<InventoryRowCache.Stats> getRowCacheStats() {
+        return ResponseEntity.ok(inventoryRowCache.getStats());
+    }
+
+    /**
+     * 在庫変更の配信の利用状況を取得
+     * @return 購読数・配信件数などの利用状況
+     */
+    @GetMapping("/stream/stats")
+    public ResponseEntity<StockChangeBroadcaster.Stats> getStreamStats() {
+        return ResponseEntity.ok(stockChangeBroadcaster.getStats());
+    }
 }
@@ -4,17 +4,20 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.inventory.inventory_management.dto.request.SearchCriteriaDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.service.AdminInventoryService;
+import com.inventory.inventory_management.service.CatalogVersion;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,16 +34,25 @@ public class AdminInventoryController {
 
     private final AdminInventoryService adminInventoryService;
 
+    private final CatalogVersion catalogVersion;
+
     /**
      * 管理者用在庫一覧画面を表示
      * @param criteria 検索条件（SearchCriteriaDto）
      * @param model モデル
-     * @return admin/inventory.html
+     * @param webRequest リクエスト（条件付き GET の判定に使用）
+     * @return admin/inventory.html（商品・在庫が変わっていない場合は null で 304 を返す）
      */
     @GetMapping("/inventory")
-    public String showInventory(SearchCriteriaDto criteria, Model model) {
+    public String showInventory(SearchCriteriaDto criteria, Model model, ServletWebRequest webRequest) {
 
         try {
+            // 商品・在庫が前回の表示から変わっていなければ、検索を行わずに 304 を返す
+            String etag = catalogVersion.pageEtag("admin-inventory", webRequest.getRequest());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
             // ページ番号のバリデーション
             if (criteria.getPage() < 0) {
                 log.warn("無効なページ番号: page={}", criteria.getPage());
@@ -100,6 +112,7 @@ public class AdminInventoryController {
                     productPage.getTotalElements(), startItem, endItem, 
                     criteria.getPage() + 1, productPage.getTotalPages());
 
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CatalogVersion.CACHE_CONTROL.getHeaderValue());
             return "admin/inventory";
 
         } catch (Exception e) {
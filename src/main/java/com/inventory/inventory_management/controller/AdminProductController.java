@@ -1,9 +1,17 @@
 package com.inventory.inventory_management.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -12,13 +20,18 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.inventory.inventory_management.dto.request.ProductSearchCriteriaDto;
+import com.inventory.inventory_management.dto.response.ProductImportResultDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.form.ProductDetailForm;
 import com.inventory.inventory_management.form.ProductQuickForm;
 import com.inventory.inventory_management.service.AdminProductService;
+import com.inventory.inventory_management.service.ProductCsvService;
 
 import jakarta.validation.Valid;
 
@@ -27,7 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * 管理者用商品管理コントローラー
- * 商品の一覧表示・登録・編集・論理削除・復元を担当する
+ * 商品の一覧表示・登録・編集・論理削除・復元・CSV 入出力を担当する
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -35,7 +48,11 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/admin/products")
 public class AdminProductController {
 
+    /** エクスポートファイル名の日時部分 */
+    private static final DateTimeFormatter EXPORT_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     private final AdminProductService adminProductService;
+    private final ProductCsvService productCsvService;
 
     // =========================================================
     // 一覧
@@ -350,11 +367,12 @@ public class AdminProductController {
     }
 
     // =========================================================
-    // CSV インポート / エクスポート（将来実装）
+    // CSV インポート / エクスポート
     // =========================================================
 
     /**
      * CSV インポートフォームを表示する
+     * 直前のインポート結果はフラッシュ属性 importResult として表示される。
      *
      * @param model モデル
      * @return admin/product-import.html
@@ -362,37 +380,84 @@ public class AdminProductController {
     @GetMapping("/import")
     public String showImportForm(Model model) {
         log.debug("CSV インポートフォームを表示");
+        model.addAttribute("csvColumns", ProductCsvService.CSV_COLUMNS);
         return "admin/product-import";
     }
 
     /**
-     * CSV ファイルから商品を一括インポートする（将来実装）
+     * CSV ファイルから商品を一括インポートする
+     * 結果（成功件数・行エラー・処理速度）はインポート画面に表示する。
      *
      * @param file               アップロードされた CSV ファイル
      * @param redirectAttributes リダイレクト用フラッシュ属性
-     * @return 商品一覧画面へリダイレクト
+     * @return インポート画面へリダイレクト
      */
     @PostMapping("/import")
     public String importProducts(
-            @org.springframework.web.bind.annotation.RequestParam("file")
-            org.springframework.web.multipart.MultipartFile file,
+            @RequestParam("file") MultipartFile file,
             RedirectAttributes redirectAttributes) {
-        log.info("CSV インポート: fileName={}, size={}", file.getOriginalFilename(), file.getSize());
-        redirectAttributes.addFlashAttribute("message", "CSVインポート機能は準備中です。");
-        return "redirect:/admin/products";
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "CSVファイルを選択してください。");
+            return "redirect:/admin/products/import";
+        }
+        try {
+            log.info("CSV インポート開始: fileName={}, size={}", file.getOriginalFilename(), file.getSize());
+
+            ProductImportResultDto result = productCsvService.importCsv(file.getInputStream());
+
+            log.info("CSV インポート完了: fileName={}, success={}, errors={}",
+                    file.getOriginalFilename(), result.getSuccessCount(), result.getErrorCount());
+            redirectAttributes.addFlashAttribute("importResult", result);
+            redirectAttributes.addFlashAttribute(result.getErrorCount() == 0 ? "message" : "error",
+                    "CSVインポートが完了しました。（成功: " + result.getSuccessCount()
+                            + "件、エラー: " + result.getErrorCount() + "件）");
+            return "redirect:/admin/products/import";
+        } catch (IllegalArgumentException e) {
+            log.warn("CSV インポートエラー: fileName={}, {}", file.getOriginalFilename(), e.getMessage());
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/admin/products/import";
+        } catch (Exception e) {
+            log.error("CSV インポート時にエラーが発生: fileName={}, error={}", file.getOriginalFilename(), e.getMessage(), e);
+            redirectAttributes.addFlashAttribute("error", "CSVインポート時にエラーが発生しました。");
+            return "redirect:/admin/products/import";
+        }
     }
 
     /**
-     * 商品を CSV ファイルとしてエクスポートする（将来実装）
+     * 商品を CSV ファイルとしてエクスポートする
+     * 一覧画面と同じ検索条件で絞り込み、結果をレスポンスへ直接ストリーミングする。
      *
-     * @param redirectAttributes リダイレクト用フラッシュ属性
-     * @return 商品一覧画面へリダイレクト
+     * @param criteria 検索条件 DTO（クエリパラメータから自動バインド）
+     * @param gzip     true の場合は gzip 圧縮した CSV（.csv.gz）を返す
+     * @return CSV をストリーミング出力するレスポンス
      */
     @GetMapping("/export")
-    public String exportProducts(RedirectAttributes redirectAttributes) {
-        log.info("CSV エクスポート要求");
-        redirectAttributes.addFlashAttribute("message", "CSVエクスポート機能は準備中です。");
-        return "redirect:/admin/products";
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            ProductSearchCriteriaDto criteria,
+            @RequestParam(value = "gzip", required = false, defaultValue = "false") boolean gzip) {
+        ProductSearchCriteriaDto validated = adminProductService.validateSearchCriteria(criteria);
+        log.info("CSV エクスポート要求: criteria={}, gzip={}", validated, gzip);
+
+        String fileName = "products_" + LocalDateTime.now().format(EXPORT_FILE_TIMESTAMP)
+                + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody body = outputStream -> {
+            try {
+                productCsvService.exportCsv(validated, outputStream, gzip);
+            } catch (IOException e) {
+                log.warn("CSV エクスポート出力エラー: {}", e.getMessage());
+                throw e;
+            } catch (Exception e) {
+                log.error("CSV エクスポート時にエラーが発生: error={}", e.getMessage(), e);
+                throw new IOException("CSVエクスポートに失敗しました。", e);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
     }
 }
-
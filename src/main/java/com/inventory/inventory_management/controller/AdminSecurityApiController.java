@@ -0,0 +1,120 @@
+package com.inventory.inventory_management.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.inventory.inventory_management.audit.AuditLogWriter;
+import com.inventory.inventory_management.security.BoundedPasswordEncoder;
+import com.inventory.inventory_management.security.CspViolationCollector;
+import com.inventory.inventory_management.security.JdbcSessionRepository;
+import com.inventory.inventory_management.security.LoginAdmissionFilter;
+import com.inventory.inventory_management.security.LoginAttemptService;
+import com.inventory.inventory_management.security.SecurityEventExecutor;
+import com.inventory.inventory_management.security.UserDetailsCache;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 管理者用セキュリティ監視API コントローラー
+ * ログイン処理（パスワード検証プール・流入制御）、認証用ユーザー情報キャッシュ、ログイン試行の追跡状況、
+ * セッション・監査ログの書き込み状況、CSP 違反の集計、セキュリティイベント実行器の実行状況を提供
+ */
+@RestController
+@RequestMapping("/admin/api/security")
+@RequiredArgsConstructor
+public class AdminSecurityApiController {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    private final LoginAdmissionFilter loginAdmissionFilter;
+
+    private final UserDetailsCache userDetailsCache;
+
+    private final LoginAttemptService loginAttemptService;
+
+    private final ObjectProvider<JdbcSessionRepository> jdbcSessionRepository;
+
+    private final AuditLogWriter auditLogWriter;
+
+    private final CspViolationCollector cspViolationCollector;
+
+    private final SecurityEventExecutor securityEventExecutor;
+
+    /**
+     * ログイン処理の実行状況を取得
+     * @return パスワード検証プール（passwordVerification）とログイン流入制御（loginAdmission）の実行状況
+     */
+    @GetMapping("/login-load")
+    public ResponseEntity<Map<String, Object>> getLoginLoad() {
+        return ResponseEntity.ok(Map.of(
+                "passwordVerification", passwordEncoder.getStats(),
+                "loginAdmission", loginAdmissionFilter.getStats()));
+    }
+
+    /**
+     * 認証用ユーザー情報キャッシュの利用状況を取得
+     * @return 件数・ヒット率などの利用状況
+     */
+    @GetMapping("/user-details-cache")
+    public ResponseEntity<UserDetailsCache.Stats> getUserDetailsCacheStats() {
+        return ResponseEntity.ok(userDetailsCache.getStats());
+    }
+
+    /**
+     * ログイン試行の追跡状況を取得
+     * @return ユーザー名・IP アドレスそれぞれの追跡件数・期限切れ件数・上限超過による破棄件数
+     */
+    @GetMapping("/login-attempts")
+    public ResponseEntity<LoginAttemptService.Stats> getLoginAttemptStats() {
+        return ResponseEntity.ok(loginAttemptService.getStats());
+    }
+
+    /**
+     * sessions テーブルへのセッションの書き込み状況を取得
+     * @return 種別ごとの書き込み件数と省略件数（コンテナのセッションを使用している場合は 404）
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<JdbcSessionRepository.Stats> getSessionStats() {
+        JdbcSessionRepository sessionRepository = jdbcSessionRepository.getIfAvailable();
+        if (sessionRepository == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(sessionRepository.getStats());
+    }
+
+    /**
+     * 監査ログの書き込み状況を取得
+     * @return キューの件数と書き込み・破棄・失敗の件数
+     */
+    @GetMapping("/audit-log")
+    public ResponseEntity<AuditLogWriter.Stats> getAuditLogStats() {
+        return ResponseEntity.ok(auditLogWriter.getStats());
+    }
+
+    /**
+     * CSP 違反を件数の多い順に取得
+     * @param limit 取得件数（1〜100）
+     * @return 受信状況（stats）と違反の集計（violations、累計件数の降順）
+     */
+    @GetMapping("/csp-violations")
+    public ResponseEntity<Map<String, Object>> getCspViolations(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(Map.of(
+                "stats", cspViolationCollector.getStats(),
+                "violations", cspViolationCollector.getTopViolations(Math.clamp(limit, 1, 100))));
+    }
+
+    /**
+     * セキュリティ・監査イベント用の実行器の実行状況を取得
+     * @return 実行中・待機中の件数、待ち時間・実行時間、拒否件数
+     */
+    @GetMapping("/event-executor")
+    public ResponseEntity<SecurityEventExecutor.Stats> getEventExecutorStats() {
+        return ResponseEntity.ok(securityEventExecutor.getStats());
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventory.inventory_management.controller;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import com.inventory.inventory_management.dto.response.StockTakeResultDto;
+import com.inventory.inventory_management.service.StockTakeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 管理者用棚卸コントローラー
+ * 棚卸 CSV のアップロード・差異確認・在庫への一括反映を担当する
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Controller
+@RequestMapping("/admin/inventory/stock-take")
+public class AdminStockTakeController {
+
+    private final StockTakeService stockTakeService;
+
+    /**
+     * 棚卸画面を表示する
+     * 直前の処理結果はフラッシュ属性 stockTakeResult として表示される。
+     *
+     * @param model モデル
+     * @return admin/stock-take.html
+     */
+    @GetMapping
+    public String showStockTakeForm(Model model) {
+        log.debug("棚卸画面を表示");
+        return "admin/stock-take";
+    }
+
+    /**
+     * 棚卸 CSV をアップロードし、差異を確認または在庫へ反映する
+     *
+     * @param file               アップロードされた CSV ファイル（product_code,counted_qty）
+     * @param apply              true の場合は在庫へ反映する。false の場合は差異の確認のみ
+     * @param redirectAttributes リダイレクト用フラッシュ属性
+     * @return 棚卸画面へリダイレクト
+     */
+    @PostMapping
+    public String uploadStockTake(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "apply", required = false, defaultValue = "false") boolean apply,
+            RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "CSVファイルを選択してください。");
+            return "redirect:/admin/inventory/stock-take";
+        }
+        try {
+            log.info("棚卸CSV処理開始: fileName={}, size={}, apply={}", file.getOriginalFilename(), file.getSize(), apply);
+
+            StockTakeResultDto result = stockTakeService.processStockTake(file.getInputStream(), apply);
+
+            redirectAttributes.addFlashAttribute("stockTakeResult", result);
+            redirectAttributes.addFlashAttribute("message", apply
+                    ? "棚卸結果を在庫に反映しました。（更新: " + result.getChangedCount() + "件）"
+                    : "差異を確認しました。（差異あり: " + result.getChangedCount() + "件）在庫は更新されていません。");
+            return "redirect:/admin/inventory/stock-take";
+        } catch (IllegalArgumentException e) {
+            log.warn("棚卸CSVエラー: fileName={}, {}", file.getOriginalFilename(), e.getMessage());
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/admin/inventory/stock-take";
+        } catch (Exception e) {
+            log.error("棚卸CSV処理時にエラーが発生: fileName={}, error={}", file.getOriginalFilename(), e.getMessage(), e);
+            redirectAttributes.addFlashAttribute("error", "棚卸処理時にエラーが発生しました。");
+            return "redirect:/admin/inventory/stock-take";
+        }
+    }
+}
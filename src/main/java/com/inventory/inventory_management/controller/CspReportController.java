@@ -1,31 +1,35 @@
 package com.inventory.inventory_management.controller;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.inventory.inventory_management.security.CspViolationCollector;
+
+import lombok.RequiredArgsConstructor;
+
 /**
  * CSP違反レポートを受け取るコントローラー
- * Content Security Policy (CSP)の違反を監視し、ログに記録します。
+ * Content Security Policy (CSP)の違反を監視し、同じ違反ごとに集計します。
+ * ログへの出力は集計期間ごとの最初の 1 件と一部のサンプルのみです（CspViolationCollector）。
  */
 @RestController
+@RequiredArgsConstructor
 public class CspReportController {
 
-    private static final Logger logger = LoggerFactory.getLogger(CspReportController.class);
+    private final CspViolationCollector cspViolationCollector;
 
     /**
-     * CSP違反レポートを受信して記録する
+     * CSP違反レポートを受信して集計する
      * 
      * @param report CSP違反レポートのJSON文字列
      * @return HTTPステータス204 (No Content)
      */
     @PostMapping("/csp-violation-report-endpoint")
-    public ResponseEntity<Void> reportCspViolation(@RequestBody String report) {
-        logger.warn("CSP Violation detected: {}", report);
+    public ResponseEntity<Void> reportCspViolation(@RequestBody(required = false) String report) {
+        cspViolationCollector.ingest(report);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 }
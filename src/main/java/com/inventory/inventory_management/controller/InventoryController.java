@@ -1,11 +1,11 @@
 package com.inventory.inventory_management.controller;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -15,9 +15,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.inventory.inventory_management.dto.response.ApiErrorResponse;
+import com.inventory.inventory_management.dto.response.InventoryApiResponse;
+import com.inventory.inventory_management.dto.response.InventoryItemsResponse;
+import com.inventory.inventory_management.dto.response.ProductActionResponse;
+import com.inventory.inventory_management.dto.response.ProductSummaryDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.entity.StockTransaction;
+import com.inventory.inventory_management.service.CatalogVersion;
+import com.inventory.inventory_management.service.InventoryItemService;
 import com.inventory.inventory_management.service.InventoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,6 +42,10 @@ public class InventoryController {
 
     private final InventoryService inventoryService;
 
+    private final InventoryItemService inventoryItemService;
+
+    private final CatalogVersion catalogVersion;
+
     /**
      * 一般ユーザー用在庫一覧画面を表示
      * @param search 検索キーワード（商品名）
@@ -43,7 +55,8 @@ public class InventoryController {
      * @param sort ソート順（name/stock/updated）
      * @param page ページ番号（0始まり）
      * @param model モデル
-     * @return inventory.html
+     * @param webRequest リクエスト（条件付き GET の判定に使用）
+     * @return inventory.html（商品・在庫が変わっていない場合は null で 304 を返す）
      */
     @GetMapping("/inventory")
     public String showProducts(
@@ -53,7 +66,7 @@ public class InventoryController {
             @RequestParam(value = "stock", required = false) String stock,
             @RequestParam(value = "sort", required = false, defaultValue = "name") String sort,
             @RequestParam(value = "page", required = false, defaultValue = "0") int page,
-            Model model) {
+            Model model, ServletWebRequest webRequest) {
 
         try {
             // ページ番号のバリデーション
@@ -62,6 +75,12 @@ public class InventoryController {
                 model.addAttribute("errorMessage", "ページ番号は0以上である必要があります。");
                 return "error";
             }
+
+            // 商品・在庫が前回の表示から変わっていなければ、検索を行わずに 304 を返す
+            String etag = catalogVersion.pageEtag("inventory", webRequest.getRequest());
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
             
             // 検索キーワードのトリム処理（前後のスペースを削除）
             if (search != null && !search.isEmpty()) {
@@ -109,6 +128,7 @@ public class InventoryController {
                     productPage.getTotalElements(), startItem, endItem, 
                     page + 1, productPage.getTotalPages());
 
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CatalogVersion.CACHE_CONTROL.getHeaderValue());
             return "inventory";
 
         } catch (Exception e) {
@@ -118,15 +138,64 @@ public class InventoryController {
         }
     }
 
+    /**
+     * 在庫一覧の商品を取得（画面の行をその場で更新するための API）
+     * 検索条件は在庫一覧画面と同じ。ページ番号の代わりにカーソル（前回の nextCursor）でも取得できる
+     * @param search 検索キーワード（商品名）
+     * @param category カテゴリー
+     * @param status ステータス（active/inactive）
+     * @param stock 在庫状況（all/sufficient/low/out）
+     * @param sort ソート順（name/stock/updated）
+     * @param page ページ番号（0始まり）
+     * @param cursor カーソル
+     * @param size 取得件数（デフォルト：画面のページサイズ、最大100）
+     * @param webRequest リクエスト（条件付き GET の判定に使用）
+     * @return ResponseEntity（商品リスト・次のページのカーソル。商品・在庫が変わっていない場合は 304）
+     */
+    @GetMapping("/api/inventory/products")
+    public ResponseEntity<InventoryApiResponse> getProducts(
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "stock", required = false) String stock,
+            @RequestParam(value = "sort", required = false, defaultValue = "name") String sort,
+            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            ServletWebRequest webRequest) {
+        try {
+            // 商品・在庫が前回の取得から変わっていなければ、検索を行わずに 304 を返す
+            String etag = catalogVersion.requestEtag("products", webRequest.getRequest());
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL).build();
+            }
+
+            // 版は検索前に読む（検索中に更新された場合、次回の取得で再検索されるようにする）
+            String version = catalogVersion.getVersion();
+            InventoryItemService.InventoryItems result = inventoryItemService.findItems(
+                    search, category, status, stock, sort, false, page, cursor, size);
+
+            return ResponseEntity.ok().eTag(etag).cacheControl(CatalogVersion.CACHE_CONTROL)
+                    .body(InventoryItemsResponse.of(version, result.items(), result.nextCursor()));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("在庫一覧取得バリデーションエラー: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiErrorResponse.of(e.getMessage()));
+
+        } catch (Exception e) {
+            log.error("在庫一覧取得時にエラーが発生: error={}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiErrorResponse.of("在庫情報の取得に失敗しました。"));
+        }
+    }
+
     /**
      * 在庫を更新（入庫・出庫）
      * @param request リクエストボディ（productId, transactionType, quantity, remarks）
      * @return ResponseEntity（成功/エラー情報）
      */
     @PostMapping("/api/inventory/update-stock")
-    public ResponseEntity<Map<String, Object>> updateStock(@RequestBody Map<String, Object> request) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<InventoryApiResponse> updateStock(@RequestBody Map<String, Object> request) {
         try {
             // リクエストパラメータを取得
             Integer productId = (Integer) request.get("productId");
@@ -138,57 +207,40 @@ public class InventoryController {
 
             // バリデーション
             if (productId == null) {
-                response.put("success", false);
-                response.put("message", "商品IDが指定されていません。");
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.badRequest().body(ApiErrorResponse.of("商品IDが指定されていません。"));
             }
 
             if (transactionType == null || (!transactionType.equals("in") && !transactionType.equals("out"))) {
-                response.put("success", false);
-                response.put("message", "操作種別が不正です。");
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.badRequest().body(ApiErrorResponse.of("操作種別が不正です。"));
             }
 
             if (quantity == null || quantity <= 0) {
-                response.put("success", false);
-                response.put("message", "数量は1以上を入力してください。");
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.badRequest().body(ApiErrorResponse.of("数量は1以上を入力してください。"));
             }
 
             // 在庫更新
             Product updatedProduct = inventoryService.updateStock(productId, transactionType, quantity, remarks);
 
             // 成功レスポンス
-            response.put("success", true);
-            response.put("message", transactionType.equals("in") ? 
+            String message = transactionType.equals("in") ? 
                     quantity + "個の入庫が完了しました。" : 
-                    quantity + "個の出庫が完了しました。");
-            response.put("product", Map.of(
-                    "id", updatedProduct.getId(),
-                    "productName", updatedProduct.getProductName(),
-                    "stock", updatedProduct.getStock()
-            ));
+                    quantity + "個の出庫が完了しました。";
 
             log.info("在庫更新成功: productId={}, newStock={}", productId, updatedProduct.getStock());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ProductActionResponse.of(message, ProductSummaryDto.withStock(updatedProduct)));
 
         } catch (IllegalArgumentException e) {
             log.warn("在庫更新バリデーションエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (IllegalStateException e) {
             log.warn("在庫更新ビジネスエラー: {}", e.getMessage());
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiErrorResponse.of(e.getMessage()));
 
         } catch (Exception e) {
             log.error("在庫更新時にエラーが発生: error={}", e.getMessage(), e);
-            response.put("success", false);
-            response.put("message", "在庫更新に失敗しました。システム管理者に連絡してください。");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiErrorResponse.of("在庫更新に失敗しました。システム管理者に連絡してください。"));
         }
     }
 
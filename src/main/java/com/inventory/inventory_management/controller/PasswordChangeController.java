@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.inventory.inventory_management.security.PasswordVerificationRejectedException;
 import com.inventory.inventory_management.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -98,6 +99,12 @@ public class PasswordChangeController {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
             return "redirect:/users/password";
             
+        } catch (PasswordVerificationRejectedException e) {
+            // ログイン集中によりパスワード検証が拒否された場合は、時間をおいて再試行してもらう
+            log.warn("パスワード検証が混雑のため拒否されました");
+            redirectAttributes.addFlashAttribute("errorMessage", "ただいま混雑しています。しばらくしてから再度お試しください");
+            return "redirect:/users/password";
+
         } catch (Exception e) {
             // 予期しないエラー
             log.error("パスワード変更処理中にエラーが発生: {}", e.getMessage(), e);
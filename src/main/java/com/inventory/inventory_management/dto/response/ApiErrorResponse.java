@@ -0,0 +1,19 @@
+package com.inventory.inventory_management.dto.response;
+
+/**
+ * 在庫 API のエラーレスポンス
+ *
+ * @param success 常に false
+ * @param message エラーメッセージ
+ */
+public record ApiErrorResponse(boolean success, String message) implements InventoryApiResponse {
+
+    /**
+     * エラーレスポンスを作成する
+     * @param message エラーメッセージ
+     * @return エラーレスポンス
+     */
+    public static ApiErrorResponse of(String message) {
+        return new ApiErrorResponse(false, message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.inventory.inventory_management.dto.response;
+
+/**
+ * 在庫 API（在庫一覧・在庫更新・在庫履歴・商品削除復元）のレスポンス
+ * レスポンスの形ごとのレコードに限定し、Map やエンティティを JSON に変換しない
+ */
+public sealed interface InventoryApiResponse
+        permits ApiErrorResponse, InventoryItemsResponse, ProductActionResponse, StockHistoryBatchResponse,
+        StockHistoryResponse {
+
+    /**
+     * 処理に成功したかどうか
+     * @return 成功した場合 true
+     */
+    boolean success();
+}
@@ -0,0 +1,33 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 在庫一覧 API の商品（一覧の行に表示する項目のみ）を保持するレスポンス DTO
+ * エンティティを読み込まず、JPQL のコンストラクタ式で必要な列のみを取得する
+ *
+ * @param id          商品 ID
+ * @param productCode 商品コード
+ * @param productName 商品名
+ * @param category    カテゴリ
+ * @param price       価格
+ * @param stock       在庫数
+ * @param status      ステータス（active / inactive）
+ * @param updatedAt   更新日時
+ * @param deletedAt   削除日時（削除されていない場合は出力しない）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InventoryItemDto(
+        Integer id,
+        String productCode,
+        String productName,
+        String category,
+        BigDecimal price,
+        Integer stock,
+        String status,
+        LocalDateTime updatedAt,
+        LocalDateTime deletedAt) {
+}
@@ -0,0 +1,26 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.util.List;
+
+/**
+ * 在庫一覧 API のレスポンス
+ *
+ * @param success    常に true
+ * @param version    検索時点の商品カタログのバージョン
+ * @param items      商品リスト
+ * @param nextCursor 次のページのカーソル（次のページがない場合は null）
+ */
+public record InventoryItemsResponse(boolean success, String version, List<InventoryItemDto> items, String nextCursor)
+        implements InventoryApiResponse {
+
+    /**
+     * 在庫一覧 API のレスポンスを作成する
+     * @param version    検索時点の商品カタログのバージョン
+     * @param items      商品リスト
+     * @param nextCursor 次のページのカーソル
+     * @return レスポンス
+     */
+    public static InventoryItemsResponse of(String version, List<InventoryItemDto> items, String nextCursor) {
+        return new InventoryItemsResponse(true, version, items, nextCursor);
+    }
+}
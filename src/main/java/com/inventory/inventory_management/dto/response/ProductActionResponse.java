@@ -0,0 +1,22 @@
+package com.inventory.inventory_management.dto.response;
+
+/**
+ * 在庫更新・商品削除・商品復元 API の成功レスポンス
+ *
+ * @param success 常に true
+ * @param message 完了メッセージ
+ * @param product 処理後の商品の概要
+ */
+public record ProductActionResponse(boolean success, String message, ProductSummaryDto product)
+        implements InventoryApiResponse {
+
+    /**
+     * 成功レスポンスを作成する
+     * @param message 完了メッセージ
+     * @param product 処理後の商品の概要
+     * @return 成功レスポンス
+     */
+    public static ProductActionResponse of(String message, ProductSummaryDto product) {
+        return new ProductActionResponse(true, message, product);
+    }
+}
@@ -0,0 +1,105 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 商品 CSV インポート結果を保持するレスポンス DTO
+ * 処理件数・所要時間・行単位のエラーをインポート画面へ表示するために使用する
+ */
+@Data
+public class ProductImportResultDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** 処理したデータ行数（ヘッダー・空行を除く） */
+    private long totalRows;
+
+    /** 登録に成功した行数 */
+    private long successCount;
+
+    /** エラーとなった行数 */
+    private long errorCount;
+
+    /** 所要時間（ミリ秒） */
+    private long elapsedMillis;
+
+    /** 行エラー詳細（上限件数まで） */
+    private List<RowError> errors = new ArrayList<>();
+
+    /** 行エラーが上限を超えて省略されたかどうか */
+    private boolean errorsTruncated;
+
+    /** 検証/変換ステージの並列度（1 は逐次処理） */
+    private int parallelism;
+
+    /** ステージ別の処理実績（read / validate / write） */
+    private List<StageMetric> stageMetrics = new ArrayList<>();
+
+    /** ステージ間キューの最大滞留ブロック数 */
+    private int maxQueueDepth;
+
+    /** ステージ間キューの平均滞留ブロック数 */
+    private double averageQueueDepth;
+
+    /**
+     * 1 秒あたりの処理行数を返す
+     *
+     * @return 処理行数/秒（所要時間 0 の場合は処理行数）
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? totalRows * 1000 / elapsedMillis : totalRows;
+    }
+
+    /**
+     * 行単位のエラー
+     */
+    @Data
+    @AllArgsConstructor
+    public static class RowError implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** CSV 上の行番号（ヘッダーを 1 行目とする） */
+        private long lineNumber;
+
+        /** エラーメッセージ */
+        private String message;
+    }
+
+    /**
+     * ステージ別の処理実績
+     */
+    @Data
+    @AllArgsConstructor
+    public static class StageMetric implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** ステージ名 */
+        private String stage;
+
+        /** 処理行数 */
+        private long rows;
+
+        /** 処理時間の合計（ミリ秒、並列ステージは全ワーカーの合計） */
+        private long busyMillis;
+
+        /**
+         * 処理時間 1 秒あたりの処理行数を返す
+         *
+         * @return 処理行数/秒（処理時間 0 の場合は処理行数）
+         */
+        public long getRowsPerSecond() {
+            return busyMillis > 0 ? rows * 1000 / busyMillis : rows;
+        }
+    }
+}
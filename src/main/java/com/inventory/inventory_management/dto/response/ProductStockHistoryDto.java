@@ -0,0 +1,12 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.util.List;
+
+/**
+ * 複数商品の在庫履歴 API の商品ごとの履歴
+ *
+ * @param product      商品の概要（在庫数を含む）
+ * @param transactions 最新の在庫変動履歴（日時の降順、最大で指定件数）
+ */
+public record ProductStockHistoryDto(ProductSummaryDto product, List<StockTransactionDto> transactions) {
+}
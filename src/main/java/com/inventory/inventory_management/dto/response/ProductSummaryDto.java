@@ -0,0 +1,33 @@
+package com.inventory.inventory_management.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.inventory.inventory_management.entity.Product;
+
+/**
+ * 在庫 API のレスポンスに含める商品の概要
+ *
+ * @param id          商品 ID
+ * @param productName 商品名
+ * @param stock       在庫数（商品削除・復元のレスポンスでは出力しない）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductSummaryDto(Integer id, String productName, Integer stock) {
+
+    /**
+     * 在庫数を含む商品の概要を作成する
+     * @param product 商品
+     * @return 商品の概要
+     */
+    public static ProductSummaryDto withStock(Product product) {
+        return new ProductSummaryDto(product.getId(), product.getProductName(), product.getStock());
+    }
+
+    /**
+     * 在庫数を含まない商品の概要を作成する
+     * @param product 商品
+     * @return 商品の概要
+     */
+    public static ProductSummaryDto of(Product product) {
+        return new ProductSummaryDto(product.getId(), product.getProductName(), null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventory.inventory_management.dto.response;
+
+/**
+ * 在庫変更の通知（在庫変更ストリームで管理者用在庫一覧画面に送るイベント）
+ * 同じ商品の変更が短い間に続いた場合は 1 件にまとめ、stock は最後の在庫数、previousLevel は最初の変更前の在庫状態とする
+ *
+ * @param productId     商品 ID
+ * @param stock         在庫数
+ * @param level         在庫状態（out: 在庫切れ / low: 在庫不足（1～20） / ok: 在庫十分）
+ * @param previousLevel 変更前の在庫状態
+ */
+public record StockChangeEvent(int productId, int stock, String level, String previousLevel) {
+
+    /** 在庫不足とする在庫数の上限 */
+    public static final int LOW_STOCK_THRESHOLD = 20;
+
+    /**
+     * 在庫数の変更からイベントを作成する
+     * @param productId 商品 ID
+     * @param beforeStock 変更前の在庫数
+     * @param afterStock 変更後の在庫数
+     * @return イベント
+     */
+    public static StockChangeEvent of(int productId, int beforeStock, int afterStock) {
+        return new StockChangeEvent(productId, afterStock, level(afterStock), level(beforeStock));
+    }
+
+    /**
+     * 在庫数から在庫状態を求める
+     * @param stock 在庫数
+     * @return 在庫状態（out / low / ok）
+     */
+    public static String level(int stock) {
+        if (stock <= 0) {
+            return "out";
+        }
+        return stock <= LOW_STOCK_THRESHOLD ? "low" : "ok";
+    }
+
+    /**
+     * 後に起きた同じ商品の変更とまとめる
+     * @param later 後の変更
+     * @return 在庫数は後の変更、変更前の在庫状態はこの変更のイベント
+     */
+    public StockChangeEvent merge(StockChangeEvent later) {
+        return new StockChangeEvent(productId, later.stock, later.level, previousLevel);
+    }
+}
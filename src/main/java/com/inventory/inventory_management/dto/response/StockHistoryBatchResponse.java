@@ -0,0 +1,27 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.util.List;
+
+/**
+ * 複数商品の在庫履歴 API の成功レスポンス
+ *
+ * @param success            常に true
+ * @param limit              商品ごとの取得件数
+ * @param histories          商品ごとの履歴（指定した商品IDの順）
+ * @param notFoundProductIds 見つからなかった商品ID
+ */
+public record StockHistoryBatchResponse(boolean success, int limit, List<ProductStockHistoryDto> histories,
+        List<Integer> notFoundProductIds) implements InventoryApiResponse {
+
+    /**
+     * 成功レスポンスを作成する
+     * @param limit              商品ごとの取得件数
+     * @param histories          商品ごとの履歴
+     * @param notFoundProductIds 見つからなかった商品ID
+     * @return 成功レスポンス
+     */
+    public static StockHistoryBatchResponse of(int limit, List<ProductStockHistoryDto> histories,
+            List<Integer> notFoundProductIds) {
+        return new StockHistoryBatchResponse(true, limit, histories, notFoundProductIds);
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.util.List;
+
+/**
+ * 在庫履歴 API の成功レスポンス
+ *
+ * @param success      常に true
+ * @param product      商品の概要（在庫数を含む）
+ * @param transactions 在庫変動履歴（日時の降順）
+ * @param totalCount   返した履歴の件数
+ */
+public record StockHistoryResponse(boolean success, ProductSummaryDto product,
+        List<StockTransactionDto> transactions, int totalCount) implements InventoryApiResponse {
+
+    /**
+     * 成功レスポンスを作成する
+     * @param product      商品の概要
+     * @param transactions 在庫変動履歴
+     * @return 成功レスポンス
+     */
+    public static StockHistoryResponse of(ProductSummaryDto product, List<StockTransactionDto> transactions) {
+        return new StockHistoryResponse(true, product, transactions, transactions.size());
+    }
+}
@@ -0,0 +1,126 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 棚卸（実地棚卸 CSV）結果を保持するレスポンス DTO
+ * 帳簿在庫と実数の差異集計・差異明細・行エラーを棚卸画面へ表示するために使用する
+ */
+@Data
+public class StockTakeResultDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** 在庫へ反映したかどうか（false の場合は差異確認のみ） */
+    private boolean applied;
+
+    /** 処理したデータ行数（ヘッダー・空行を除く） */
+    private long totalRows;
+
+    /** 商品と照合できた行数 */
+    private long matchedCount;
+
+    /** 差異なしの商品数 */
+    private long unchangedCount;
+
+    /** 実数が帳簿在庫より多い商品数 */
+    private long increasedCount;
+
+    /** 実数が帳簿在庫より少ない商品数 */
+    private long decreasedCount;
+
+    /** 増加数量の合計 */
+    private long totalIncrease;
+
+    /** 減少数量の合計 */
+    private long totalDecrease;
+
+    /** エラーとなった行数 */
+    private long errorCount;
+
+    /** 所要時間（ミリ秒） */
+    private long elapsedMillis;
+
+    /** 差異明細（差異のある商品のみ、CSV の行順、上限件数まで） */
+    private List<Variance> variances = new ArrayList<>();
+
+    /** 差異明細が上限を超えて省略されたかどうか */
+    private boolean variancesTruncated;
+
+    /** 行エラー詳細（CSV の行順、上限件数まで） */
+    private List<RowError> errors = new ArrayList<>();
+
+    /** 行エラーが上限を超えて省略されたかどうか */
+    private boolean errorsTruncated;
+
+    /**
+     * 差異のあった商品数を返す
+     *
+     * @return 増加・減少した商品数の合計
+     */
+    public long getChangedCount() {
+        return increasedCount + decreasedCount;
+    }
+
+    /**
+     * 商品ごとの差異
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Variance implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** CSV 上の行番号 */
+        private long lineNumber;
+
+        /** 商品 ID */
+        private Integer productId;
+
+        /** 商品コード */
+        private String productCode;
+
+        /** 商品名 */
+        private String productName;
+
+        /** 帳簿在庫数 */
+        private int systemStock;
+
+        /** 実数 */
+        private int countedQty;
+
+        /**
+         * 差異（実数 − 帳簿在庫数）を返す
+         *
+         * @return 差異
+         */
+        public int getVariance() {
+            return countedQty - systemStock;
+        }
+    }
+
+    /**
+     * 行単位のエラー
+     */
+    @Data
+    @AllArgsConstructor
+    public static class RowError implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** CSV 上の行番号（ヘッダーを 1 行目とする） */
+        private long lineNumber;
+
+        /** エラーメッセージ */
+        private String message;
+    }
+}
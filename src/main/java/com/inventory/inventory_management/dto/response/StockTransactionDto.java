@@ -0,0 +1,29 @@
+package com.inventory.inventory_management.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 在庫履歴 API の在庫変動履歴を保持するレスポンス DTO
+ * エンティティを読み込まず、JPQL のコンストラクタ式で取得する
+ *
+ * @param id              トランザクション ID
+ * @param productId       商品 ID
+ * @param transactionType 取引種別（in: 入庫 / out: 出庫 / set: 在庫数設定）
+ * @param quantity        数量
+ * @param beforeStock     変更前在庫数
+ * @param afterStock      変更後在庫数
+ * @param userId          実行ユーザー ID
+ * @param transactionDate 取引日時
+ * @param remarks         備考
+ */
+public record StockTransactionDto(
+        Integer id,
+        Integer productId,
+        String transactionType,
+        Integer quantity,
+        Integer beforeStock,
+        Integer afterStock,
+        String userId,
+        LocalDateTime transactionDate,
+        String remarks) {
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -25,9 +26,12 @@ public class StockTransaction {
 
     /**
      * トランザクションID（主キー）
+     * 一括登録時に JDBC バッチを使えるよう、IDENTITY ではなく採番テーブルから 50 件単位で払い出す
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stockTransactionIdGenerator")
+    @TableGenerator(name = "stockTransactionIdGenerator", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "stock_transactions", allocationSize = 50)
     private Integer id;
 
     /**
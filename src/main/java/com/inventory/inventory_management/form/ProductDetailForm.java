@@ -1,5 +1,7 @@
 package com.inventory.inventory_management.form;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 import jakarta.validation.constraints.DecimalMin;
@@ -15,7 +17,10 @@ import lombok.Data;
  * product-create.html / product-edit.html 専用
  */
 @Data
-public class ProductDetailForm {
+public class ProductDetailForm implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** 商品名（必須255文字以内） */
     @NotBlank(message = "商品名は必須です")
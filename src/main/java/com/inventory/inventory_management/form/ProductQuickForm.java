@@ -1,5 +1,7 @@
 package com.inventory.inventory_management.form;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 import jakarta.validation.constraints.DecimalMin;
@@ -13,7 +15,10 @@ import lombok.Data;
  * products.html の一覧画面内クイック登録専用
  */
 @Data
-public class ProductQuickForm {
+public class ProductQuickForm implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** 商品名（必須） */
     @NotBlank(message = "商品名は必須です")
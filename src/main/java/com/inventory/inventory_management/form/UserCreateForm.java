@@ -1,5 +1,8 @@
 package com.inventory.inventory_management.form;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,9 +13,13 @@ import lombok.Data;
 /**
  * ユーザー新規登録フォーム
  * 管理者が新規ユーザーを登録する際に使用するフォームクラス
+ * 入力エラー時はフラッシュ属性としてセッションに保存されるため、パスワードはシリアライズしない（transient）
  */
 @Data
-public class UserCreateForm {
+public class UserCreateForm implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** ユーザー名 */
     @NotBlank(message = "ユーザー名は必須です")
@@ -37,11 +44,11 @@ public class UserCreateForm {
         regexp = "^(?=.*[A-Za-z])(?=.*\\d).+$",
         message = "パスワードは英字と数字を組み合わせてください"
     )
-    private String password;
+    private transient String password;
 
     /** パスワード（確認用） */
     @NotBlank(message = "パスワード（確認）は必須です")
-    private String confirmPassword;
+    private transient String confirmPassword;
 
     /** 割り当てるロールID */
     @NotNull(message = "ロールは必須です")
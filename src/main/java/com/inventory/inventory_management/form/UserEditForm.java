@@ -1,5 +1,8 @@
 package com.inventory.inventory_management.form;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +15,10 @@ import lombok.Data;
  * パスワード変更は既存の /users/password 機能で対応するため除外
  */
 @Data
-public class UserEditForm {
+public class UserEditForm implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /** ユーザー名 */
     @NotBlank(message = "ユーザー名は必須です")
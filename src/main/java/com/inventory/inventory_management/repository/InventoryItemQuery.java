@@ -0,0 +1,121 @@
+package com.inventory.inventory_management.repository;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import com.inventory.inventory_management.dto.response.InventoryItemDto;
+
+/**
+ * 在庫一覧 API の検索条件
+ *
+ * @param keyword        商品名検索キーワード（部分一致、null または空文字の場合は全件対象）
+ * @param category       カテゴリ（null または空文字の場合は全件対象）
+ * @param status         ステータス（null または空文字の場合は全件対象）
+ * @param minStock       最小在庫数（null の場合は下限なし）
+ * @param maxStock       最大在庫数（null の場合は上限なし）
+ * @param includeDeleted 削除済み商品を含むかどうか
+ * @param order          並び順
+ * @param after          カーソル（この商品より後を取得する。null の場合は offset から取得する）
+ * @param offset         読み飛ばす件数（after を指定した場合は無視する）
+ * @param limit          取得件数
+ */
+public record InventoryItemQuery(
+        String keyword,
+        String category,
+        String status,
+        Integer minStock,
+        Integer maxStock,
+        boolean includeDeleted,
+        Order order,
+        Cursor after,
+        int offset,
+        int limit) {
+
+    /**
+     * 並び順
+     * 同じ値の商品の並びを安定させるため、いずれも最後に ID の昇順を加える
+     */
+    public enum Order {
+        /** 商品名順（昇順） */
+        NAME("name", "p.productName", true, InventoryItemDto::productName, value -> value),
+        /** 在庫数順（昇順） */
+        STOCK("stock", "p.stock", true, InventoryItemDto::stock, Integer::valueOf),
+        /** 在庫数順（降順） */
+        STOCK_DESC("stock_desc", "p.stock", false, InventoryItemDto::stock, Integer::valueOf),
+        /** 更新日順（降順） */
+        UPDATED("updated", "p.updatedAt", false, InventoryItemDto::updatedAt, LocalDateTime::parse);
+
+        private final String key;
+        private final String path;
+        private final boolean ascending;
+        private final Function<InventoryItemDto, Object> extractor;
+        private final Function<String, Object> parser;
+
+        Order(String key, String path, boolean ascending, Function<InventoryItemDto, Object> extractor,
+                Function<String, Object> parser) {
+            this.key = key;
+            this.path = path;
+            this.ascending = ascending;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        /**
+         * 画面のソート種別から並び順を取得する
+         * 画面と同じく、null・空文字・不明なソート種別の場合は商品名順とする
+         * @param sortBy ソート種別（name / stock / stock_desc / updated）
+         * @return 並び順
+         */
+        public static Order of(String sortBy) {
+            for (Order order : values()) {
+                if (order.key.equals(sortBy)) {
+                    return order;
+                }
+            }
+            return NAME;
+        }
+
+        /** @return 画面のソート種別 */
+        public String key() {
+            return key;
+        }
+
+        /** @return ORDER BY 句 */
+        String orderBy() {
+            return " ORDER BY " + path + (ascending ? " ASC" : " DESC") + ", p.id ASC";
+        }
+
+        /** @return カーソルより後の商品に絞り込む条件（パラメータ :afterValue, :afterId） */
+        String afterPredicate() {
+            return " AND (" + path + (ascending ? " > " : " < ") + ":afterValue OR ("
+                    + path + " = :afterValue AND p.id > :afterId))";
+        }
+
+        /**
+         * 商品の並び順の値（カーソルに保存する値）を文字列で取得する
+         * @param item 商品
+         * @return 並び順の値
+         */
+        public String valueOf(InventoryItemDto item) {
+            return String.valueOf(extractor.apply(item));
+        }
+
+        /**
+         * カーソルに保存した値を、比較に使う型に変換する
+         * @param value 並び順の値
+         * @return 変換後の値
+         */
+        public Object parse(String value) {
+            return parser.apply(value);
+        }
+    }
+
+    /**
+     * 前回取得した最後の商品の位置
+     *
+     * @param value 並び順の値（{@link Order#valueOf(InventoryItemDto)}）
+     * @param id    商品 ID
+     */
+    public record Cursor(String value, int id) {
+    }
+}
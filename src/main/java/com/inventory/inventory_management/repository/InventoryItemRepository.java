@@ -0,0 +1,19 @@
+package com.inventory.inventory_management.repository;
+
+import java.util.List;
+
+import com.inventory.inventory_management.dto.response.InventoryItemDto;
+
+/**
+ * 在庫一覧 API の商品検索リポジトリ（ProductRepository のカスタム実装部分）
+ */
+public interface InventoryItemRepository {
+
+    /**
+     * 在庫一覧の行に表示する項目のみを検索する（件数は取得しない）
+     * カーソルを指定した場合は、並び順の値と ID によりカーソルより後の商品を OFFSET なしで取得する
+     * @param query 検索条件
+     * @return 商品（最大 query.limit() 件）
+     */
+    List<InventoryItemDto> findInventoryItems(InventoryItemQuery query);
+}
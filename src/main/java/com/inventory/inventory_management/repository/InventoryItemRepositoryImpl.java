@@ -0,0 +1,71 @@
+package com.inventory.inventory_management.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.inventory.inventory_management.dto.response.InventoryItemDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * 在庫一覧 API の商品検索リポジトリの実装
+ * <p>
+ * 画面の検索（{@link ProductRepository#findBySearchConditions} など）と同じ条件で、一覧の行に表示する列のみを
+ * コンストラクタ式で取得します。エンティティを永続化コンテキストに読み込まず、件数（COUNT）も取得しません。
+ * </p>
+ */
+class InventoryItemRepositoryImpl implements InventoryItemRepository {
+
+    private static final String SELECT = "SELECT new " + InventoryItemDto.class.getName()
+            + "(p.id, p.productCode, p.productName, p.category, p.price, p.stock, p.status, p.updatedAt, p.deletedAt)"
+            + " FROM Product p WHERE 1 = 1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<InventoryItemDto> findInventoryItems(InventoryItemQuery query) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (query.keyword() != null && !query.keyword().isEmpty()) {
+            jpql.append(" AND LOWER(p.productName) LIKE LOWER(CONCAT('%', :keyword, '%'))");
+            params.put("keyword", query.keyword());
+        }
+        if (query.category() != null && !query.category().isEmpty()) {
+            jpql.append(" AND p.category = :category");
+            params.put("category", query.category());
+        }
+        if (query.status() != null && !query.status().isEmpty()) {
+            jpql.append(" AND p.status = :status");
+            params.put("status", query.status());
+        }
+        if (query.minStock() != null) {
+            jpql.append(" AND p.stock >= :minStock");
+            params.put("minStock", query.minStock());
+        }
+        if (query.maxStock() != null) {
+            jpql.append(" AND p.stock <= :maxStock");
+            params.put("maxStock", query.maxStock());
+        }
+        if (!query.includeDeleted()) {
+            jpql.append(" AND p.deletedAt IS NULL");
+        }
+        InventoryItemQuery.Order order = query.order();
+        if (query.after() != null) {
+            jpql.append(order.afterPredicate());
+            params.put("afterValue", order.parse(query.after().value()));
+            params.put("afterId", query.after().id());
+        }
+        jpql.append(order.orderBy());
+
+        TypedQuery<InventoryItemDto> typedQuery = entityManager.createQuery(jpql.toString(), InventoryItemDto.class);
+        params.forEach(typedQuery::setParameter);
+        if (query.after() == null) {
+            typedQuery.setFirstResult(query.offset());
+        }
+        return typedQuery.setMaxResults(query.limit()).getResultList();
+    }
+}
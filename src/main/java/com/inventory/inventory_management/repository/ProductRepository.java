@@ -1,5 +1,6 @@
 package com.inventory.inventory_management.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -14,9 +15,10 @@ import com.inventory.inventory_management.entity.Product;
 /**
  * 商品リポジトリ
  * 商品データのCRUD操作を提供
+ * 在庫一覧 API の検索（必要な列のみ・カーソル対応）は {@link InventoryItemRepository} で実装する
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, InventoryItemRepository {
 
     /**
      * 商品コードで商品を検索
@@ -92,6 +94,13 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.deletedAt IS NULL ORDER BY p.category")
     List<String> findAllCategories();
 
+    /**
+     * 指定カテゴリの未削除の商品が存在するか
+     * @param category カテゴリ
+     * @return 存在する場合 true
+     */
+    boolean existsByCategoryAndDeletedAtIsNull(String category);
+
     /**
      * 削除済み商品を含む検索（管理者専用）
      * @param keyword 商品名検索キーワード
@@ -116,4 +125,20 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
         @Param("maxStock") Integer maxStock,
         Pageable pageable
     );
+
+    /**
+     * 指定した商品コードのうち既に使用されているものを取得（一括採番時の重複確認用）
+     * @param productCodes 確認対象の商品コード
+     * @return 既存の商品コードリスト
+     */
+    @Query("SELECT p.productCode FROM Product p WHERE p.productCode IN :productCodes")
+    List<String> findExistingProductCodes(@Param("productCodes") Collection<String> productCodes);
+
+    /**
+     * 指定した SKU のうち既に使用されているものを取得（一括登録時の重複確認用）
+     * @param skus 確認対象の SKU
+     * @return 既存の SKU リスト
+     */
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
 }
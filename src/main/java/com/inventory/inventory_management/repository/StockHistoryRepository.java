@@ -0,0 +1,20 @@
+package com.inventory.inventory_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
+
+/**
+ * 複数商品の在庫履歴の検索リポジトリ（StockTransactionRepository のカスタム実装部分）
+ */
+public interface StockHistoryRepository {
+
+    /**
+     * 商品ごとの最新の在庫変動履歴を 1 回のクエリで検索する
+     * @param productIds 商品IDのリスト
+     * @param limitPerProduct 商品ごとの取得件数
+     * @return 在庫変動履歴リスト（商品ID昇順、商品内は日時降順）
+     */
+    List<StockTransactionDto> findLatestByProductIds(Collection<Integer> productIds, int limitPerProduct);
+}
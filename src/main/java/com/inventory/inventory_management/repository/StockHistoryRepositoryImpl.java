@@ -0,0 +1,45 @@
+package com.inventory.inventory_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * 複数商品の在庫履歴の検索リポジトリの実装
+ * <p>
+ * 商品ごとに ROW_NUMBER() OVER (PARTITION BY product_id) で日時の新しい順に番号を付け、
+ * 番号が取得件数以下の行のみを返します。商品数にかかわらず 1 回のクエリで、
+ * 各商品の全履歴ではなく最新の limitPerProduct 件のみを取得します。
+ * </p>
+ */
+class StockHistoryRepositoryImpl implements StockHistoryRepository {
+
+    private static final String SELECT_LATEST = "SELECT new " + StockTransactionDto.class.getName()
+            + "(t.id, t.productId, t.transactionType, t.quantity, t.beforeStock, t.afterStock,"
+            + " t.userId, t.transactionDate, t.remarks)"
+            + " FROM (SELECT st.id AS id, st.productId AS productId, st.transactionType AS transactionType,"
+            + " st.quantity AS quantity, st.beforeStock AS beforeStock, st.afterStock AS afterStock,"
+            + " st.userId AS userId, st.transactionDate AS transactionDate, st.remarks AS remarks,"
+            + " ROW_NUMBER() OVER (PARTITION BY st.productId ORDER BY st.transactionDate DESC, st.id DESC) AS rn"
+            + " FROM StockTransaction st WHERE st.productId IN :productIds) t"
+            + " WHERE t.rn <= :limit"
+            + " ORDER BY t.productId, t.transactionDate DESC, t.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StockTransactionDto> findLatestByProductIds(Collection<Integer> productIds, int limitPerProduct) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(SELECT_LATEST, StockTransactionDto.class)
+                .setParameter("productIds", productIds)
+                .setParameter("limit", limitPerProduct)
+                .getResultList();
+    }
+}
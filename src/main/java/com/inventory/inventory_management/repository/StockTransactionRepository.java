@@ -2,11 +2,13 @@ package com.inventory.inventory_management.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
 import com.inventory.inventory_management.entity.StockTransaction;
 
 /**
@@ -14,7 +16,7 @@ import com.inventory.inventory_management.entity.StockTransaction;
  * 在庫変動履歴データのCRUD操作を提供
  */
 @Repository
-public interface StockTransactionRepository extends JpaRepository<StockTransaction, Integer> {
+public interface StockTransactionRepository extends JpaRepository<StockTransaction, Integer>, StockHistoryRepository {
 
     /**
      * 商品IDで在庫変動履歴を検索（日時降順）
@@ -24,6 +26,19 @@ public interface StockTransactionRepository extends JpaRepository<StockTransacti
     @Query("SELECT st FROM StockTransaction st WHERE st.productId = :productId ORDER BY st.transactionDate DESC, st.id DESC")
     List<StockTransaction> findByProductIdOrderByTransactionDateDesc(@Param("productId") Integer productId);
 
+    /**
+     * 商品IDで在庫変動履歴を検索（日時降順、在庫履歴 API 用）
+     * エンティティを読み込まず、レスポンスに含める列のみを DTO として取得する
+     * @param productId 商品ID
+     * @param limit 取得件数（Limit.unlimited() の場合は全件）
+     * @return 在庫変動履歴リスト
+     */
+    @Query("SELECT new com.inventory.inventory_management.dto.response.StockTransactionDto("
+            + "st.id, st.productId, st.transactionType, st.quantity, st.beforeStock, st.afterStock, "
+            + "st.userId, st.transactionDate, st.remarks) "
+            + "FROM StockTransaction st WHERE st.productId = :productId ORDER BY st.transactionDate DESC, st.id DESC")
+    List<StockTransactionDto> findHistoryByProductId(@Param("productId") Integer productId, Limit limit);
+
     /**
      * 商品IDと取引種別で在庫変動履歴を検索
      * @param productId 商品ID
@@ -1,9 +1,8 @@
 package com.inventory.inventory_management.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,9 +12,10 @@ import com.inventory.inventory_management.entity.User;
 
 /**
  * ユーザーリポジトリ
+ * ロール条件付きのページング検索は {@link UserSearchRepository} で実装する
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, UserSearchRepository {
     
     /**
      * メールアドレスでユーザーを検索
@@ -41,29 +41,13 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByUsernameWithRoles(@Param("username") String username);
 
     /**
-     * キーワード・アクティブ状態・ロール ID でユーザーをページング検索する
-     * キーワードはユーザー名・メールアドレス・フルネームを対象とする
-     * @param keyword 検索キーワード（null または空文字の場合は全件対象）
-     * @param isActive アクティブフラグ（null の場合は全件対象）
-     * @param roleId ロール ID（null の場合は全件対象）
-     * @param pageable ページング情報
-     * @return ユーザーのページ
+     * ユーザー名で認証情報のバージョン（パスワードハッシュ・有効フラグ・更新日時）のみを取得する
+     * UserDetails キャッシュの鮮度確認用（ロールの JOIN を伴わない users テーブルのみの検索）
+     * @param username ユーザー名
+     * @return 認証情報のバージョン（存在しない場合は空の Optional）
      */
-    @Query(value = "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.userRoles ur LEFT JOIN FETCH ur.role WHERE " +
-           "(:keyword IS NULL OR :keyword = '' OR " +
-           " u.username LIKE %:keyword% OR u.email LIKE %:keyword% OR u.fullName LIKE %:keyword%) " +
-           "AND (:isActive IS NULL OR u.isActive = :isActive) " +
-           "AND (:roleId IS NULL OR EXISTS (SELECT 1 FROM u.userRoles ur2 WHERE ur2.role.id = :roleId))",
-           countQuery = "SELECT COUNT(DISTINCT u) FROM User u WHERE " +
-                        "(:keyword IS NULL OR :keyword = '' OR " +
-                        " u.username LIKE %:keyword% OR u.email LIKE %:keyword% OR u.fullName LIKE %:keyword%) " +
-                        "AND (:isActive IS NULL OR u.isActive = :isActive) " +
-                        "AND (:roleId IS NULL OR EXISTS (SELECT 1 FROM u.userRoles ur2 WHERE ur2.role.id = :roleId))")
-    Page<User> searchUsers(
-            @Param("keyword") String keyword,
-            @Param("isActive") Boolean isActive,
-            @Param("roleId") Integer roleId,
-            Pageable pageable);
+    @Query("SELECT u.password AS password, u.isActive AS isActive, u.updatedAt AS updatedAt FROM User u WHERE u.username = :username")
+    Optional<CredentialVersion> findCredentialVersionByUsername(@Param("username") String username);
 
     /**
      * IDでユーザーをロール情報込みで取得する
@@ -72,4 +56,19 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.userRoles ur LEFT JOIN FETCH ur.role WHERE u.id = :id")
     Optional<User> findByIdWithRoles(@Param("id") Integer id);
+
+    /**
+     * 認証情報のバージョン（鮮度確認用の射影）
+     */
+    interface CredentialVersion {
+
+        /** @return パスワードハッシュ */
+        String getPassword();
+
+        /** @return 有効フラグ */
+        Boolean getIsActive();
+
+        /** @return 更新日時 */
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,24 @@
+package com.inventory.inventory_management.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.inventory.inventory_management.entity.User;
+
+/**
+ * ユーザー検索リポジトリ（UserRepository のカスタム実装部分）
+ */
+public interface UserSearchRepository {
+
+    /**
+     * キーワード・アクティブ状態・ロール ID でユーザーをページング検索する
+     * キーワードはユーザー名・メールアドレス・フルネームを対象とする（部分一致）
+     * 該当ページのユーザー ID のみを SQL で取得してから、そのユーザーのロールをまとめて取得する
+     * @param keyword 検索キーワード（null または空文字の場合は全件対象）
+     * @param isActive アクティブフラグ（null の場合は全件対象）
+     * @param roleId ロール ID（null の場合は全件対象）
+     * @param pageable ページング情報（ソートは username / email / fullName / createdAt / updatedAt）
+     * @return ロール情報を含むユーザーのページ
+     */
+    Page<User> searchUsers(String keyword, Boolean isActive, Integer roleId, Pageable pageable);
+}
@@ -0,0 +1,149 @@
+package com.inventory.inventory_management.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.inventory.inventory_management.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * ユーザー検索リポジトリの実装
+ * <p>
+ * ユーザーとロールを JOIN FETCH したままページングすると、Hibernate は該当する全ユーザーとロールを読み込んでから
+ * メモリ上でページを切り出します（HHH90003004）。ここでは 2 段階に分けて検索します。
+ * <ol>
+ * <li>users テーブルのみを対象に、該当ページのユーザー ID をネイティブクエリの LIMIT / OFFSET で取得する
+ * （件数は必要な場合のみ COUNT）</li>
+ * <li>取得した ID のユーザーのみ、ロールを JOIN FETCH で一括取得し、1 の順序に並べ直す</li>
+ * </ol>
+ * </p>
+ * <p>
+ * user.search.fulltext が true の場合、キーワード検索に users の FULLTEXT インデックス（ngram）を併用します。
+ * FULLTEXT で候補を絞り込み、LIKE で部分一致を確認します。
+ * インデックスは schema.sql では作成しないため、有効にする前に users_fulltext_search.sql を手動で実行します
+ * （ngram パーサーはストップワードを含むトークンを索引しないため、innodb_ft_enable_stopword=OFF で作成します）。
+ * ngram のトークン長より短いキーワードは LIKE のみで検索します。
+ * </p>
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    /** MySQL の ngram_token_size の既定値 */
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    /** ソート可能なプロパティと列の対応 */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "u.id",
+            "username", "u.username",
+            "email", "u.email",
+            "fullName", "u.full_name",
+            "createdAt", "u.created_at",
+            "updatedAt", "u.updated_at");
+
+    private final boolean fulltext;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    UserSearchRepositoryImpl(@Value("${user.search.fulltext:false}") boolean fulltext) {
+        this.fulltext = fulltext;
+    }
+
+    @Override
+    public Page<User> searchUsers(String keyword, Boolean isActive, Integer roleId, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        String where = buildWhere(keyword, isActive, roleId, params);
+
+        Query idQuery = entityManager.createNativeQuery(
+                "SELECT u.id FROM users u" + where + buildOrderBy(pageable.getSort()), Integer.class);
+        params.forEach(idQuery::setParameter);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (Object id : idQuery.getResultList()) {
+            ids.add(((Number) id).intValue());
+        }
+
+        return PageableExecutionUtils.getPage(findWithRoles(ids), pageable, () -> {
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) FROM users u" + where, Long.class);
+            params.forEach(countQuery::setParameter);
+            return ((Number) countQuery.getSingleResult()).longValue();
+        });
+    }
+
+    /**
+     * 指定 ID のユーザーをロール情報込みで取得し、ID の順序に並べる
+     */
+    private List<User> findWithRoles(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<User> users = entityManager.createQuery(
+                "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.userRoles ur LEFT JOIN FETCH ur.role "
+                        + "WHERE u.id IN :ids", User.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Integer, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        List<User> ordered = new ArrayList<>(users);
+        ordered.sort(Comparator.comparingInt(user -> positions.get(user.getId())));
+        return ordered;
+    }
+
+    private String buildWhere(String keyword, Boolean isActive, Integer roleId, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (keyword != null && !keyword.isBlank()) {
+            String trimmed = keyword.trim();
+            if (fulltext && trimmed.length() >= NGRAM_TOKEN_SIZE) {
+                where.append(" AND MATCH(u.username, u.email, u.full_name) AGAINST (:fulltextQuery IN BOOLEAN MODE)");
+                params.put("fulltextQuery", "\"" + trimmed.replace('"', ' ') + "\"");
+            }
+            where.append(" AND (u.username LIKE :pattern ESCAPE '!' OR u.email LIKE :pattern ESCAPE '!'"
+                    + " OR u.full_name LIKE :pattern ESCAPE '!')");
+            params.put("pattern", "%" + escapeLike(trimmed) + "%");
+        }
+        if (isActive != null) {
+            where.append(" AND u.is_active = :isActive");
+            params.put("isActive", isActive);
+        }
+        if (roleId != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)");
+            params.put("roleId", roleId);
+        }
+        return where.toString();
+    }
+
+    /**
+     * ソート条件を ORDER BY 句に変換する（同順位の並びを安定させるため最後に ID を加える）
+     */
+    private static String buildOrderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("ソートできない項目です: " + order.getProperty());
+            }
+            orderBy.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        return orderBy.append("u.id ASC").toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
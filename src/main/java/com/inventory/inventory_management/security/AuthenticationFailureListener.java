@@ -28,11 +28,13 @@ public class AuthenticationFailureListener implements ApplicationListener<Authen
     }
     
     @Override
-    @Async // 非同期処理を追加
+    @Async(SecurityEventExecutorConfig.EXECUTOR_NAME) // セキュリティイベント用の上限付き実行器で非同期処理
     public void onApplicationEvent(AuthenticationFailureBadCredentialsEvent event) {
         String username = event.getAuthentication().getName();
         String ipAddress = "unknown";
         String sessionId = "unknown";
+        // 接続元ごとの失敗回数の記録に使うIPアドレス（取得できない場合は記録しない）
+        String trackedIpAddress = null;
         
         // 認証の詳細情報（IPアドレス、セッションID）を取得
         Object details = event.getAuthentication().getDetails();
@@ -40,12 +42,13 @@ public class AuthenticationFailureListener implements ApplicationListener<Authen
             WebAuthenticationDetails webDetails = (WebAuthenticationDetails) details;
             ipAddress = webDetails.getRemoteAddress();
             sessionId = webDetails.getSessionId();
+            trackedIpAddress = ipAddress;
         }
         
         try {
             logger.warn("認証失敗イベント検出: username={}, ipAddress={}, sessionId={}", 
                        username, ipAddress, sessionId);
-            loginAttemptService.loginFailed(username);
+            loginAttemptService.loginFailed(username, trackedIpAddress);
         } catch (Exception e) {
             logger.error("認証失敗処理中にエラーが発生しました: username={}, ipAddress={}, error={}", 
                         username, ipAddress, e.getMessage());
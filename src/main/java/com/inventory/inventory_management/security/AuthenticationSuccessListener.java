@@ -28,7 +28,7 @@ public class AuthenticationSuccessListener implements ApplicationListener<Authen
     }
     
     @Override
-    @Async // 非同期処理を追加
+    @Async(SecurityEventExecutorConfig.EXECUTOR_NAME) // セキュリティイベント用の上限付き実行器で非同期処理
     public void onApplicationEvent(AuthenticationSuccessEvent event) {
         String username = event.getAuthentication().getName();
         String ipAddress = "unknown";
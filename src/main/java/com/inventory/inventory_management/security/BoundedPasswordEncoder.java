@@ -0,0 +1,206 @@
+package com.inventory.inventory_management.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 専用のスレッドプールでハッシュ計算を行うパスワードエンコーダー
+ * BCrypt(12) は 1 回あたり数百ミリ秒の CPU を消費するため、同時実行数をプールのスレッド数に制限し、
+ * ログイン集中時に CPU を使い切ってリクエストスレッド全体が遅延することを防ぎます。
+ * <p>
+ * 待ち行列は上限付きで、満杯の場合は待たずに {@link PasswordVerificationRejectedException} を送出します。
+ * 待ち時間を含めてタイムアウトを超えた場合も同様に拒否します。
+ * </p>
+ * <p>
+ * 制限の対象はログイン時の検証（{@link #matches}）のみです。ハッシュ化（{@link #encode}）はユーザー作成・
+ * パスワード変更など管理操作で行われ、件数も少ないため呼び出し元のスレッドで実行し、ログイン集中時にも拒否しません。
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int queueCapacity;
+
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * コンストラクタ
+     *
+     * @param delegate      実際のハッシュ計算を行うエンコーダー
+     * @param threads       ハッシュ計算スレッド数（1 以上）
+     * @param queueCapacity 待ち行列の上限（1 以上）
+     * @param timeoutMillis 待ち時間を含む 1 回あたりのタイムアウト（ミリ秒）
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("パスワード検証プール初期化: threads={}, queueCapacity={}, timeoutMillis={}",
+                threads, queueCapacity, timeoutMillis);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * プールの実行状況を取得する
+     *
+     * @return 実行状況のスナップショット
+     */
+    public Stats getStats() {
+        long count = completed.sum();
+        return new Stats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                maxQueueDepth.get(),
+                queueCapacity,
+                count,
+                rejected.sum(),
+                timedOut.sum(),
+                count == 0 ? 0 : totalLatencyNanos.sum() / count / 1_000_000.0,
+                count == 0 ? 0 : totalQueueWaitNanos.sum() / count / 1_000_000.0,
+                maxLatencyNanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * ハッシュ計算をプールで実行し、結果を待つ
+     *
+     * @param task ハッシュ計算処理
+     * @return 計算結果
+     * @throws PasswordVerificationRejectedException 待ち行列が満杯、またはタイムアウトした場合
+     */
+    private <T> T execute(Callable<T> task) {
+        long submitted = System.nanoTime();
+        AtomicLong started = new AtomicLong();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                started.set(System.nanoTime());
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("パスワード検証プールが満杯のため拒否: queueDepth={}, active={}",
+                    executor.getQueue().size(), executor.getActiveCount());
+            throw new PasswordVerificationRejectedException();
+        }
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+
+        try {
+            T result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            long latency = System.nanoTime() - submitted;
+            completed.increment();
+            totalLatencyNanos.add(latency);
+            totalQueueWaitNanos.add(started.get() - submitted);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            logger.debug("パスワード検証完了: latency={}ms, queueWait={}ms",
+                    latency / 1_000_000, (started.get() - submitted) / 1_000_000);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            logger.warn("パスワード検証がタイムアウトしたため拒否: timeoutMillis={}, queueDepth={}",
+                    timeoutMillis, executor.getQueue().size());
+            throw new PasswordVerificationRejectedException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordVerificationRejectedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-verify-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * パスワード検証プールの実行状況
+     *
+     * @param threads                ハッシュ計算スレッド数
+     * @param active                 実行中の件数
+     * @param queueDepth             待ち行列の現在の件数
+     * @param maxQueueDepth          待ち行列の最大件数（起動後）
+     * @param queueCapacity          待ち行列の上限
+     * @param completed              完了件数
+     * @param rejected               待ち行列満杯による拒否件数
+     * @param timedOut               タイムアウトによる拒否件数
+     * @param averageLatencyMillis   平均所要時間（待ち時間を含む、ミリ秒）
+     * @param averageQueueWaitMillis 平均待ち時間（ミリ秒）
+     * @param maxLatencyMillis       最大所要時間（ミリ秒）
+     */
+    public record Stats(
+            int threads,
+            int active,
+            int queueDepth,
+            int maxQueueDepth,
+            int queueCapacity,
+            long completed,
+            long rejected,
+            long timedOut,
+            double averageLatencyMillis,
+            double averageQueueWaitMillis,
+            double maxLatencyMillis) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.inventory.inventory_management.security;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * コスト係数を指定して BCrypt ハッシュを生成するパスワードエンコーダー
+ * 保存済みハッシュのコスト係数が現在のコスト係数と異なる場合は {@link #upgradeEncoding(String)} が true を返し、
+ * ログイン成功時に UserDetailsPasswordService 経由で再ハッシュされます（コストの引き上げ・引き下げの両方）。
+ * <p>
+ * コスト係数は固定値を指定するか、{@link #calibrate(long, int, int)} で起動したホスト上の計測結果から決定します。
+ * </p>
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    /** BCrypt ハッシュからコスト係数を取り出すパターン（例: $2a$12$...） */
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    /** 計測に使うパスワード */
+    private static final String CALIBRATION_PASSWORD = "calibration-Password1";
+
+    /** 計測回数（中央値を採用） */
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final int cost;
+
+    private final BCryptPasswordEncoder delegate;
+
+    /**
+     * コンストラクタ
+     *
+     * @param cost BCrypt のコスト係数（4〜31）
+     */
+    public CalibratedBCryptPasswordEncoder(int cost) {
+        this.cost = cost;
+        this.delegate = new BCryptPasswordEncoder(cost);
+    }
+
+    /**
+     * ホスト上でハッシュ計算時間を計測し、目標時間に収まる最大のコスト係数を持つエンコーダーを生成する
+     * 最小コストで計測した時間から、コストが 1 増えるごとに計算時間が 2 倍になるものとして見積もる。
+     * 最小コストでも目標時間を超える場合は最小コストを採用する。
+     *
+     * @param targetMillis 1 回あたりのハッシュ計算の目標時間（ミリ秒）
+     * @param minCost      コスト係数の下限
+     * @param maxCost      コスト係数の上限
+     * @return 決定したコスト係数のエンコーダー
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(long targetMillis, int minCost, int maxCost) {
+        long baseNanos = measureNanos(new BCryptPasswordEncoder(minCost));
+        long targetNanos = targetMillis * 1_000_000L;
+
+        int cost = minCost;
+        long estimatedNanos = baseNanos;
+        while (cost < maxCost && estimatedNanos * 2 <= targetNanos) {
+            cost++;
+            estimatedNanos *= 2;
+        }
+
+        if (baseNanos > targetNanos) {
+            logger.warn("BCrypt コスト係数の下限でも目標時間を超過: minCost={}, measured={}ms, target={}ms",
+                    minCost, baseNanos / 1_000_000, targetMillis);
+        }
+        logger.info("BCrypt コスト係数決定: cost={}, estimated={}ms, target={}ms, range=[{}, {}]",
+                cost, estimatedNanos / 1_000_000, targetMillis, minCost, maxCost);
+        return new CalibratedBCryptPasswordEncoder(cost);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * 保存済みハッシュの再ハッシュが必要か判定する
+     *
+     * @param encodedPassword 保存済みハッシュ
+     * @return コスト係数が現在のコスト係数と異なる場合 true（BCrypt 形式でない場合は false）
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedCost = costOf(encodedPassword);
+        return storedCost > 0 && storedCost != cost;
+    }
+
+    /**
+     * 現在のコスト係数を取得する
+     *
+     * @return コスト係数
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * BCrypt ハッシュからコスト係数を取り出す
+     *
+     * @param encodedPassword BCrypt ハッシュ
+     * @return コスト係数（BCrypt 形式でない場合は 0）
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return 0;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    /**
+     * ハッシュ計算 1 回あたりの時間を計測する（初回はウォームアップとして除外し、中央値を返す）
+     */
+    private static long measureNanos(BCryptPasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
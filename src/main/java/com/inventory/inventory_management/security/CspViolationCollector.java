@@ -0,0 +1,389 @@
+package com.inventory.inventory_management.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * CSP 違反レポートの集計
+ * <p>
+ * 受信したレポートを (ディレクティブ, ブロックされた URI, 違反が発生したページ) ごとにまとめて件数を数えます。
+ * ログに出力するのは、各組み合わせについて集計期間（window）内の最初の 1 件と、以降の一定割合（sample-rate）のみです。
+ * さらにログの出力件数を 1 分あたり max-logs-per-minute 件に制限し、超過分は件数のみ記録します。
+ * 誤設定の CDN スクリプトのようにページ表示ごとに送られる違反でも、ログは集計期間ごとに 1 行程度に抑えられます。
+ * </p>
+ * <p>
+ * 集計する組み合わせは max-keys 件までで、上限に達した状態で新しい組み合わせを受信した場合は、
+ * 累計件数が最も少ない組み合わせ（同数の場合は最後の受信が最も古いもの）を削除して集計を始めます。
+ * 偽造したレポートで上限まで埋められても、新しい違反は通常どおりログに出力されます。
+ * 最後の受信から retention を過ぎた組み合わせは定期的に削除します。
+ * </p>
+ */
+@Component
+public class CspViolationCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(CspViolationCollector.class);
+
+    /** URI の最大長（超過分は切り捨てる） */
+    private static final int MAX_URI_LENGTH = 255;
+
+    private static final long LOG_RATE_WINDOW_MILLIS = 60_000;
+
+    private final JsonMapper jsonMapper;
+
+    private final Clock clock;
+
+    private final long windowMillis;
+
+    private final int maxKeys;
+
+    private final double sampleRate;
+
+    private final int maxLogsPerMinute;
+
+    private final long retentionMillis;
+
+    private final int maxReportBytes;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /** ログ出力件数の制限（1 分単位の固定ウィンドウ） */
+    private final AtomicLong logWindowStart = new AtomicLong();
+    private final AtomicLong logWindowCount = new AtomicLong();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param jsonMapper       レポートの解析に使うマッパー
+     * @param window           同じ違反のログ出力を 1 件にまとめる集計期間
+     * @param maxKeys          集計する組み合わせの上限（超過時は件数の少ない組み合わせを削除する）
+     * @param sampleRate       集計期間内の 2 件目以降をログに出力する割合（0〜1）
+     * @param maxLogsPerMinute 1 分あたりのログ出力件数の上限
+     * @param retention        最後の受信から集計を保持する期間
+     * @param maxReportBytes   受け付けるレポートの最大サイズ（文字数）
+     */
+    @Autowired
+    public CspViolationCollector(JsonMapper jsonMapper,
+            @Value("${security.csp-report.window:5m}") Duration window,
+            @Value("${security.csp-report.max-keys:1000}") int maxKeys,
+            @Value("${security.csp-report.sample-rate:0.01}") double sampleRate,
+            @Value("${security.csp-report.max-logs-per-minute:60}") int maxLogsPerMinute,
+            @Value("${security.csp-report.retention:24h}") Duration retention,
+            @Value("${security.csp-report.max-report-bytes:16384}") int maxReportBytes) {
+        this(jsonMapper, Clock.systemUTC(), window, maxKeys, sampleRate, maxLogsPerMinute, retention, maxReportBytes);
+    }
+
+    CspViolationCollector(JsonMapper jsonMapper, Clock clock, Duration window, int maxKeys, double sampleRate,
+            int maxLogsPerMinute, Duration retention, int maxReportBytes) {
+        this.jsonMapper = jsonMapper;
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        this.maxKeys = maxKeys;
+        this.sampleRate = sampleRate;
+        this.maxLogsPerMinute = maxLogsPerMinute;
+        this.retentionMillis = retention.toMillis();
+        this.maxReportBytes = maxReportBytes;
+    }
+
+    /**
+     * CSP 違反レポートを解析して集計する
+     * report-uri 形式（{"csp-report": {...}}）と Reporting API 形式（[{"type": "csp-violation", "body": {...}}]）に対応する
+     *
+     * @param body リクエストボディ
+     * @return 集計した違反の件数
+     */
+    public int ingest(String body) {
+        if (body == null || body.isBlank() || body.length() > maxReportBytes) {
+            malformed.increment();
+            return 0;
+        }
+        JsonNode root;
+        try {
+            root = jsonMapper.readTree(body);
+        } catch (JacksonException e) {
+            malformed.increment();
+            return 0;
+        }
+        int count = 0;
+        if (root.isArray()) {
+            for (JsonNode report : root) {
+                if (record(report.path("body"), "effectiveDirective", "blockedURL", "documentURL")) {
+                    count++;
+                }
+            }
+        } else if (record(root.path("csp-report"), "effective-directive", "blocked-uri", "document-uri")) {
+            count++;
+        }
+        if (count == 0) {
+            malformed.increment();
+        }
+        return count;
+    }
+
+    /**
+     * 違反件数の多い順に取得する
+     *
+     * @param limit 取得件数
+     * @return 違反の集計（累計件数の降順）
+     */
+    public List<Violation> getTopViolations(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        long now = clock.millis();
+        Comparator<Violation> byTotal = Comparator.comparingLong(Violation::total);
+        PriorityQueue<Violation> top = new PriorityQueue<>(limit + 1, byTotal);
+        for (Map.Entry<Key, Entry> mapEntry : entries.entrySet()) {
+            top.offer(mapEntry.getValue().toViolation(mapEntry.getKey(), now, windowMillis));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Violation> result = new ArrayList<>(top);
+        result.sort(byTotal.reversed());
+        return result;
+    }
+
+    /**
+     * 受信・ログ出力の状況を取得する
+     *
+     * @return 受信件数・ログ出力件数などの状況
+     */
+    public Stats getStats() {
+        return new Stats(entries.size(), maxKeys, received.sum(), malformed.sum(), evicted.sum(),
+                logged.sum(), suppressed.sum(), expired.sum());
+    }
+
+    /**
+     * 最後の受信から保持期間を過ぎた集計を削除する
+     */
+    @Scheduled(fixedDelayString = "${security.csp-report.cleanup-interval-ms:60000}")
+    public void removeExpiredEntries() {
+        long threshold = clock.millis() - retentionMillis;
+        int removed = 0;
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+            if (iterator.next().lastSeen < threshold) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            expired.add(removed);
+            logger.debug("期限切れのCSP違反集計を削除: removed={}, remaining={}", removed, entries.size());
+        }
+    }
+
+    private boolean record(JsonNode report, String directiveField, String blockedField, String documentField) {
+        if (!report.isObject()) {
+            return false;
+        }
+        String directive = text(report, directiveField);
+        if (directive.isEmpty()) {
+            // 古いブラウザは violated-directive のみ送る（"script-src 'self'" のようにポリシーを含む）
+            String violated = text(report, "violated-directive");
+            directive = violated.isEmpty() ? "" : violated.split(" ", 2)[0];
+        }
+        if (directive.isEmpty()) {
+            return false;
+        }
+        Key key = new Key(truncate(directive), normalizeUri(text(report, blockedField)),
+                normalizeUri(text(report, documentField)));
+        received.increment();
+        long now = clock.millis();
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            while (entries.size() >= maxKeys && evictLeastSeen()) {
+                long count = evicted.sum();
+                if (Long.bitCount(count) == 1) {
+                    log("CSP違反の集計件数が上限に達したため件数の少ない組み合わせを削除しました: maxKeys={}, evicted={}",
+                            maxKeys, count);
+                }
+            }
+            entry = entries.computeIfAbsent(key, k -> new Entry(now));
+        }
+
+        long windowCount = entry.increment(now, windowMillis);
+        if (windowCount == 1) {
+            log("CSP Violation detected: directive={}, blockedUri={}, documentUri={}, total={}",
+                    key.directive(), key.blockedUri(), key.documentUri(), entry.total.get());
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log("CSP Violation (sampled): directive={}, blockedUri={}, documentUri={}, inWindow={}, total={}",
+                    key.directive(), key.blockedUri(), key.documentUri(), windowCount, entry.total.get());
+        }
+        return true;
+    }
+
+    /**
+     * 累計件数が最も少ない組み合わせ（同数の場合は最後の受信が最も古いもの）を削除する
+     *
+     * @return 削除した場合 true
+     */
+    private boolean evictLeastSeen() {
+        Key victim = null;
+        long victimTotal = Long.MAX_VALUE;
+        long victimLastSeen = Long.MAX_VALUE;
+        for (Map.Entry<Key, Entry> mapEntry : entries.entrySet()) {
+            Entry candidate = mapEntry.getValue();
+            long total = candidate.total.get();
+            if (total < victimTotal || (total == victimTotal && candidate.lastSeen < victimLastSeen)) {
+                victim = mapEntry.getKey();
+                victimTotal = total;
+                victimLastSeen = candidate.lastSeen;
+            }
+        }
+        if (victim == null || entries.remove(victim) == null) {
+            return false;
+        }
+        evicted.increment();
+        return true;
+    }
+
+    /**
+     * 1 分あたりの上限内であれば WARN で出力する
+     */
+    private void log(String format, Object... args) {
+        long now = clock.millis();
+        long start = logWindowStart.get();
+        if (now - start >= LOG_RATE_WINDOW_MILLIS && logWindowStart.compareAndSet(start, now)) {
+            long skipped = logWindowCount.getAndSet(0) - maxLogsPerMinute;
+            if (skipped > 0) {
+                logger.warn("直前の 1 分間に CSP 違反のログを {} 件省略しました", skipped);
+            }
+        }
+        if (logWindowCount.incrementAndGet() > maxLogsPerMinute) {
+            suppressed.increment();
+            return;
+        }
+        logged.increment();
+        logger.warn(format, args);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.path(field);
+        return value.isString() ? value.stringValue().trim() : "";
+    }
+
+    /**
+     * 集計の単位を増やしすぎないよう、URI のクエリ文字列・フラグメントを除く
+     */
+    private static String normalizeUri(String uri) {
+        int end = uri.length();
+        int query = uri.indexOf('?');
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = uri.indexOf('#');
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return truncate(uri.substring(0, end));
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_URI_LENGTH ? value.substring(0, MAX_URI_LENGTH) : value;
+    }
+
+    private record Key(String directive, String blockedUri, String documentUri) {
+    }
+
+    /**
+     * 組み合わせごとの件数
+     */
+    private static final class Entry {
+
+        private final long firstSeen;
+
+        private volatile long lastSeen;
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicLong windowStart;
+
+        private final AtomicLong windowCount = new AtomicLong();
+
+        Entry(long now) {
+            this.firstSeen = now;
+            this.lastSeen = now;
+            this.windowStart = new AtomicLong(now);
+        }
+
+        /**
+         * 件数を加算し、集計期間内の件数を返す（集計期間を過ぎていれば新しい期間を開始する）
+         */
+        long increment(long now, long windowMillis) {
+            total.incrementAndGet();
+            lastSeen = now;
+            long start = windowStart.get();
+            if (now - start >= windowMillis && windowStart.compareAndSet(start, now)) {
+                windowCount.set(0);
+            }
+            return windowCount.incrementAndGet();
+        }
+
+        Violation toViolation(Key key, long now, long windowMillis) {
+            long inWindow = now - windowStart.get() < windowMillis ? windowCount.get() : 0;
+            return new Violation(key.directive(), key.blockedUri(), key.documentUri(), total.get(), inWindow,
+                    Instant.ofEpochMilli(firstSeen), Instant.ofEpochMilli(lastSeen));
+        }
+    }
+
+    /**
+     * CSP 違反の集計
+     *
+     * @param directive      違反したディレクティブ
+     * @param blockedUri     ブロックされた URI（クエリ文字列を除く）
+     * @param documentUri    違反が発生したページ（クエリ文字列を除く）
+     * @param total          累計件数
+     * @param currentWindow  現在の集計期間内の件数
+     * @param firstSeen      最初の受信日時
+     * @param lastSeen       最後の受信日時
+     */
+    public record Violation(String directive, String blockedUri, String documentUri, long total,
+            long currentWindow, Instant firstSeen, Instant lastSeen) {
+    }
+
+    /**
+     * CSP 違反レポートの受信状況
+     *
+     * @param trackedKeys 集計中の組み合わせ数
+     * @param maxKeys     集計する組み合わせの上限
+     * @param received    受信した違反の件数
+     * @param malformed   解析できなかったレポートの件数
+     * @param evicted     上限超過のため削除した組み合わせ数
+     * @param logged      ログに出力した件数
+     * @param suppressed  ログ出力件数の上限により省略した件数
+     * @param expired     保持期間を過ぎて削除した組み合わせ数
+     */
+    public record Stats(int trackedKeys, int maxKeys, long received, long malformed, long evicted,
+            long logged, long suppressed, long expired) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.inventory_management.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ログイン失敗回数をプロセス内のみで保持する保存先
+ * 単一ノード構成・開発環境向けです。再起動で失敗回数は失われ、ノード間でも共有されません。
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Map<Scope, LoginAttemptTable> tables = new EnumMap<>(Scope.class);
+
+    /**
+     * コンストラクタ
+     * @param maxTrackedKeys キー種別ごとに追跡する件数の上限
+     * @param startEpochSeconds 開始時刻（エポック秒）
+     */
+    public InMemoryLoginAttemptStore(int maxTrackedKeys, long startEpochSeconds) {
+        for (Scope scope : Scope.values()) {
+            tables.put(scope, new LoginAttemptTable(scope.getCode(), maxTrackedKeys, startEpochSeconds));
+        }
+    }
+
+    @Override
+    public int increment(Scope scope, String key, long now) {
+        return tables.get(scope).increment(key, now);
+    }
+
+    @Override
+    public int get(Scope scope, String key, long now) {
+        return tables.get(scope).get(key, now);
+    }
+
+    @Override
+    public int reset(Scope scope, String key, long now) {
+        return tables.get(scope).remove(key, now);
+    }
+
+    @Override
+    public int maintain(long now) {
+        int removed = 0;
+        for (LoginAttemptTable table : tables.values()) {
+            removed += table.expire(now);
+        }
+        return removed;
+    }
+
+    @Override
+    public TableStats stats(Scope scope) {
+        return tables.get(scope).stats();
+    }
+
+    @Override
+    public SyncStats syncStats() {
+        return new SyncStats("memory", 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,310 @@
+package com.inventory.inventory_management.security;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * ログイン失敗回数を login_attempts テーブルで複数ノード間に共有する保存先
+ * <p>
+ * 判定（{@link #get}）はローカルの複製（ニアキャッシュ）のみを参照し、ログインのたびにクエリを発行しません。
+ * 失敗回数の増分・リセットはキー単位でまとめておき、{@link #maintain} でバッチ更新（UPSERT）として反映した後、
+ * 前回の同期以降に更新された行だけを取り込んで他ノードの失敗回数を複製に反映します。
+ * そのため、他ノードでの失敗がこのノードの判定に反映されるまで最大で同期間隔ぶん遅れます。
+ * </p>
+ * <p>
+ * 起動時には期限内の行を読み込むため、再起動やデプロイでブロックが解除されることはありません。
+ * ログイン成功時のリセットは行の削除ではなく失敗回数 0 の更新として反映し、他ノードにも伝わるようにします。
+ * </p>
+ */
+public class JdbcLoginAttemptStore implements LoginAttemptStore, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcLoginAttemptStore.class);
+
+    /** 増分の反映（期限切れの行は増分から数え直す） */
+    static final String ADD_SQL =
+            "INSERT INTO login_attempts (scope, attempt_key, attempts, last_attempt_at) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "attempts = CASE WHEN last_attempt_at < ? THEN VALUES(attempts) ELSE attempts + VALUES(attempts) END, "
+            + "last_attempt_at = GREATEST(last_attempt_at, VALUES(last_attempt_at))";
+
+    /** リセット（とその後の増分）の反映 */
+    static final String SET_SQL =
+            "INSERT INTO login_attempts (scope, attempt_key, attempts, last_attempt_at) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE attempts = VALUES(attempts), "
+            + "last_attempt_at = GREATEST(last_attempt_at, VALUES(last_attempt_at))";
+
+    private static final String SYNC_SQL =
+            "SELECT scope, attempt_key, attempts, last_attempt_at FROM login_attempts "
+            + "WHERE last_attempt_at >= ? ORDER BY last_attempt_at DESC LIMIT ?";
+
+    private static final String PURGE_SQL = "DELETE FROM login_attempts WHERE last_attempt_at < ?";
+
+    /** 差分取り込みの重なり（秒）。ノード間の時刻のずれと反映中のトランザクションを吸収する */
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    /** 期限切れ行の削除間隔（秒） */
+    private static final long PURGE_INTERVAL_SECONDS = 60 * 60;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Clock clock;
+
+    private final Map<Scope, LoginAttemptTable> nearCache = new EnumMap<>(Scope.class);
+
+    /** 未反映の変更（この Map をロックとして使い、複製の更新と変更の記録を一体で行う） */
+    private final Map<PendingKey, Pending> pending = new HashMap<>();
+
+    /** 反映・取り込み・削除の排他（JDBC を含むため、仮想スレッドを固定しない ReentrantLock を使う） */
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    private final AtomicLong flushedRows = new AtomicLong();
+
+    private final AtomicLong syncedRows = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    /** 最後に取り込みに成功した時刻（エポック秒、未取り込みの場合は 0） */
+    private long lastSyncEpochSeconds;
+
+    private long lastPurgeEpochSeconds;
+
+    /**
+     * コンストラクタ
+     * @param jdbcTemplate JDBC テンプレート
+     * @param clock 時刻の取得元
+     * @param maxTrackedKeys キー種別ごとに複製する件数の上限
+     */
+    public JdbcLoginAttemptStore(JdbcTemplate jdbcTemplate, Clock clock, int maxTrackedKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        long now = clock.instant().getEpochSecond();
+        for (Scope scope : Scope.values()) {
+            nearCache.put(scope, new LoginAttemptTable(scope.getCode(), maxTrackedKeys, now));
+        }
+    }
+
+    /**
+     * 起動時に期限内の失敗回数を読み込む
+     */
+    @Override
+    public void afterPropertiesSet() {
+        maintain(clock.instant().getEpochSecond());
+        logger.info("ログイン試行回数を読み込みました: usernames={}, ipAddresses={}",
+                nearCache.get(Scope.USERNAME).stats().size(), nearCache.get(Scope.IP_ADDRESS).stats().size());
+    }
+
+    /**
+     * 終了時に未反映の変更を反映する
+     */
+    @Override
+    public void destroy() {
+        flush(clock.instant().getEpochSecond());
+    }
+
+    @Override
+    public int increment(Scope scope, String key, long now) {
+        synchronized (pending) {
+            int attempts = nearCache.get(scope).increment(key, now);
+            pending.merge(new PendingKey(scope, key), new Pending(false, 1, now), Pending::followedBy);
+            return attempts;
+        }
+    }
+
+    @Override
+    public int get(Scope scope, String key, long now) {
+        return nearCache.get(scope).get(key, now);
+    }
+
+    @Override
+    public int reset(Scope scope, String key, long now) {
+        synchronized (pending) {
+            int removed = nearCache.get(scope).remove(key, now);
+            if (removed > 0) {
+                pending.put(new PendingKey(scope, key), new Pending(true, 0, now));
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * 未反映の変更の反映、他ノードの変更の取り込み、期限切れ行の削除を行う
+     * 保存先に接続できない間もローカルの複製での判定は継続し、未反映の変更は次回に持ち越す
+     */
+    @Override
+    public int maintain(long now) {
+        maintenanceLock.lock();
+        try {
+            int removed = 0;
+            for (LoginAttemptTable table : nearCache.values()) {
+                removed += table.expire(now);
+            }
+            flush(now);
+            sync(now);
+            if (now - lastPurgeEpochSeconds >= PURGE_INTERVAL_SECONDS) {
+                purge(now);
+            }
+            return removed;
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @Override
+    public TableStats stats(Scope scope) {
+        return nearCache.get(scope).stats();
+    }
+
+    @Override
+    public SyncStats syncStats() {
+        int pendingKeys;
+        synchronized (pending) {
+            pendingKeys = pending.size();
+        }
+        return new SyncStats("jdbc", pendingKeys, flushedRows.get(), syncedRows.get(), failures.get());
+    }
+
+    /**
+     * 未反映の変更をバッチ更新で反映する
+     * 増分とリセットは別の文で反映し、失敗した側だけを次回に持ち越す（二重加算を避ける）
+     */
+    void flush(long now) {
+        maintenanceLock.lock();
+        try {
+            Map<PendingKey, Pending> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(pending);
+                pending.clear();
+            }
+            Map<PendingKey, Pending> additions = new HashMap<>();
+            Map<PendingKey, Pending> assignments = new HashMap<>();
+            batch.forEach((key, change) -> (change.reset() ? assignments : additions).put(key, change));
+
+            long expiredBefore = now - ATTEMPT_TTL_SECONDS;
+            executeBatch(ADD_SQL, additions, (key, change) -> new Object[] {
+                    key.scope().getCode(), key.key(), change.delta(), change.lastAttemptEpochSeconds(), expiredBefore});
+            executeBatch(SET_SQL, assignments, (key, change) -> new Object[] {
+                    key.scope().getCode(), key.key(), change.delta(), change.lastAttemptEpochSeconds()});
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void executeBatch(String sql, Map<PendingKey, Pending> changes,
+            BiFunction<PendingKey, Pending, Object[]> toArgs) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(changes.size());
+        changes.forEach((key, change) -> args.add(toArgs.apply(key, change)));
+        try {
+            jdbcTemplate.batchUpdate(sql, args);
+            flushedRows.addAndGet(args.size());
+        } catch (DataAccessException e) {
+            failures.incrementAndGet();
+            logger.warn("ログイン試行回数の反映に失敗しました（次回再試行）: rows={}, error={}", args.size(), e.getMessage());
+            synchronized (pending) {
+                // 失敗した変更の後に記録された変更を後勝ちで重ねる
+                changes.forEach((key, change) -> pending.merge(key, change, (newer, older) -> older.followedBy(newer)));
+            }
+        }
+    }
+
+    /**
+     * 前回の取り込み以降に更新された行をローカルの複製に取り込む
+     * 未反映の変更があるキーは、保存先の値にその変更を重ねた値とする
+     */
+    private void sync(long now) {
+        long since = lastSyncEpochSeconds == 0
+                ? now - ATTEMPT_TTL_SECONDS
+                : lastSyncEpochSeconds - SYNC_OVERLAP_SECONDS;
+        int limit = 0;
+        for (LoginAttemptTable table : nearCache.values()) {
+            limit += table.getMaxEntries();
+        }
+        List<Row> rows;
+        try {
+            rows = jdbcTemplate.query(SYNC_SQL,
+                    (rs, rowNum) -> new Row(rs.getString("scope"), rs.getString("attempt_key"),
+                            rs.getInt("attempts"), rs.getLong("last_attempt_at")),
+                    since, limit);
+        } catch (DataAccessException e) {
+            failures.incrementAndGet();
+            logger.warn("ログイン試行回数の取り込みに失敗しました: error={}", e.getMessage());
+            return;
+        }
+        for (Row row : rows) {
+            Scope scope = Scope.fromCode(row.scope());
+            if (scope == null) {
+                continue;
+            }
+            synchronized (pending) {
+                Pending change = pending.get(new PendingKey(scope, row.key()));
+                int attempts = row.attempts();
+                long lastAttempt = row.lastAttemptEpochSeconds();
+                if (change != null) {
+                    attempts = change.reset() ? change.delta() : attempts + change.delta();
+                    lastAttempt = Math.max(lastAttempt, change.lastAttemptEpochSeconds());
+                }
+                nearCache.get(scope).set(row.key(), attempts, lastAttempt, now);
+            }
+        }
+        syncedRows.addAndGet(rows.size());
+        lastSyncEpochSeconds = now;
+    }
+
+    private void purge(long now) {
+        try {
+            int deleted = jdbcTemplate.update(PURGE_SQL, now - ATTEMPT_TTL_SECONDS);
+            lastPurgeEpochSeconds = now;
+            if (deleted > 0) {
+                logger.info("期限切れのログイン試行回数を削除: {}件", deleted);
+            }
+        } catch (DataAccessException e) {
+            failures.incrementAndGet();
+            logger.warn("期限切れのログイン試行回数の削除に失敗しました: error={}", e.getMessage());
+        }
+    }
+
+    private record PendingKey(Scope scope, String key) {
+    }
+
+    /**
+     * キーごとの未反映の変更
+     * @param reset リセットを含む場合 true（保存先の値を delta で上書きする）
+     * @param delta 失敗回数の増分
+     * @param lastAttemptEpochSeconds 最後に変更した時刻（エポック秒）
+     */
+    private record Pending(boolean reset, int delta, long lastAttemptEpochSeconds) {
+
+        /**
+         * この変更の後に next を行った結果の変更
+         */
+        Pending followedBy(Pending next) {
+            if (next.reset) {
+                return next;
+            }
+            return new Pending(reset, delta + next.delta,
+                    Math.max(lastAttemptEpochSeconds, next.lastAttemptEpochSeconds));
+        }
+    }
+
+    private record Row(String scope, String key, int attempts, long lastAttemptEpochSeconds) {
+    }
+}
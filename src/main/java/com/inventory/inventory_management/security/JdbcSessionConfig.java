@@ -0,0 +1,61 @@
+package com.inventory.inventory_management.security;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.web.http.CookieSerializer;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * HTTP セッションを sessions テーブルで共有する設定クラス
+ * security.session.store が jdbc の場合のみ有効で、それ以外（既定の container）はサーブレットコンテナのセッションを使用します。
+ * 同時ログイン数の制限に使う SessionRegistry も、このリポジトリを参照する実装に切り替わります（SecurityConfig）。
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "security.session.store", havingValue = "jdbc")
+public class JdbcSessionConfig {
+
+    /**
+     * sessions テーブルを使うセッションリポジトリ
+     * @param jdbcTemplate JDBC テンプレート
+     * @param transactionManager トランザクションマネージャー
+     * @param timeout セッションの非アクティブ期限
+     * @param touchInterval 属性に変更がない場合に最終アクセス時刻を書き込む間隔
+     * @return JdbcSessionRepository
+     */
+    @Bean
+    public JdbcSessionRepository sessionRepository(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+            @Value("${security.session.touch-interval:60s}") Duration touchInterval) {
+        return new JdbcSessionRepository(jdbcTemplate, transactionManager, Clock.systemUTC(), timeout,
+                touchInterval);
+    }
+
+    /**
+     * セッション Cookie の設定
+     * コンテナのセッションと同じ名前・属性とし、ログアウト時の Cookie 削除（JSESSIONID）をそのまま有効にする
+     * @param cookieName Cookie 名
+     * @param secure Secure 属性を付与する場合 true
+     * @return CookieSerializer
+     */
+    @Bean
+    public CookieSerializer cookieSerializer(
+            @Value("${server.servlet.session.cookie.name:JSESSIONID}") String cookieName,
+            @Value("${server.servlet.session.cookie.secure:false}") boolean secure) {
+        DefaultCookieSerializer serializer = new DefaultCookieSerializer();
+        serializer.setCookieName(cookieName);
+        serializer.setUseSecureCookie(secure);
+        serializer.setUseHttpOnlyCookie(true);
+        serializer.setSameSite("Lax");
+        return serializer;
+    }
+}
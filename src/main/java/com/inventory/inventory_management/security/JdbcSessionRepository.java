@@ -0,0 +1,481 @@
+package com.inventory.inventory_management.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * sessions テーブルに HTTP セッションを保存するリポジトリ
+ * <p>
+ * ノード間でセッションを共有するため、スケールアウトやローリング再起動でもログイン状態が維持され、
+ * 同時ログイン数の制限（SpringSessionBackedSessionRegistry）もクラスタ全体で判定されます。
+ * </p>
+ * <p>
+ * 属性は 1 つのストリームで Java シリアライズして Deflate 圧縮した 1 列に保存し、クラス記述子の重複を避けます。
+ * 保存は変更の内容に応じて最小限に抑えます。
+ * <ul>
+ * <li>属性の追加・変更・削除があった場合のみ属性列を書き込む（setAttribute 時点で変更とみなすため、
+ * 取得したオブジェクトを直接変更した場合は setAttribute し直すこと）。
+ * 書き込み時は行をロックして保存済みの属性を読み直し、このリクエストで変更した属性だけを反映するため、
+ * 同じセッションの並行リクエスト（CSV 取込中の一覧の定期取得など）が別の属性を変更しても互いに上書きしない</li>
+ * <li>属性に変更がない場合は、最終アクセス時刻が前回の書き込みから一定時間（touch-interval）経過したときだけ時刻列を更新する</li>
+ * <li>それ以外のリクエストでは書き込まない</li>
+ * </ul>
+ * このため有効期限は最大で touch-interval だけ早まります（最大でも非アクティブ期限の半分に制限）。
+ * </p>
+ */
+public class JdbcSessionRepository implements FindByIndexNameSessionRepository<JdbcSessionRepository.JdbcSession> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSessionRepository.class);
+
+    private static final String COLUMNS =
+            "session_id, principal_name, creation_time, last_access_time, max_inactive_interval, expiry_time, attributes";
+
+    private static final String INSERT_SQL = "INSERT INTO sessions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ATTRIBUTES_SQL =
+            "UPDATE sessions SET session_id = ?, principal_name = ?, last_access_time = ?, max_inactive_interval = ?, "
+            + "expiry_time = ?, attributes = ? WHERE session_id = ?";
+
+    private static final String UPDATE_ACCESS_SQL =
+            "UPDATE sessions SET session_id = ?, last_access_time = ?, max_inactive_interval = ?, expiry_time = ? "
+            + "WHERE session_id = ?";
+
+    private static final String SELECT_BY_ID_SQL = "SELECT " + COLUMNS + " FROM sessions WHERE session_id = ?";
+
+    private static final String SELECT_ATTRIBUTES_FOR_UPDATE_SQL =
+            "SELECT attributes FROM sessions WHERE session_id = ? FOR UPDATE";
+
+    private static final String SELECT_BY_PRINCIPAL_SQL =
+            "SELECT " + COLUMNS + " FROM sessions WHERE principal_name = ? AND expiry_time >= ?";
+
+    private static final String DELETE_SQL = "DELETE FROM sessions WHERE session_id = ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM sessions WHERE expiry_time < ? LIMIT ?";
+
+    /** 期限切れセッションを 1 回の DELETE で削除する件数 */
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    private final Duration defaultMaxInactiveInterval;
+
+    private final Duration touchInterval;
+
+    private final PrincipalNameIndexResolver<JdbcSession> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    private final AtomicLong inserts = new AtomicLong();
+
+    private final AtomicLong attributeWrites = new AtomicLong();
+
+    private final AtomicLong accessWrites = new AtomicLong();
+
+    private final AtomicLong skippedWrites = new AtomicLong();
+
+    private final AtomicLong attributeBytes = new AtomicLong();
+
+    private final AtomicLong expiredDeletes = new AtomicLong();
+
+    /**
+     * コンストラクタ
+     * @param jdbcTemplate JDBC テンプレート
+     * @param transactionManager トランザクションマネージャー（属性の書き込み時の行ロックに使用）
+     * @param clock 時刻の取得元
+     * @param defaultMaxInactiveInterval 新規セッションの非アクティブ期限
+     * @param touchInterval 属性に変更がない場合に最終アクセス時刻を書き込む間隔
+     */
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            Clock clock, Duration defaultMaxInactiveInterval, Duration touchInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.touchInterval = touchInterval;
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        MapSession delegate = new MapSession();
+        Instant now = clock.instant();
+        delegate.setCreationTime(now);
+        delegate.setLastAccessedTime(now);
+        delegate.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new JdbcSession(delegate, true, 0);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        MapSession delegate = session.delegate;
+        long lastAccess = delegate.getLastAccessedTime().toEpochMilli();
+        long maxInactiveSeconds = delegate.getMaxInactiveInterval().toSeconds();
+        long expiry = lastAccess + maxInactiveSeconds * 1000;
+
+        if (session.isNew) {
+            byte[] attributes = serialize(delegate);
+            jdbcTemplate.update(INSERT_SQL, delegate.getId(), principalNameResolver.resolveIndexValueFor(session),
+                    delegate.getCreationTime().toEpochMilli(), lastAccess, maxInactiveSeconds, expiry, attributes);
+            inserts.incrementAndGet();
+            attributeBytes.addAndGet(attributes.length);
+        } else if (!session.changedAttributes.isEmpty()) {
+            byte[] attributes = transactionTemplate.execute(status -> {
+                List<byte[]> stored = jdbcTemplate.query(SELECT_ATTRIBUTES_FOR_UPDATE_SQL,
+                        (rs, rowNum) -> rs.getBytes("attributes"), session.persistedId);
+                if (!stored.isEmpty()) {
+                    mergeStoredAttributes(stored.get(0), session);
+                }
+                byte[] serialized = serialize(delegate);
+                jdbcTemplate.update(UPDATE_ATTRIBUTES_SQL, delegate.getId(),
+                        principalNameResolver.resolveIndexValueFor(session), lastAccess, maxInactiveSeconds, expiry,
+                        serialized, session.persistedId);
+                return serialized;
+            });
+            attributeWrites.incrementAndGet();
+            attributeBytes.addAndGet(attributes.length);
+        } else if (session.accessChanged || !delegate.getId().equals(session.persistedId)
+                || lastAccess - session.persistedLastAccess >= touchIntervalMillis(maxInactiveSeconds)) {
+            jdbcTemplate.update(UPDATE_ACCESS_SQL, delegate.getId(), lastAccess, maxInactiveSeconds, expiry,
+                    session.persistedId);
+            accessWrites.incrementAndGet();
+        } else {
+            skippedWrites.incrementAndGet();
+            return;
+        }
+        session.markPersisted(lastAccess);
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        List<JdbcSession> sessions = jdbcTemplate.query(SELECT_BY_ID_SQL, sessionMapper(), id);
+        if (sessions.isEmpty() || sessions.get(0) == null) {
+            return null;
+        }
+        JdbcSession session = sessions.get(0);
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        jdbcTemplate.update(DELETE_SQL, id);
+    }
+
+    @Override
+    public Map<String, JdbcSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Collections.emptyMap();
+        }
+        Map<String, JdbcSession> result = new HashMap<>();
+        for (JdbcSession session : jdbcTemplate.query(SELECT_BY_PRINCIPAL_SQL, sessionMapper(), indexValue,
+                clock.millis())) {
+            if (session != null) {
+                result.put(session.getId(), session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 期限切れのセッションを一定件数ずつ削除する
+     */
+    @Scheduled(fixedDelayString = "${security.session.cleanup-interval-ms:60000}")
+    public void cleanUpExpiredSessions() {
+        long now = clock.millis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, now, CLEANUP_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH_SIZE);
+        if (total > 0) {
+            expiredDeletes.addAndGet(total);
+            logger.info("期限切れセッションを削除: {}件", total);
+        }
+    }
+
+    /**
+     * 書き込みの状況を取得
+     * @return 種別ごとの書き込み件数と省略件数
+     */
+    public Stats getStats() {
+        long attributeWriteCount = inserts.get() + attributeWrites.get();
+        return new Stats(inserts.get(), attributeWrites.get(), accessWrites.get(), skippedWrites.get(),
+                attributeWriteCount == 0 ? 0 : attributeBytes.get() / attributeWriteCount, expiredDeletes.get());
+    }
+
+    private long touchIntervalMillis(long maxInactiveSeconds) {
+        return Math.min(touchInterval.toMillis(), maxInactiveSeconds * 1000 / 2);
+    }
+
+    /**
+     * 保存済みの属性のうち、このリクエストで変更していない属性を保存済みの値に揃える
+     * （読み込み後に他のリクエストが追加・変更・削除した属性を、このリクエストの古い値で上書きしない）
+     */
+    private void mergeStoredAttributes(byte[] attributes, JdbcSession session) {
+        MapSession stored = new MapSession(session.persistedId);
+        try {
+            deserialize(attributes, stored);
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("保存済みのセッション属性を復元できないため、このリクエストの属性で上書きします: sessionId={}, error={}",
+                    session.persistedId, e.toString());
+            return;
+        }
+        MapSession delegate = session.delegate;
+        for (String name : Set.copyOf(delegate.getAttributeNames())) {
+            if (!session.changedAttributes.contains(name) && stored.getAttribute(name) == null) {
+                delegate.removeAttribute(name);
+            }
+        }
+        for (String name : stored.getAttributeNames()) {
+            if (!session.changedAttributes.contains(name)) {
+                delegate.setAttribute(name, stored.getAttribute(name));
+            }
+        }
+    }
+
+    private RowMapper<JdbcSession> sessionMapper() {
+        return (rs, rowNum) -> {
+            String id = rs.getString("session_id");
+            MapSession delegate = new MapSession(id);
+            delegate.setCreationTime(Instant.ofEpochMilli(rs.getLong("creation_time")));
+            long lastAccess = rs.getLong("last_access_time");
+            delegate.setLastAccessedTime(Instant.ofEpochMilli(lastAccess));
+            delegate.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive_interval")));
+            try {
+                deserialize(rs.getBytes("attributes"), delegate);
+            } catch (IOException | ClassNotFoundException e) {
+                // デプロイでクラスが変わった場合など。復元できないセッションは破棄して再ログインさせる
+                logger.warn("セッション属性を復元できないため破棄します: sessionId={}, error={}", id, e.toString());
+                deleteById(id);
+                return null;
+            }
+            return new JdbcSession(delegate, false, lastAccess);
+        };
+    }
+
+    /**
+     * 属性を 1 つのストリームでシリアライズし、Deflate 圧縮する
+     * シリアライズできない属性がある場合は、その属性のみ警告ログを出力して保存対象から除き、
+     * セッションの保存自体は失敗させない（除いた属性は他ノード・再起動後のリクエストでは参照できない）
+     */
+    static byte[] serialize(Session session) {
+        Set<String> names = session.getAttributeNames();
+        try {
+            return serialize(session, names);
+        } catch (NotSerializableException e) {
+            Set<String> serializable = new LinkedHashSet<>();
+            for (String name : names) {
+                if (isSerializable(session.getAttribute(name))) {
+                    serializable.add(name);
+                } else {
+                    logger.warn("シリアライズできないセッション属性を保存対象から除外します: sessionId={}, attribute={}, type={}",
+                            session.getId(), name, session.getAttribute(name).getClass().getName());
+                }
+            }
+            try {
+                return serialize(session, serializable);
+            } catch (IOException retry) {
+                throw new IllegalStateException("セッション属性をシリアライズできません: sessionId=" + session.getId(), retry);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("セッション属性をシリアライズできません: sessionId=" + session.getId(), e);
+        }
+    }
+
+    private static byte[] serialize(Session session, Set<String> names) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeInt(names.size());
+            for (String name : names) {
+                out.writeUTF(name);
+                out.writeObject(session.getAttribute(name));
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 属性の値を単独でシリアライズできるか確認する（出力は破棄する）
+     */
+    private static boolean isSerializable(Object value) {
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            out.writeObject(value);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static void deserialize(byte[] attributes, Session session) throws IOException, ClassNotFoundException {
+        if (attributes == null || attributes.length == 0) {
+            return;
+        }
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(attributes)),
+                JdbcSessionRepository.class.getClassLoader())) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                session.setAttribute(name, in.readObject());
+            }
+        }
+    }
+
+    /**
+     * 変更の有無を記録するセッション
+     */
+    public final class JdbcSession implements Session {
+
+        private final MapSession delegate;
+
+        private boolean isNew;
+
+        /** DB 上の ID（セッション固定攻撃対策で ID を変更した場合も、次の保存まではこの ID で更新する） */
+        private String persistedId;
+
+        private long persistedLastAccess;
+
+        /** このリクエストで追加・変更・削除した属性名 */
+        private final Set<String> changedAttributes = new HashSet<>();
+
+        private boolean accessChanged;
+
+        JdbcSession(MapSession delegate, boolean isNew, long persistedLastAccess) {
+            this.delegate = delegate;
+            this.isNew = isNew;
+            this.persistedId = delegate.getId();
+            this.persistedLastAccess = persistedLastAccess;
+        }
+
+        private void markPersisted(long lastAccess) {
+            isNew = false;
+            persistedId = delegate.getId();
+            persistedLastAccess = lastAccess;
+            changedAttributes.clear();
+            accessChanged = false;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+            changedAttributes.add(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (delegate.getAttribute(attributeName) != null) {
+                delegate.removeAttribute(attributeName);
+                changedAttributes.add(attributeName);
+            }
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            if (!interval.equals(delegate.getMaxInactiveInterval())) {
+                delegate.setMaxInactiveInterval(interval);
+                accessChanged = true;
+            }
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            Duration maxInactive = delegate.getMaxInactiveInterval();
+            return !maxInactive.isNegative()
+                    && clock.instant().minus(maxInactive).isAfter(delegate.getLastAccessedTime());
+        }
+
+    }
+
+    /**
+     * セッションの書き込み状況
+     * @param inserts 新規作成の件数
+     * @param attributeWrites 属性の更新件数
+     * @param accessWrites 最終アクセス時刻・ID のみの更新件数
+     * @param skippedWrites 変更がなく書き込みを省略した件数
+     * @param averageAttributeBytes 属性列の平均サイズ（バイト）
+     * @param expiredDeletes 期限切れで削除した件数
+     */
+    public record Stats(long inserts, long attributeWrites, long accessWrites, long skippedWrites,
+            long averageAttributeBytes, long expiredDeletes) {
+    }
+}
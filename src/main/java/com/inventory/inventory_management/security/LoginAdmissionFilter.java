@@ -0,0 +1,94 @@
+package com.inventory.inventory_management.security;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ログイン処理の流入制御フィルター
+ * 同時に処理するログイン要求（POST /login, /admin/login）の数を上限までに制限し、
+ * 上限を超えた要求は待たせずにログイン画面（?busy）へ戻します。
+ * <p>
+ * パスワード検証を待つリクエストスレッドの数を制限することで、
+ * ログイン集中時でも /inventory など通常画面のリクエストスレッドが枯渇しないようにします。
+ * </p>
+ */
+public class LoginAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAdmissionFilter.class);
+
+    /** 流入制御の対象となるログイン処理 URL */
+    private static final Set<String> LOGIN_PATHS = Set.of("/login", "/admin/login");
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxConcurrent 同時に処理するログイン要求の上限（1 以上）
+     */
+    public LoginAdmissionFilter(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !LOGIN_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            logger.warn("ログイン要求が上限を超えたため拒否: uri={}, maxConcurrent={}, remoteAddr={}",
+                    request.getRequestURI(), maxConcurrent, request.getRemoteAddr());
+            response.sendRedirect(request.getRequestURI() + "?busy");
+            return;
+        }
+        admitted.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 流入制御の実行状況を取得する
+     *
+     * @return 実行状況のスナップショット
+     */
+    public Stats getStats() {
+        return new Stats(maxConcurrent, maxConcurrent - permits.availablePermits(), admitted.sum(), rejected.sum());
+    }
+
+    /**
+     * ログイン流入制御の実行状況
+     *
+     * @param maxConcurrent 同時処理数の上限
+     * @param inFlight      処理中のログイン要求数
+     * @param admitted      受け付けた件数
+     * @param rejected      上限超過で拒否した件数
+     */
+    public record Stats(int maxConcurrent, int inFlight, long admitted, long rejected) {
+    }
+}
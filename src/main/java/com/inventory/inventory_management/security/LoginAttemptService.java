@@ -1,145 +1,216 @@
 package com.inventory.inventory_management.security;
 
-import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Clock;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+
+import com.inventory.inventory_management.security.LoginAttemptStore.Scope;
+import com.inventory.inventory_management.security.LoginAttemptStore.SyncStats;
+import com.inventory.inventory_management.security.LoginAttemptStore.TableStats;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * ログイン試行回数を管理するサービス
- * ブルートフォース攻撃を防ぐため、ログイン失敗回数を追跡します。
+ * ブルートフォース攻撃を防ぐため、ユーザー名ごと・接続元 IP アドレスごとのログイン失敗回数を追跡します。
+ * <p>
+ * 失敗回数は {@link LoginAttemptStore} に保持します（security.login-attempt.store で切り替え）。
+ * 既定はプロセス内のみで保持し、jdbc を指定すると login_attempts テーブルで複数ノード間に共有します。
+ * いずれも判定はローカルのメモリのみを参照するため、ログインのたびにクエリは発行しません。
+ * </p>
+ * <p>
+ * 接続元 IP アドレスごとの失敗回数は常に追跡しますが、接続元のブロックは
+ * security.login-attempt.max-ip-attempts に 1 以上を指定した場合のみ行います（既定は 0 で追跡のみ）。
+ * NAT・プロキシ配下では多数の利用者が同じ接続元になり、ログイン成功でもリセットしないため、
+ * 有効にすると 1 つの接続元の利用者全員が最大 24 時間ログインできなくなる点に注意してください。
+ * </p>
  */
 @Service
 @Slf4j
 public class LoginAttemptService {
-    
+
     /** 最大試行回数 */
     private static final int MAX_ATTEMPT = 5;
-    
-    /** ログイン試行を記録するマップ */
-    private final ConcurrentHashMap<String, LoginAttempt> attemptsCache = new ConcurrentHashMap<>();
-    
+
+    private final Clock clock;
+
+    /** IP アドレスあたりの最大試行回数（0 以下の場合は接続元をブロックしない） */
+    private final int maxIpAttempts;
+
+    /** ログイン失敗回数の保存先 */
+    private final LoginAttemptStore store;
+
     /**
-     * ログイン試行情報を保持するクラス
+     * コンストラクタ
+     * @param store ログイン失敗回数の保存先
+     * @param maxIpAttempts IP アドレスあたりの最大試行回数（0 以下の場合は接続元をブロックしない）
      */
-    private static class LoginAttempt {
-        private int attempts;
-        private LocalDateTime lastAttempt;
-        
-        public LoginAttempt(int attempts, LocalDateTime lastAttempt) {
-            this.attempts = attempts;
-            this.lastAttempt = lastAttempt;
-        }
-        
-        public int getAttempts() {
-            return attempts;
-        }
-        
-        public LocalDateTime getLastAttempt() {
-            return lastAttempt;
-        }
+    @Autowired
+    public LoginAttemptService(LoginAttemptStore store,
+            @Value("${security.login-attempt.max-ip-attempts:0}") int maxIpAttempts) {
+        this(store, Clock.systemUTC(), maxIpAttempts);
     }
-    
+
+    /**
+     * コンストラクタ（保存先と時刻の取得元を指定）
+     * @param store ログイン失敗回数の保存先
+     * @param clock 時刻の取得元
+     * @param maxIpAttempts IP アドレスあたりの最大試行回数
+     */
+    LoginAttemptService(LoginAttemptStore store, Clock clock, int maxIpAttempts) {
+        this.store = store;
+        this.clock = clock;
+        this.maxIpAttempts = maxIpAttempts;
+    }
+
+    /**
+     * コンストラクタ（プロセス内の保存先を使用）
+     * @param clock 時刻の取得元
+     * @param maxTrackedKeys ユーザー名・IP アドレスそれぞれで追跡する件数の上限
+     * @param maxIpAttempts IP アドレスあたりの最大試行回数
+     */
+    LoginAttemptService(Clock clock, int maxTrackedKeys, int maxIpAttempts) {
+        this(new InMemoryLoginAttemptStore(maxTrackedKeys, clock.instant().getEpochSecond()), clock, maxIpAttempts);
+    }
+
     /**
      * ログイン成功時に呼び出す
      * キャッシュから試行回数を削除
      * @param key ユーザーを識別するキー（通常はユーザー名）
      */
     public void loginSucceeded(String key) {
-        LoginAttempt removed = attemptsCache.remove(key);
-        int prev = removed != null ? removed.getAttempts() : 0;
-        log.debug("loginSucceeded: clearing attempts for username={}, previousAttempts={}", key, prev);
+        int removed = store.reset(Scope.USERNAME, key, now());
+        log.debug("loginSucceeded: clearing attempts for username={}, previousAttempts={}", key, removed);
         // ブロック解除された場合のみログ出力（リスナーで基本ログは記録済み）
-        if (removed != null && removed.getAttempts() >= MAX_ATTEMPT) {
-            log.info("ブロック解除: username={}, 以前の試行回数={}", key, removed.getAttempts());
+        if (removed >= MAX_ATTEMPT) {
+            log.info("ブロック解除: username={}, 以前の試行回数={}", key, removed);
         }
     }
-    
+
     /**
      * ログイン失敗時に呼び出す
      * 試行回数をインクリメント
      * @param key ユーザーを識別するキー（通常はユーザー名）
      */
     public void loginFailed(String key) {
-        LocalDateTime now = LocalDateTime.now();
-        attemptsCache.compute(key, (k, attempt) -> {
-            if (attempt == null) {
-                // 初回失敗：基本ログはリスナーで記録済み、DEBUG レベルで試行回数のみ記録
-                log.debug("loginFailed: username={}, previousAttempts=0, newAttempts=1, timestamp={}", key, now);
-                return new LoginAttempt(1, now);
-            } else {
-                int newAttempts = attempt.getAttempts() + 1;
-                // 詳細デバッグ出力
-                log.debug("loginFailed: username={}, previousAttempts={}, newAttempts={}, timestamp={}", key, attempt.getAttempts(), newAttempts, now);
-                // 警告レベルに達した場合のみログ出力
-                if (newAttempts >= MAX_ATTEMPT - 1) {
-                    log.warn("ログイン失敗回数が警告レベル: username={}, attempts={}", key, newAttempts);
-                }
-                // ブロック時は ERROR レベルで記録
-                if (newAttempts >= MAX_ATTEMPT) {
-                    log.error("アカウントブロック: username={}, attempts={}", key, newAttempts);
-                }
-                return new LoginAttempt(newAttempts, now);
-            }
-        });
+        long now = now();
+        int newAttempts = store.increment(Scope.USERNAME, key, now);
+        log.debug("loginFailed: username={}, newAttempts={}, timestamp={}", key, newAttempts, now);
+        // 警告レベルに達した場合のみログ出力
+        if (newAttempts >= MAX_ATTEMPT - 1) {
+            log.warn("ログイン失敗回数が警告レベル: username={}, attempts={}", key, newAttempts);
+        }
+        // ブロック時は ERROR レベルで記録
+        if (newAttempts >= MAX_ATTEMPT) {
+            log.error("アカウントブロック: username={}, attempts={}", key, newAttempts);
+        }
     }
-    
+
+    /**
+     * ログイン失敗時に呼び出す（接続元 IP アドレスの失敗回数も記録）
+     * ログイン成功ではリセットしないため、接続元のブロックを有効にすると多数のユーザー名を試す接続元もブロックできる
+     * @param key ユーザーを識別するキー（通常はユーザー名）
+     * @param ipAddress 接続元 IP アドレス（null の場合はユーザー名のみ記録）
+     */
+    public void loginFailed(String key, String ipAddress) {
+        loginFailed(key);
+        if (ipAddress == null) {
+            return;
+        }
+        int newAttempts = store.increment(Scope.IP_ADDRESS, ipAddress, now());
+        if (maxIpAttempts > 0 && newAttempts == maxIpAttempts) {
+            log.error("接続元ブロック: ipAddress={}, attempts={}", ipAddress, newAttempts);
+        }
+    }
+
     /**
      * ユーザーがブロックされているかチェック
      * @param key ユーザーを識別するキー（通常はユーザー名）
      * @return ブロックされている場合はtrue
      */
     public boolean isBlocked(String key) {
-        LoginAttempt attempt = attemptsCache.get(key);
-        if (attempt == null) {
-            log.debug("isBlocked: username={}, attempts=0 -> not blocked", key);
-            return false;
+        int attempts = store.get(Scope.USERNAME, key, now());
+        boolean blocked = attempts >= MAX_ATTEMPT;
+        if (blocked) {
+            log.warn("ブロック中のアクセス試行: username={}, attempts={}", key, attempts);
+        } else {
+            log.debug("isBlocked: username={}, attempts={} -> not blocked", key, attempts);
         }
-        
-        // 24時間以上経過している場合は削除
-        if (attempt.getLastAttempt().plusHours(24).isBefore(LocalDateTime.now())) {
-            attemptsCache.remove(key);
-            log.info("ブロック期限切れ、解除: username={}", key);
+        return blocked;
+    }
+
+    /**
+     * 接続元 IP アドレスがブロックされているかチェック
+     * @param ipAddress 接続元 IP アドレス
+     * @return ブロックされている場合はtrue
+     */
+    public boolean isIpBlocked(String ipAddress) {
+        if (ipAddress == null || maxIpAttempts <= 0) {
             return false;
         }
-        
-        boolean blocked = attempt.getAttempts() >= MAX_ATTEMPT;
+        int attempts = store.get(Scope.IP_ADDRESS, ipAddress, now());
+        boolean blocked = attempts >= maxIpAttempts;
         if (blocked) {
-            log.warn("ブロック中のアクセス試行: username={}, attempts={}", key, attempt.getAttempts());
-        } else {
-            log.debug("isBlocked: username={}, attempts={} -> not blocked", key, attempt.getAttempts());
+            log.warn("ブロック中の接続元からのアクセス試行: ipAddress={}, attempts={}", ipAddress, attempts);
         }
         return blocked;
     }
-    
+
     /**
      * 現在の試行回数を取得
      * @param key ユーザーを識別するキー
      * @return 試行回数
      */
     public int getAttempts(String key) {
-        LoginAttempt attempt = attemptsCache.get(key);
-        int attempts = attempt != null ? attempt.getAttempts() : 0;
+        int attempts = store.get(Scope.USERNAME, key, now());
         log.debug("getAttempts: username={}, attempts={}", key, attempts);
         return attempts;
     }
-    
+
+    /**
+     * 接続元 IP アドレスの現在の試行回数を取得
+     * @param ipAddress 接続元 IP アドレス
+     * @return 試行回数
+     */
+    public int getIpAttempts(String ipAddress) {
+        return ipAddress == null ? 0 : store.get(Scope.IP_ADDRESS, ipAddress, now());
+    }
+
+    /**
+     * 追跡状況を取得
+     * @return ユーザー名・IP アドレスそれぞれの件数と破棄件数、保存先との同期状況
+     */
+    public Stats getStats() {
+        return new Stats(store.stats(Scope.USERNAME), store.stats(Scope.IP_ADDRESS), store.syncStats());
+    }
+
     /**
-     * 24時間以上経過したエントリを定期的にクリーンアップ
-     * 毎時間実行
+     * 期限切れ（24時間以上経過）のエントリを削除し、保存先と同期する
+     * タイミングホイールを前回からの経過分だけ進めるため、全件走査は行わない
+     * 各操作の際にも進めるため、この定期実行はアクセスがない間の削除と、
+     * 共有する保存先への失敗回数の一括反映・他ノードの失敗回数の取り込みを担う
      */
-    @Scheduled(fixedRate = 3600000) // 1時間ごと
+    @Scheduled(fixedDelayString = "${security.login-attempt.sync-interval-ms:5000}")
     public void cleanupExpiredEntries() {
-        LocalDateTime now = LocalDateTime.now();
-        int sizeBefore = attemptsCache.size();
-        attemptsCache.entrySet().removeIf(entry -> 
-            entry.getValue().getLastAttempt().plusHours(24).isBefore(now)
-        );
-        int sizeAfter = attemptsCache.size();
-        if (sizeBefore > sizeAfter) {
-            log.info("期限切れログイン試行エントリをクリーンアップ: {}件削除", sizeBefore - sizeAfter);
+        int removed = store.maintain(now());
+        if (removed > 0) {
+            log.info("期限切れログイン試行エントリをクリーンアップ: {}件削除", removed);
         }
     }
+
+    private long now() {
+        return clock.instant().getEpochSecond();
+    }
+
+    /**
+     * ログイン試行の追跡状況
+     * @param usernames ユーザー名ごとの追跡状況
+     * @param ipAddresses IP アドレスごとの追跡状況
+     * @param sync 保存先との同期状況
+     */
+    public record Stats(TableStats usernames, TableStats ipAddresses, SyncStats sync) {
+    }
 }
@@ -0,0 +1,116 @@
+package com.inventory.inventory_management.security;
+
+/**
+ * ログイン失敗回数の保存先
+ * ユーザー名・接続元 IP アドレスといったキー種別（{@link Scope}）ごとに、キーの失敗回数を保持します。
+ * 時刻はエポック秒で受け取り、最終失敗から {@link #ATTEMPT_TTL_SECONDS} 秒経過した失敗回数は 0 として扱います。
+ */
+public interface LoginAttemptStore {
+
+    /** 失敗回数を保持する期間（秒） */
+    long ATTEMPT_TTL_SECONDS = 24 * 60 * 60;
+
+    /**
+     * 失敗回数を 1 増やす
+     * @param scope キー種別
+     * @param key キー
+     * @param now 現在時刻（エポック秒）
+     * @return 増加後の失敗回数
+     */
+    int increment(Scope scope, String key, long now);
+
+    /**
+     * 失敗回数を取得する
+     * @param scope キー種別
+     * @param key キー
+     * @param now 現在時刻（エポック秒）
+     * @return 失敗回数（追跡していない場合は 0）
+     */
+    int get(Scope scope, String key, long now);
+
+    /**
+     * 失敗回数をリセットする
+     * @param scope キー種別
+     * @param key キー
+     * @param now 現在時刻（エポック秒）
+     * @return リセット前の失敗回数
+     */
+    int reset(Scope scope, String key, long now);
+
+    /**
+     * 定期処理（期限切れエントリの削除、外部の保存先との同期など）
+     * @param now 現在時刻（エポック秒）
+     * @return 期限切れで削除した件数
+     */
+    int maintain(long now);
+
+    /**
+     * キー種別ごとの追跡状況を取得する
+     * @param scope キー種別
+     * @return 追跡状況
+     */
+    TableStats stats(Scope scope);
+
+    /**
+     * 外部の保存先との同期状況を取得する
+     * @return 同期状況
+     */
+    SyncStats syncStats();
+
+    /**
+     * キー種別
+     */
+    enum Scope {
+        USERNAME("username"),
+        IP_ADDRESS("ip");
+
+        private final String code;
+
+        Scope(String code) {
+            this.code = code;
+        }
+
+        /**
+         * 保存時の識別子を取得する
+         * @return 識別子
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * 識別子からキー種別を取得する
+         * @param code 識別子
+         * @return キー種別（該当しない場合は null）
+         */
+        public static Scope fromCode(String code) {
+            for (Scope scope : values()) {
+                if (scope.code.equals(code)) {
+                    return scope;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * キー種別ごとの追跡状況
+     * @param size 追跡中の件数
+     * @param maxEntries 件数の上限
+     * @param expired 期限切れで削除した件数
+     * @param evicted 件数上限により破棄した件数
+     */
+    record TableStats(int size, int maxEntries, long expired, long evicted) {
+    }
+
+    /**
+     * 外部の保存先との同期状況
+     * @param store 保存先の種別（memory / jdbc）
+     * @param pendingKeys 未反映の変更があるキーの件数
+     * @param flushedRows 保存先へ反映した行数
+     * @param syncedRows 保存先から取り込んだ行数
+     * @param failures 反映・取り込みに失敗した回数
+     */
+    record SyncStats(String store, int pendingKeys, long flushedRows, long syncedRows, long failures) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.inventory.inventory_management.security;
+
+import java.time.Clock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * ログイン失敗回数の保存先の設定クラス
+ * security.login-attempt.store が jdbc の場合は login_attempts テーブルで複数ノード間に共有し、
+ * それ以外（既定の memory）はプロセス内のみで保持します。
+ */
+@Configuration
+public class LoginAttemptStoreConfig {
+
+    /**
+     * プロセス内のみで保持する保存先
+     * @param maxTrackedKeys ユーザー名・IP アドレスそれぞれで追跡する件数の上限
+     * @return ログイン失敗回数の保存先
+     */
+    @Bean
+    @ConditionalOnProperty(name = "security.login-attempt.store", havingValue = "memory", matchIfMissing = true)
+    public LoginAttemptStore inMemoryLoginAttemptStore(
+            @Value("${security.login-attempt.max-tracked-keys:100000}") int maxTrackedKeys) {
+        return new InMemoryLoginAttemptStore(maxTrackedKeys, Clock.systemUTC().instant().getEpochSecond());
+    }
+
+    /**
+     * login_attempts テーブルで共有する保存先
+     * @param jdbcTemplate JDBC テンプレート
+     * @param maxTrackedKeys ユーザー名・IP アドレスそれぞれでローカルに複製する件数の上限
+     * @return ログイン失敗回数の保存先
+     */
+    @Bean
+    @ConditionalOnProperty(name = "security.login-attempt.store", havingValue = "jdbc")
+    public LoginAttemptStore jdbcLoginAttemptStore(JdbcTemplate jdbcTemplate,
+            @Value("${security.login-attempt.max-tracked-keys:100000}") int maxTrackedKeys) {
+        return new JdbcLoginAttemptStore(jdbcTemplate, Clock.systemUTC(), maxTrackedKeys);
+    }
+}
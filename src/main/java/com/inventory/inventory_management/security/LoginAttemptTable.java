@@ -0,0 +1,142 @@
+package com.inventory.inventory_management.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.inventory.inventory_management.util.HierarchicalTimingWheel;
+
+/**
+ * キーごとのログイン失敗回数の表（件数上限・タイミングホイールによる期限切れ付き）
+ * <p>
+ * 件数の上限を超えた場合は最も早く期限切れになるエントリから破棄します。
+ * 最終失敗時刻はエポック秒（long）で保持し、期限切れは階層型タイミングホイールで
+ * 経過したスロットの分だけ段階的に削除するため、大量のランダムなキーによる試行でもヒープと削除処理が膨らみません。
+ * </p>
+ */
+final class LoginAttemptTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptTable.class);
+
+    /** タイミングホイールの 1 tick（秒） */
+    private static final long WHEEL_TICK_SECONDS = 60;
+
+    /** タイミングホイールの階層数（60秒 × 64 × 64 ≒ 68時間まで） */
+    private static final int WHEEL_LEVELS = 2;
+
+    private final String name;
+
+    private final int maxEntries;
+
+    private final Map<String, Attempt> entries = new HashMap<>();
+
+    private final HierarchicalTimingWheel<Attempt> expiryWheel;
+
+    private long expired;
+
+    private long evicted;
+
+    LoginAttemptTable(String name, int maxEntries, long startEpochSeconds) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.expiryWheel = new HierarchicalTimingWheel<>(WHEEL_TICK_SECONDS, WHEEL_LEVELS, startEpochSeconds);
+    }
+
+    synchronized int increment(String key, long now) {
+        expire(now);
+        Attempt attempt = getOrCreate(key);
+        attempt.attempts++;
+        expiryWheel.schedule(attempt, now + LoginAttemptStore.ATTEMPT_TTL_SECONDS);
+        return attempt.attempts;
+    }
+
+    synchronized int get(String key, long now) {
+        expire(now);
+        Attempt attempt = entries.get(key);
+        return attempt != null ? attempt.attempts : 0;
+    }
+
+    synchronized int remove(String key, long now) {
+        expire(now);
+        Attempt attempt = entries.remove(key);
+        if (attempt == null) {
+            return 0;
+        }
+        expiryWheel.cancel(attempt);
+        return attempt.attempts;
+    }
+
+    /**
+     * 失敗回数を指定値で上書きする（他ノードの値の取り込み用）
+     * 0 以下の場合や最終失敗時刻から期限が過ぎている場合は削除する
+     */
+    synchronized void set(String key, int attempts, long lastAttemptEpochSeconds, long now) {
+        expire(now);
+        long deadline = lastAttemptEpochSeconds + LoginAttemptStore.ATTEMPT_TTL_SECONDS;
+        if (attempts <= 0 || deadline <= now) {
+            Attempt attempt = entries.remove(key);
+            if (attempt != null) {
+                expiryWheel.cancel(attempt);
+            }
+            return;
+        }
+        Attempt attempt = getOrCreate(key);
+        attempt.attempts = attempts;
+        expiryWheel.schedule(attempt, deadline);
+    }
+
+    synchronized int expire(long now) {
+        int count = expiryWheel.advance(now, attempt -> entries.remove(attempt.key));
+        expired += count;
+        return count;
+    }
+
+    synchronized LoginAttemptStore.TableStats stats() {
+        return new LoginAttemptStore.TableStats(entries.size(), maxEntries, expired, evicted);
+    }
+
+    int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private Attempt getOrCreate(String key) {
+        Attempt attempt = entries.get(key);
+        if (attempt == null) {
+            if (entries.size() >= maxEntries) {
+                evictEarliest();
+            }
+            attempt = new Attempt(key);
+            entries.put(key, attempt);
+        }
+        return attempt;
+    }
+
+    private void evictEarliest() {
+        Attempt victim = expiryWheel.pollEarliest();
+        if (victim != null) {
+            entries.remove(victim.key);
+            evicted++;
+            if (Long.bitCount(evicted) == 1) {
+                // 追い出しが続く場合もログが溢れないよう、1, 2, 4, 8... 件目のみ記録
+                logger.warn("ログイン試行の追跡件数が上限に達したため破棄: table={}, maxEntries={}, evicted={}",
+                        name, maxEntries, evicted);
+            }
+        }
+    }
+
+    /**
+     * ログイン試行情報（期限はタイミングホイールのノードがエポック秒で保持）
+     */
+    private static final class Attempt extends HierarchicalTimingWheel.Node {
+
+        private final String key;
+
+        private int attempts;
+
+        Attempt(String key) {
+            this.key = key;
+        }
+    }
+}
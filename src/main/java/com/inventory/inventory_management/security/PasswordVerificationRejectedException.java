@@ -0,0 +1,19 @@
+package com.inventory.inventory_management.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * パスワード検証の処理能力を超えたため、検証せずに拒否したことを表す例外
+ * 認証失敗（パスワード誤り）とは区別し、ログイン失敗回数には加算しません。
+ */
+public class PasswordVerificationRejectedException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * コンストラクタ
+     */
+    public PasswordVerificationRejectedException() {
+        super("ログイン処理が混雑しています。しばらくしてから再度お試しください。");
+    }
+}
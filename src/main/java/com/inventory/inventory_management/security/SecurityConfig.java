@@ -1,19 +1,25 @@
 package com.inventory.inventory_management.security;
 
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.ExceptionMappingAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
 
 /**
  * Spring Securityの設定クラス
@@ -41,6 +47,30 @@ public class SecurityConfig {
     
     @Value("${security.hsts.max-age-seconds}")
     private long hstsMaxAgeSeconds;
+
+    @Value("${security.password.bcrypt-cost:0}")
+    private int bcryptCost;
+
+    @Value("${security.password.target-hash-ms:250}")
+    private long passwordTargetHashMillis;
+
+    @Value("${security.password.min-cost:12}")
+    private int bcryptMinCost;
+
+    @Value("${security.password.max-cost:16}")
+    private int bcryptMaxCost;
+
+    @Value("${security.password.verify-threads:0}")
+    private int passwordVerifyThreads;
+
+    @Value("${security.password.verify-queue-capacity:16}")
+    private int passwordVerifyQueueCapacity;
+
+    @Value("${security.password.verify-timeout-ms:3000}")
+    private long passwordVerifyTimeoutMillis;
+
+    @Value("${security.login.max-concurrent:0}")
+    private int loginMaxConcurrent;
     
     @Autowired
     private CsrfTokenRepository csrfTokenRepository;
@@ -54,13 +84,23 @@ public class SecurityConfig {
     @Autowired
     private CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
 
+    @Autowired
+    private ObjectProvider<JdbcSessionRepository> jdbcSessionRepository;
+
     /**
      * SessionRegistryのBean定義
      * セッション管理に使用されるSessionRegistryを提供します。
+     * セッションを sessions テーブルで共有する場合（security.session.store=jdbc）は、同時ログイン数の制限を
+     * クラスタ全体で判定するため、テーブルを参照する SpringSessionBackedSessionRegistry を使用します。
      * @return SessionRegistry
      */
     @Bean
     public SessionRegistry sessionRegistry() {
+        JdbcSessionRepository sessionRepository = jdbcSessionRepository.getIfAvailable();
+        if (sessionRepository != null) {
+            logger.info("SessionRegistry: sessions テーブルを参照します");
+            return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+        }
         return new SessionRegistryImpl();
     }
 
@@ -88,9 +128,10 @@ public class SecurityConfig {
                 .loginPage("/admin/login")  // 管理者用ログイン画面
                 .loginProcessingUrl("/admin/login")  // 管理者用ログイン処理URL
                 .defaultSuccessUrl("/admin/inventory")  // ログイン成功時のリダイレクト先（管理者用在庫管理）
-                .failureUrl("/admin/login?error")  // ログイン失敗時のリダイレクト先
+                .failureHandler(loginFailureHandler("/admin/login"))  // ログイン失敗時のリダイレクト先（混雑時は ?busy）
                 .permitAll()
             )
+            .addFilterBefore(loginAdmissionFilter(), UsernamePasswordAuthenticationFilter.class)  // ログイン要求の流入制御
             .logout((logout) -> logout
                 .logoutUrl("/logout")  // ログアウト処理のURL
                 .logoutSuccessHandler(logoutSuccessHandler)  // カスタムログアウト成功ハンドラー
@@ -174,9 +215,10 @@ public class SecurityConfig {
                .loginPage("/login")  // 一般ユーザー用ログイン画面のURL
                .loginProcessingUrl("/login")  // ログイン処理のURL
                .defaultSuccessUrl("/inventory")  // ログイン成功時のリダイレクト先
-               .failureUrl("/login?error")  // ログイン失敗時のリダイレクト先
+               .failureHandler(loginFailureHandler("/login"))  // ログイン失敗時のリダイレクト先（混雑時は ?busy）
                .permitAll()
            )
+           .addFilterBefore(loginAdmissionFilter(), UsernamePasswordAuthenticationFilter.class)  // ログイン要求の流入制御
            .logout((logout) -> logout
                .logoutUrl("/logout")  // ログアウト処理のURL
                .logoutSuccessHandler(logoutSuccessHandler)  // カスタムログアウト成功ハンドラー
@@ -238,12 +280,68 @@ public class SecurityConfig {
    
    /**
     * パスワードエンコーダーの設定
-    * BCryptの強度を12に設定（セキュリティ強化）
-    * @return BCryptPasswordEncoder
+    * BCryptのコスト係数は固定値（security.password.bcrypt-cost）、未指定の場合は起動時の計測で
+    * 目標時間（security.password.target-hash-ms）に収まる最大値を下限〜上限の範囲で決定する
+    * 保存済みハッシュのコスト係数が異なる場合はログイン成功時に再ハッシュされる（UserDetailsServiceImpl）
+    * ハッシュ計算は上限付きの専用プールで実行し、ログイン集中時に CPU とリクエストスレッドを占有させない
+    * @return CalibratedBCryptPasswordEncoder をラップした BoundedPasswordEncoder
     */
    @Bean
-   public PasswordEncoder passwordEncoder() {
-       return new BCryptPasswordEncoder(12);
+   public BoundedPasswordEncoder passwordEncoder() {
+       CalibratedBCryptPasswordEncoder bcrypt = bcryptCost > 0
+               ? new CalibratedBCryptPasswordEncoder(bcryptCost)
+               : CalibratedBCryptPasswordEncoder.calibrate(passwordTargetHashMillis, bcryptMinCost, bcryptMaxCost);
+       return new BoundedPasswordEncoder(bcrypt,
+               resolvePasswordVerifyThreads(), passwordVerifyQueueCapacity, passwordVerifyTimeoutMillis);
+   }
+
+   /**
+    * ログイン要求の流入制御フィルターの設定
+    * 上限の既定値は、パスワード検証プールのスレッド数と待ち行列の上限の合計
+    * @return LoginAdmissionFilter
+    */
+   @Bean
+   public LoginAdmissionFilter loginAdmissionFilter() {
+       int maxConcurrent = loginMaxConcurrent > 0
+               ? loginMaxConcurrent
+               : resolvePasswordVerifyThreads() + passwordVerifyQueueCapacity;
+       logger.info("ログイン流入制御設定: maxConcurrent={}", maxConcurrent);
+       return new LoginAdmissionFilter(maxConcurrent);
+   }
+
+   /**
+    * 流入制御フィルターをサーブレットフィルターとして自動登録しない設定
+    * （SecurityFilterChain 内でのみ実行する）
+    * @param filter 流入制御フィルター
+    * @return 無効化した FilterRegistrationBean
+    */
+   @Bean
+   public FilterRegistrationBean<LoginAdmissionFilter> loginAdmissionFilterRegistration(LoginAdmissionFilter filter) {
+       FilterRegistrationBean<LoginAdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+       registration.setEnabled(false);
+       return registration;
+   }
+
+   /**
+    * ログイン失敗ハンドラーの生成
+    * パスワード検証が混雑により拒否された場合は ?busy、それ以外は ?error へリダイレクトする
+    * @param loginUrl ログイン画面の URL
+    * @return AuthenticationFailureHandler
+    */
+   private AuthenticationFailureHandler loginFailureHandler(String loginUrl) {
+       ExceptionMappingAuthenticationFailureHandler handler = new ExceptionMappingAuthenticationFailureHandler();
+       handler.setDefaultFailureUrl(loginUrl + "?error");
+       handler.setExceptionMappings(Map.of(
+               PasswordVerificationRejectedException.class.getName(), loginUrl + "?busy"));
+       return handler;
+   }
+
+   /**
+    * パスワード検証プールのスレッド数を決定する
+    * @return スレッド数（0 以下の設定値は CPU コア数）
+    */
+   private int resolvePasswordVerifyThreads() {
+       return passwordVerifyThreads > 0 ? passwordVerifyThreads : Runtime.getRuntime().availableProcessors();
    }
 
 }
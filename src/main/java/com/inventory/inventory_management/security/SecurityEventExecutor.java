@@ -0,0 +1,326 @@
+package com.inventory.inventory_management.security;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * セキュリティ・監査イベント用の上限付き実行器
+ * 認証成功・失敗リスナーなどの {@code @Async} 処理を、既定の実行器ではなくこの実行器の仮想スレッドで実行します。
+ * <p>
+ * 同時実行数は concurrency 件までで、それを超えたタスクは待機します（待機中も仮想スレッドのためプラットフォームスレッドは消費しない）。
+ * 実行中と待機中の合計が concurrency + queue-capacity を超える場合は、拒否ポリシーに従います。
+ * <ul>
+ * <li>caller-runs: 呼び出し元のスレッドで実行する（既定。ログイン失敗の記録を失わない）</li>
+ * <li>discard: 実行せずに破棄する（件数のみ記録）</li>
+ * <li>abort: {@link TaskRejectedException} を送出する</li>
+ * </ul>
+ * 投入時の MDC を実行スレッドに引き継ぎます。
+ * 終了時は他の Bean の破棄より前（ライフサイクルの停止時）に、実行中・待機中のタスクの完了を待ちます。
+ * 以降に発生したイベントは呼び出し元のスレッドで処理します。
+ * </p>
+ */
+public class SecurityEventExecutor implements TaskExecutor, SmartLifecycle, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityEventExecutor.class);
+
+    /**
+     * 実行中と待機中の合計が上限を超えた場合の扱い
+     */
+    public enum RejectionPolicy {
+        CALLER_RUNS,
+        DISCARD,
+        ABORT
+    }
+
+    private final String name;
+
+    private final int concurrency;
+
+    private final int capacity;
+
+    private final RejectionPolicy rejectionPolicy;
+
+    private final long shutdownTimeoutMillis;
+
+    private final ThreadFactory threadFactory;
+
+    private final Semaphore permits;
+
+    /** 実行中と待機中のタスク数 */
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final AtomicInteger maxWaiting = new AtomicInteger();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    private volatile boolean shutdown;
+
+    /**
+     * コンストラクタ
+     *
+     * @param name                  実行器の名前（スレッド名の接頭辞）
+     * @param concurrency           同時実行数の上限（1 以上）
+     * @param queueCapacity         同時実行数を超えて待機できるタスク数（0 以上）
+     * @param rejectionPolicy       上限を超えた場合の扱い
+     * @param shutdownTimeoutMillis 終了時にタスクの完了を待つ最大時間（ミリ秒）
+     */
+    public SecurityEventExecutor(String name, int concurrency, int queueCapacity, RejectionPolicy rejectionPolicy,
+            long shutdownTimeoutMillis) {
+        if (concurrency <= 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("concurrency は 1 以上、queue-capacity は 0 以上を指定してください");
+        }
+        this.name = name;
+        this.concurrency = concurrency;
+        this.capacity = concurrency + queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 1).factory();
+        this.permits = new Semaphore(concurrency);
+        logger.info("イベント実行器初期化: name={}, concurrency={}, queueCapacity={}, rejectionPolicy={}",
+                name, concurrency, queueCapacity, rejectionPolicy);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.increment();
+        if (shutdown || !reserve()) {
+            reject(task);
+            return;
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        long enqueuedAt = System.nanoTime();
+        waiting.incrementAndGet();
+        maxWaiting.accumulateAndGet(waiting.get(), Math::max);
+        try {
+            threadFactory.newThread(() -> runQueued(task, context, enqueuedAt)).start();
+        } catch (RuntimeException | OutOfMemoryError e) {
+            waiting.decrementAndGet();
+            outstanding.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 実行状況を取得する
+     *
+     * @return 実行状況のスナップショット
+     */
+    public Stats getStats() {
+        long count = completed.sum() + failed.sum();
+        return new Stats(
+                name,
+                concurrency,
+                concurrency - permits.availablePermits(),
+                waiting.get(),
+                maxWaiting.get(),
+                capacity - concurrency,
+                rejectionPolicy,
+                submitted.sum(),
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                callerRuns.sum(),
+                count == 0 ? 0 : totalQueueWaitNanos.sum() / count / 1_000_000.0,
+                maxQueueWaitNanos.get() / 1_000_000.0,
+                count == 0 ? 0 : totalRunNanos.sum() / count / 1_000_000.0,
+                maxRunNanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void start() {
+        shutdown = false;
+    }
+
+    /**
+     * 新しいタスクの受け付けを止め、実行中・待機中のタスクの完了を待つ
+     * ログイン失敗回数の保存先など、タスクが使う Bean が破棄される前に呼び出される
+     */
+    @Override
+    public void stop() {
+        try {
+            destroy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !shutdown;
+    }
+
+    /**
+     * 新しいタスクの受け付けを止め、実行中・待機中のタスクの完了を待つ
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (shutdown && outstanding.get() == 0) {
+            return;
+        }
+        shutdown = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        while (outstanding.get() > 0 && System.nanoTime() - deadline < 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        int remaining = outstanding.get();
+        if (remaining > 0) {
+            logger.error("イベント実行器を未完了のタスクを残して停止します: name={}, remaining={}", name, remaining);
+        } else {
+            logger.info("イベント実行器を停止: name={}, completed={}, failed={}, rejected={}",
+                    name, completed.sum(), failed.sum(), rejected.sum());
+        }
+    }
+
+    /**
+     * 実行中と待機中の合計が上限未満であれば 1 件分を確保する
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = outstanding.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (outstanding.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void runQueued(Runnable task, Map<String, String> context, long enqueuedAt) {
+        try {
+            permits.acquireUninterruptibly();
+            try {
+                waiting.decrementAndGet();
+                long queueWait = System.nanoTime() - enqueuedAt;
+                totalQueueWaitNanos.add(queueWait);
+                maxQueueWaitNanos.accumulateAndGet(queueWait, Math::max);
+                runWithContext(task, context);
+            } finally {
+                permits.release();
+            }
+        } finally {
+            outstanding.decrementAndGet();
+        }
+    }
+
+    private void runWithContext(Runnable task, Map<String, String> context) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+        long start = System.nanoTime();
+        try {
+            task.run();
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("イベント処理中にエラーが発生しました: name={}, error={}", name, e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalRunNanos.add(elapsed);
+            maxRunNanos.accumulateAndGet(elapsed, Math::max);
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    private void reject(Runnable task) {
+        if (shutdown) {
+            // 終了処理中に発生したイベントは呼び出し元で処理し、失わないようにする
+            callerRuns.increment();
+            runWithContext(task, MDC.getCopyOfContextMap());
+            return;
+        }
+        switch (rejectionPolicy) {
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                logRejection("呼び出し元で実行");
+                runWithContext(task, MDC.getCopyOfContextMap());
+            }
+            case DISCARD -> {
+                rejected.increment();
+                logRejection("破棄");
+            }
+            case ABORT -> {
+                rejected.increment();
+                logRejection("拒否");
+                throw new TaskRejectedException("イベント実行器が満杯です: " + name);
+            }
+        }
+    }
+
+    private void logRejection(String action) {
+        long count = rejected.sum() + callerRuns.sum();
+        if (Long.bitCount(count) == 1) {
+            logger.warn("イベント実行器が満杯のためタスクを{}しました: name={}, outstanding={}, count={}",
+                    action, name, outstanding.get(), count);
+        }
+    }
+
+    /**
+     * イベント実行器の実行状況
+     *
+     * @param name                   実行器の名前
+     * @param concurrency            同時実行数の上限
+     * @param active                 実行中の件数
+     * @param queueDepth             同時実行数の空きを待っている件数
+     * @param maxQueueDepth          待機件数の最大値（起動後）
+     * @param queueCapacity          待機できる件数の上限
+     * @param rejectionPolicy        上限を超えた場合の扱い
+     * @param submitted              投入件数
+     * @param completed              完了件数
+     * @param failed                 例外で終了した件数
+     * @param rejected               破棄・拒否した件数
+     * @param callerRuns             呼び出し元のスレッドで実行した件数
+     * @param averageQueueWaitMillis 平均待ち時間（ミリ秒）
+     * @param maxQueueWaitMillis     最大待ち時間（ミリ秒）
+     * @param averageRunMillis       平均実行時間（ミリ秒）
+     * @param maxRunMillis           最大実行時間（ミリ秒）
+     */
+    public record Stats(
+            String name,
+            int concurrency,
+            int active,
+            int queueDepth,
+            int maxQueueDepth,
+            int queueCapacity,
+            RejectionPolicy rejectionPolicy,
+            long submitted,
+            long completed,
+            long failed,
+            long rejected,
+            long callerRuns,
+            double averageQueueWaitMillis,
+            double maxQueueWaitMillis,
+            double averageRunMillis,
+            double maxRunMillis) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.inventory.inventory_management.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * セキュリティ・監査イベント用の実行器の設定クラス
+ * 認証成功・失敗リスナーは {@code @Async(SecurityEventExecutorConfig.EXECUTOR_NAME)} でこの実行器を指定します。
+ */
+@Configuration
+public class SecurityEventExecutorConfig {
+
+    /** 実行器の Bean 名 */
+    public static final String EXECUTOR_NAME = "securityEventExecutor";
+
+    /**
+     * セキュリティ・監査イベント用の上限付き実行器（仮想スレッド）
+     * @param concurrency 同時実行数の上限
+     * @param queueCapacity 同時実行数を超えて待機できるタスク数
+     * @param rejectionPolicy 上限を超えた場合の扱い
+     * @param shutdownTimeout 終了時にタスクの完了を待つ最大時間
+     * @return SecurityEventExecutor
+     */
+    @Bean(name = EXECUTOR_NAME)
+    public SecurityEventExecutor securityEventExecutor(
+            @Value("${security.event-executor.concurrency:8}") int concurrency,
+            @Value("${security.event-executor.queue-capacity:1000}") int queueCapacity,
+            @Value("${security.event-executor.rejection-policy:caller-runs}")
+            SecurityEventExecutor.RejectionPolicy rejectionPolicy,
+            @Value("${security.event-executor.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        return new SecurityEventExecutor("security-event", concurrency, queueCapacity, rejectionPolicy,
+                shutdownTimeout.toMillis());
+    }
+}
@@ -0,0 +1,195 @@
+package com.inventory.inventory_management.security;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.inventory.inventory_management.entity.User;
+import com.inventory.inventory_management.repository.UserRepository.CredentialVersion;
+
+/**
+ * 認証用ユーザー情報（UserDetailsImpl）のキャッシュ
+ * フォームログイン・remember-me 自動ログインのたびに実行される users / user_roles / roles の JOIN FETCH を省略します。
+ * <p>
+ * 件数上限（LRU で追い出し）と有効期限付きです。キャッシュ済みの情報を返す前に、users テーブルのみの軽量な検索で
+ * パスワードハッシュ・有効フラグ・更新日時が格納時と一致することを確認します。一致しない場合は破棄して再読み込みさせるため、
+ * 他ノードでの無効化・パスワード変更も即座に反映されます。同一ノード内の更新では明示的に {@link #evict(String)} します。
+ * </p>
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    /** アクセス順の LinkedHashMap（上限超過時は最も古いエントリを破棄） */
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleReloads = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxSize    キャッシュする件数の上限（0 以下の場合はキャッシュしない）
+     * @param ttlSeconds 有効期限（秒）
+     */
+    public UserDetailsCache(
+            @Value("${security.user-details-cache.max-size:10000}") int maxSize,
+            @Value("${security.user-details-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserDetailsCache.this.maxSize;
+            }
+        };
+        logger.info("UserDetailsキャッシュ初期化: maxSize={}, ttlSeconds={}", maxSize, ttlSeconds);
+    }
+
+    /**
+     * キャッシュ済みのユーザー情報を取得する
+     * 有効期限内のエントリがある場合のみ認証情報のバージョンを検索し、格納時と一致すればキャッシュ済みの情報を返す
+     *
+     * @param username      ユーザー名
+     * @param versionLookup 現在の認証情報のバージョンを検索する処理
+     * @return キャッシュ済みのユーザー情報（未格納・期限切れ・バージョン不一致の場合は null）
+     */
+    public UserDetailsImpl get(String username, Supplier<Optional<CredentialVersion>> versionLookup) {
+        if (maxSize <= 0) {
+            misses.increment();
+            return null;
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+            if (entry != null && System.nanoTime() - entry.cachedAtNanos() >= ttlNanos) {
+                entries.remove(username);
+                expirations.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        Optional<CredentialVersion> current = versionLookup.get();
+        if (current.isEmpty() || !entry.matches(current.get())) {
+            remove(username, entry);
+            staleReloads.increment();
+            logger.debug("UserDetailsキャッシュの内容が古いため破棄: username={}", username);
+            return null;
+        }
+        hits.increment();
+        return entry.userDetails();
+    }
+
+    /**
+     * ユーザー情報を格納する
+     *
+     * @param username    ユーザー名
+     * @param userDetails ユーザー情報
+     */
+    public void put(String username, UserDetailsImpl userDetails) {
+        if (maxSize <= 0) {
+            return;
+        }
+        User user = userDetails.getUser();
+        Entry entry = new Entry(userDetails, user.getPassword(), user.getIsActive(), user.getUpdatedAt(),
+                System.nanoTime());
+        synchronized (entries) {
+            entries.put(username, entry);
+        }
+    }
+
+    /**
+     * ユーザー情報をキャッシュから破棄する
+     * ユーザー情報の更新・無効化・パスワード変更時に呼び出す
+     *
+     * @param username ユーザー名
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        boolean removed;
+        synchronized (entries) {
+            removed = entries.remove(username) != null;
+        }
+        if (removed) {
+            evictions.increment();
+            logger.debug("UserDetailsキャッシュから破棄: username={}", username);
+        }
+    }
+
+    /**
+     * キャッシュの利用状況を取得する
+     *
+     * @return 利用状況のスナップショット
+     */
+    public Stats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum() + staleReloads.sum();
+        return new Stats(size, maxSize, hitCount, misses.sum(), staleReloads.sum(), expirations.sum(),
+                evictions.sum(), lookups == 0 ? 0 : (double) hitCount / lookups);
+    }
+
+    private void remove(String username, Entry entry) {
+        synchronized (entries) {
+            entries.remove(username, entry);
+        }
+    }
+
+    /**
+     * キャッシュエントリ（格納時の認証情報のバージョンを保持）
+     */
+    private record Entry(UserDetailsImpl userDetails, String password, Boolean isActive, LocalDateTime updatedAt,
+            long cachedAtNanos) {
+
+        boolean matches(CredentialVersion current) {
+            return Objects.equals(password, current.getPassword())
+                    && Objects.equals(isActive, current.getIsActive())
+                    && Objects.equals(updatedAt, current.getUpdatedAt());
+        }
+    }
+
+    /**
+     * UserDetails キャッシュの利用状況
+     *
+     * @param size         現在の件数
+     * @param maxSize      件数の上限
+     * @param hits         ヒット件数
+     * @param misses       未格納・期限切れによるミス件数
+     * @param staleReloads バージョン不一致で破棄した件数
+     * @param expirations  有効期限切れで破棄した件数
+     * @param evictions    明示的に破棄した件数
+     * @param hitRatio     ヒット率（ヒット件数 / 参照件数）
+     */
+    public record Stats(int size, int maxSize, long hits, long misses, long staleReloads, long expirations,
+            long evictions, double hitRatio) {
+    }
+}
@@ -1,6 +1,11 @@
 package com.inventory.inventory_management.security;
 
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +15,8 @@ import com.inventory.inventory_management.entity.User;
 /**
  * Spring SecurityのUserDetailsインターフェース実装。
  * 認証対象ユーザー情報と権限情報を保持する。
+ * セッションに保存する際は、エンティティ（関連を含む）の代わりに認証に必要な項目だけを保持する
+ * {@link SerializedForm} に置き換えてシリアライズする（パスワードハッシュは含めない）。
  */
 public class UserDetailsImpl implements UserDetails {
     /** ユーザーエンティティ */
@@ -80,4 +87,38 @@ public class UserDetailsImpl implements UserDetails {
     public boolean isEnabled() {
         return user.getIsActive();
     }
+
+    /**
+     * シリアライズ時に、認証に必要な項目だけを持つ形式に置き換える
+     * @return シリアライズ用の形式
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(),
+                user.getIsActive(), user.getCreatedAt(), user.getUpdatedAt(), new ArrayList<>(authorities));
+    }
+
+    /**
+     * セッション保存用の UserDetailsImpl の形式
+     */
+    private record SerializedForm(Integer id, String username, String email, String fullName, Boolean isActive,
+            LocalDateTime createdAt, LocalDateTime updatedAt, List<GrantedAuthority> authorities)
+            implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @Serial
+        private Object readResolve() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setEmail(email);
+            user.setFullName(fullName);
+            user.setIsActive(isActive);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            return new UserDetailsImpl(user, authorities);
+        }
+    }
 }
@@ -9,20 +9,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.inventory.inventory_management.entity.User;
 import com.inventory.inventory_management.repository.UserRepository;
 
 /**
  * Spring SecurityのUserDetailsServiceインターフェースの実装クラス
- * ユーザー認証情報の読み込みを行う
+ * ユーザー認証情報の読み込みと、ログイン成功時のパスワード再ハッシュ（UserDetailsPasswordService）を行う
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
     
@@ -32,22 +36,27 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     private final LoginAttemptService loginAttemptService;
     /** 実行プロファイル情報 */
     private final Environment environment;
+    /** 認証用ユーザー情報のキャッシュ */
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * コンストラクタ
      * @param userRepository ユーザーリポジトリ
      * @param loginAttemptService ログイン試行管理サービス
      * @param environment 実行プロファイル情報
+     * @param userDetailsCache 認証用ユーザー情報のキャッシュ
      */
     public UserDetailsServiceImpl(UserRepository userRepository, LoginAttemptService loginAttemptService,
-            Environment environment) {
+            Environment environment, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
         this.loginAttemptService = loginAttemptService;
         this.environment = environment;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
      * ユーザー名からユーザー情報を読み込む
+     * キャッシュ済みで認証情報のバージョンが一致する場合は、ロールの JOIN FETCH を行わずにキャッシュから返す
      * @param username ユーザー名
      * @return ユーザー詳細情報
      * @throws UsernameNotFoundException ユーザーが見つからない場合
@@ -64,7 +73,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             logger.warn("ブロック中のユーザーのログイン試行: username={}", username);
             throw new UsernameNotFoundException("ログインに失敗しました。ユーザー名またはパスワードが正しくありません。");
         }
+
+        // 接続元ごとの試行回数チェック（多数のユーザー名を試す接続元への対策）
+        if (!isTestProfile && loginAttemptService.isIpBlocked(currentRemoteAddress())) {
+            logger.warn("ブロック中の接続元からのログイン試行: username={}", username);
+            throw new UsernameNotFoundException("ログインに失敗しました。ユーザー名またはパスワードが正しくありません。");
+        }
         
+        UserDetailsImpl cached = userDetailsCache.get(username,
+            () -> userRepository.findCredentialVersionByUsername(username));
+        if (cached != null) {
+            logger.debug("ユーザー認証情報をキャッシュから取得: username={}", username);
+            return cached;
+        }
+
         try {
             // LazyInitializationException対策: ロール情報を含めて取得
             User user = userRepository.findByUsernameWithRoles(username)
@@ -86,7 +108,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 authorities.add(new SimpleGrantedAuthority(roleName));
             });
             
-            return new UserDetailsImpl(user, authorities);
+            UserDetailsImpl userDetails = new UserDetailsImpl(user, authorities);
+            userDetailsCache.put(username, userDetails);
+            return userDetails;
         } catch (UsernameNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -94,4 +118,41 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("ログインに失敗しました。ユーザー名またはパスワードが正しくありません。");
         }
     }
+
+    /**
+     * ログイン成功時に保存済みパスワードハッシュを再ハッシュした値へ更新する
+     * 保存済みハッシュのコスト係数が現在のコスト係数と異なる場合に、DaoAuthenticationProvider から呼び出される
+     * @param user 認証済みのユーザー詳細情報
+     * @param newPassword 現在のコスト係数で再ハッシュしたパスワード
+     * @return 更新後のユーザー詳細情報
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("ユーザーが見つかりません"));
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+        userDetailsCache.evict(user.getUsername());
+        logger.info("パスワードハッシュを再計算: username={}", user.getUsername());
+
+        // 認証済みの UserDetailsImpl はロール情報を読み込み済みのため、そのまま保持して返す
+        if (user instanceof UserDetailsImpl userDetails) {
+            userDetails.getUser().setPassword(newPassword);
+            return userDetails;
+        }
+        return new UserDetailsImpl(entity, new ArrayList<>(user.getAuthorities()));
+    }
+
+    /**
+     * 処理中のリクエストの接続元 IP アドレスを取得する
+     * （WebAuthenticationDetails と同じく HttpServletRequest#getRemoteAddr の値）
+     * @return 接続元 IP アドレス（リクエスト外から呼ばれた場合は null）
+     */
+    private String currentRemoteAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
 }
@@ -1,9 +1,15 @@
 package com.inventory.inventory_management.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +19,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.inventory.inventory_management.audit.AuditLogWriter;
+import com.inventory.inventory_management.audit.AuditSnapshots;
+import com.inventory.inventory_management.dto.response.ProductStockHistoryDto;
+import com.inventory.inventory_management.dto.response.ProductSummaryDto;
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.repository.ProductRepository;
@@ -32,8 +43,24 @@ import org.springframework.beans.factory.annotation.Value;
 @Transactional(readOnly = true)
 public class AdminInventoryService {
 
+    /** 同じ値の商品の並びを安定させるための最後のソート条件 */
+    private static final Sort ID_ORDER = Sort.by(Sort.Direction.ASC, "id");
+
+    /** 複数商品の在庫履歴で一度に指定できる商品数 */
+    static final int MAX_HISTORY_PRODUCTS = 100;
+
+    /** 複数商品の在庫履歴の商品ごとの取得件数（未指定時） */
+    static final int DEFAULT_HISTORY_LIMIT = 10;
+
+    /** 複数商品の在庫履歴の商品ごとの取得件数の上限 */
+    static final int MAX_HISTORY_LIMIT = 100;
+
     private final ProductRepository productRepository;
     private final StockTransactionRepository stockTransactionRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ReferenceDataCache referenceDataCache;
+    private final CatalogVersion catalogVersion;
+    private final StockChangeBroadcaster stockChangeBroadcaster;
 
     @Value("${inventory.page-size}")
     private int pageSize;
@@ -172,6 +199,7 @@ public class AdminInventoryService {
 
     /**
      * ソート条件を作成
+     * 同じ値の商品の並びがページ間で入れ替わらないよう、最後に ID の昇順を加える（在庫一覧 API のカーソルと同じ並び）
      * @param sortBy ソート種別
      * @return Sortオブジェクト
      */
@@ -182,14 +210,14 @@ public class AdminInventoryService {
 
         switch (sortBy) {
             case "stock":
-                return Sort.by(Sort.Direction.ASC, "stock");
+                return Sort.by(Sort.Direction.ASC, "stock").and(ID_ORDER);
             case "stock_desc":
-                return Sort.by(Sort.Direction.DESC, "stock");
+                return Sort.by(Sort.Direction.DESC, "stock").and(ID_ORDER);
             case "updated":
-                return Sort.by(Sort.Direction.DESC, "updatedAt");
+                return Sort.by(Sort.Direction.DESC, "updatedAt").and(ID_ORDER);
             case "name":
             default:
-                return Sort.by(Sort.Direction.ASC, "productName");
+                return Sort.by(Sort.Direction.ASC, "productName").and(ID_ORDER);
         }
     }
 
@@ -309,6 +337,16 @@ public class AdminInventoryService {
             transaction.setRemarks(remarks);
             stockTransactionRepository.save(transaction);
 
+            // 監査ログを記録（コミット後に非同期で書き込まれる）
+            Map<String, Object> after = new LinkedHashMap<>();
+            after.put("stock", afterStock);
+            after.put("quantity", quantity);
+            after.put("remarks", remarks);
+            auditLogWriter.record("STOCK_" + transactionType.toUpperCase(), "products", productId,
+                    Map.of("stock", beforeStock), after);
+            catalogVersion.changed();
+            stockChangeBroadcaster.stockChanged(productId, beforeStock, afterStock);
+
             log.info("在庫更新成功: productId={}, before={}, after={}", productId, beforeStock, afterStock);
             return savedProduct;
 
@@ -372,6 +410,67 @@ public class AdminInventoryService {
         }
     }
 
+    /**
+     * 在庫履歴 API 用に商品の入出庫履歴を取得（エンティティを読み込まず、取得件数はクエリで制限する）
+     * @param productId 商品ID
+     * @param limit 取得件数（null・0以下の場合は全件取得）
+     * @return 在庫変動履歴リスト（日時降順）
+     */
+    public List<StockTransactionDto> getStockHistory(Integer productId, Integer limit) {
+        log.debug("在庫履歴取得: productId={}, limit={}", productId, limit);
+        Limit max = limit != null && limit > 0 ? Limit.of(limit) : Limit.unlimited();
+        return stockTransactionRepository.findHistoryByProductId(productId, max);
+    }
+
+    /**
+     * 複数商品の最新の入出庫履歴を取得（商品数にかかわらず、商品・履歴とも 1 回のクエリで取得する）
+     * @param productIds 商品IDのリスト（重複は除く、最大 MAX_HISTORY_PRODUCTS 件）
+     * @param limit 商品ごとの取得件数（null の場合は DEFAULT_HISTORY_LIMIT、最大 MAX_HISTORY_LIMIT）
+     * @return 商品ごとの履歴（指定した商品IDの順）と見つからなかった商品ID
+     * @throws IllegalArgumentException 商品IDが未指定・上限超過、または取得件数が範囲外の場合
+     */
+    public StockHistories getStockHistories(List<Integer> productIds, Integer limit) {
+        List<Integer> ids = productIds == null ? List.of()
+                : productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty() || ids.size() > MAX_HISTORY_PRODUCTS) {
+            throw new IllegalArgumentException("商品IDは1～" + MAX_HISTORY_PRODUCTS + "件で指定してください");
+        }
+        int perProduct = limit != null ? limit : DEFAULT_HISTORY_LIMIT;
+        if (perProduct < 1 || perProduct > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("取得件数は1～" + MAX_HISTORY_LIMIT + "で指定してください");
+        }
+        log.debug("複数商品の在庫履歴取得: productIds={}, limit={}", ids, perProduct);
+
+        Map<Integer, Product> products = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> products.put(product.getId(), product));
+        Map<Integer, List<StockTransactionDto>> transactions = new HashMap<>();
+        for (StockTransactionDto transaction : stockTransactionRepository.findLatestByProductIds(ids, perProduct)) {
+            transactions.computeIfAbsent(transaction.productId(), id -> new ArrayList<>()).add(transaction);
+        }
+
+        List<ProductStockHistoryDto> histories = new ArrayList<>(products.size());
+        List<Integer> notFound = new ArrayList<>();
+        for (Integer id : ids) {
+            Product product = products.get(id);
+            if (product == null) {
+                notFound.add(id);
+            } else {
+                histories.add(new ProductStockHistoryDto(ProductSummaryDto.withStock(product),
+                        transactions.getOrDefault(id, List.of())));
+            }
+        }
+        return new StockHistories(perProduct, histories, notFound);
+    }
+
+    /**
+     * 複数商品の在庫履歴の取得結果
+     * @param limit 商品ごとの取得件数
+     * @param histories 商品ごとの履歴（指定した商品IDの順）
+     * @param notFoundProductIds 見つからなかった商品ID
+     */
+    public record StockHistories(int limit, List<ProductStockHistoryDto> histories, List<Integer> notFoundProductIds) {
+    }
+
     /**
      * 商品を論理削除から復元
      * @param productId 商品ID
@@ -390,9 +489,13 @@ public class AdminInventoryService {
                 throw new IllegalStateException("商品は削除されていません");
             }
 
+            Map<String, Object> before = AuditSnapshots.product(product);
             product.setDeletedAt(null);
             product.setUpdatedAt(LocalDateTime.now());
             Product restoredProduct = productRepository.save(product);
+            auditLogWriter.record("RESTORE", "products", productId, before, AuditSnapshots.product(product));
+            referenceDataCache.productChanged(null, product.getCategory());
+            catalogVersion.changed();
 
             log.info("商品復元成功: productId={}", productId);
             return restoredProduct;
@@ -421,9 +524,13 @@ public class AdminInventoryService {
                 throw new IllegalStateException("商品は既に削除されています");
             }
 
+            Map<String, Object> before = AuditSnapshots.product(product);
             product.setDeletedAt(LocalDateTime.now());
             product.setUpdatedAt(LocalDateTime.now());
             Product deletedProduct = productRepository.save(product);
+            auditLogWriter.record("DELETE", "products", productId, before, AuditSnapshots.product(product));
+            referenceDataCache.productChanged(product.getCategory(), null);
+            catalogVersion.changed();
 
             log.info("商品削除成功: productId={}", productId);
             return deletedProduct;
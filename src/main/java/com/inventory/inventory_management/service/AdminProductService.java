@@ -3,8 +3,8 @@ package com.inventory.inventory_management.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -14,6 +14,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.inventory.inventory_management.audit.AuditLogWriter;
+import com.inventory.inventory_management.audit.AuditSnapshots;
 import com.inventory.inventory_management.dto.request.ProductSearchCriteriaDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.form.ProductDetailForm;
@@ -35,6 +37,14 @@ public class AdminProductService {
 
     private final ProductRepository productRepository;
 
+    private final ProductCodeAllocator productCodeAllocator;
+
+    private final AuditLogWriter auditLogWriter;
+
+    private final ReferenceDataCache referenceDataCache;
+
+    private final CatalogVersion catalogVersion;
+
     @Value("${inventory.page-size}")
     private int pageSize;
 
@@ -90,7 +100,7 @@ public class AdminProductService {
      * @return カテゴリ名リスト（昇順）
      */
     public List<String> getAllCategories() {
-        return productRepository.findAllCategories();
+        return referenceDataCache.getCategories();
     }
 
     // =========================================================
@@ -110,7 +120,7 @@ public class AdminProductService {
         log.info("商品クイック登録開始: productName={}", form.getProductName());
 
         Product product = new Product();
-        product.setProductCode(generateProductCode());
+        product.setProductCode(productCodeAllocator.allocate());
         product.setProductName(form.getProductName().trim());
         product.setCategory(form.getCategory());
         product.setPrice(form.getPrice());
@@ -120,6 +130,9 @@ public class AdminProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         Product saved = productRepository.save(product);
+        auditLogWriter.record("CREATE", "products", saved.getId(), null, AuditSnapshots.product(saved));
+        referenceDataCache.productChanged(null, saved.getCategory());
+        catalogVersion.changed();
         log.info("商品クイック登録完了: productId={}, productCode={}, productName={}",
                 saved.getId(), saved.getProductCode(), saved.getProductName());
         return saved;
@@ -138,7 +151,7 @@ public class AdminProductService {
         log.info("商品詳細登録開始: productName={}", form.getProductName());
 
         Product product = new Product();
-        product.setProductCode(generateProductCode());
+        product.setProductCode(productCodeAllocator.allocate());
         product.setProductName(form.getProductName().trim());
         product.setCategory(form.getCategory());
         product.setSku(blankToNull(form.getSku()));
@@ -156,6 +169,9 @@ public class AdminProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         Product saved = productRepository.save(product);
+        auditLogWriter.record("CREATE", "products", saved.getId(), null, AuditSnapshots.product(saved));
+        referenceDataCache.productChanged(null, saved.getCategory());
+        catalogVersion.changed();
         log.info("商品詳細登録完了: productId={}, productCode={}, productName={}",
                 saved.getId(), saved.getProductCode(), saved.getProductName());
         return saved;
@@ -180,6 +196,8 @@ public class AdminProductService {
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("商品が見つかりません: id=" + id));
+        Map<String, Object> before = AuditSnapshots.product(product);
+        String previousCategory = product.getCategory();
 
         product.setProductName(form.getProductName().trim());
         product.setCategory(form.getCategory());
@@ -197,6 +215,11 @@ public class AdminProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         Product saved = productRepository.save(product);
+        auditLogWriter.record("UPDATE", "products", id, before, AuditSnapshots.product(saved));
+        if (saved.getDeletedAt() == null) {
+            referenceDataCache.productChanged(previousCategory, saved.getCategory());
+        }
+        catalogVersion.changed();
         log.info("商品詳細更新完了: productId={}, productName={}", saved.getId(), saved.getProductName());
         return saved;
     }
@@ -218,9 +241,16 @@ public class AdminProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("商品が見つかりません: id=" + id));
 
+        Map<String, Object> before = AuditSnapshots.product(product);
+        boolean wasActive = product.getDeletedAt() == null;
         product.setDeletedAt(LocalDateTime.now());
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
+        auditLogWriter.record("DELETE", "products", id, before, AuditSnapshots.product(product));
+        if (wasActive) {
+            referenceDataCache.productChanged(product.getCategory(), null);
+        }
+        catalogVersion.changed();
 
         log.info("商品論理削除完了: productId={}, productName={}", id, product.getProductName());
     }
@@ -238,9 +268,13 @@ public class AdminProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("商品が見つかりません: id=" + id));
 
+        Map<String, Object> before = AuditSnapshots.product(product);
         product.setDeletedAt(null);
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
+        auditLogWriter.record("RESTORE", "products", id, before, AuditSnapshots.product(product));
+        referenceDataCache.productChanged(null, product.getCategory());
+        catalogVersion.changed();
 
         log.info("商品復元完了: productId={}, productName={}", id, product.getProductName());
     }
@@ -271,21 +305,15 @@ public class AdminProductService {
     }
 
     /**
-     * 一意な 8 桁英数字の商品コードを生成する
+     * 一意な 8 桁英数字の商品コードをまとめて予約する（CSV 一括登録用）
+     * 採番は ProductCodeAllocator のプールから行うため、件数に関わらずクエリ回数はほぼ一定となる。
      *
-     * @return 商品コード（例: A3F7X9Z2）
+     * @param count 必要な商品コード数
+     * @return 重複のない商品コードリスト（count 件）
+     * @throws IllegalStateException 規定回数内に必要数を確保できなかった場合
      */
-    private String generateProductCode() {
-        for (int i = 0; i < 10; i++) {
-            String code = UUID.randomUUID().toString()
-                    .replace("-", "")
-                    .substring(0, 8)
-                    .toUpperCase();
-            if (productRepository.findByProductCode(code) == null) {
-                return code;
-            }
-        }
-        throw new IllegalStateException("商品コードの生成に失敗しました。再試行してください。");
+    public List<String> reserveProductCodes(int count) {
+        return productCodeAllocator.allocate(count);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.inventory.inventory_management.service;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -14,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.inventory.inventory_management.audit.AuditLogWriter;
+import com.inventory.inventory_management.audit.AuditSnapshots;
 import com.inventory.inventory_management.dto.request.UserSearchCriteriaDto;
 import com.inventory.inventory_management.entity.Role;
 import com.inventory.inventory_management.entity.User;
@@ -22,6 +25,7 @@ import com.inventory.inventory_management.form.UserCreateForm;
 import com.inventory.inventory_management.form.UserEditForm;
 import com.inventory.inventory_management.repository.RoleRepository;
 import com.inventory.inventory_management.repository.UserRepository;
+import com.inventory.inventory_management.security.UserDetailsCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +44,9 @@ public class AdminUserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final AuditLogWriter auditLogWriter;
+    private final ReferenceDataCache referenceDataCache;
 
     // =========================================================
     // 検索・一覧
@@ -113,9 +120,8 @@ public class AdminUserService {
      *
      * @return ロールリスト
      */
-    @Transactional(readOnly = true)
     public java.util.List<Role> getAllRoles() {
-        return roleRepository.findAll();
+        return referenceDataCache.getRoles();
     }
 
     // =========================================================
@@ -168,6 +174,7 @@ public class AdminUserService {
         user.getUserRoles().add(userRole);
 
         User saved = userRepository.save(user);
+        auditLogWriter.record("CREATE", "users", saved.getId(), null, AuditSnapshots.user(saved));
         log.info("ユーザー新規登録完了: userId={}, username={}", saved.getId(), saved.getUsername());
         return saved;
     }
@@ -209,7 +216,9 @@ public class AdminUserService {
         Role newRole = roleRepository.findById(form.getRoleId())
                 .orElseThrow(() -> new IllegalArgumentException("ロールが見つかりません: ID=" + form.getRoleId()));
 
-        // フィールド更新
+        // フィールド更新（変更前のユーザー名のキャッシュも破棄する）
+        Map<String, Object> before = AuditSnapshots.user(user);
+        String previousUsername = user.getUsername();
         user.setUsername(form.getUsername());
         user.setEmail(form.getEmail());
         user.setFullName(form.getFullName());
@@ -231,6 +240,9 @@ public class AdminUserService {
         }
 
         User saved = userRepository.save(user);
+        userDetailsCache.evict(previousUsername);
+        userDetailsCache.evict(saved.getUsername());
+        auditLogWriter.record("UPDATE", "users", id, before, AuditSnapshots.user(saved));
         log.info("ユーザー更新完了: userId={}, username={}", saved.getId(), saved.getUsername());
         return saved;
     }
@@ -264,10 +276,13 @@ public class AdminUserService {
             throw new IllegalArgumentException("このユーザーはすでに無効化されています: ID=" + id);
         }
 
+        Map<String, Object> before = AuditSnapshots.user(user);
         user.setIsActive(false);
         user.setUpdatedAt(LocalDateTime.now());
 
         User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername());
+        auditLogWriter.record("DEACTIVATE", "users", id, before, AuditSnapshots.user(saved));
         log.info("ユーザー論理削除完了: userId={}, username={}", saved.getId(), saved.getUsername());
         return saved;
     }
@@ -0,0 +1,241 @@
+package com.inventory.inventory_management.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 商品カタログ（商品・在庫履歴）のバージョン
+ * 在庫一覧画面・在庫履歴 API の ETag に使用し、If-None-Match が一致する場合は検索を行わずに 304 を返せるようにします。
+ * <p>
+ * バージョンは products の最大 updated_at・件数、stock_transactions の最大 ID と
+ * 変更カウンタ（catalog_version）から求め、メモリ上に保持します。
+ * 次の場合のみデータベースから読み込み直すため、変更がない間の条件付き GET はデータベースにアクセスしません。
+ * <ul>
+ * <li>このノードで商品・在庫を変更した後（{@link #changed()}、トランザクションのコミット後）</li>
+ * <li>前回の読み込みから refresh-interval が経過した後（他ノードでの変更の反映）</li>
+ * </ul>
+ * updated_at は秒精度のため、同じ秒のうちの商品名・価格の変更は updated_at・件数・在庫履歴だけでは区別できません。
+ * そこで変更のコミット後に catalog_version を加算し、他ノードでの変更も refresh-interval 以内に反映します。
+ * カウンタの加算に失敗した場合に備え、このノードで変更したのに読み込み直した値が変わらないときは
+ * 世代番号を進めて別のバージョンにします。
+ * </p>
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    /** 条件付き GET の対象とするレスポンスのキャッシュ制御（保存は許可し、利用のたびに再検証させる） */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final String SIGNATURE_SQL = "SELECT "
+            + "(SELECT MAX(updated_at) FROM products), "
+            + "(SELECT COUNT(*) FROM products), "
+            + "(SELECT MAX(id) FROM stock_transactions), "
+            + "(SELECT MAX(version) FROM catalog_version)";
+
+    private static final String INCREMENT_SQL = "UPDATE catalog_version SET version = version + 1 WHERE id = 1";
+
+    private static final String INSERT_SQL = "INSERT INTO catalog_version (id, version) VALUES (1, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 変更カウンタの加算用（コミット後に実行するため、独立したトランザクションを使う） */
+    private final TransactionTemplate requiresNewTemplate;
+
+    private final long refreshIntervalNanos;
+
+    /** 読み込み直しの排他（データベースアクセスを含むため、仮想スレッドを固定しない ReentrantLock を使う） */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** このノードでの変更の通知回数 */
+    private final AtomicLong changes = new AtomicLong();
+
+    /** 前回の読み込み時点の通知回数 */
+    private volatile long loadedChanges = -1;
+
+    private volatile long loadedAtNanos;
+
+    private volatile String version;
+
+    private String signature;
+
+    private long generation;
+
+    /**
+     * コンストラクタ
+     *
+     * @param jdbcTemplate       JDBC テンプレート
+     * @param transactionManager トランザクションマネージャー（変更カウンタの加算に使用）
+     * @param refreshIntervalMs  読み込み直す間隔（ミリ秒、0 以下の場合は毎回読み込む）
+     */
+    public CatalogVersion(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${inventory.etag.refresh-interval-ms:5000}") long refreshIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMs);
+    }
+
+    /**
+     * 現在のバージョンを取得する
+     *
+     * @return バージョン
+     */
+    public String getVersion() {
+        String current = version;
+        if (current != null && isFresh()) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (version == null || !isFresh()) {
+                reload();
+            }
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 商品・在庫の変更を通知する（トランザクション内の場合はコミット後に反映）
+     * このノードのバージョンを読み込み直させ、変更カウンタを加算して他ノードにも変更を知らせる
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementSharedCounter();
+                    changes.incrementAndGet();
+                }
+            });
+        } else {
+            incrementSharedCounter();
+            changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * 現在のバージョンから ETag を作成する
+     *
+     * @param scope   対象（画面・API の識別子）
+     * @param variant バージョン以外に内容を左右する値（検索条件など）
+     * @return 強い ETag（引用符付き）
+     */
+    public String etag(String scope, String variant) {
+        return "\"" + scope + "-" + getVersion() + "-" + crc(variant) + "\"";
+    }
+
+    /**
+     * 画面用の ETag を作成する
+     * 画面にはログインユーザー・セッション（CSRF トークン）ごとの内容が含まれるため、
+     * URL・リクエストパラメータに加えてユーザー名とセッション ID を内容に含める
+     *
+     * @param scope   対象（画面の識別子）
+     * @param request リクエスト
+     * @return 強い ETag（引用符付き）
+     */
+    public String pageEtag(String scope, HttpServletRequest request) {
+        StringBuilder variant = requestVariant(request);
+        HttpSession session = request.getSession(false);
+        variant.append('|').append(request.getRemoteUser()).append('|').append(session != null ? session.getId() : null);
+        return etag(scope, variant.toString());
+    }
+
+    /**
+     * API 用の ETag を作成する
+     * 内容がユーザー・セッションに依存しない API 向けに、URL・リクエストパラメータのみを内容に含める
+     *
+     * @param scope   対象（API の識別子）
+     * @param request リクエスト
+     * @return 強い ETag（引用符付き）
+     */
+    public String requestEtag(String scope, HttpServletRequest request) {
+        return etag(scope, requestVariant(request).toString());
+    }
+
+    /**
+     * URL とリクエストパラメータ（名前順、クエリ文字列の順序には依存しない）
+     */
+    private static StringBuilder requestVariant(HttpServletRequest request) {
+        StringBuilder variant = new StringBuilder(request.getRequestURI());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                variant.append('|').append(name).append('=').append(Arrays.toString(values)));
+        return variant;
+    }
+
+    private boolean isFresh() {
+        return loadedChanges == changes.get() && System.nanoTime() - loadedAtNanos < refreshIntervalNanos;
+    }
+
+    private void reload() {
+        // 読み込み中の変更の通知は次回の読み込みで反映する
+        long pending = changes.get();
+        boolean changedLocally = loadedChanges >= 0 && pending != loadedChanges;
+        String loaded = jdbcTemplate.queryForObject(SIGNATURE_SQL, (rs, rowNum) -> {
+            Timestamp maxUpdatedAt = rs.getTimestamp(1);
+            return (maxUpdatedAt != null ? Long.toString(maxUpdatedAt.getTime(), 36) : "0")
+                    + "." + rs.getLong(2) + "." + rs.getLong(3) + "." + rs.getLong(4);
+        });
+        if (!Objects.equals(loaded, signature)) {
+            generation = 0;
+        } else if (changedLocally) {
+            generation++;
+        }
+        signature = loaded;
+        loadedChanges = pending;
+        loadedAtNanos = System.nanoTime();
+        version = generation == 0 ? loaded : loaded + "." + generation;
+        log.debug("カタログバージョンを読み込み: version={}", version);
+    }
+
+    /**
+     * 変更カウンタを加算する（行がない場合は作成する）
+     * 失敗しても変更自体はコミット済みのため例外は伝えず、他ノードへの反映は次の変更または updated_at の変化に委ねる
+     */
+    private void incrementSharedCounter() {
+        try {
+            requiresNewTemplate.executeWithoutResult(status -> {
+                if (jdbcTemplate.update(INCREMENT_SQL) == 0) {
+                    try {
+                        jdbcTemplate.update(INSERT_SQL);
+                    } catch (DuplicateKeyException e) {
+                        jdbcTemplate.update(INCREMENT_SQL);
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("カタログの変更カウンタを加算できませんでした: error={}", e.getMessage());
+        }
+    }
+
+    private static String crc(String value) {
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,85 @@
+package com.inventory.inventory_management.service;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 主キー採番ブロック予約サービス
+ * JPA を経由せず JDBC で一括 INSERT する処理（CSV インポート・棚卸反映など）向けに、
+ * エンティティの採番テーブル（id_generators）から連続した ID 範囲をまとめて予約する。
+ * <p>
+ * 採番テーブルの next_val は「割り当て済みの最後の ID」を表し、Hibernate の TableGenerator（pooled-lo 最適化）と
+ * 同じ規約で更新する。
+ * そのため JPA による採番と本サービスによる予約が混在しても ID は重複しない。
+ * 予約は呼び出し元とは別トランザクションで即時コミットし、採番行のロックを長時間保持しない
+ * （呼び出し元がロールバックした場合、予約した ID は欠番となる）。
+ * </p>
+ */
+@Slf4j
+@Service
+public class IdBlockAllocator {
+
+    /** 採番テーブル名（エンティティの @TableGenerator と一致させること） */
+    public static final String TABLE = "id_generators";
+
+    /** 商品の採番キー */
+    public static final String PRODUCTS = "products";
+
+    /** 在庫履歴の採番キー */
+    public static final String STOCK_TRANSACTIONS = "stock_transactions";
+
+    private static final String SELECT_FOR_UPDATE_SQL =
+            "SELECT next_val FROM " + TABLE + " WHERE sequence_name = ? FOR UPDATE";
+
+    private static final String UPDATE_SQL =
+            "UPDATE " + TABLE + " SET next_val = ? WHERE sequence_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate requiresNewTemplate;
+
+    /**
+     * コンストラクタ
+     *
+     * @param jdbcTemplate       JDBC テンプレート
+     * @param transactionManager トランザクションマネージャー（予約用の独立トランザクションに使用）
+     */
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 連続した ID 範囲を予約する
+     *
+     * @param sequenceName 採番キー（PRODUCTS / STOCK_TRANSACTIONS など）
+     * @param count        予約する ID 数（1 以上）
+     * @return 予約した範囲の先頭 ID（先頭 ID から count 件が使用可能）
+     * @throws IllegalArgumentException count が 1 未満の場合
+     * @throws IllegalStateException    採番テーブルに該当キーの行がない場合
+     */
+    public int reserve(String sequenceName, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("予約数は 1 以上を指定してください: " + count);
+        }
+        Long first = requiresNewTemplate.execute(status -> {
+            List<Long> values = jdbcTemplate.queryForList(SELECT_FOR_UPDATE_SQL, Long.class, sequenceName);
+            if (values.isEmpty()) {
+                throw new IllegalStateException("採番テーブルに行がありません: sequence_name=" + sequenceName);
+            }
+            long lastUsed = values.get(0);
+            jdbcTemplate.update(UPDATE_SQL, lastUsed + count, sequenceName);
+            return lastUsed + 1;
+        });
+        log.debug("ID範囲予約: sequence={}, first={}, count={}", sequenceName, first, count);
+        return Math.toIntExact(first);
+    }
+}
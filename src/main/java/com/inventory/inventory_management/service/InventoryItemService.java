@@ -0,0 +1,154 @@
+package com.inventory.inventory_management.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inventory.inventory_management.dto.response.InventoryItemDto;
+import com.inventory.inventory_management.repository.InventoryItemQuery;
+import com.inventory.inventory_management.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 在庫一覧 API のサービス
+ * 在庫一覧画面（一般ユーザー用・管理者用）と同じ検索条件で、一覧の行に表示する項目のみを返します。
+ * <p>
+ * 画面と同じページ番号による取得に加えて、カーソルによる取得に対応します。カーソルは前回取得した最後の商品の
+ * 並び順の値と ID を符号化したもので、次のページを OFFSET なしで取得できます。
+ * 画面と異なり件数・在庫不足件数は取得しないため、1 回の取得は 1 クエリです。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class InventoryItemService {
+
+    /** 1 回に取得できる件数の上限 */
+    static final int MAX_SIZE = 100;
+
+    private final ProductRepository productRepository;
+
+    @Value("${inventory.page-size}")
+    private int pageSize;
+
+    /**
+     * 商品を検索する
+     * @param keyword 商品名検索キーワード
+     * @param category カテゴリ
+     * @param status ステータス
+     * @param stockFilter 在庫状態フィルタ（"all", "sufficient", "low", "out"）
+     * @param sortBy ソート順（"name", "stock", "stock_desc", "updated"）
+     * @param includeDeleted 削除済み商品を含むかどうか
+     * @param page ページ番号（0始まり、cursor を指定した場合は無視する）
+     * @param cursor カーソル（前回の結果の nextCursor、null の場合は page から取得する）
+     * @param size 取得件数（null の場合は画面のページサイズ）
+     * @return 商品と次のページのカーソル
+     * @throws IllegalArgumentException 検索条件・カーソルが不正な場合
+     */
+    public InventoryItems findItems(
+            String keyword,
+            String category,
+            String status,
+            String stockFilter,
+            String sortBy,
+            boolean includeDeleted,
+            int page,
+            String cursor,
+            Integer size) {
+
+        if (page < 0) {
+            throw new IllegalArgumentException("ページ番号は0以上である必要があります");
+        }
+        int limit = size != null ? size : pageSize;
+        if (limit < 1 || limit > MAX_SIZE) {
+            throw new IllegalArgumentException("取得件数は1～" + MAX_SIZE + "で指定してください");
+        }
+        if ((long) page * limit > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ページ番号が大きすぎます");
+        }
+        if (keyword != null) {
+            keyword = keyword.trim();
+        }
+
+        InventoryItemQuery.Order order = InventoryItemQuery.Order.of(sortBy);
+        InventoryItemQuery.Cursor after = cursor != null && !cursor.isEmpty() ? decodeCursor(cursor, order) : null;
+
+        Integer minStock = null;
+        Integer maxStock = null;
+        if (stockFilter != null) {
+            switch (stockFilter) {
+                case "out":
+                    minStock = 0;
+                    maxStock = 0;
+                    break;
+                case "low":
+                    minStock = 1;
+                    maxStock = 20;
+                    break;
+                case "sufficient":
+                    minStock = 21;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        log.debug("在庫一覧API検索: keyword={}, category={}, status={}, stockFilter={}, sortBy={}, includeDeleted={}, page={}, cursor={}, size={}",
+                keyword, category, status, stockFilter, sortBy, includeDeleted, page, after, limit);
+
+        // 次のページの有無を判定するため 1 件多く取得する
+        List<InventoryItemDto> items = productRepository.findInventoryItems(new InventoryItemQuery(
+                keyword, category, status, minStock, maxStock, includeDeleted, order, after,
+                page * limit, limit + 1));
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            nextCursor = encodeCursor(order, items.get(limit - 1));
+        }
+        return new InventoryItems(List.copyOf(items), nextCursor);
+    }
+
+    /**
+     * カーソルを作成する（並び順・並び順の値・ID を URL で使える Base64 に符号化）
+     */
+    static String encodeCursor(InventoryItemQuery.Order order, InventoryItemDto last) {
+        String raw = order.key() + ":" + last.id() + ":" + order.valueOf(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソルを復元する
+     * @throws IllegalArgumentException 形式が不正な場合、または検索時と並び順が異なる場合
+     */
+    static InventoryItemQuery.Cursor decodeCursor(String cursor, InventoryItemQuery.Order order) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(order.key())) {
+                throw new IllegalArgumentException("カーソルが検索条件と一致しません");
+            }
+            InventoryItemQuery.Cursor after = new InventoryItemQuery.Cursor(parts[2], Integer.parseInt(parts[1]));
+            order.parse(after.value());
+            return after;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("カーソルが不正です", e);
+        }
+    }
+
+    /**
+     * 在庫一覧 API の検索結果
+     *
+     * @param items      商品
+     * @param nextCursor 次のページのカーソル（次のページがない場合は null）
+     */
+    public record InventoryItems(List<InventoryItemDto> items, String nextCursor) {
+    }
+}
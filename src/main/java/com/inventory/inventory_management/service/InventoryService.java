@@ -33,8 +33,13 @@ import org.springframework.beans.factory.annotation.Value;
 @Transactional(readOnly = true)
 public class InventoryService {
 
+    /** 同じ値の商品の並びを安定させるための最後のソート条件 */
+    private static final Sort ID_ORDER = Sort.by(Sort.Direction.ASC, "id");
+
     private final ProductRepository productRepository;
     private final StockTransactionRepository stockTransactionRepository;
+    private final CatalogVersion catalogVersion;
+    private final StockChangeBroadcaster stockChangeBroadcaster;
 
     @Value("${inventory.page-size}")
     private int pageSize;
@@ -128,6 +133,7 @@ public class InventoryService {
 
     /**
      * ソート条件を作成
+     * 同じ値の商品の並びがページ間で入れ替わらないよう、最後に ID の昇順を加える（在庫一覧 API のカーソルと同じ並び）
      * @param sortBy ソート種別
      * @return Sortオブジェクト
      */
@@ -139,14 +145,14 @@ public class InventoryService {
         switch (sortBy) {
             case "stock":
                 // 在庫数順（昇順）
-                return Sort.by(Sort.Direction.ASC, "stock");
+                return Sort.by(Sort.Direction.ASC, "stock").and(ID_ORDER);
             case "updated":
                 // 更新日順（降順）
-                return Sort.by(Sort.Direction.DESC, "updatedAt");
+                return Sort.by(Sort.Direction.DESC, "updatedAt").and(ID_ORDER);
             case "name":
             default:
                 // 商品名順（昇順）
-                return Sort.by(Sort.Direction.ASC, "productName");
+                return Sort.by(Sort.Direction.ASC, "productName").and(ID_ORDER);
         }
     }
 
@@ -262,6 +268,8 @@ public class InventoryService {
             transaction.setTransactionDate(LocalDateTime.now());
             transaction.setRemarks(remarks);
             stockTransactionRepository.save(transaction);
+            catalogVersion.changed();
+            stockChangeBroadcaster.stockChanged(productId, beforeStock, afterStock);
 
             log.info("在庫更新完了: productId={}, before={}, after={}", productId, beforeStock, afterStock);
             return savedProduct;
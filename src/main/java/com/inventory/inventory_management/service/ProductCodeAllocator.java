@@ -0,0 +1,205 @@
+package com.inventory.inventory_management.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.util.StringBloomFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 商品コード採番サービス
+ * 重複確認済みの商品コードをまとめて予約してプールし、商品登録ごとの重複確認クエリを不要にする。
+ * <p>
+ * 既存コードはブルームフィルタに保持し、「存在する可能性がある」候補は DB に問い合わせずに破棄する。
+ * フィルタで未登録と判定された候補のみを 1 回の IN 句クエリでまとめて確認するため、
+ * コード空間が埋まってきても補充 1 回あたりのクエリ数はほぼ一定となる。
+ * 他ノードで登録されたコードはフィルタに反映されないが、DB 確認と product_code の UNIQUE 制約で重複を防ぐ。
+ * </p>
+ * <p>
+ * フィルタは既存コードを 1 行ずつ読み込んで構築し（全件をリストに保持しない）、
+ * 登録数が想定件数を超えた場合は次回の補充時に現在の件数に合わせて作り直す。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductCodeAllocator {
+
+    /** 商品コードに使用する文字（16 進数大文字。従来の UUID 由来コードと同じ文字種） */
+    private static final char[] CODE_CHARS = "0123456789ABCDEF".toCharArray();
+
+    /** 商品コードの桁数 */
+    private static final int CODE_LENGTH = 8;
+
+    /** 1 回の補充で DB に問い合わせる最大回数 */
+    private static final int MAX_REFILL_ATTEMPTS = 10;
+
+    /** ブルームフィルタの偽陽性率 */
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    /** 既存コード読み込み時のフェッチサイズ（MySQL 以外） */
+    private static final int FETCH_SIZE = 1000;
+
+    /** 全商品（論理削除済みを含む）の件数 */
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM products";
+
+    /** 全商品（論理削除済みを含む）の商品コード */
+    private static final String SELECT_CODES_SQL = "SELECT product_code FROM products";
+
+    private final ProductRepository productRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.product-code.pool-size:100}")
+    private int poolSize;
+
+    @Value("${inventory.product-code.bloom-expected-codes:1000000}")
+    private int bloomExpectedCodes;
+
+    /** 採番の排他（補充時に DB へ問い合わせるため、仮想スレッドを固定しない ReentrantLock を使う） */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** 予約済み（未使用）の商品コード */
+    private final Deque<String> pool = new ArrayDeque<>();
+
+    /** 既存・予約済みコードのブルームフィルタ（初回採番時・想定件数を超えた後の補充時に構築） */
+    private StringBloomFilter knownCodes;
+
+    /**
+     * 商品コードを 1 件払い出す
+     *
+     * @return 一意な 8 桁英数字の商品コード（例: A3F7B9C2）
+     * @throws IllegalStateException 規定回数内に重複のないコードを確保できなかった場合
+     */
+    public String allocate() {
+        return allocate(1).get(0);
+    }
+
+    /**
+     * 商品コードをまとめて払い出す（CSV 一括登録用）
+     * プールが不足する場合は、不足分とプールサイズ分をまとめて予約してから払い出す。
+     *
+     * @param count 必要な商品コード数
+     * @return 重複のない商品コードリスト（count 件）
+     * @throws IllegalStateException 規定回数内に必要数を確保できなかった場合
+     */
+    public List<String> allocate(int count) {
+        lock.lock();
+        try {
+            if (pool.size() < count) {
+                refill(count - pool.size() + poolSize);
+            }
+            List<String> codes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                codes.add(pool.poll());
+            }
+            return codes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 重複確認済みのコードをプールへ補充する
+     *
+     * @param count 補充するコード数
+     * @throws IllegalStateException 規定回数内に必要数を確保できなかった場合
+     */
+    private void refill(int count) {
+        StringBloomFilter filter = knownCodes();
+        int added = 0;
+        int queries = 0;
+        int filtered = 0;
+        while (added < count && queries < MAX_REFILL_ATTEMPTS) {
+            Set<String> candidates = new HashSet<>();
+            int generated = 0;
+            int maxGenerated = (count - added) * 100;
+            while (candidates.size() < count - added && generated < maxGenerated) {
+                String code = newCandidate();
+                generated++;
+                if (filter.mightContain(code)) {
+                    filtered++;
+                } else {
+                    candidates.add(code);
+                }
+            }
+            queries++;
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            List<String> existing = productRepository.findExistingProductCodes(candidates);
+            existing.forEach(filter::put);
+            candidates.removeAll(existing);
+            for (String code : candidates) {
+                filter.put(code);
+                pool.add(code);
+            }
+            added += candidates.size();
+        }
+        if (added < count) {
+            throw new IllegalStateException("商品コードの生成に失敗しました。再試行してください。");
+        }
+        log.debug("商品コードプール補充: added={}, queries={}, bloomFiltered={}, poolSize={}",
+                added, queries, filtered, pool.size());
+    }
+
+    /**
+     * 既存コードのブルームフィルタを返す
+     * 未構築の場合、または登録数が想定件数を超えた場合は、全商品コードと予約済みコードから構築し直す。
+     *
+     * @return ブルームフィルタ
+     */
+    private StringBloomFilter knownCodes() {
+        if (knownCodes == null || knownCodes.isSaturated()) {
+            long start = System.currentTimeMillis();
+            Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            long existing = count != null ? count : 0;
+            int expected = (int) Math.min(Integer.MAX_VALUE,
+                    Math.max(bloomExpectedCodes, (existing + pool.size()) * 2));
+            StringBloomFilter filter = new StringBloomFilter(expected, BLOOM_FALSE_POSITIVE_RATE);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        SELECT_CODES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+                ps.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> filter.put(rs.getString(1)));
+            pool.forEach(filter::put);
+            log.info("商品コードブルームフィルタ{}: codes={}, bits={}, hashes={}, {}ms",
+                    knownCodes == null ? "初期化" : "再構築", filter.getInsertions(),
+                    filter.getBitSize(), filter.getHashCount(), System.currentTimeMillis() - start);
+            knownCodes = filter;
+        }
+        return knownCodes;
+    }
+
+    /**
+     * 商品コードの候補を 1 件生成する
+     *
+     * @return 8 桁英数字の候補コード
+     */
+    private String newCandidate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] code = new char[CODE_LENGTH];
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code[i] = CODE_CHARS[random.nextInt(CODE_CHARS.length)];
+        }
+        return new String(code);
+    }
+}
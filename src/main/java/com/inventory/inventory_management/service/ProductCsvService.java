@@ -0,0 +1,1063 @@
+package com.inventory.inventory_management.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inventory.inventory_management.dto.request.ProductSearchCriteriaDto;
+import com.inventory.inventory_management.dto.response.ProductImportResultDto;
+import com.inventory.inventory_management.form.ProductDetailForm;
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.util.CsvRecordReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 商品 CSV 入出力サービス
+ * 商品一覧の CSV エクスポートと CSV 一括インポートを提供する。
+ * <p>
+ * エクスポートは JPA エンティティを経由せず、前方専用カーソルで 1 行ずつ読み出して
+ * レスポンスへ直接書き込むため、件数に関わらずヒープ使用量は一定となる。
+ * </p>
+ * <p>
+ * インポートはアップロードされた CSV を 1 レコードずつ読み込み、一定件数ごとに
+ * 商品コードの一括予約・JDBC バッチ INSERT・コミットを行う。CPU 負荷の高い検証・変換は
+ * 容量固定のキューで区切られたワーカーで並列実行する。保持するのは処理中のチャンクと
+ * キュー内のブロックのみのため、ファイルサイズに関わらずヒープ使用量は一定となる。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductCsvService {
+
+    /** CSV 列（products テーブルの列名と一致） */
+    public static final List<String> CSV_COLUMNS = List.of(
+            "product_code", "product_name", "category", "sku", "price", "stock", "status",
+            "description", "warranty_months", "dimensions", "variations",
+            "manufacturing_date", "expiration_date", "tags", "updated_at", "deleted_at");
+
+    /** 出力バッファサイズ（バイト） */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /** 日時の出力形式 */
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** インポート時の必須列 */
+    private static final List<String> REQUIRED_IMPORT_COLUMNS = List.of("product_name", "category", "price", "stock");
+
+    /** インポート時に読み込みステージから検証ステージへ渡す 1 ブロックのレコード数 */
+    private static final int IMPORT_BLOCK_SIZE = 256;
+
+    /** 読み込みステージの終端マーカー */
+    private static final Future<List<ParsedRecord>> END_OF_INPUT = CompletableFuture.completedFuture(List.of());
+
+    /** インポート用 INSERT 文 */
+    private static final String INSERT_SQL = "INSERT INTO products ("
+            + "id, product_code, product_name, category, sku, price, stock, status, description, warranty_months, "
+            + "dimensions, variations, manufacturing_date, expiration_date, tags, created_at, updated_at"
+            + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ProductRepository productRepository;
+    private final AdminProductService adminProductService;
+    private final IdBlockAllocator idBlockAllocator;
+    private final Validator validator;
+    private final ReferenceDataCache referenceDataCache;
+    private final CatalogVersion catalogVersion;
+
+    /** エクスポート時の JDBC フェッチサイズ（MySQL 以外で使用） */
+    @Value("${inventory.csv.export-fetch-size:500}")
+    private int exportFetchSize;
+
+    /** インポート時の JDBC バッチサイズ */
+    @Value("${inventory.csv.import-batch-size:500}")
+    private int importBatchSize;
+
+    /** インポート時のコミット間隔（行数） */
+    @Value("${inventory.csv.import-commit-interval:5000}")
+    private int importCommitInterval;
+
+    /** インポート時の検証/変換ステージの並列度（1 は逐次処理、0 以下は CPU コア数） */
+    @Value("${inventory.csv.import-parallelism:0}")
+    private int importParallelism;
+
+    /** インポート時のステージ間キュー容量（ブロック数） */
+    @Value("${inventory.csv.import-queue-capacity:16}")
+    private int importQueueCapacity;
+
+    /** インポート結果に保持する行エラーの上限件数 */
+    @Value("${inventory.csv.import-max-errors:1000}")
+    private int importMaxErrors;
+
+    // =========================================================
+    // エクスポート
+    // =========================================================
+
+    /**
+     * 検索条件に一致する商品を CSV として出力ストリームへ書き込む
+     * 出力ストリームのクローズは呼び出し側の責務とする。
+     *
+     * @param criteria     検索条件（商品管理画面と同じ条件）
+     * @param outputStream 書き込み先ストリーム
+     * @param gzip         true の場合は gzip 圧縮して書き込む
+     * @return 出力した商品件数
+     * @throws IOException 書き込みに失敗した場合（クライアント切断を含む）
+     */
+    public long exportCsv(ProductSearchCriteriaDto criteria, OutputStream outputStream, boolean gzip)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        List<Object> params = new ArrayList<>();
+        String sql = buildExportSql(criteria, params);
+
+        log.info("商品CSVエクスポート開始: criteria={}, gzip={}", criteria, gzip);
+        log.debug("商品CSVエクスポートSQL: {}, params={}", sql, params);
+
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip ? gzipStream : outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        // Excel で文字化けしないよう BOM を付与
+        writer.write('\uFEFF');
+        writeHeader(writer);
+
+        long[] count = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(resolveFetchSize(connection));
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, (ResultSet rs) -> {
+                try {
+                    writeRow(writer, rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("商品CSVエクスポート中断: 出力済み={}件, error={}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        outputStream.flush();
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("商品CSVエクスポート完了: {}件, {}ms", count[0], elapsedMillis);
+        return count[0];
+    }
+
+    // =========================================================
+    // インポート
+    // =========================================================
+
+    /**
+     * CSV を読み込み商品を一括登録する
+     * ヘッダー行の列名（エクスポートと同じ列名）で各列を識別し、未知の列は無視する。
+     * product_code・updated_at・deleted_at 列は取り込まず、商品コードは新規に採番する。
+     * 入力ストリームのクローズは本メソッドで行う。
+     * <p>
+     * 並列度が 2 以上の場合は、読み込み・検証/変換・書き込みの 3 ステージに分けて処理する
+     * （{@link #importPipelined}）。並列度 1 の場合は呼び出しスレッドのみで逐次処理する。
+     * </p>
+     *
+     * @param inputStream CSV の入力ストリーム（UTF-8）
+     * @return インポート結果（処理件数・行エラー・処理速度・ステージ別実績）
+     * @throws IOException              読み込みに失敗した場合
+     * @throws IllegalArgumentException ファイルが空、または必須列が不足している場合
+     */
+    public ProductImportResultDto importCsv(InputStream inputStream) throws IOException {
+        long startNanos = System.nanoTime();
+        ProductImportResultDto result = new ProductImportResultDto();
+        int parallelism = resolveImportParallelism();
+        ImportStats stats = new ImportStats();
+
+        log.info("商品CSVインポート開始: batchSize={}, commitInterval={}, parallelism={}",
+                importBatchSize, importCommitInterval, parallelism);
+
+        try (CsvRecordReader reader = new CsvRecordReader(new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSVファイルが空です。");
+            }
+            Map<String, Integer> columns = resolveImportColumns(header);
+
+            if (parallelism > 1) {
+                importPipelined(reader, columns, parallelism, result, stats);
+            } else {
+                importSequential(reader, columns, result, stats);
+            }
+        } finally {
+            // 途中で失敗した場合もコミット済みの分があるため、カテゴリ一覧・カタログのバージョンは読み込み直す
+            referenceDataCache.invalidateCategories();
+            catalogVersion.changed();
+        }
+
+        result.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+        result.setParallelism(parallelism);
+        stats.applyTo(result);
+        log.info("商品CSVインポート完了: 全{}件, 成功={}件, エラー={}件, {}ms, {}件/秒",
+                result.getTotalRows(), result.getSuccessCount(), result.getErrorCount(),
+                result.getElapsedMillis(), result.getRowsPerSecond());
+        log.info("商品CSVインポート ステージ実績: {}, キュー深さ(最大/平均)={}/{}",
+                result.getStageMetrics(), result.getMaxQueueDepth(),
+                String.format("%.1f", result.getAverageQueueDepth()));
+        return result;
+    }
+
+    /**
+     * 呼び出しスレッドのみで読み込み・検証・書き込みを逐次実行する
+     *
+     * @param reader  CSV リーダー（ヘッダー読み込み済み）
+     * @param columns 列名と列位置の対応
+     * @param result  インポート結果
+     * @param stats   ステージ別実績
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private void importSequential(CsvRecordReader reader, Map<String, Integer> columns,
+            ProductImportResultDto result, ImportStats stats) throws IOException {
+        int chunkSize = Math.max(1, importCommitInterval);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            long readStart = System.nanoTime();
+            List<String> record = reader.readRecord();
+            stats.readNanos.add(System.nanoTime() - readStart);
+            if (record == null) {
+                break;
+            }
+            if (isBlankRecord(record)) {
+                continue;
+            }
+            stats.readRows.increment();
+            result.setTotalRows(result.getTotalRows() + 1);
+            long lineNumber = reader.getRecordLineNumber();
+
+            long validateStart = System.nanoTime();
+            try {
+                chunk.add(toImportRow(lineNumber, record, columns));
+            } catch (IllegalArgumentException e) {
+                addRowError(result, lineNumber, e.getMessage());
+            }
+            stats.validateNanos.add(System.nanoTime() - validateStart);
+            stats.validateRows.increment();
+
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, result, stats);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result, stats);
+        }
+    }
+
+    /**
+     * 読み込み・検証/変換・書き込みの 3 ステージでインポートする
+     * <ul>
+     *   <li>読み込み: 専用スレッドで CSV をブロック単位に分割し、検証プールへ投入する</li>
+     *   <li>検証/変換: 固定数のワーカーで Bean Validation と型変換を並列実行する</li>
+     *   <li>書き込み: 呼び出しスレッドで投入順に結果を受け取り、チャンク単位でバッチ登録する</li>
+     * </ul>
+     * ステージ間のキューは容量固定のため、書き込みが追いつかない場合は読み込みが待機する（背圧）。
+     * 書き込みを呼び出しスレッドで行うため、トランザクションの扱いは逐次処理と変わらない。
+     *
+     * @param reader      CSV リーダー（ヘッダー読み込み済み）
+     * @param columns     列名と列位置の対応
+     * @param parallelism 検証/変換ステージのワーカー数
+     * @param result      インポート結果
+     * @param stats       ステージ別実績
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private void importPipelined(CsvRecordReader reader, Map<String, Integer> columns, int parallelism,
+            ProductImportResultDto result, ImportStats stats) throws IOException {
+        BlockingQueue<Future<List<ParsedRecord>>> queue = new ArrayBlockingQueue<>(Math.max(1, importQueueCapacity));
+        AtomicReference<Exception> readerFailure = new AtomicReference<>();
+        int chunkSize = Math.max(1, importCommitInterval);
+
+        try (ExecutorService validators = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("csv-import-validate-", 1).daemon(true).factory())) {
+            Thread readerThread = Thread.ofPlatform().name("csv-import-reader").daemon(true).start(
+                    () -> readBlocks(reader, columns, queue, validators, readerFailure, stats));
+            try {
+                List<ImportRow> chunk = new ArrayList<>(chunkSize);
+                Future<List<ParsedRecord>> block;
+                while ((block = queue.take()) != END_OF_INPUT) {
+                    for (ParsedRecord parsed : block.get()) {
+                        result.setTotalRows(result.getTotalRows() + 1);
+                        if (parsed.error() != null) {
+                            addRowError(result, parsed.lineNumber(), parsed.error());
+                        } else {
+                            chunk.add(parsed.row());
+                        }
+                        if (chunk.size() >= chunkSize) {
+                            writeChunk(chunk, result, stats);
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    writeChunk(chunk, result, stats);
+                }
+                readerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("CSVインポートが中断されました。", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("CSVインポートの検証処理に失敗しました。", e.getCause());
+            } finally {
+                if (readerThread.isAlive()) {
+                    readerThread.interrupt();
+                }
+                queue.forEach(pending -> pending.cancel(true));
+            }
+        }
+
+        Exception failure = readerFailure.get();
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("CSVの読み込みに失敗しました。", failure);
+        }
+    }
+
+    /**
+     * 読み込みステージ: CSV をブロック単位で検証プールへ投入する
+     * キューが満杯の場合は空きが出るまで待機する。終了時（異常時を含む）は終端マーカーを投入する。
+     *
+     * @param reader        CSV リーダー
+     * @param columns       列名と列位置の対応
+     * @param queue         書き込みステージへのキュー
+     * @param validators    検証/変換ステージのワーカー
+     * @param readerFailure 読み込み失敗時の例外格納先
+     * @param stats         ステージ別実績
+     */
+    private void readBlocks(CsvRecordReader reader, Map<String, Integer> columns,
+            BlockingQueue<Future<List<ParsedRecord>>> queue, ExecutorService validators,
+            AtomicReference<Exception> readerFailure, ImportStats stats) {
+        try {
+            try {
+                List<RawRecord> block = new ArrayList<>(IMPORT_BLOCK_SIZE);
+                long readStart = System.nanoTime();
+                List<String> record;
+                while ((record = reader.readRecord()) != null) {
+                    if (isBlankRecord(record)) {
+                        continue;
+                    }
+                    block.add(new RawRecord(reader.getRecordLineNumber(), record));
+                    if (block.size() >= IMPORT_BLOCK_SIZE) {
+                        stats.readNanos.add(System.nanoTime() - readStart);
+                        submitBlock(block, columns, queue, validators, stats);
+                        block = new ArrayList<>(IMPORT_BLOCK_SIZE);
+                        readStart = System.nanoTime();
+                    }
+                }
+                stats.readNanos.add(System.nanoTime() - readStart);
+                if (!block.isEmpty()) {
+                    submitBlock(block, columns, queue, validators, stats);
+                }
+            } catch (IOException | RuntimeException e) {
+                readerFailure.set(e);
+            }
+            queue.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 1 ブロック分の検証タスクを投入し、結果の Future を投入順にキューへ格納する
+     *
+     * @param block      ブロック
+     * @param columns    列名と列位置の対応
+     * @param queue      書き込みステージへのキュー
+     * @param validators 検証/変換ステージのワーカー
+     * @param stats      ステージ別実績
+     * @throws InterruptedException キュー待機中に割り込まれた場合
+     */
+    private void submitBlock(List<RawRecord> block, Map<String, Integer> columns,
+            BlockingQueue<Future<List<ParsedRecord>>> queue, ExecutorService validators,
+            ImportStats stats) throws InterruptedException {
+        stats.readRows.add(block.size());
+        stats.sampleQueueDepth(queue.size());
+        queue.put(validators.submit(() -> validateBlock(block, columns, stats)));
+    }
+
+    /**
+     * 検証/変換ステージ: ブロック内の各レコードを登録用の行データへ変換する
+     *
+     * @param block   ブロック
+     * @param columns 列名と列位置の対応
+     * @param stats   ステージ別実績
+     * @return 変換結果（入力順）
+     */
+    private List<ParsedRecord> validateBlock(List<RawRecord> block, Map<String, Integer> columns, ImportStats stats) {
+        long validateStart = System.nanoTime();
+        List<ParsedRecord> parsed = new ArrayList<>(block.size());
+        for (RawRecord raw : block) {
+            try {
+                parsed.add(new ParsedRecord(raw.lineNumber(), toImportRow(raw.lineNumber(), raw.fields(), columns), null));
+            } catch (IllegalArgumentException e) {
+                parsed.add(new ParsedRecord(raw.lineNumber(), null, e.getMessage()));
+            }
+        }
+        stats.validateNanos.add(System.nanoTime() - validateStart);
+        stats.validateRows.add(block.size());
+        return parsed;
+    }
+
+    /**
+     * 書き込みステージ: チャンクを登録して空にする（所要時間を計測）
+     *
+     * @param chunk  登録対象の行
+     * @param result インポート結果
+     * @param stats  ステージ別実績
+     */
+    private void writeChunk(List<ImportRow> chunk, ProductImportResultDto result, ImportStats stats) {
+        long writeStart = System.nanoTime();
+        flushChunk(chunk, result);
+        stats.writeNanos.add(System.nanoTime() - writeStart);
+        stats.writeRows.add(chunk.size());
+        chunk.clear();
+    }
+
+    /**
+     * 検証/変換ステージの並列度を決定する
+     *
+     * @return 並列度（0 以下の設定値は CPU コア数）
+     */
+    private int resolveImportParallelism() {
+        return importParallelism > 0 ? importParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * チャンク内の行を登録してコミットする
+     * SKU の重複を一括で確認し、商品コードと主キーをまとめて予約したうえで JDBC バッチで INSERT する。
+     * バッチが失敗した場合はチャンクをロールバックし、原因行を特定するため 1 行ずつ再登録する。
+     *
+     * @param chunk  登録対象の行
+     * @param result インポート結果（件数・エラーを更新）
+     */
+    private void flushChunk(List<ImportRow> chunk, ProductImportResultDto result) {
+        List<ImportRow> rows = excludeDuplicateSkus(chunk, result);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> codes = adminProductService.reserveProductCodes(rows.size());
+        int firstId = idBlockAllocator.reserve(IdBlockAllocator.PRODUCTS, rows.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < rows.size(); from += importBatchSize) {
+                    int to = Math.min(from + importBatchSize, rows.size());
+                    List<Object[]> batchArgs = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        batchArgs.add(toInsertArgs(rows.get(i), firstId + i, codes.get(i), now));
+                    }
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+                }
+            });
+            result.setSuccessCount(result.getSuccessCount() + rows.size());
+            log.debug("商品CSVインポート チャンク登録完了: {}件 (累計成功={}件)", rows.size(), result.getSuccessCount());
+        } catch (DataAccessException e) {
+            log.warn("商品CSVインポート バッチ登録失敗、1行ずつ再登録します: lines={}-{}, error={}",
+                    rows.get(0).lineNumber(), rows.get(rows.size() - 1).lineNumber(), e.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                Object[] args = toInsertArgs(row, firstId + i, codes.get(i), now);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, args));
+                    result.setSuccessCount(result.getSuccessCount() + 1);
+                } catch (DataAccessException rowError) {
+                    log.debug("商品CSVインポート 行登録失敗: line={}, error={}", row.lineNumber(), rowError.getMessage());
+                    addRowError(result, row.lineNumber(), "登録に失敗しました（SKUの重複など）");
+                }
+            }
+        }
+    }
+
+    /**
+     * 既存商品またはチャンク内で重複する SKU を持つ行を除外する
+     *
+     * @param chunk  対象行
+     * @param result インポート結果（重複行をエラーとして記録）
+     * @return 登録可能な行
+     */
+    private List<ImportRow> excludeDuplicateSkus(List<ImportRow> chunk, ProductImportResultDto result) {
+        Set<String> skus = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.form().getSku() != null) {
+                skus.add(row.form().getSku());
+            }
+        }
+        Set<String> used = skus.isEmpty() ? new HashSet<>() : new HashSet<>(productRepository.findExistingSkus(skus));
+
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String sku = row.form().getSku();
+            if (sku != null && !used.add(sku)) {
+                addRowError(result, row.lineNumber(), "SKU「" + sku + "」は既に使用されています");
+            } else {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * ヘッダー行から列名と列位置の対応を作成する
+     *
+     * @param header ヘッダー行
+     * @return 列名（小文字）から列位置へのマップ
+     * @throws IllegalArgumentException 必須列が不足している場合
+     */
+    private Map<String, Integer> resolveImportColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+        }
+        List<String> missing = REQUIRED_IMPORT_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSVヘッダーに必須列がありません: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    /**
+     * CSV の 1 レコードを検証し、登録用の行データに変換する
+     * 入力チェックは商品登録画面と同じ ProductDetailForm の制約に加え、
+     * テーブルの列長・ステータス値・日付の妥当性を確認する。
+     *
+     * @param lineNumber 行番号
+     * @param record     レコード
+     * @param columns    列名と列位置の対応
+     * @return 登録用の行データ
+     * @throws IllegalArgumentException 入力値が不正な場合（メッセージは画面表示用）
+     */
+    ImportRow toImportRow(long lineNumber, List<String> record, Map<String, Integer> columns) {
+        ProductDetailForm form = new ProductDetailForm();
+        form.setProductName(value(record, columns, "product_name"));
+        form.setCategory(value(record, columns, "category"));
+        form.setSku(value(record, columns, "sku"));
+        form.setPrice(parseDecimal(value(record, columns, "price"), "価格"));
+        form.setStockQuantity(parseInteger(value(record, columns, "stock"), "在庫数"));
+        form.setStatus(value(record, columns, "status"));
+        form.setDescription(value(record, columns, "description"));
+        form.setWarrantyMonths(parseInteger(value(record, columns, "warranty_months"), "保証期間"));
+        form.setDimensions(value(record, columns, "dimensions"));
+        form.setVariations(value(record, columns, "variations"));
+        form.setManufacturingDate(value(record, columns, "manufacturing_date"));
+        form.setExpirationDate(value(record, columns, "expiration_date"));
+        form.setTags(value(record, columns, "tags"));
+
+        Set<ConstraintViolation<ProductDetailForm>> violations = validator.validate(form);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" / ", violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList()));
+        }
+
+        checkColumnLength(form.getProductName(), 100, "商品名");
+        checkColumnLength(form.getCategory(), 50, "カテゴリ");
+        checkColumnLength(form.getSku(), 50, "SKU");
+        checkColumnLength(form.getDimensions(), 100, "寸法");
+        checkColumnLength(form.getVariations(), 200, "バリエーション");
+        checkColumnLength(form.getTags(), 200, "タグ");
+
+        if (form.getStatus() == null) {
+            form.setStatus("active");
+        } else if (!"active".equals(form.getStatus()) && !"inactive".equals(form.getStatus())) {
+            throw new IllegalArgumentException("ステータスは active または inactive を指定してください");
+        }
+
+        return new ImportRow(lineNumber, form,
+                parseImportDate(form.getManufacturingDate(), "製造日"),
+                parseImportDate(form.getExpirationDate(), "有効期限"));
+    }
+
+    /**
+     * 行データを INSERT 文のパラメータ配列に変換する
+     *
+     * @param row         行データ
+     * @param id          予約済みの主キー
+     * @param productCode 予約済みの商品コード
+     * @param now         登録日時
+     * @return パラメータ配列
+     */
+    private Object[] toInsertArgs(ImportRow row, int id, String productCode, Timestamp now) {
+        ProductDetailForm form = row.form();
+        return new Object[] {
+                id,
+                productCode,
+                form.getProductName(),
+                form.getCategory(),
+                form.getSku(),
+                form.getPrice(),
+                form.getStockQuantity(),
+                form.getStatus(),
+                form.getDescription(),
+                form.getWarrantyMonths(),
+                form.getDimensions(),
+                form.getVariations(),
+                row.manufacturingDate(),
+                row.expirationDate(),
+                form.getTags(),
+                now,
+                now
+        };
+    }
+
+    /**
+     * 行エラーを記録する（保持件数は上限まで、件数は常に加算）
+     *
+     * @param result     インポート結果
+     * @param lineNumber 行番号
+     * @param message    エラーメッセージ
+     */
+    private void addRowError(ProductImportResultDto result, long lineNumber, String message) {
+        result.setErrorCount(result.getErrorCount() + 1);
+        if (result.getErrors().size() < importMaxErrors) {
+            result.getErrors().add(new ProductImportResultDto.RowError(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * レコードから列の値を取得する（前後の空白・エクスポート時の数式防止のクォートを除去し、空文字は null）
+     *
+     * @param record  レコード
+     * @param columns 列名と列位置の対応
+     * @param column  列名
+     * @return 値（列が存在しない・空の場合は null）
+     */
+    private String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = stripFormulaGuard(record.get(index).trim()).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 数値文字列を BigDecimal に変換する
+     *
+     * @param value 値
+     * @param label 項目名（エラーメッセージ用）
+     * @return 変換結果（null の場合は null）
+     */
+    private BigDecimal parseDecimal(String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + "は数値で入力してください");
+        }
+    }
+
+    /**
+     * 整数文字列を Integer に変換する
+     *
+     * @param value 値
+     * @param label 項目名（エラーメッセージ用）
+     * @return 変換結果（null の場合は null）
+     */
+    private Integer parseInteger(String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + "は整数で入力してください");
+        }
+    }
+
+    /**
+     * 日付文字列（yyyy-MM-dd）を LocalDate に変換する
+     *
+     * @param value 値（形式チェック済み）
+     * @param label 項目名（エラーメッセージ用）
+     * @return 変換結果（null の場合は null）
+     */
+    private LocalDate parseImportDate(String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(label + "が不正な日付です");
+        }
+    }
+
+    /**
+     * テーブルの列長を超えていないか確認する
+     *
+     * @param value     値
+     * @param maxLength 最大文字数
+     * @param label     項目名（エラーメッセージ用）
+     */
+    private void checkColumnLength(String value, int maxLength, String label) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(label + "は" + maxLength + "文字以内で入力してください");
+        }
+    }
+
+    /**
+     * 空行（全フィールドが空）かどうかを判定する
+     *
+     * @param record レコード
+     * @return 空行の場合 true
+     */
+    private boolean isBlankRecord(List<String> record) {
+        return record.stream().allMatch(String::isBlank);
+    }
+
+    /**
+     * 検証済みのインポート行
+     *
+     * @param lineNumber        CSV 上の行番号
+     * @param form              入力値（検証済み）
+     * @param manufacturingDate 製造日
+     * @param expirationDate    有効期限
+     */
+    record ImportRow(long lineNumber, ProductDetailForm form, LocalDate manufacturingDate, LocalDate expirationDate) {
+    }
+
+    /**
+     * 読み込みステージが出力する未検証レコード
+     *
+     * @param lineNumber CSV 上の行番号
+     * @param fields     フィールド
+     */
+    private record RawRecord(long lineNumber, List<String> fields) {
+    }
+
+    /**
+     * 検証/変換ステージの出力（row と error のどちらか一方のみ設定）
+     *
+     * @param lineNumber CSV 上の行番号
+     * @param row        検証済みの行データ
+     * @param error      エラーメッセージ
+     */
+    private record ParsedRecord(long lineNumber, ImportRow row, String error) {
+    }
+
+    /**
+     * インポートのステージ別実績（ステージ間で共有するためスレッドセーフ）
+     */
+    private static final class ImportStats {
+        private final LongAdder readRows = new LongAdder();
+        private final LongAdder readNanos = new LongAdder();
+        private final LongAdder validateRows = new LongAdder();
+        private final LongAdder validateNanos = new LongAdder();
+        private final LongAdder writeRows = new LongAdder();
+        private final LongAdder writeNanos = new LongAdder();
+        private final LongAdder queueSamples = new LongAdder();
+        private final LongAdder queueDepthTotal = new LongAdder();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        /**
+         * 投入直前のキュー深さを記録する
+         *
+         * @param depth キューに滞留しているブロック数
+         */
+        private void sampleQueueDepth(int depth) {
+            queueSamples.increment();
+            queueDepthTotal.add(depth);
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+
+        /**
+         * 集計結果をインポート結果へ設定する
+         *
+         * @param result インポート結果
+         */
+        private void applyTo(ProductImportResultDto result) {
+            result.getStageMetrics().add(new ProductImportResultDto.StageMetric(
+                    "read", readRows.sum(), readNanos.sum() / 1_000_000));
+            result.getStageMetrics().add(new ProductImportResultDto.StageMetric(
+                    "validate", validateRows.sum(), validateNanos.sum() / 1_000_000));
+            result.getStageMetrics().add(new ProductImportResultDto.StageMetric(
+                    "write", writeRows.sum(), writeNanos.sum() / 1_000_000));
+            result.setMaxQueueDepth(maxQueueDepth.get());
+            long samples = queueSamples.sum();
+            result.setAverageQueueDepth(samples > 0 ? (double) queueDepthTotal.sum() / samples : 0);
+        }
+    }
+
+    // =========================================================
+    // プライベートメソッド
+    // =========================================================
+
+    /**
+     * 検索条件からエクスポート用 SQL を組み立てる
+     * 条件値はすべてバインドパラメータとして params に追加する。
+     *
+     * @param criteria 検索条件
+     * @param params   バインドパラメータの格納先
+     * @return SQL 文字列
+     */
+    String buildExportSql(ProductSearchCriteriaDto criteria, List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", CSV_COLUMNS))
+                .append(" FROM products WHERE 1 = 1");
+
+        if (criteria.getSearch() != null && !criteria.getSearch().isBlank()) {
+            sql.append(" AND LOWER(product_name) LIKE ?");
+            params.add("%" + criteria.getSearch().trim().toLowerCase() + "%");
+        }
+        if (criteria.getCategory() != null && !criteria.getCategory().isEmpty()) {
+            sql.append(" AND category = ?");
+            params.add(criteria.getCategory());
+        }
+        if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+            sql.append(" AND status = ?");
+            params.add(criteria.getStatus());
+        }
+        if (!criteria.isIncludeDeleted()) {
+            sql.append(" AND deleted_at IS NULL");
+        }
+
+        sql.append(" ORDER BY ").append(resolveOrderBy(criteria.getSort())).append(", id ASC");
+        return sql.toString();
+    }
+
+    /**
+     * ソート種別を ORDER BY 句に変換する（ホワイトリスト方式）
+     *
+     * @param sortBy ソート種別文字列
+     * @return ORDER BY 句（列名と方向）
+     */
+    private String resolveOrderBy(String sortBy) {
+        if (sortBy == null) {
+            return "product_name ASC";
+        }
+        return switch (sortBy) {
+            case "name_desc"  -> "product_name DESC";
+            case "price"      -> "price ASC";
+            case "price_desc" -> "price DESC";
+            case "stock"      -> "stock ASC";
+            case "stock_desc" -> "stock DESC";
+            case "updated"    -> "updated_at DESC";
+            default           -> "product_name ASC";
+        };
+    }
+
+    /**
+     * 接続先 DB に応じたフェッチサイズを決定する
+     * MySQL Connector/J は Integer.MIN_VALUE 指定時のみ 1 行ずつストリーミングする。
+     *
+     * @param connection JDBC 接続
+     * @return フェッチサイズ
+     * @throws SQLException メタデータ取得に失敗した場合
+     */
+    private int resolveFetchSize(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return "MySQL".equalsIgnoreCase(product) ? Integer.MIN_VALUE : exportFetchSize;
+    }
+
+    /**
+     * ヘッダー行を書き込む
+     *
+     * @param writer 書き込み先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeHeader(Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+    }
+
+    /**
+     * 結果セットの現在行を CSV の 1 行として書き込む
+     *
+     * @param writer 書き込み先
+     * @param rs     結果セット（現在行）
+     * @throws IOException  書き込みに失敗した場合
+     * @throws SQLException 値の取得に失敗した場合
+     */
+    private void writeRow(Writer writer, ResultSet rs) throws IOException, SQLException {
+        writer.write(escapeText(rs.getString("product_code")));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("product_name")));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("category")));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("sku")));
+        writer.write(',');
+        BigDecimal price = rs.getBigDecimal("price");
+        writer.write(price != null ? price.toPlainString() : "");
+        writer.write(',');
+        writer.write(formatInteger(rs, "stock"));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("status")));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("description")));
+        writer.write(',');
+        writer.write(formatInteger(rs, "warranty_months"));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("dimensions")));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("variations")));
+        writer.write(',');
+        writer.write(formatDate(rs.getObject("manufacturing_date", LocalDate.class)));
+        writer.write(',');
+        writer.write(formatDate(rs.getObject("expiration_date", LocalDate.class)));
+        writer.write(',');
+        writer.write(escapeText(rs.getString("tags")));
+        writer.write(',');
+        writer.write(formatTimestamp(rs.getTimestamp("updated_at")));
+        writer.write(',');
+        writer.write(formatTimestamp(rs.getTimestamp("deleted_at")));
+        writer.write("\r\n");
+    }
+
+    /**
+     * 整数列を文字列に変換する（NULL は空文字）
+     *
+     * @param rs     結果セット
+     * @param column 列名
+     * @return 文字列表現
+     * @throws SQLException 値の取得に失敗した場合
+     */
+    private String formatInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? "" : Integer.toString(value);
+    }
+
+    /**
+     * 日付を yyyy-MM-dd 形式に変換する（NULL は空文字）
+     *
+     * @param date 日付
+     * @return 文字列表現
+     */
+    private String formatDate(LocalDate date) {
+        return date != null ? date.toString() : "";
+    }
+
+    /**
+     * 日時を yyyy-MM-dd HH:mm:ss 形式に変換する（NULL は空文字）
+     *
+     * @param timestamp 日時
+     * @return 文字列表現
+     */
+    private String formatTimestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().format(DATE_TIME_FORMAT) : "";
+    }
+
+    /**
+     * 文字列値を CSV 用にエスケープする
+     * 表計算ソフトでの数式実行（CSV インジェクション）を防ぐため、
+     * 先頭が = + - @ タブ 復帰 の値にはシングルクォートを前置する。
+     * 前置したクォートはインポート時に {@link #stripFormulaGuard} で取り除くため、
+     * 元からクォート＋これらの文字で始まる値にもクォートを前置し、エクスポート→インポートで値が変わらないようにする。
+     *
+     * @param value 値
+     * @return エスケープ済み文字列（null は空文字）
+     */
+    static String escapeText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String escaped = value;
+        if (isFormulaLead(escaped.charAt(0)) || isGuarded(escaped)) {
+            escaped = "'" + escaped;
+        }
+        if (escaped.indexOf(',') >= 0 || escaped.indexOf('"') >= 0
+                || escaped.indexOf('\n') >= 0 || escaped.indexOf('\r') >= 0) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
+    }
+
+    /**
+     * インポートした値から、エクスポート時に前置した数式防止のシングルクォートを取り除く
+     *
+     * @param value 値
+     * @return クォートを除いた値（前置されていない場合はそのまま）
+     */
+    static String stripFormulaGuard(String value) {
+        return value != null && isGuarded(value) ? value.substring(1) : value;
+    }
+
+    /**
+     * 値が 1 つ以上のシングルクォートに続けて数式の先頭文字で始まるか
+     */
+    private static boolean isGuarded(String value) {
+        int i = 0;
+        while (i < value.length() && value.charAt(i) == '\'') {
+            i++;
+        }
+        return i > 0 && i < value.length() && isFormulaLead(value.charAt(i));
+    }
+
+    /**
+     * 表計算ソフトが数式として解釈する先頭文字か
+     */
+    private static boolean isFormulaLead(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
@@ -0,0 +1,218 @@
+package com.inventory.inventory_management.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.inventory.inventory_management.entity.Role;
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.repository.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 参照データ（ロール・商品カテゴリ）のキャッシュ
+ * <p>
+ * ロール一覧と、削除されていない商品のカテゴリ一覧を初回参照時に 1 回だけ読み込みます。
+ * カテゴリは商品の登録・更新・削除・復元のたびに、トランザクションのコミット後に差分で更新します。
+ * <ul>
+ * <li>追加（登録・復元・カテゴリ変更後）: 一覧に加える</li>
+ * <li>除外（削除・カテゴリ変更前）: そのカテゴリの未削除の商品が残っているかをインデックスで確認し、残っていなければ一覧から除く</li>
+ * </ul>
+ * 除外はキャッシュ上の件数ではなくコミット後のテーブルで確認するため、最後の商品が削除されたカテゴリを返すことはありません。
+ * CSV インポートなど一括で変更した場合は {@link #invalidateCategories()} で破棄し、次回参照時に読み込み直します。
+ * 他ノードでの変更は refresh-interval ごとの読み込み直しで反映します。
+ * </p>
+ * <p>
+ * カテゴリ一覧には内容が変わるたびに増えるバージョン番号と、内容から求めた ETag を付けます。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final RoleRepository roleRepository;
+
+    private final ProductRepository productRepository;
+
+    /** カテゴリ一覧の排他（データベースアクセスを含むため、仮想スレッドを固定しない ReentrantLock を使う） */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** ロール一覧（未読み込みの場合は null） */
+    private volatile List<Role> roles;
+
+    /** カテゴリ一覧（未読み込みの場合は null） */
+    private TreeSet<String> categories;
+
+    /** 返却用のカテゴリ一覧（変更のたびに作り直す） */
+    private volatile Categories snapshot;
+
+    private long version;
+
+    /**
+     * ロール一覧を取得する
+     * @return ロール一覧（読み取り専用）
+     */
+    public List<Role> getRoles() {
+        List<Role> cached = roles;
+        if (cached == null) {
+            cached = List.copyOf(roleRepository.findAll());
+            roles = cached;
+            log.debug("ロール一覧を読み込み: count={}", cached.size());
+        }
+        return cached;
+    }
+
+    /**
+     * ロール一覧を破棄する（次回参照時に読み込み直す）
+     */
+    public void invalidateRoles() {
+        roles = null;
+    }
+
+    /**
+     * カテゴリ一覧を取得する
+     * @return 削除されていない商品のカテゴリ一覧（昇順、読み取り専用）
+     */
+    public List<String> getCategories() {
+        return getCategorySnapshot().values();
+    }
+
+    /**
+     * バージョン・ETag 付きのカテゴリ一覧を取得する
+     * @return カテゴリ一覧
+     */
+    public Categories getCategorySnapshot() {
+        Categories current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (categories == null) {
+                loadCategories();
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 商品のカテゴリの変更を反映する（トランザクション内の場合はコミット後）
+     * @param before 変更前のカテゴリ（登録・復元の場合、または変更前が削除済みの場合は null）
+     * @param after 変更後のカテゴリ（削除の場合は null）
+     */
+    public void productChanged(String before, String after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyChange(before, after);
+                }
+            });
+        } else {
+            applyChange(before, after);
+        }
+    }
+
+    /**
+     * カテゴリ一覧を破棄する（次回参照時に読み込み直す）
+     */
+    public void invalidateCategories() {
+        lock.lock();
+        try {
+            categories = null;
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 他ノードでの変更を反映するため、読み込み済みの参照データを定期的に読み込み直す
+     */
+    @Scheduled(initialDelayString = "${reference-data.refresh-interval-ms:300000}",
+            fixedDelayString = "${reference-data.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (roles != null) {
+            roles = List.copyOf(roleRepository.findAll());
+        }
+        lock.lock();
+        try {
+            if (categories != null) {
+                loadCategories();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyChange(String before, String after) {
+        lock.lock();
+        try {
+            if (categories == null) {
+                // 未読み込みの場合は次回参照時に最新を読み込むため、差分は不要
+                return;
+            }
+            boolean changed = false;
+            if (after != null) {
+                changed |= categories.add(after);
+            }
+            if (before != null && categories.contains(before)
+                    && !productRepository.existsByCategoryAndDeletedAtIsNull(before)) {
+                categories.remove(before);
+                changed = true;
+            }
+            if (changed) {
+                publish();
+                log.debug("カテゴリ一覧を更新: added={}, removed={}, version={}", after, before, version);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loadCategories() {
+        TreeSet<String> loaded = new TreeSet<>(productRepository.findAllCategories());
+        if (categories != null && categories.equals(loaded)) {
+            return;
+        }
+        categories = loaded;
+        publish();
+        log.debug("カテゴリ一覧を読み込み: count={}, version={}", loaded.size(), version);
+    }
+
+    private void publish() {
+        version++;
+        List<String> values = List.copyOf(categories);
+        CRC32 crc = new CRC32();
+        for (String category : values) {
+            crc.update(category.getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        snapshot = new Categories(values, version, "\"categories-" + Long.toHexString(crc.getValue()) + "\"");
+    }
+
+    /**
+     * カテゴリ一覧
+     * @param values カテゴリ（昇順）
+     * @param version 内容が変わるたびに増えるバージョン番号
+     * @param etag 内容から求めた ETag（ノード・再起動をまたいで同じ内容なら同じ値）
+     */
+    public record Categories(List<String> values, long version, String etag) {
+    }
+}
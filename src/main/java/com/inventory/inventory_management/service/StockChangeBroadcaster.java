@@ -0,0 +1,427 @@
+package com.inventory.inventory_management.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.inventory.inventory_management.dto.response.StockChangeEvent;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 在庫変更の配信（Server-Sent Events）
+ * 管理者用在庫一覧画面が購読し、他のユーザーによる在庫の変更を再読み込みなしで行に反映できるようにします。
+ * <p>
+ * 在庫の変更はトランザクションのコミット後に受け付け（ロールバックした変更は配信しない）、coalesce-interval の間に
+ * 同じ商品で続いた変更を 1 件にまとめてから、全購読者に同じ JSON を配信します（JSON 化は 1 件につき 1 回）。
+ * </p>
+ * <p>
+ * 変更のまとめと送信の開始は少数のスレッド（threads）で行い、接続への書き込みは購読者ごとに
+ * 送信中のときだけ仮想スレッドで行います（書き込みはブロックするため、応答しない接続が他の購読者への配信を止めない）。
+ * 1 回の書き込みが send-timeout を超えた購読者は配信対象から外して接続を閉じます。
+ * 送信が追いつかない購読者には、未送信の変更を商品ごとに最新の 1 件だけ保持し、buffer-size 件を超えた場合は
+ * 未送信分を捨てて resync イベントを送ります（画面は在庫一覧 API で行を取得し直す）。
+ * 変更がない間も heartbeat-interval ごとにコメントを送り、切断された接続を検出します。
+ * </p>
+ */
+@Slf4j
+@Component
+public class StockChangeBroadcaster implements InitializingBean, DisposableBean {
+
+    /** 在庫変更イベント名 */
+    static final String STOCK_EVENT = "stock";
+
+    /** 未送信の変更を捨てたため、画面に取得し直しを求めるイベント名 */
+    static final String RESYNC_EVENT = "resync";
+
+    /** イベントの JSON 化（シリアライザーは作成時に解決しておき、配信のたびに探さない） */
+    private final ObjectWriter eventWriter;
+
+    private final int maxSubscribers;
+
+    private final int bufferSize;
+
+    private final long coalesceIntervalMillis;
+
+    private final long heartbeatIntervalMillis;
+
+    private final long timeoutMillis;
+
+    private final long sendTimeoutMillis;
+
+    private final int threads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /** coalesce-interval の間に受け付けた変更（商品ごとにまとめる） */
+    private final ConcurrentHashMap<Integer, StockChangeEvent> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    private final AtomicLong published = new AtomicLong();
+
+    private final AtomicLong dispatched = new AtomicLong();
+
+    private final AtomicLong resyncs = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** 変更のまとめ・送信の開始・接続確認（接続への書き込みは行わない） */
+    private ScheduledThreadPoolExecutor executor;
+
+    /** 接続への書き込み（購読者ごとに同時に 1 スレッドのみ） */
+    private ExecutorService sendExecutor;
+
+    /**
+     * コンストラクタ
+     * @param jsonMapper イベントの JSON 化に使うマッパー
+     * @param maxSubscribers 同時に購読できる接続数の上限
+     * @param bufferSize 接続ごとに保持する未送信の変更（商品数）の上限
+     * @param coalesceIntervalMillis 同じ商品の変更をまとめる間隔（ミリ秒）
+     * @param heartbeatIntervalMillis 変更がない間に接続を確認する間隔（ミリ秒）
+     * @param timeoutMillis 接続を閉じるまでの時間（ミリ秒、ブラウザは自動で再接続する）
+     * @param sendTimeoutMillis 1 回の書き込みを待つ時間（ミリ秒、超えた購読者は配信対象から外す）
+     * @param threads 変更のまとめと送信の開始に使うスレッド数
+     */
+    public StockChangeBroadcaster(JsonMapper jsonMapper,
+            @Value("${inventory.stock-stream.max-subscribers:1000}") int maxSubscribers,
+            @Value("${inventory.stock-stream.buffer-size:256}") int bufferSize,
+            @Value("${inventory.stock-stream.coalesce-interval-ms:250}") long coalesceIntervalMillis,
+            @Value("${inventory.stock-stream.heartbeat-interval-ms:25000}") long heartbeatIntervalMillis,
+            @Value("${inventory.stock-stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${inventory.stock-stream.send-timeout-ms:10000}") long sendTimeoutMillis,
+            @Value("${inventory.stock-stream.threads:2}") int threads) {
+        if (maxSubscribers <= 0 || bufferSize <= 0 || sendTimeoutMillis <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("inventory.stock-stream の max-subscribers・buffer-size・send-timeout-ms・"
+                    + "threads は 1 以上を指定してください");
+        }
+        this.eventWriter = jsonMapper.writerFor(StockChangeEvent.class);
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.coalesceIntervalMillis = coalesceIntervalMillis;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.threads = threads;
+    }
+
+    /**
+     * 送信スレッドと接続確認を開始する
+     */
+    @Override
+    public void afterPropertiesSet() {
+        executor = new ScheduledThreadPoolExecutor(threads, new CustomizableThreadFactory("stock-stream-"));
+        executor.setRemoveOnCancelPolicy(true);
+        sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stock-stream-send-", 1).factory());
+        if (heartbeatIntervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::heartbeat,
+                    heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        long stallCheckIntervalMillis = Math.max(1, sendTimeoutMillis / 2);
+        executor.scheduleWithFixedDelay(this::dropStalledSubscribers,
+                stallCheckIntervalMillis, stallCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("在庫変更の配信を開始: maxSubscribers={}, bufferSize={}, coalesceIntervalMs={}, sendTimeoutMs={}, "
+                + "threads={}", maxSubscribers, bufferSize, coalesceIntervalMillis, sendTimeoutMillis, threads);
+    }
+
+    /**
+     * すべての接続を閉じて停止する
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        sendExecutor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        log.info("在庫変更の配信を停止: published={}, dispatched={}, resyncs={}, rejected={}, dropped={}",
+                published.get(), dispatched.get(), resyncs.get(), rejected.get(), dropped.get());
+    }
+
+    /**
+     * 購読を開始する
+     * @return 接続（コントローラーがレスポンスとして返す）
+     * @throws IllegalStateException 購読数が上限に達している場合
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    /**
+     * 作成済みの接続で購読を開始する
+     * @param emitter 接続
+     * @return 接続
+     * @throws IllegalStateException 購読数が上限に達している場合
+     */
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("在庫変更の購読数が上限に達しています");
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("在庫変更の購読を開始: subscribers={}", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * 在庫の変更を通知する（トランザクション内の場合はコミット後に配信）
+     * @param productId 商品 ID
+     * @param beforeStock 変更前の在庫数
+     * @param afterStock 変更後の在庫数
+     */
+    public void stockChanged(int productId, int beforeStock, int afterStock) {
+        StockChangeEvent event = StockChangeEvent.of(productId, beforeStock, afterStock);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    /**
+     * 配信の統計を取得する
+     * @return 統計
+     */
+    public Stats getStats() {
+        return new Stats(subscribers.size(), maxSubscribers, published.get(), dispatched.get(), resyncs.get(),
+                rejected.get(), dropped.get());
+    }
+
+    private void publish(StockChangeEvent event) {
+        published.incrementAndGet();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pending.merge(event.productId(), event, StockChangeEvent::merge);
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::dispatch, coalesceIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * まとめた変更を JSON 化し、全購読者の未送信の変更に加える
+     */
+    private void dispatch() {
+        // 以降に受け付けた変更は次の dispatch で配信する
+        dispatchScheduled.set(false);
+        Map<Integer, String> events = new LinkedHashMap<>();
+        for (Integer productId : pending.keySet()) {
+            StockChangeEvent event = pending.remove(productId);
+            if (event != null) {
+                events.put(productId, eventWriter.writeValueAsString(event));
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        dispatched.addAndGet(events.size());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(events, bufferSize)) {
+                sendExecutor.execute(() -> flush(subscriber));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.requestHeartbeat()) {
+                sendExecutor.execute(() -> flush(subscriber));
+            }
+        }
+    }
+
+    /**
+     * 書き込みが send-timeout を超えている購読者を配信対象から外し、接続を閉じる
+     */
+    private void dropStalledSubscribers() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (Subscriber subscriber : subscribers) {
+            Thread sender = subscriber.stalledSender(deadline);
+            if (sender == null || !subscribers.remove(subscriber)) {
+                continue;
+            }
+            dropped.incrementAndGet();
+            log.warn("在庫変更の送信が応答しないため購読を終了: sendTimeoutMs={}, subscribers={}",
+                    sendTimeoutMillis, subscribers.size());
+            sender.interrupt();
+            // 接続を閉じる処理は書き込みと同じロックを待つため、このスレッドでは行わない
+            sendExecutor.execute(() -> subscriber.emitter.completeWithError(
+                    new IOException("在庫変更の送信が send-timeout を超えました")));
+        }
+    }
+
+    /**
+     * 購読者の未送信の変更を送信する（購読者ごとに同時に 1 スレッドのみ）
+     */
+    private void flush(Subscriber subscriber) {
+        Batch batch = subscriber.take();
+        try {
+            if (batch.resync()) {
+                resyncs.incrementAndGet();
+                subscriber.send(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+            }
+            for (String event : batch.events()) {
+                subscriber.send(SseEmitter.event().name(STOCK_EVENT).data(event));
+            }
+            if (batch.heartbeat()) {
+                subscriber.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 切断済みの接続（送信に失敗した接続は以降の配信対象から外す）
+            log.debug("在庫変更の送信に失敗したため購読を終了: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        }
+        if (subscriber.finish() && subscribers.contains(subscriber)) {
+            sendExecutor.execute(() -> flush(subscriber));
+        }
+    }
+
+    /**
+     * 購読者（接続）と未送信の変更
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        /** 未送信の変更（商品 ID → JSON、同じ商品は最新の変更で置き換える） */
+        private final LinkedHashMap<Integer, String> buffer = new LinkedHashMap<>();
+
+        private boolean resync;
+
+        private boolean heartbeat;
+
+        /** 送信タスクを実行中または実行待ちかどうか */
+        private boolean flushing;
+
+        /** 書き込み中のスレッド（書き込み中でない場合は null） */
+        private volatile Thread sender;
+
+        private volatile long sendStartedNanos;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * 接続に書き込む（書き込み中のスレッドと開始時刻を記録する）
+         */
+        void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedNanos = System.nanoTime();
+            sender = Thread.currentThread();
+            try {
+                emitter.send(event);
+            } finally {
+                sender = null;
+            }
+        }
+
+        /**
+         * 指定時刻より前に始めた書き込みが終わっていない場合、そのスレッドを返す
+         * @param deadlineNanos 書き込みの開始時刻の下限（System.nanoTime）
+         * @return 書き込み中のスレッド（応答している場合は null）
+         */
+        Thread stalledSender(long deadlineNanos) {
+            Thread thread = sender;
+            return thread != null && sendStartedNanos - deadlineNanos < 0 ? thread : null;
+        }
+
+        /**
+         * 未送信の変更に加える（上限を超えた場合は未送信分を捨てて resync を送る）
+         * @return 送信タスクを開始する必要がある場合は true
+         */
+        synchronized boolean offer(Map<Integer, String> events, int bufferSize) {
+            if (!resync) {
+                buffer.putAll(events);
+                if (buffer.size() > bufferSize) {
+                    buffer.clear();
+                    resync = true;
+                }
+            }
+            return schedule();
+        }
+
+        synchronized boolean requestHeartbeat() {
+            heartbeat = true;
+            return schedule();
+        }
+
+        synchronized Batch take() {
+            Batch batch = new Batch(resync, new ArrayList<>(buffer.values()), heartbeat && buffer.isEmpty() && !resync);
+            buffer.clear();
+            resync = false;
+            heartbeat = false;
+            return batch;
+        }
+
+        /**
+         * 送信を終える
+         * @return 送信中に未送信の変更が増えたため、続けて送信する必要がある場合は true
+         */
+        synchronized boolean finish() {
+            if (buffer.isEmpty() && !resync && !heartbeat) {
+                flushing = false;
+                return false;
+            }
+            return true;
+        }
+
+        private boolean schedule() {
+            if (flushing) {
+                return false;
+            }
+            flushing = true;
+            return true;
+        }
+    }
+
+    private record Batch(boolean resync, List<String> events, boolean heartbeat) {
+    }
+
+    /**
+     * 配信の統計
+     *
+     * @param subscribers    購読中の接続数
+     * @param maxSubscribers 購読数の上限
+     * @param published      コミット後に受け付けた変更の件数
+     * @param dispatched     まとめた後に配信した変更の件数（購読者数によらず 1 件は 1 回と数える）
+     * @param resyncs        未送信の変更が上限を超えて取得し直しを求めた回数
+     * @param rejected       購読数の上限により拒否した接続数
+     * @param dropped        書き込みが send-timeout を超えて配信対象から外した接続数
+     */
+    public record Stats(int subscribers, int maxSubscribers, long published, long dispatched, long resyncs,
+            long rejected, long dropped) {
+    }
+}
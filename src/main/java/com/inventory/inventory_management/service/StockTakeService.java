@@ -0,0 +1,345 @@
+package com.inventory.inventory_management.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inventory.inventory_management.dto.response.StockTakeResultDto;
+import com.inventory.inventory_management.util.CsvRecordReader;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 棚卸（実地棚卸）サービス
+ * 棚卸 CSV（product_code,counted_qty）を取り込み、帳簿在庫との差異を集計・反映する。
+ * <p>
+ * CSV はステージングテーブル（stock_take_staging）へバッチ投入し、差異は商品テーブルとの
+ * 1 回の結合で算出する。反映時は INSERT ... SELECT による在庫履歴の一括登録と
+ * 集合演算の UPDATE で在庫数を更新するため、商品数に関わらず SQL の発行回数は一定となる。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StockTakeService {
+
+    /** 棚卸による在庫履歴の備考 */
+    static final String STOCK_TAKE_REMARKS = "棚卸による在庫調整";
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final String INSERT_STAGING_SQL =
+            "INSERT INTO stock_take_staging (run_id, line_number, product_code, counted_qty) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_DUPLICATES_SQL =
+            "SELECT s.line_number, s.product_code FROM stock_take_staging s "
+            + "WHERE s.run_id = ? AND s.product_code IN ("
+            + "SELECT d.product_code FROM stock_take_staging d WHERE d.run_id = ? "
+            + "GROUP BY d.product_code HAVING COUNT(*) > 1) "
+            + "ORDER BY s.line_number";
+
+    private static final String DELETE_STAGING_LINE_SQL =
+            "DELETE FROM stock_take_staging WHERE run_id = ? AND line_number = ?";
+
+    private static final String LOCK_PRODUCTS_SQL =
+            "SELECT p.id FROM products p WHERE p.product_code IN ("
+            + "SELECT s.product_code FROM stock_take_staging s WHERE s.run_id = ?) FOR UPDATE";
+
+    private static final String SELECT_VARIANCES_SQL =
+            "SELECT s.line_number, s.product_code, s.counted_qty, p.id, p.product_name, p.stock, p.deleted_at "
+            + "FROM stock_take_staging s LEFT JOIN products p ON p.product_code = s.product_code "
+            + "WHERE s.run_id = ? ORDER BY s.line_number";
+
+    private static final String INSERT_TRANSACTIONS_SQL =
+            "INSERT INTO stock_transactions "
+            + "(id, product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) "
+            + "SELECT ? + ROW_NUMBER() OVER (ORDER BY s.line_number) - 1, p.id, CASE WHEN s.counted_qty > p.stock THEN 'in' ELSE 'out' END, "
+            + "ABS(s.counted_qty - p.stock), p.stock, s.counted_qty, ?, ?, ? "
+            + "FROM stock_take_staging s JOIN products p ON p.product_code = s.product_code "
+            + "WHERE s.run_id = ? AND s.counted_qty <> p.stock AND p.deleted_at IS NULL";
+
+    private static final String UPDATE_STOCK_SQL =
+            "UPDATE products SET "
+            + "stock = (SELECT s.counted_qty FROM stock_take_staging s "
+            + "WHERE s.run_id = ? AND s.product_code = products.product_code), "
+            + "updated_at = ? "
+            + "WHERE EXISTS (SELECT 1 FROM stock_take_staging s "
+            + "WHERE s.run_id = ? AND s.product_code = products.product_code AND s.counted_qty <> products.stock) "
+            + "AND products.deleted_at IS NULL";
+
+    private static final String DELETE_STAGING_SQL = "DELETE FROM stock_take_staging WHERE run_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+    private final CatalogVersion catalogVersion;
+
+    /** ステージングテーブルへの JDBC バッチサイズ */
+    @Value("${inventory.stock-take.batch-size:1000}")
+    private int batchSize;
+
+    /** 棚卸結果に保持する差異明細・行エラーのそれぞれの上限件数（結果はセッションのフラッシュ属性で画面へ渡すため） */
+    @Value("${inventory.stock-take.max-detail-rows:1000}")
+    private int maxDetailRows;
+
+    /**
+     * 棚卸 CSV を取り込み、差異を集計する（apply=true の場合は在庫へ反映する）
+     * 取り込みから反映・ステージングの削除までを 1 トランザクションで行い、
+     * 反映時は対象商品の行ロックを取得してから差異を算出するため、集計結果と反映内容は一致する。
+     * 差異のない商品は更新せず、在庫履歴も登録しない。
+     *
+     * @param inputStream CSV の入力ストリーム（UTF-8、ヘッダー行に product_code と counted_qty を含む）
+     * @param apply       true の場合は在庫へ反映する。false の場合は差異の確認のみ
+     * @return 棚卸結果（差異集計・差異明細・行エラー）
+     * @throws IOException              読み込みに失敗した場合
+     * @throws IllegalArgumentException ファイルが空、または必須列が不足している場合
+     */
+    @Transactional
+    public StockTakeResultDto processStockTake(InputStream inputStream, boolean apply) throws IOException {
+        long startNanos = System.nanoTime();
+        String runId = UUID.randomUUID().toString();
+        StockTakeResultDto result = new StockTakeResultDto();
+
+        log.info("棚卸処理開始: runId={}, apply={}", runId, apply);
+
+        loadStaging(inputStream, runId, result);
+        excludeDuplicates(runId, result);
+
+        if (apply) {
+            jdbcTemplate.query(LOCK_PRODUCTS_SQL, rs -> { }, runId);
+        }
+        collectVariances(runId, result);
+
+        if (apply && result.getChangedCount() > 0) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int firstId = idBlockAllocator.reserve(IdBlockAllocator.STOCK_TRANSACTIONS, (int) result.getChangedCount());
+            int inserted = jdbcTemplate.update(INSERT_TRANSACTIONS_SQL,
+                    firstId, getCurrentUserId(), now, STOCK_TAKE_REMARKS, runId);
+            int updated = jdbcTemplate.update(UPDATE_STOCK_SQL, runId, now, runId);
+            if (inserted != result.getChangedCount() || updated != result.getChangedCount()) {
+                throw new IllegalStateException("棚卸の反映件数が差異件数と一致しません（差異: "
+                        + result.getChangedCount() + "件、履歴: " + inserted + "件、更新: " + updated + "件）");
+            }
+            catalogVersion.changed();
+            log.info("棚卸反映完了: runId={}, 更新={}件", runId, updated);
+        }
+        result.setApplied(apply);
+
+        jdbcTemplate.update(DELETE_STAGING_SQL, runId);
+
+        truncateErrors(result);
+        result.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("棚卸処理完了: runId={}, 全{}件, 照合={}件, 増加={}件, 減少={}件, エラー={}件, {}ms",
+                runId, result.getTotalRows(), result.getMatchedCount(), result.getIncreasedCount(),
+                result.getDecreasedCount(), result.getErrorCount(), result.getElapsedMillis());
+        return result;
+    }
+
+    // =========================================================
+    // プライベートメソッド
+    // =========================================================
+
+    /**
+     * CSV を読み込み、妥当な行をステージングテーブルへバッチ投入する
+     *
+     * @param inputStream CSV の入力ストリーム
+     * @param runId       処理 ID
+     * @param result      棚卸結果（件数・エラーを更新）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private void loadStaging(InputStream inputStream, String runId, StockTakeResultDto result) throws IOException {
+        try (CsvRecordReader reader = new CsvRecordReader(new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSVファイルが空です。");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+            }
+            Integer codeIndex = columns.get("product_code");
+            Integer qtyIndex = columns.get("counted_qty");
+            if (codeIndex == null || qtyIndex == null) {
+                throw new IllegalArgumentException("CSVヘッダーに必須列がありません: product_code, counted_qty");
+            }
+
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+                long lineNumber = reader.getRecordLineNumber();
+                String code = codeIndex < record.size() ? record.get(codeIndex).trim() : "";
+                String qty = qtyIndex < record.size() ? record.get(qtyIndex).trim() : "";
+
+                String error = validateRow(code, qty);
+                if (error != null) {
+                    addRowError(result, lineNumber, error);
+                    continue;
+                }
+                batch.add(new Object[] {runId, lineNumber, code, Integer.valueOf(qty)});
+                if (batch.size() >= batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_STAGING_SQL, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_STAGING_SQL, batch);
+            }
+        }
+    }
+
+    /**
+     * 1 行分の入力値を検証する
+     *
+     * @param code 商品コード
+     * @param qty  実数（文字列）
+     * @return エラーメッセージ（妥当な場合は null）
+     */
+    private String validateRow(String code, String qty) {
+        if (code.isEmpty()) {
+            return "商品コードは必須です";
+        }
+        if (code.length() > 8) {
+            return "商品コード「" + code + "」は8文字以内で入力してください";
+        }
+        if (qty.isEmpty()) {
+            return "実数は必須です";
+        }
+        try {
+            if (Integer.parseInt(qty) < 0) {
+                return "実数は0以上で入力してください";
+            }
+        } catch (NumberFormatException e) {
+            return "実数は整数で入力してください";
+        }
+        return null;
+    }
+
+    /**
+     * 同じ商品コードが複数行にある場合、該当行をすべてエラーとしてステージングから除外する
+     *
+     * @param runId  処理 ID
+     * @param result 棚卸結果（エラーを更新）
+     */
+    private void excludeDuplicates(String runId, StockTakeResultDto result) {
+        List<Object[]> duplicates = new ArrayList<>();
+        jdbcTemplate.query(SELECT_DUPLICATES_SQL, rs -> {
+            long lineNumber = rs.getLong("line_number");
+            addRowError(result, lineNumber, "商品コード「" + rs.getString("product_code") + "」が重複しています");
+            duplicates.add(new Object[] {runId, lineNumber});
+        }, runId, runId);
+        if (!duplicates.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_STAGING_LINE_SQL, duplicates);
+        }
+    }
+
+    /**
+     * ステージングと商品テーブルを結合して差異を集計する
+     *
+     * @param runId  処理 ID
+     * @param result 棚卸結果（集計・差異明細・エラーを更新）
+     */
+    private void collectVariances(String runId, StockTakeResultDto result) {
+        jdbcTemplate.query(SELECT_VARIANCES_SQL, rs -> {
+            long lineNumber = rs.getLong("line_number");
+            String code = rs.getString("product_code");
+            int productId = rs.getInt("id");
+            if (rs.wasNull()) {
+                addRowError(result, lineNumber, "商品コード「" + code + "」が見つかりません");
+                return;
+            }
+            if (rs.getTimestamp("deleted_at") != null) {
+                addRowError(result, lineNumber, "商品コード「" + code + "」は削除済みの商品です");
+                return;
+            }
+            int systemStock = rs.getInt("stock");
+            int countedQty = rs.getInt("counted_qty");
+            result.setMatchedCount(result.getMatchedCount() + 1);
+            if (countedQty == systemStock) {
+                result.setUnchangedCount(result.getUnchangedCount() + 1);
+                return;
+            }
+            if (countedQty > systemStock) {
+                result.setIncreasedCount(result.getIncreasedCount() + 1);
+                result.setTotalIncrease(result.getTotalIncrease() + countedQty - systemStock);
+            } else {
+                result.setDecreasedCount(result.getDecreasedCount() + 1);
+                result.setTotalDecrease(result.getTotalDecrease() + systemStock - countedQty);
+            }
+            // 差異明細は CSV の行順に上限件数まで保持する（件数・数量の集計は全件）
+            if (result.getVariances().size() < maxDetailRows) {
+                result.getVariances().add(new StockTakeResultDto.Variance(
+                        lineNumber, productId, code, rs.getString("product_name"), systemStock, countedQty));
+            } else {
+                result.setVariancesTruncated(true);
+            }
+        }, runId);
+    }
+
+    /**
+     * 行エラーを記録する（件数は常に加算し、保持するのは行番号の小さい順に上限件数まで）
+     * エラーは読み込み・重複チェック・照合の段階ごとに記録され行順ではないため、
+     * 上限の 2 倍を超えたら行順に並べて上限件数まで切り詰める
+     *
+     * @param result     棚卸結果
+     * @param lineNumber 行番号
+     * @param message    エラーメッセージ
+     */
+    private void addRowError(StockTakeResultDto result, long lineNumber, String message) {
+        result.setErrorCount(result.getErrorCount() + 1);
+        result.getErrors().add(new StockTakeResultDto.RowError(lineNumber, message));
+        if (result.getErrors().size() >= 2 * Math.max(1, maxDetailRows)) {
+            truncateErrors(result);
+        }
+    }
+
+    /**
+     * 行エラーを行順に並べ、上限件数まで切り詰める
+     *
+     * @param result 棚卸結果
+     */
+    private void truncateErrors(StockTakeResultDto result) {
+        List<StockTakeResultDto.RowError> errors = result.getErrors();
+        errors.sort(Comparator.comparingLong(StockTakeResultDto.RowError::getLineNumber));
+        if (errors.size() > maxDetailRows) {
+            errors.subList(maxDetailRows, errors.size()).clear();
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * 現在のユーザーIDを取得
+     * @return ユーザーID（ユーザー名）
+     */
+    private String getCurrentUserId() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return authentication != null ? authentication.getName() : "system";
+        } catch (Exception e) {
+            log.warn("ユーザーID取得時にエラー: error={}", e.getMessage());
+            return "system";
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.inventory.inventory_management.entity.User;
 import com.inventory.inventory_management.repository.UserRepository;
+import com.inventory.inventory_management.security.PasswordVerificationRejectedException;
+import com.inventory.inventory_management.security.UserDetailsCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +27,7 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
     
     /**
      * メールアドレスでユーザーを検索
@@ -82,6 +85,7 @@ public class UserService {
      * @param currentPassword 現在のパスワード
      * @param newPassword 新しいパスワード
      * @throws IllegalArgumentException 現在のパスワードが間違っている場合
+     * @throws PasswordVerificationRejectedException ログイン集中によりパスワード検証が拒否された場合
      */
     @Transactional
     public void changePassword(String username, String currentPassword, String newPassword) {
@@ -110,17 +114,18 @@ public class UserService {
                 throw new IllegalArgumentException("新しいパスワードは現在のパスワードと異なる必要があります");
             }
             
-            // パスワードを暗号化して更新
+            // パスワードを暗号化して更新（ログイン時の再ハッシュと同じコスト係数のエンコーダーを使用）
             user.setPassword(passwordEncoder.encode(newPassword));
             user.setUpdatedAt(LocalDateTime.now());
             
             // 保存
             userRepository.save(user);
+            userDetailsCache.evict(username);
             
             logger.info("パスワード変更成功: username={}", username);
             
-        } catch (IllegalArgumentException e) {
-            // 予想されるエラーはそのまま再スロー
+        } catch (IllegalArgumentException | PasswordVerificationRejectedException e) {
+            // 予想されるエラー（入力誤り・ログイン集中によるパスワード検証の拒否）はそのまま再スロー
             throw e;
         } catch (Exception e) {
             logger.error("パスワード変更処理中にエラーが発生: username={}, error={}", username, e.getMessage(), e);
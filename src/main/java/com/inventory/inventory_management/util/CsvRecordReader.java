@@ -0,0 +1,158 @@
+package com.inventory.inventory_management.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ストリーミング CSV リーダー（RFC 4180 準拠）
+ * 入力を 1 レコードずつ読み出し、ファイル全体をメモリに保持しない。
+ * <p>
+ * ダブルクォートで囲まれたフィールド内のカンマ・改行・エスケープされたクォート（""）に対応する。
+ * 先頭の BOM（U+FEFF）は読み飛ばす。
+ * </p>
+ */
+public class CsvRecordReader implements Closeable {
+
+    /** 1 フィールドの最大文字数（不正なクォートによる際限ない読み込みを防ぐ） */
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+
+    /** 次に読む文字（先読み済みの場合のみ有効） */
+    private int pushedBack = -2;
+
+    /** 現在の物理行番号（1 始まり） */
+    private long lineNumber = 1;
+
+    /** 直前に読んだレコードの開始行番号 */
+    private long recordLineNumber;
+
+    private boolean firstChar = true;
+
+    /**
+     * コンストラクタ
+     *
+     * @param reader 読み込み元（呼び出し側でバッファリング済みであること）
+     */
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 次のレコードを読み込む
+     *
+     * @return フィールドのリスト（入力終端に達した場合は null）
+     * @throws IOException 読み込みに失敗した場合、またはフィールドが長すぎる場合
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("クォートが閉じられていません（" + recordLineNumber + "行目）");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new IOException("フィールドが長すぎます（" + recordLineNumber + "行目）");
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    /**
+     * 直前に読んだレコードの開始行番号を返す
+     *
+     * @return 行番号（1 始まり）
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 1 文字読み込む（先頭 BOM は読み飛ばす）
+     *
+     * @return 文字コード（終端の場合は -1）
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (firstChar) {
+            firstChar = false;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    /**
+     * 1 文字を読み戻す
+     *
+     * @param c 文字コード
+     */
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
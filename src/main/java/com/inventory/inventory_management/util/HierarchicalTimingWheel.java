@@ -0,0 +1,252 @@
+package com.inventory.inventory_management.util;
+
+import java.util.function.Consumer;
+
+/**
+ * 階層型タイミングホイール
+ * 期限（エポック秒）付きの要素を時間単位（tick）ごとのスロットに振り分け、
+ * 時刻を進めたときに経過したスロットの要素だけを期限切れとして取り出す。全件走査をせずに期限切れを段階的に処理できる。
+ * <p>
+ * 各階層は 64 スロットで、第 n 階層の 1 スロットは tick × 64<sup>n</sup> 秒を表す。
+ * 上位階層のスロットは下位階層が一周するたびに下位階層へ振り直す（カスケード）。
+ * 最上位階層の範囲を超える期限は最も遠いスロットに置き、カスケード時に振り直す。
+ * </p>
+ * <p>
+ * 要素は {@link Node} を継承した侵入型リストで保持するため、登録・解除で追加のオブジェクトを生成しない。
+ * スレッドセーフではないため、呼び出し側で排他すること。
+ * </p>
+ *
+ * @param <T> 要素の型
+ */
+public class HierarchicalTimingWheel<T extends HierarchicalTimingWheel.Node> {
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickSeconds;
+
+    /** [階層][スロット] ごとの番兵ノード（循環リストの先頭） */
+    private final Node[][] buckets;
+
+    /** 処理済みの最後の tick */
+    private long currentTick;
+
+    private int size;
+
+    /**
+     * コンストラクタ
+     *
+     * @param tickSeconds       1 tick の秒数（1 以上）
+     * @param levels            階層数（1 以上）
+     * @param startEpochSeconds 開始時刻（エポック秒）
+     */
+    public HierarchicalTimingWheel(long tickSeconds, int levels, long startEpochSeconds) {
+        if (tickSeconds <= 0) {
+            throw new IllegalArgumentException("tickSeconds は 1 以上を指定してください");
+        }
+        if (levels <= 0 || levels * SLOT_BITS >= 63) {
+            throw new IllegalArgumentException("levels が範囲外です: " + levels);
+        }
+        this.tickSeconds = tickSeconds;
+        this.buckets = new Node[levels][SLOTS];
+        for (Node[] level : buckets) {
+            for (int i = 0; i < SLOTS; i++) {
+                Node sentinel = new Node();
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+        this.currentTick = Math.floorDiv(startEpochSeconds, tickSeconds);
+    }
+
+    /**
+     * 要素を登録する（登録済みの場合は期限を更新して振り直す）
+     *
+     * @param element              要素
+     * @param deadlineEpochSeconds 期限（エポック秒）
+     */
+    public void schedule(T element, long deadlineEpochSeconds) {
+        Node node = element;
+        if (node.isScheduled()) {
+            unlink(node);
+        } else {
+            size++;
+        }
+        node.deadline = deadlineEpochSeconds;
+        link(node, currentTick + 1);
+    }
+
+    /**
+     * 要素の登録を解除する
+     *
+     * @param node 要素
+     * @return 登録されていた場合 true
+     */
+    public boolean cancel(T node) {
+        if (!node.isScheduled()) {
+            return false;
+        }
+        unlink(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * 時刻を進め、期限切れの要素を取り出す
+     * 前回からの経過 tick 分のスロットだけを処理する。
+     *
+     * @param nowEpochSeconds 現在時刻（エポック秒）
+     * @param expired         期限切れの要素を受け取る処理（呼び出し時点で登録解除済み）
+     * @return 期限切れとして取り出した件数
+     */
+    public int advance(long nowEpochSeconds, Consumer<? super T> expired) {
+        long nowTick = Math.floorDiv(nowEpochSeconds, tickSeconds);
+        int count = 0;
+        while (currentTick < nowTick) {
+            currentTick++;
+            cascade();
+            Node sentinel = buckets[0][(int) (currentTick & SLOT_MASK)];
+            Node node = sentinel.next;
+            while (node != sentinel) {
+                Node next = node.next;
+                unlink(node);
+                if (node.deadline <= nowEpochSeconds) {
+                    size--;
+                    count++;
+                    @SuppressWarnings("unchecked")
+                    T element = (T) node;
+                    expired.accept(element);
+                } else {
+                    link(node, currentTick + 1);
+                }
+                node = next;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 最も早く期限切れになるスロットの要素を 1 件取り出す（容量超過時の追い出し用）
+     * 同一スロット内の順序は問わないため、期限の近さは tick（上位階層ではそのスロット幅）単位の近似となる。
+     *
+     * @return 取り出した要素（登録解除済み）、要素がない場合は null
+     */
+    public T pollEarliest() {
+        for (int level = 0; level < buckets.length; level++) {
+            long levelTick = currentTick >> (SLOT_BITS * level);
+            for (int offset = 1; offset <= SLOTS; offset++) {
+                Node sentinel = buckets[level][(int) ((levelTick + offset) & SLOT_MASK)];
+                if (sentinel.next != sentinel) {
+                    Node node = sentinel.next;
+                    unlink(node);
+                    size--;
+                    @SuppressWarnings("unchecked")
+                    T element = (T) node;
+                    return element;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 登録されている要素数を取得する
+     *
+     * @return 要素数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 下位階層が一周した時点で、上位階層の該当スロットの要素を振り直す
+     * 上位階層から順に振り直し、振り直し先のスロットを同じ tick 内で続けて振り直す
+     */
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < buckets.length && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int shift = SLOT_BITS * level;
+            Node sentinel = buckets[level][(int) ((currentTick >> shift) & SLOT_MASK)];
+            Node node = sentinel.next;
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+            while (node != sentinel) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                // 現在の tick が期限の要素は、この直後に処理する現在のスロットへ置く
+                link(node, currentTick);
+                node = next;
+            }
+        }
+    }
+
+    private void link(Node node, long minTick) {
+        long expireTick = Math.max(ceilDiv(node.deadline, tickSeconds), minTick);
+        long delta = expireTick - currentTick;
+        int level = 0;
+        while (level < buckets.length - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long levelTick;
+        if (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            // 最上位階層の範囲外は最も遠いスロットに置き、カスケード時に振り直す
+            levelTick = (currentTick >> (SLOT_BITS * level)) + SLOT_MASK;
+        } else {
+            levelTick = expireTick >> (SLOT_BITS * level);
+        }
+        Node sentinel = buckets[level][(int) (levelTick & SLOT_MASK)];
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private static void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * タイミングホイールに登録する要素の基底クラス
+     */
+    public static class Node {
+
+        private Node prev;
+
+        private Node next;
+
+        private long deadline;
+
+        /**
+         * タイミングホイールに登録されているかを判定する
+         *
+         * @return 登録されている場合 true
+         */
+        public boolean isScheduled() {
+            return next != null;
+        }
+
+        /**
+         * 期限を取得する
+         *
+         * @return 期限（エポック秒）
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.inventory.inventory_management.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 文字列用のブルームフィルタ
+ * 「確実に存在しない」ことを高速に判定するために使用する（偽陰性はなく、偽陽性のみ発生する）。
+ * <p>
+ * ビット列は long 配列で保持し、FNV-1a と混合関数による 2 つのハッシュから
+ * ダブルハッシングで k 個の位置を求める。スレッドセーフではないため、呼び出し側で排他すること。
+ * 想定件数を超えて登録すると偽陽性率が上がるため、{@link #isSaturated()} で判定して作り直すこと。
+ * </p>
+ */
+public class StringBloomFilter {
+
+    private final long[] bits;
+
+    private final long bitSize;
+
+    private final int hashCount;
+
+    private final int expectedInsertions;
+
+    /** 登録回数（同じ値の重複登録も数える） */
+    private long insertions;
+
+    /**
+     * コンストラクタ
+     *
+     * @param expectedInsertions 想定する登録件数
+     * @param falsePositiveRate  想定件数登録時の偽陽性率（0 より大きく 1 未満）
+     */
+    public StringBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions は 1 以上を指定してください");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate は 0 より大きく 1 未満を指定してください");
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+        this.bitSize = (long) bits.length * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * 値を登録する
+     *
+     * @param value 登録する文字列
+     */
+    public void put(String value) {
+        long h1 = fnv1a(value);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        insertions++;
+    }
+
+    /**
+     * 値が登録されている可能性があるかを判定する
+     *
+     * @param value 判定する文字列
+     * @return 登録されている可能性がある場合 true、確実に未登録の場合 false
+     */
+    public boolean mightContain(String value) {
+        long h1 = fnv1a(value);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 登録回数が想定件数を超えたか（偽陽性率が設計値を上回っている可能性がある）を判定する
+     *
+     * @return 想定件数を超えた場合 true
+     */
+    public boolean isSaturated() {
+        return insertions > expectedInsertions;
+    }
+
+    /**
+     * 登録回数を返す
+     *
+     * @return 登録回数
+     */
+    public long getInsertions() {
+        return insertions;
+    }
+
+    /**
+     * ビット列のサイズ（ビット数）を返す
+     *
+     * @return ビット数
+     */
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    /**
+     * 1 値あたりのハッシュ関数の数を返す
+     *
+     * @return ハッシュ関数の数
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
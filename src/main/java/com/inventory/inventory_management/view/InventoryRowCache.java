@@ -0,0 +1,233 @@
+package com.inventory.inventory_management.view;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.inventory.inventory_management.entity.Product;
+
+import jakarta.servlet.ServletContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 在庫一覧の商品行（HTML 断片）のキャッシュ
+ * inventory.html・admin/inventory.html は商品行をこのクラスで 1 行ずつ取得し、ページを組み立てます。
+ * <p>
+ * 行は fragments/inventory-rows.html の断片を Thymeleaf で描画したもので、(画面, 商品 ID, ロケール) ごとに保持します。
+ * 画面は閲覧するロールに対応します（一般ユーザー用 / 管理者用）。
+ * 格納時の商品の状態（更新日時と、行に表示する各項目）が現在の商品と一致する間は描画済みの行を再利用し、
+ * 一致しない場合は描画し直します。products.updated_at は秒精度のため、同じ秒のうちに続けて在庫を更新した場合も
+ * 在庫数などの表示項目で変更を検出します。
+ * </p>
+ * <p>
+ * 件数上限（LRU で追い出し）付きです。上限に 0 以下を指定するとキャッシュせず、毎回描画します（全体描画との比較用）。
+ * </p>
+ */
+@Slf4j
+@Component
+public class InventoryRowCache {
+
+    /** 行の断片を定義するテンプレート */
+    static final String TEMPLATE = "fragments/inventory-rows";
+
+    /**
+     * 在庫一覧の画面（閲覧するロール）
+     */
+    public enum View {
+        /** 一般ユーザー用在庫一覧 */
+        USER("userRow"),
+        /** 管理者用在庫一覧 */
+        ADMIN("adminRow");
+
+        private final String fragment;
+
+        View(String fragment) {
+            this.fragment = fragment;
+        }
+    }
+
+    private final ITemplateEngine templateEngine;
+
+    private final JakartaServletWebApplication webApplication;
+
+    private final int maxSize;
+
+    /** アクセス順の LinkedHashMap（上限超過時は最も古いエントリを破棄） */
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleRenders = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param templateEngine テンプレートエンジン
+     * @param servletContext サーブレットコンテキスト（行内のリンク URL の生成に使用）
+     * @param maxSize        キャッシュする行数の上限（0 以下の場合はキャッシュしない）
+     */
+    public InventoryRowCache(ITemplateEngine templateEngine, ServletContext servletContext,
+            @Value("${inventory.row-cache.max-size:10000}") int maxSize) {
+        this.templateEngine = templateEngine;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > InventoryRowCache.this.maxSize;
+            }
+        };
+        log.info("在庫一覧行キャッシュ初期化: maxSize={}", maxSize);
+    }
+
+    /**
+     * 商品行の HTML を取得する（テンプレートから呼び出す）
+     *
+     * @param product 商品
+     * @param view    画面（USER / ADMIN）
+     * @return 商品行の HTML
+     */
+    public String render(Product product, String view) {
+        return render(product, View.valueOf(view));
+    }
+
+    /**
+     * 商品行の HTML を取得する
+     * 格納時から商品が変更されていなければ描画済みの行を返し、変更されていれば描画し直して格納する
+     *
+     * @param product 商品
+     * @param view    画面
+     * @return 商品行の HTML
+     */
+    public String render(Product product, View view) {
+        Locale locale = LocaleContextHolder.getLocale();
+        if (maxSize <= 0) {
+            misses.increment();
+            return renderRow(product, view, locale);
+        }
+
+        Key key = new Key(view, product.getId(), locale);
+        RowState state = RowState.of(product);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.state().equals(state)) {
+            hits.increment();
+            return entry.html();
+        }
+        if (entry != null) {
+            staleRenders.increment();
+        } else {
+            misses.increment();
+        }
+
+        String html = renderRow(product, view, locale);
+        synchronized (entries) {
+            entries.put(key, new Entry(state, html));
+        }
+        return html;
+    }
+
+    /**
+     * キャッシュの利用状況を取得する
+     *
+     * @return 利用状況のスナップショット
+     */
+    public Stats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long renders = misses.sum() + staleRenders.sum();
+        long lookups = hitCount + renders;
+        return new Stats(size, maxSize, hitCount, misses.sum(), staleRenders.sum(),
+                lookups == 0 ? 0 : (double) hitCount / lookups,
+                renders == 0 ? 0 : renderNanos.sum() / renders / 1_000.0);
+    }
+
+    private String renderRow(Product product, View view, Locale locale) {
+        long start = System.nanoTime();
+        IContext context = createContext(product, locale);
+        String html = templateEngine.process(TEMPLATE, Set.of(view.fragment), context);
+        renderNanos.add(System.nanoTime() - start);
+        return html;
+    }
+
+    /**
+     * 描画用のコンテキストを作成する
+     * リクエスト処理中は行内のリンク（@{...}）にコンテキストパスを付けるため、現在のリクエストを使う
+     */
+    private IContext createContext(Product product, Locale locale) {
+        Map<String, Object> variables = Map.of("product", product);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet && servlet.getResponse() != null) {
+            return new WebContext(webApplication.buildExchange(servlet.getRequest(), servlet.getResponse()),
+                    locale, variables);
+        }
+        return new Context(locale, variables);
+    }
+
+    /**
+     * キャッシュのキー
+     */
+    private record Key(View view, Integer productId, Locale locale) {
+    }
+
+    /**
+     * 行に表示する商品の状態
+     * fragments/inventory-rows.html の行で参照する項目を追加した場合は、ここにも追加すること
+     */
+    private record RowState(String productCode, String productName, String category, BigDecimal price,
+            Integer stock, String status, LocalDateTime updatedAt, LocalDateTime deletedAt) {
+
+        static RowState of(Product product) {
+            // 価格は scale を揃えて比較する（100 と 100.00 は同じ表示）
+            BigDecimal price = product.getPrice() != null ? product.getPrice().stripTrailingZeros() : null;
+            return new RowState(product.getProductCode(), product.getProductName(), product.getCategory(),
+                    price, product.getStock(), product.getStatus(), product.getUpdatedAt(),
+                    product.getDeletedAt());
+        }
+    }
+
+    /**
+     * キャッシュエントリ（格納時の商品の状態と描画済みの行）
+     */
+    private record Entry(RowState state, String html) {
+    }
+
+    /**
+     * 在庫一覧行キャッシュの利用状況
+     *
+     * @param size                現在の行数
+     * @param maxSize             行数の上限
+     * @param hits                描画済みの行を再利用した件数
+     * @param misses              未格納のため描画した件数
+     * @param staleRenders        商品の変更を検出して描画し直した件数
+     * @param hitRatio            ヒット率（ヒット件数 / 参照件数）
+     * @param averageRenderMicros 1 行の平均描画時間（マイクロ秒）
+     */
+    public record Stats(int size, int maxSize, long hits, long misses, long staleRenders, double hitRatio,
+            double averageRenderMicros) {
+    }
+}
@@ -10259,3 +10259,14 @@ INSERT INTO stock_transactions (product_id, transaction_type, quantity, before_s
 -- Headphones (product_code: '5C94FGTQ') の在庫履歴
 ((SELECT id FROM products WHERE product_code = '5C94FGTQ'), 'in', 30, 0, 30, 'adminuser', '2023-03-20 11:30:00', '初期在庫入庫'),
 ((SELECT id FROM products WHERE product_code = '5C94FGTQ'), 'out', 11, 30, 19, 'adminuser', '2023-09-10 13:20:00', '販売による出庫');
+
+-- 主キー採番テーブルの初期化（既存データの最大 ID の次から採番する。起動のたびに不足している場合のみ引き上げる）
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'products' AS sequence_name, COALESCE(MAX(id), 0) AS next_val FROM products) AS src
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, src.next_val);
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'stock_transactions' AS sequence_name, COALESCE(MAX(id), 0) AS next_val FROM stock_transactions) AS src
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, src.next_val);
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT * FROM (SELECT 'users' AS sequence_name, COALESCE(MAX(id), 0) AS next_val FROM users) AS src
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generators.next_val, src.next_val);
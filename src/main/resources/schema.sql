@@ -105,6 +105,51 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 棚卸ステージングテーブル（棚卸CSVの取り込み用、処理完了時に run_id 単位で削除）
+CREATE TABLE IF NOT EXISTS stock_take_staging (
+    run_id VARCHAR(36) NOT NULL,
+    line_number INT NOT NULL,
+    product_code VARCHAR(8) NOT NULL,
+    counted_qty INTEGER NOT NULL,
+    PRIMARY KEY (run_id, line_number),
+    CHECK (counted_qty >= 0)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 主キー採番テーブル（products / stock_transactions / users の @TableGenerator と JDBC 一括登録で共有）
+-- next_val は割り当て済みの最後の ID。初期値は data.sql の末尾で既存データの最大 ID に合わせる
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 商品カタログの変更カウンタ（1 行のみ。商品・在庫の変更のコミット後に加算し、全ノードの ETag に反映する）
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id INT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ログイン試行回数テーブル（複数ノードでログイン失敗回数を共有する。security.login-attempt.store=jdbc の場合に使用）
+-- scope は username / ip、last_attempt_at はエポック秒。attempts = 0 はログイン成功によるリセットを表す
+CREATE TABLE IF NOT EXISTS login_attempts (
+    scope VARCHAR(16) NOT NULL,
+    attempt_key VARCHAR(255) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_attempt_at BIGINT NOT NULL,
+    PRIMARY KEY (scope, attempt_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- セッションテーブル（複数ノードで HTTP セッションを共有する。security.session.store=jdbc の場合に使用）
+-- 時刻はエポックミリ秒、max_inactive_interval は秒。attributes は全属性をまとめてシリアライズし Deflate 圧縮した値
+CREATE TABLE IF NOT EXISTS sessions (
+    session_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    principal_name VARCHAR(100) NULL,
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    attributes MEDIUMBLOB NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- インデックス作成
 -- products テーブル
 CREATE INDEX IF NOT EXISTS idx_products_category ON products(category);
@@ -115,6 +160,9 @@ CREATE INDEX IF NOT EXISTS idx_products_deleted ON products(deleted_at);
 CREATE INDEX IF NOT EXISTS idx_stock_trans_date ON stock_transactions(transaction_date);
 CREATE INDEX IF NOT EXISTS idx_stock_trans_type ON stock_transactions(transaction_type);
 
+-- stock_take_staging テーブル
+CREATE INDEX IF NOT EXISTS idx_stock_take_staging_code ON stock_take_staging(run_id, product_code);
+
 -- users テーブル
 CREATE INDEX IF NOT EXISTS idx_users_active ON users(is_active);
 
@@ -122,6 +170,13 @@ CREATE INDEX IF NOT EXISTS idx_users_active ON users(is_active);
 CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles(user_id);
 CREATE INDEX IF NOT EXISTS idx_user_roles_role ON user_roles(role_id);
 
+-- login_attempts テーブル
+CREATE INDEX IF NOT EXISTS idx_login_attempts_last ON login_attempts(last_attempt_at);
+
+-- sessions テーブル
+CREATE INDEX IF NOT EXISTS idx_sessions_principal ON sessions(principal_name);
+CREATE INDEX IF NOT EXISTS idx_sessions_expiry ON sessions(expiry_time);
+
 -- audit_logs テーブル
 CREATE INDEX IF NOT EXISTS idx_audit_action ON audit_logs(action_type);
 CREATE INDEX IF NOT EXISTS idx_audit_table ON audit_logs(table_name);
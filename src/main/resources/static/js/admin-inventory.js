@@ -101,8 +101,192 @@ document.addEventListener('DOMContentLoaded', function() {
             deleteButton.addEventListener('click', confirmDelete);
         }
     }
+
+    // 在庫一覧の自動更新（在庫変更の配信を購読し、配信されない変更は定期的に取得する）
+    startStockStream();
+    startInventoryAutoRefresh();
 });
 
+// 在庫一覧の自動更新の間隔（ミリ秒）
+const INVENTORY_REFRESH_INTERVAL = 30000;
+
+// 在庫一覧 API の前回の ETag
+let inventoryEtag = null;
+
+/**
+ * 在庫一覧の自動更新を開始
+ * 画面の表示中は一定間隔で在庫一覧 API（画面と同じ検索条件）を取得し、表示中の行をその場で更新する。
+ * API は商品・在庫が変わっていなければ 304 を返すため、変更がない間は通信量がほとんどない。
+ * 在庫変更の配信を受信中も取得する（棚卸・CSV 取込・商品の編集や削除など、配信されない変更を反映するため）。
+ * 行の追加・削除（検索条件に新たに一致した商品など）は反映しないため、ページを再読み込みすること。
+ */
+function startInventoryAutoRefresh() {
+    if (!document.querySelector('tr[data-product-id]')) {
+        return;
+    }
+
+    setInterval(function() {
+        if (document.visibilityState === 'visible') {
+            refreshInventoryRows();
+        }
+    }, INVENTORY_REFRESH_INTERVAL);
+
+    // 別のタブから戻ったときはすぐに更新する
+    document.addEventListener('visibilitychange', function() {
+        if (document.visibilityState === 'visible') {
+            refreshInventoryRows();
+        }
+    });
+}
+
+/**
+ * 在庫変更の配信を購読
+ * 他のユーザーが在庫を更新すると、表示中の行の在庫数・在庫状態と在庫不足アラートの件数をその場で更新する。
+ * 接続が切れた場合はブラウザが自動で再接続し、再接続時は切断中の変更を反映するため在庫一覧 API で取得し直す。
+ */
+function startStockStream() {
+    if (!window.EventSource || !document.querySelector('tr[data-product-id]')) {
+        return;
+    }
+
+    const stockStream = new EventSource('/admin/api/inventory/stream');
+    let connected = false;
+
+    stockStream.addEventListener('open', function() {
+        if (connected) {
+            refreshInventoryRows();
+        }
+        connected = true;
+    });
+
+    stockStream.addEventListener('stock', function(event) {
+        const change = JSON.parse(event.data);
+        const row = document.querySelector('tr[data-product-id="' + change.productId + '"]');
+        if (row) {
+            applyStock(row, change.stock);
+        }
+        if (change.level !== change.previousLevel) {
+            adjustStockAlertCount(change.previousLevel, -1);
+            adjustStockAlertCount(change.level, 1);
+        }
+    });
+
+    // 未送信の変更が溜まりすぎて破棄された場合は取得し直す
+    stockStream.addEventListener('resync', function() {
+        refreshInventoryRows();
+    });
+}
+
+/**
+ * 在庫不足アラートの件数を増減
+ * @param {string} level 在庫状態（out / low / ok）
+ * @param {number} delta 増減
+ */
+function adjustStockAlertCount(level, delta) {
+    const id = level === 'out' ? 'outOfStockCount' : level === 'low' ? 'lowStockCount' : null;
+    const counter = id ? document.getElementById(id) : null;
+    if (counter) {
+        counter.textContent = Math.max(0, parseInt(counter.textContent, 10) + delta);
+    }
+}
+
+/**
+ * 在庫一覧 API を取得して行を更新
+ * ETag が前回と同じ（ブラウザのキャッシュで 304 を受け取った）場合は何もしない
+ */
+async function refreshInventoryRows() {
+    try {
+        const response = await fetch('/admin/api/inventory/products' + window.location.search, {
+            headers: { 'Accept': 'application/json' }
+        });
+        const etag = response.headers.get('ETag');
+        if (!response.ok || (etag && etag === inventoryEtag)) {
+            return;
+        }
+        inventoryEtag = etag;
+
+        const data = await response.json();
+        if (!data.success) {
+            return;
+        }
+        data.items.forEach(item => {
+            const row = document.querySelector('tr[data-product-id="' + item.id + '"]');
+            if (row) {
+                updateInventoryRow(row, item);
+            }
+        });
+    } catch (error) {
+        console.error('在庫一覧の自動更新に失敗しました:', error);
+    }
+}
+
+/**
+ * 行の在庫数・ステータス・更新日を API の商品で更新
+ * @param {HTMLElement} row 商品行
+ * @param {Object} item 在庫一覧 API の商品
+ */
+function updateInventoryRow(row, item) {
+    applyStock(row, item.stock);
+
+    const statusCell = row.querySelector('[data-field="status"]');
+    if (statusCell) {
+        statusCell.innerHTML = item.status === 'active'
+            ? '<span class="badge badge-status-active">販売中</span>'
+            : item.status === 'inactive'
+                ? '<span class="badge badge-status-inactive">販売停止</span>'
+                : '';
+    }
+
+    const updatedCell = row.querySelector('[data-field="updated"]');
+    if (updatedCell && item.updatedAt) {
+        updatedCell.textContent = item.updatedAt.substring(0, 16).replace('T', ' ');
+    }
+}
+
+/**
+ * 行の在庫数リンクと在庫編集ボタンの在庫数を更新
+ * @param {HTMLElement} row 商品行
+ * @param {number} stock 在庫数
+ */
+function applyStock(row, stock) {
+    const stockLink = row.querySelector('[data-field="stock"] a.stock-link');
+    if (stockLink && stockLink.getAttribute('data-current-stock') !== String(stock)) {
+        renderStockLink(stockLink, stock);
+    }
+    row.querySelectorAll('.stock-modal-trigger').forEach(trigger => {
+        trigger.setAttribute('data-current-stock', stock);
+    });
+}
+
+/**
+ * 在庫数リンクの表示（在庫状態のクラス・アイコン・数値）を更新
+ * @param {HTMLElement} stockLink 在庫数リンク
+ * @param {number} stock 在庫数
+ */
+function renderStockLink(stockLink, stock) {
+    stockLink.setAttribute('data-current-stock', stock);
+
+    // ステータスクラスを更新
+    stockLink.className = 'text-decoration-underline stock-link stock-modal-trigger';
+    if (stock === 0) {
+        stockLink.classList.add('stock-danger');
+    } else if (stock <= 20) {
+        stockLink.classList.add('stock-warning');
+    } else {
+        stockLink.classList.add('stock-ok');
+    }
+
+    // 内容を更新（アイコンと数値）
+    let content = '';
+    if (stock === 0) {
+        content += '<i class="bi bi-x-circle-fill"></i> ';
+    } else if (stock <= 20) {
+        content += '<i class="bi bi-exclamation-triangle-fill"></i> ';
+    }
+    content += '<span>' + stock + '</span>';
+    stockLink.innerHTML = content;
+}
+
 /**
  * 在庫編集モーダルを開く
  * @param {HTMLElement} button クリックされたボタン要素
@@ -241,27 +425,7 @@ async function submitStockUpdate() {
             // 【DOM更新】ページ上の在庫数表示を更新（リロードなし）
             const stockLink = document.querySelector('a.stock-link[data-product-id="' + currentProductId + '"]');
             if (stockLink) {
-                stockLink.setAttribute('data-current-stock', data.product.stock);
-                
-                // ステータスクラスを更新
-                stockLink.className = 'text-decoration-underline stock-link';
-                if (data.product.stock === 0) {
-                    stockLink.classList.add('stock-danger');
-                } else if (data.product.stock <= 20) {
-                    stockLink.classList.add('stock-warning');
-                } else {
-                    stockLink.classList.add('stock-ok');
-                }
-                
-                // 内容を更新（アイコンと数値）
-                let content = '';
-                if (data.product.stock === 0) {
-                    content += '<i class="bi bi-x-circle-fill"></i> ';
-                } else if (data.product.stock <= 20) {
-                    content += '<i class="bi bi-exclamation-triangle-fill"></i> ';
-                }
-                content += '<span>' + data.product.stock + '</span>';
-                stockLink.innerHTML = content;
+                renderStockLink(stockLink, data.product.stock);
             }
             
             // ボタンを再有効化
@@ -184,3 +184,83 @@ document.addEventListener('DOMContentLoaded', function() {
         });
     });
 });
+
+/**
+ * 在庫一覧の自動更新
+ * 画面の表示中は一定間隔で在庫一覧 API（画面と同じ検索条件）を取得し、表示中の行の在庫数・ステータス・更新日を
+ * その場で更新する。API は商品・在庫が変わっていなければ 304 を返すため、変更がない間は通信量がほとんどない。
+ * 行の追加・削除（検索条件に新たに一致した商品など）は反映しないため、ページを再読み込みすること。
+ */
+document.addEventListener('DOMContentLoaded', function() {
+    if (!document.querySelector('tr.product-row[data-product-id]')) {
+        return;
+    }
+
+    // 自動更新の間隔（ミリ秒）
+    const REFRESH_INTERVAL = 30000;
+    const apiUrl = '/api/inventory/products' + window.location.search;
+    let lastEtag = null;
+
+    /**
+     * 行の表示を API の商品で更新する
+     */
+    function updateRow(row, item) {
+        const stockLink = row.querySelector('[data-field="stock"] a.stock-link');
+        if (stockLink && stockLink.getAttribute('data-current-stock') !== String(item.stock)) {
+            stockLink.textContent = item.stock;
+            stockLink.setAttribute('data-current-stock', item.stock);
+        }
+
+        const statusBadge = row.querySelector('[data-field="status"] .badge');
+        if (statusBadge) {
+            statusBadge.className = 'badge badge-status-' + item.status;
+            statusBadge.textContent = item.status === 'active' ? '販売中' : '販売停止';
+        }
+
+        const updatedCell = row.querySelector('[data-field="updated"]');
+        if (updatedCell && item.updatedAt) {
+            updatedCell.textContent = item.updatedAt.substring(0, 10);
+        }
+    }
+
+    /**
+     * 在庫一覧 API を取得して行を更新する
+     * ETag が前回と同じ（ブラウザのキャッシュで 304 を受け取った）場合は何もしない
+     */
+    function refresh() {
+        fetch(apiUrl, { headers: { 'Accept': 'application/json' } })
+            .then(response => {
+                const etag = response.headers.get('ETag');
+                if (!response.ok || (etag && etag === lastEtag)) {
+                    return null;
+                }
+                lastEtag = etag;
+                return response.json();
+            })
+            .then(data => {
+                if (!data || !data.success) {
+                    return;
+                }
+                data.items.forEach(item => {
+                    const row = document.querySelector('tr.product-row[data-product-id="' + item.id + '"]');
+                    if (row) {
+                        updateRow(row, item);
+                    }
+                });
+            })
+            .catch(error => console.error('在庫一覧の自動更新に失敗しました:', error));
+    }
+
+    setInterval(function() {
+        if (document.visibilityState === 'visible') {
+            refresh();
+        }
+    }, REFRESH_INTERVAL);
+
+    // 別のタブから戻ったときはすぐに更新する
+    document.addEventListener('visibilitychange', function() {
+        if (document.visibilityState === 'visible') {
+            refresh();
+        }
+    });
+});
@@ -0,0 +1,217 @@
+package com.inventory.inventory_management.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.inventory.inventory_management.audit.AuditLogWriter.OverflowPolicy;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * AuditLogWriterのテストクラス
+ */
+@DisplayName("AuditLogWriterのテスト")
+class AuditLogWriterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneId.of("Asia/Tokyo"));
+
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_logs (
+                    id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                    action_type VARCHAR(50) NOT NULL,
+                    table_name VARCHAR(50) NOT NULL,
+                    record_id VARCHAR(50) NOT NULL,
+                    user_id INT NULL,
+                    username VARCHAR(50) NOT NULL,
+                    old_value TEXT NULL,
+                    new_value TEXT NULL,
+                    ip_address VARCHAR(45) NULL,
+                    user_agent TEXT NULL,
+                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.destroy();
+        }
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("キューのログを batch-size ずつ複数行 INSERT で書き込む")
+    void testFlushWritesMultiRowBatches() {
+        writer = writer(100, 3, OverflowPolicy.BLOCK);
+        for (int i = 1; i <= 5; i++) {
+            writer.record("CREATE", "products", i, null, Map.of("productName", "商品" + i));
+        }
+
+        assertThat(writer.flush()).isEqualTo(3);
+        assertThat(writer.flush()).isEqualTo(2);
+        assertThat(writer.flush()).isZero();
+
+        assertThat(count()).isEqualTo(5);
+        AuditLogWriter.Stats stats = writer.getStats();
+        assertThat(stats.written()).isEqualTo(5);
+        assertThat(stats.flushes()).isEqualTo(2);
+        assertThat(stats.queued()).isZero();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT username, old_value, new_value FROM audit_logs WHERE record_id = '1'");
+        assertThat(row.get("USERNAME")).isEqualTo("system");
+        assertThat(row.get("OLD_VALUE")).isNull();
+        assertThat((String) row.get("NEW_VALUE")).contains("\"productName\":\"商品1\"");
+    }
+
+    @Test
+    @DisplayName("更新は変更された項目のみ記録し、変更がなければ記録しない")
+    void testUpdateRecordsOnlyChangedFields() {
+        writer = writer(100, 10, OverflowPolicy.BLOCK);
+        Map<String, Object> before = new LinkedHashMap<>();
+        before.put("productName", "旧");
+        before.put("price", 100);
+        Map<String, Object> after = new LinkedHashMap<>(before);
+        after.put("price", 200);
+
+        writer.record("UPDATE", "products", 1, before, after);
+        writer.record("UPDATE", "products", 2, before, new LinkedHashMap<>(before));
+        writer.flush();
+
+        assertThat(count()).isEqualTo(1);
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT old_value, new_value FROM audit_logs");
+        assertThat(row.get("OLD_VALUE")).isEqualTo("{\"price\":100}");
+        assertThat(row.get("NEW_VALUE")).isEqualTo("{\"price\":200}");
+    }
+
+    @Test
+    @DisplayName("トランザクション内の記録はコミット後にキューへ積む")
+    void testRecordInTransactionEnqueuesAfterCommit() {
+        writer = writer(100, 10, OverflowPolicy.BLOCK);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.record("DELETE", "products", 1, Map.of("deletedAt", "-"), Map.of("deletedAt", "2026-01-01"));
+            assertThat(writer.getStats().queued()).isZero();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(writer.getStats().queued()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("drop-newest はキューが満杯の場合に新しいログを破棄する")
+    void testDropNewestDiscardsIncomingEvent() {
+        writer = writer(2, 10, OverflowPolicy.DROP_NEWEST);
+        for (int i = 1; i <= 3; i++) {
+            writer.record("CREATE", "products", i, null, Map.of("stock", i));
+        }
+        writer.flush();
+
+        assertThat(recordIds()).containsExactly("1", "2");
+        assertThat(writer.getStats().dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("drop-oldest はキューが満杯の場合に最も古いログを破棄する")
+    void testDropOldestDiscardsOldestEvent() {
+        writer = writer(2, 10, OverflowPolicy.DROP_OLDEST);
+        for (int i = 1; i <= 3; i++) {
+            writer.record("CREATE", "products", i, null, Map.of("stock", i));
+        }
+        writer.flush();
+
+        assertThat(recordIds()).containsExactly("2", "3");
+        assertThat(writer.getStats().dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("block は空きを待ち、タイムアウトした場合に破棄する")
+    void testBlockDiscardsAfterTimeout() {
+        writer = writer(1, 10, OverflowPolicy.BLOCK);
+        writer.record("CREATE", "products", 1, null, Map.of("stock", 1));
+
+        long start = System.nanoTime();
+        writer.record("CREATE", "products", 2, null, Map.of("stock", 2));
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(20_000_000L);
+        assertThat(writer.getStats().dropped()).isEqualTo(1);
+        assertThat(writer.getStats().queued()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("一括書き込みに失敗した場合は 1 件ずつ書き込み、不正な行のみ失敗とする")
+    void testFallsBackToSingleRowInsertsOnFailure() {
+        writer = writer(100, 10, OverflowPolicy.BLOCK);
+        writer.record("CREATE", "products", 1, null, Map.of("stock", 1));
+        writer.record("X".repeat(51), "products", 2, null, Map.of("stock", 2));
+        writer.record("CREATE", "products", 3, null, Map.of("stock", 3));
+        writer.flush();
+
+        assertThat(recordIds()).containsExactly("1", "3");
+        assertThat(writer.getStats().written()).isEqualTo(2);
+        assertThat(writer.getStats().failed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("終了時はキューに残ったログを書き切ってから停止する")
+    void testDestroyDrainsQueue() throws InterruptedException {
+        writer = new AuditLogWriter(jdbcTemplate, new JsonMapper(), CLOCK, 1000, 50, 60_000,
+                OverflowPolicy.BLOCK, 20, 10_000);
+        writer.afterPropertiesSet();
+        for (int i = 1; i <= 120; i++) {
+            writer.record("CREATE", "products", i, null, Map.of("stock", i));
+        }
+
+        writer.destroy();
+
+        assertThat(count()).isEqualTo(120);
+        writer.record("CREATE", "products", 121, null, Map.of("stock", 121));
+        assertThat(writer.getStats().dropped()).isEqualTo(1);
+        writer = null;
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+        // 書き込みスレッドは開始せず、flush() を直接呼び出して検証する
+        return new AuditLogWriter(jdbcTemplate, new JsonMapper(), CLOCK, capacity, batchSize, 60_000,
+                overflowPolicy, 20, 1_000);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+    }
+
+    private List<String> recordIds() {
+        return jdbcTemplate.queryForList("SELECT record_id FROM audit_logs ORDER BY id", String.class);
+    }
+}
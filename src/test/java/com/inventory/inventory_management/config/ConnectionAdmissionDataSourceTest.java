@@ -0,0 +1,108 @@
+package com.inventory.inventory_management.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+/**
+ * ConnectionAdmissionDataSourceのテスト
+ */
+@DisplayName("ConnectionAdmissionDataSourceのテスト")
+class ConnectionAdmissionDataSourceTest {
+
+    private DataSource pool;
+
+    private Connection target;
+
+    private ConnectionAdmissionDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        target = mock(Connection.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionAdmissionDataSource(pool, 1, 100);
+    }
+
+    @Test
+    @DisplayName("接続を保持していないスレッドの取得は上限までに制限する")
+    void getConnection_OuterOverLimit_TimesOut() throws Exception {
+        try (Connection held = dataSource.getConnection()) {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> CompletableFuture.supplyAsync(this::getConnectionUnchecked).get());
+
+            assertTrue(thrown.getCause().getCause() instanceof SQLTransientConnectionException);
+            assertEquals(1, dataSource.getStats().timeouts());
+        }
+    }
+
+    @Test
+    @DisplayName("接続を保持しているスレッドの入れ子の取得は制限しない")
+    void getConnection_Nested_NotLimited() throws SQLException {
+        try (Connection outer = dataSource.getConnection(); Connection nested = dataSource.getConnection()) {
+            ConnectionAdmissionDataSource.Stats stats = dataSource.getStats();
+            assertEquals(1, stats.outerConnections());
+            assertEquals(1, stats.outerAcquired());
+            assertEquals(1, stats.nestedAcquired());
+        }
+    }
+
+    @Test
+    @DisplayName("閉じた接続の枠は1回だけ返し、次の取得は外側の取得になる")
+    void close_ReleasesPermitOnce() throws SQLException {
+        when(pool.getConnection()).thenReturn(target);
+
+        Connection connection = dataSource.getConnection();
+        assertSame(target, ((ConnectionProxy) connection).getTargetConnection());
+        connection.close();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        verify(target, times(1)).close();
+        assertEquals(0, dataSource.getStats().outerConnections());
+
+        try (Connection next = dataSource.getConnection()) {
+            assertEquals(2, dataSource.getStats().outerAcquired());
+            assertEquals(0, dataSource.getStats().nestedAcquired());
+        }
+    }
+
+    @Test
+    @DisplayName("接続プールからの取得に失敗した場合は枠を返す")
+    void getConnection_PoolFailure_ReleasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("接続エラー")).thenReturn(target);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.getStats().outerConnections());
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(1, dataSource.getStats().outerConnections());
+        }
+    }
+
+    private Connection getConnectionUnchecked() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.inventory.inventory_management.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inventory.inventory_management.dto.response.ApiErrorResponse;
+import com.inventory.inventory_management.dto.response.InventoryItemsResponse;
+import com.inventory.inventory_management.dto.response.ProductActionResponse;
+import com.inventory.inventory_management.dto.response.ProductSummaryDto;
+import com.inventory.inventory_management.dto.response.StockHistoryBatchResponse;
+import com.inventory.inventory_management.dto.response.StockHistoryResponse;
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JsonSerializerPreloaderのテスト
+ */
+@DisplayName("JsonSerializerPreloaderのテスト")
+class JsonSerializerPreloaderTest {
+
+    @Test
+    @DisplayName("在庫APIのレスポンスの型をすべて対象にする")
+    void preloadedTypes_ContainsAllResponses() {
+        List<Class<?>> types = JsonSerializerPreloader.preloadedTypes();
+
+        assertEquals(5, types.size());
+        assertTrue(types.containsAll(List.of(ApiErrorResponse.class, InventoryItemsResponse.class,
+                ProductActionResponse.class, StockHistoryBatchResponse.class, StockHistoryResponse.class)));
+    }
+
+    @Test
+    @DisplayName("事前解決後もレスポンスの JSON の形は変わらない")
+    void afterSingletonsInstantiated_KeepsJsonShape() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        new JsonSerializerPreloader(jsonMapper).afterSingletonsInstantiated();
+
+        String error = jsonMapper.writeValueAsString(ApiErrorResponse.of("在庫不足"));
+        String items = jsonMapper.writeValueAsString(InventoryItemsResponse.of("v1", List.of(), null));
+        String history = jsonMapper.writeValueAsString(StockHistoryResponse.of(
+                new ProductSummaryDto(1, "商品A", 20),
+                List.of(new StockTransactionDto(1, 1, "in", 5, 15, 20, "adminuser",
+                        LocalDateTime.of(2026, 1, 2, 3, 4, 5), null))));
+
+        assertEquals("{\"success\":false,\"message\":\"在庫不足\"}", error);
+        assertEquals("{\"success\":true,\"version\":\"v1\",\"items\":[],\"nextCursor\":null}", items);
+        assertTrue(history.contains("\"product\":{\"id\":1,\"productName\":\"商品A\",\"stock\":20}"), history);
+        assertTrue(history.contains("\"transactionDate\":\"2026-01-02T03:04:05\""), history);
+        assertTrue(history.endsWith("\"totalCount\":1}"), history);
+    }
+}
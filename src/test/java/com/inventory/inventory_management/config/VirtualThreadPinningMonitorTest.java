@@ -0,0 +1,105 @@
+package com.inventory.inventory_management.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+/**
+ * VirtualThreadPinningMonitorのテスト
+ */
+@DisplayName("VirtualThreadPinningMonitorのテスト")
+class VirtualThreadPinningMonitorTest {
+
+    private static final long WAIT_MILLIS = 10000;
+
+    private final Object monitorLock = new Object();
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("固定の件数・時間を箇所ごとに集計する")
+    void record_CountsBySite() {
+        monitor = new VirtualThreadPinningMonitor(20);
+
+        monitor.record("com.inventory.A.run:10", Duration.ofMillis(30), "vt-1");
+        monitor.record("com.inventory.A.run:10", Duration.ofMillis(50), "vt-2");
+        monitor.record("com.inventory.B.run:20", Duration.ofMillis(25), "vt-3");
+
+        VirtualThreadPinningMonitor.Stats stats = monitor.getStats();
+        assertEquals(3, stats.pinned());
+        assertEquals(105, stats.totalPinnedMillis());
+        assertEquals(50, stats.maxPinnedMillis());
+        assertEquals(2L, stats.sites().get("com.inventory.A.run:10"));
+        assertEquals(1L, stats.sites().get("com.inventory.B.run:20"));
+    }
+
+    @Test
+    @DisplayName("箇所数が上限に達した後の固定は件数のみ数える")
+    void record_OverMaxSites_CountsOnly() {
+        monitor = new VirtualThreadPinningMonitor(20);
+
+        for (int i = 0; i <= VirtualThreadPinningMonitor.MAX_SITES; i++) {
+            monitor.record("com.inventory.A.run:" + i, Duration.ofMillis(30), "vt");
+        }
+
+        VirtualThreadPinningMonitor.Stats stats = monitor.getStats();
+        assertEquals(VirtualThreadPinningMonitor.MAX_SITES + 1, stats.pinned());
+        assertEquals(VirtualThreadPinningMonitor.MAX_SITES, stats.sites().size());
+    }
+
+    @Test
+    @DisplayName("下限が負の場合はIllegalArgumentException")
+    void constructor_NegativeThreshold_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new VirtualThreadPinningMonitor(-1));
+    }
+
+    /**
+     * synchronized ブロック内で待った仮想スレッドを、このクラスのフレームの箇所として検出することを検証
+     * （JDK 24 以降は synchronized で固定しないため対象外）
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_23)
+    @DisplayName("synchronized内で待った仮想スレッドの固定を検出する")
+    void afterPropertiesSet_PinnedInSynchronized_Detected() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(10);
+        monitor.afterPropertiesSet();
+
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (monitor.getStats().pinned() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.ofVirtual().start(this::sleepInSynchronized).join();
+            Thread.sleep(200);
+        }
+
+        VirtualThreadPinningMonitor.Stats stats = monitor.getStats();
+        assertTrue(stats.pinned() > 0, "固定が検出されること");
+        assertTrue(stats.sites().keySet().stream()
+                .anyMatch(site -> site.startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepInSynchronized:")),
+                () -> "検出した箇所: " + stats.sites());
+    }
+
+    private void sleepInSynchronized() {
+        synchronized (monitorLock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
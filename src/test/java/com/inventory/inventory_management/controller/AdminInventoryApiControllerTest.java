@@ -6,10 +6,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
@@ -18,13 +19,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.inventory.inventory_management.dto.request.SearchCriteriaDto;
 import com.inventory.inventory_management.dto.request.UpdateStockRequest;
+import com.inventory.inventory_management.dto.response.ApiErrorResponse;
+import com.inventory.inventory_management.dto.response.InventoryApiResponse;
+import com.inventory.inventory_management.dto.response.InventoryItemDto;
+import com.inventory.inventory_management.dto.response.InventoryItemsResponse;
+import com.inventory.inventory_management.dto.response.ProductActionResponse;
+import com.inventory.inventory_management.dto.response.ProductStockHistoryDto;
+import com.inventory.inventory_management.dto.response.ProductSummaryDto;
+import com.inventory.inventory_management.dto.response.StockHistoryBatchResponse;
+import com.inventory.inventory_management.dto.response.StockHistoryResponse;
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
 import com.inventory.inventory_management.entity.Product;
-import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.service.AdminInventoryService;
+import com.inventory.inventory_management.service.CatalogVersion;
+import com.inventory.inventory_management.service.InventoryItemService;
+import com.inventory.inventory_management.view.InventoryRowCache;
 
 /**
  * AdminInventoryApiControllerのユニットテスト
@@ -37,6 +55,15 @@ class AdminInventoryApiControllerTest {
     @Mock
     private AdminInventoryService adminInventoryService;
 
+    @Mock
+    private InventoryItemService inventoryItemService;
+
+    @Mock
+    private InventoryRowCache inventoryRowCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private AdminInventoryApiController adminInventoryApiController;
 
@@ -55,11 +82,11 @@ class AdminInventoryApiControllerTest {
 
         when(adminInventoryService.updateStock(1, "in", 5, "入荷")).thenReturn(updated);
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.updateStock(request);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.updateStock(request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue((Boolean) response.getBody().get("success"));
-        assertEquals("5個の入庫が完了しました。", response.getBody().get("message"));
+        assertTrue(response.getBody().success());
+        assertEquals("5個の入庫が完了しました。", message(response));
     }
 
     /**
@@ -72,11 +99,11 @@ class AdminInventoryApiControllerTest {
         when(adminInventoryService.updateStock(anyInt(), any(), anyInt(), any()))
                 .thenThrow(new IllegalArgumentException("不正なリクエスト"));
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.updateStock(request);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.updateStock(request);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals(false, response.getBody().get("success"));
-        assertEquals("不正なリクエスト", response.getBody().get("message"));
+        assertEquals(false, response.getBody().success());
+        assertEquals("不正なリクエスト", message(response));
     }
 
     /**
@@ -89,11 +116,11 @@ class AdminInventoryApiControllerTest {
         when(adminInventoryService.updateStock(anyInt(), any(), anyInt(), any()))
                 .thenThrow(new IllegalStateException("在庫不足"));
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.updateStock(request);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.updateStock(request);
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
-        assertEquals(false, response.getBody().get("success"));
-        assertEquals("在庫不足", response.getBody().get("message"));
+        assertEquals(false, response.getBody().success());
+        assertEquals("在庫不足", message(response));
     }
 
     /**
@@ -104,10 +131,10 @@ class AdminInventoryApiControllerTest {
     void getStockHistory_ProductNotFound_ReturnsNotFound() {
         when(adminInventoryService.getProductById(10)).thenReturn(Optional.empty());
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.getStockHistory(10, 5);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.getStockHistory(10, 5, webRequest(null));
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        assertEquals(false, response.getBody().get("success"));
+        assertEquals(false, response.getBody().success());
     }
 
     /**
@@ -121,17 +148,141 @@ class AdminInventoryApiControllerTest {
         product.setProductName("商品A");
         product.setStock(20);
 
-        StockTransaction t1 = new StockTransaction();
-        StockTransaction t2 = new StockTransaction();
+        LocalDateTime now = LocalDateTime.now();
+        StockTransactionDto t1 = new StockTransactionDto(2, 1, "out", 3, 23, 20, "adminuser", now, null);
+        StockTransactionDto t2 = new StockTransactionDto(1, 1, "in", 5, 18, 23, "adminuser", now.minusHours(1), "入荷");
 
         when(adminInventoryService.getProductById(1)).thenReturn(Optional.of(product));
-        when(adminInventoryService.getStockTransactions(1, 2)).thenReturn(List.of(t1, t2));
+        when(adminInventoryService.getStockHistory(1, 2)).thenReturn(List.of(t1, t2));
+        when(catalogVersion.etag("history", "1:2")).thenReturn("\"history-v1-abc\"");
+
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.getStockHistory(1, 2, webRequest(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().success());
+        StockHistoryResponse body = (StockHistoryResponse) response.getBody();
+        assertEquals(2, body.totalCount());
+        assertEquals(List.of(t1, t2), body.transactions());
+        assertEquals("商品A", body.product().productName());
+        assertEquals(20, body.product().stock());
+        assertEquals("\"history-v1-abc\"", response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    /**
+     * If-None-Match が現在の ETag と一致する場合は検索を行わずに304を返すことを検証
+     */
+    @Test
+    @DisplayName("getStockHistory: ETag一致時は検索せずに304を返す")
+    void getStockHistory_EtagMatches_ReturnsNotModified() {
+        when(catalogVersion.etag("history", "1:2")).thenReturn("\"history-v1-abc\"");
+
+        ResponseEntity<InventoryApiResponse> response =
+                adminInventoryApiController.getStockHistory(1, 2, webRequest("\"history-v1-abc\""));
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.getStockHistory(1, 2);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"history-v1-abc\"", response.getHeaders().getETag());
+        verifyNoInteractions(adminInventoryService);
+    }
+
+    /**
+     * 複数商品の履歴取得が成功した場合に、商品ごとの履歴と ETag を返すことを検証
+     */
+    @Test
+    @DisplayName("getStockHistories: 成功時は200を返す")
+    void getStockHistories_Success_ReturnsOk() {
+        ProductStockHistoryDto history = new ProductStockHistoryDto(new ProductSummaryDto(1, "商品A", 20), List.of());
+        when(catalogVersion.requestEtag(eq("history-batch"), any())).thenReturn("\"history-batch-v1-abc\"");
+        when(adminInventoryService.getStockHistories(List.of(1, 2), 3))
+                .thenReturn(new AdminInventoryService.StockHistories(3, List.of(history), List.of(2)));
+
+        ResponseEntity<InventoryApiResponse> response =
+                adminInventoryApiController.getStockHistories(List.of(1, 2), 3, webRequest(null));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue((Boolean) response.getBody().get("success"));
-        assertEquals(2, response.getBody().get("totalCount"));
+        StockHistoryBatchResponse body = (StockHistoryBatchResponse) response.getBody();
+        assertEquals(List.of(history), body.histories());
+        assertEquals(List.of(2), body.notFoundProductIds());
+        assertEquals("\"history-batch-v1-abc\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * 複数商品の履歴取得で指定が不正な場合に400を返すことを検証
+     */
+    @Test
+    @DisplayName("getStockHistories: 不正引数時は400を返す")
+    void getStockHistories_IllegalArgument_ReturnsBadRequest() {
+        when(catalogVersion.requestEtag(eq("history-batch"), any())).thenReturn("\"history-batch-v1-abc\"");
+        when(adminInventoryService.getStockHistories(null, null))
+                .thenThrow(new IllegalArgumentException("商品IDは1～100件で指定してください"));
+
+        ResponseEntity<InventoryApiResponse> response =
+                adminInventoryApiController.getStockHistories(null, null, webRequest(null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("商品IDは1～100件で指定してください", message(response));
+    }
+
+    /**
+     * 在庫一覧の取得が成功した場合に、商品・次のカーソル・版と ETag を返すことを検証
+     */
+    @Test
+    @DisplayName("getProducts: 成功時は200を返す")
+    void getProducts_Success_ReturnsOk() {
+        SearchCriteriaDto criteria = new SearchCriteriaDto();
+        criteria.setSort("stock_desc");
+        criteria.setIncludeDeleted(true);
+        InventoryItemDto item = new InventoryItemDto(1, "PRD001", "商品A", "Electronics", null, 20, "active", null, null);
+
+        when(catalogVersion.requestEtag(eq("admin-products"), any())).thenReturn("\"admin-products-v1-abc\"");
+        when(catalogVersion.getVersion()).thenReturn("v1");
+        when(inventoryItemService.findItems(null, null, null, null, "stock_desc", true, 0, "c1", 10))
+                .thenReturn(new InventoryItemService.InventoryItems(List.of(item), "c2"));
+
+        ResponseEntity<InventoryApiResponse> response =
+                adminInventoryApiController.getProducts(criteria, "c1", 10, webRequest(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().success());
+        InventoryItemsResponse body = (InventoryItemsResponse) response.getBody();
+        assertEquals(List.of(item), body.items());
+        assertEquals("c2", body.nextCursor());
+        assertEquals("v1", body.version());
+        assertEquals("\"admin-products-v1-abc\"", response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    /**
+     * If-None-Match が現在の ETag と一致する場合は検索を行わずに304を返すことを検証
+     */
+    @Test
+    @DisplayName("getProducts: ETag一致時は検索せずに304を返す")
+    void getProducts_EtagMatches_ReturnsNotModified() {
+        when(catalogVersion.requestEtag(eq("admin-products"), any())).thenReturn("\"admin-products-v1-abc\"");
+
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.getProducts(
+                new SearchCriteriaDto(), null, null, webRequest("\"admin-products-v1-abc\""));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verifyNoInteractions(inventoryItemService);
+    }
+
+    /**
+     * カーソルなどの検索条件が不正な場合に400を返すことを検証
+     */
+    @Test
+    @DisplayName("getProducts: 不正引数時は400を返す")
+    void getProducts_IllegalArgument_ReturnsBadRequest() {
+        when(catalogVersion.requestEtag(eq("admin-products"), any())).thenReturn("\"admin-products-v1-abc\"");
+        when(inventoryItemService.findItems(any(), any(), any(), any(), any(), eq(false), eq(0), eq("bad"), any()))
+                .thenThrow(new IllegalArgumentException("カーソルが不正です"));
+
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.getProducts(
+                new SearchCriteriaDto(), "bad", null, webRequest(null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(false, response.getBody().success());
+        assertEquals("カーソルが不正です", message(response));
     }
 
     /**
@@ -146,11 +297,11 @@ class AdminInventoryApiControllerTest {
 
         when(adminInventoryService.deleteProduct(5)).thenReturn(product);
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.deleteProduct(5);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.deleteProduct(5);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(true, response.getBody().get("success"));
-        assertEquals("商品を削除しました（論理削除）", response.getBody().get("message"));
+        assertTrue(response.getBody().success());
+        assertEquals("商品を削除しました（論理削除）", message(response));
     }
 
     /**
@@ -161,11 +312,11 @@ class AdminInventoryApiControllerTest {
     void restoreProduct_IllegalState_ReturnsConflict() {
         when(adminInventoryService.restoreProduct(eq(6))).thenThrow(new IllegalStateException("復元不可"));
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.restoreProduct(6);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.restoreProduct(6);
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
-        assertEquals(false, response.getBody().get("success"));
-        assertEquals("復元不可", response.getBody().get("message"));
+        assertEquals(false, response.getBody().success());
+        assertEquals("復元不可", message(response));
     }
 
     /**
@@ -176,10 +327,29 @@ class AdminInventoryApiControllerTest {
     void restoreProduct_Exception_ReturnsInternalServerError() {
         when(adminInventoryService.restoreProduct(eq(7))).thenThrow(new RuntimeException("DBエラー"));
 
-        ResponseEntity<Map<String, Object>> response = adminInventoryApiController.restoreProduct(7);
+        ResponseEntity<InventoryApiResponse> response = adminInventoryApiController.restoreProduct(7);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        assertEquals(false, response.getBody().get("success"));
-        assertNotNull(response.getBody().get("message"));
+        assertEquals(false, response.getBody().success());
+        assertNotNull(message(response));
+    }
+
+    /**
+     * 成功・失敗のレスポンスからメッセージを取り出す
+     */
+    private static String message(ResponseEntity<InventoryApiResponse> response) {
+        return switch (response.getBody()) {
+            case ApiErrorResponse error -> error.message();
+            case ProductActionResponse action -> action.message();
+            default -> throw new AssertionError("メッセージを持たないレスポンス: " + response.getBody());
+        };
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/api/inventory/products/1/history");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 }
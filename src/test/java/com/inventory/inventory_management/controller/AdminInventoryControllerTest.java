@@ -9,6 +9,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -23,13 +24,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.ExtendedModelMap;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.inventory.inventory_management.dto.request.SearchCriteriaDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.service.AdminInventoryService;
+import com.inventory.inventory_management.service.CatalogVersion;
 
 /**
  * AdminInventoryControllerのユニットテスト
@@ -42,6 +48,9 @@ class AdminInventoryControllerTest {
     @Mock
     private AdminInventoryService adminInventoryService;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private AdminInventoryController adminInventoryController;
 
@@ -73,7 +82,7 @@ class AdminInventoryControllerTest {
 
         Model model = new ExtendedModelMap();
 
-        String viewName = adminInventoryController.showInventory(criteria, model);
+        String viewName = adminInventoryController.showInventory(criteria, model, webRequest(null));
 
         assertEquals("admin/inventory", viewName);
         assertNotNull(model.getAttribute("productPage"));
@@ -85,6 +94,22 @@ class AdminInventoryControllerTest {
         verify(adminInventoryService, times(1)).getOutOfStockCount();
     }
 
+    /**
+     * If-None-Match が現在の ETag と一致する場合は検索を行わずに304を返すことを検証
+     */
+    @Test
+    @DisplayName("正常系: ETag一致時は検索せずに304を返す")
+    void showInventory_正常系_ETag一致時は304() {
+        when(catalogVersion.pageEtag(any(), any())).thenReturn("\"admin-inventory-v1-abc\"");
+        ServletWebRequest webRequest = webRequest("\"admin-inventory-v1-abc\"");
+
+        String viewName = adminInventoryController.showInventory(new SearchCriteriaDto(), new ExtendedModelMap(), webRequest);
+
+        assertNull(viewName);
+        assertEquals(304, webRequest.getResponse().getStatus());
+        verifyNoInteractions(adminInventoryService);
+    }
+
     /**
      * 負のページ番号が指定された場合に0へ補正されることを検証
      */
@@ -102,7 +127,7 @@ class AdminInventoryControllerTest {
 
         Model model = new ExtendedModelMap();
 
-        String viewName = adminInventoryController.showInventory(criteria, model);
+        String viewName = adminInventoryController.showInventory(criteria, model, webRequest(null));
 
         assertEquals("admin/inventory", viewName);
         assertEquals(0, criteria.getPage());
@@ -129,7 +154,7 @@ class AdminInventoryControllerTest {
                 when(adminInventoryService.getOutOfStockCount()).thenReturn(0L);
 
                 Model model = new ExtendedModelMap();
-                String viewName = adminInventoryController.showInventory(criteria, model);
+                String viewName = adminInventoryController.showInventory(criteria, model, webRequest(null));
 
                 assertEquals("admin/inventory", viewName);
 
@@ -156,7 +181,7 @@ class AdminInventoryControllerTest {
 
         Model model = new ExtendedModelMap();
 
-        String viewName = adminInventoryController.showInventory(criteria, model);
+        String viewName = adminInventoryController.showInventory(criteria, model, webRequest(null));
 
         assertEquals("admin/inventory", viewName);
         assertEquals("ノートPC", criteria.getSearch());
@@ -179,7 +204,7 @@ class AdminInventoryControllerTest {
         when(adminInventoryService.searchProducts(any(), any(), any(), any(), any(), anyInt(), anyBoolean()))
                 .thenThrow(new RuntimeException("DBエラー"));
 
-        String viewName = adminInventoryController.showInventory(criteria, model);
+        String viewName = adminInventoryController.showInventory(criteria, model, webRequest(null));
 
         assertEquals("error", viewName);
         Object errorMessage = model.getAttribute("errorMessage");
@@ -319,4 +344,12 @@ class AdminInventoryControllerTest {
                 assertNotNull(errorMessage);
                 assertTrue(errorMessage.toString().contains("商品詳細情報の取得に失敗しました。"));
     }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/inventory");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
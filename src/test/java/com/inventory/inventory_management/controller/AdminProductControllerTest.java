@@ -2,16 +2,20 @@ package com.inventory.inventory_management.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -24,18 +28,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.ui.ExtendedModelMap;
 import org.springframework.ui.Model;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
 
 import com.inventory.inventory_management.dto.request.ProductSearchCriteriaDto;
+import com.inventory.inventory_management.dto.response.ProductImportResultDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.form.ProductDetailForm;
 import com.inventory.inventory_management.form.ProductQuickForm;
 import com.inventory.inventory_management.service.AdminProductService;
+import com.inventory.inventory_management.service.ProductCsvService;
 
 /**
  * AdminProductControllerのユニットテスト
@@ -47,6 +58,9 @@ class AdminProductControllerTest {
     @Mock
     private AdminProductService adminProductService;
 
+    @Mock
+    private ProductCsvService productCsvService;
+
     @InjectMocks
     private AdminProductController adminProductController;
 
@@ -468,26 +482,125 @@ class AdminProductControllerTest {
     }
 
     @Test
-    @DisplayName("importProducts: 準備中メッセージで一覧へ戻る")
-    void importProducts_ReturnsRedirect() {
-        org.springframework.web.multipart.MultipartFile file = new org.springframework.mock.web.MockMultipartFile(
-                "file", "products.csv", "text/csv", "a,b\n1,2".getBytes());
+    @DisplayName("importProducts: 正常系で結果をインポート画面へ渡す")
+    void importProducts_Success_RedirectsWithResult() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "products.csv", "text/csv", "product_name,category,price,stock\nA,Books,100,1".getBytes());
         RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+        ProductImportResultDto result = new ProductImportResultDto();
+        result.setTotalRows(1);
+        result.setSuccessCount(1);
+        when(productCsvService.importCsv(any())).thenReturn(result);
 
         String view = adminProductController.importProducts(file, redirectAttributes);
 
-        assertEquals("redirect:/admin/products", view);
-        assertEquals("CSVインポート機能は準備中です。", redirectAttributes.getFlashAttributes().get("message"));
+        assertEquals("redirect:/admin/products/import", view);
+        assertEquals(result, redirectAttributes.getFlashAttributes().get("importResult"));
+        assertEquals("CSVインポートが完了しました。（成功: 1件、エラー: 0件）",
+                redirectAttributes.getFlashAttributes().get("message"));
     }
 
     @Test
-    @DisplayName("exportProducts: 準備中メッセージで一覧へ戻る")
-    void exportProducts_ReturnsRedirect() {
+    @DisplayName("importProducts: 行エラーがある場合はエラーメッセージで結果を表示する")
+    void importProducts_WithRowErrors_SetsErrorMessage() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv", "x".getBytes());
         RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+        ProductImportResultDto result = new ProductImportResultDto();
+        result.setTotalRows(3);
+        result.setSuccessCount(2);
+        result.setErrorCount(1);
+        when(productCsvService.importCsv(any())).thenReturn(result);
 
-        String view = adminProductController.exportProducts(redirectAttributes);
+        adminProductController.importProducts(file, redirectAttributes);
 
-        assertEquals("redirect:/admin/products", view);
-        assertEquals("CSVエクスポート機能は準備中です。", redirectAttributes.getFlashAttributes().get("message"));
+        assertEquals("CSVインポートが完了しました。（成功: 2件、エラー: 1件）",
+                redirectAttributes.getFlashAttributes().get("error"));
+    }
+
+    @Test
+    @DisplayName("importProducts: 空ファイルはサービスを呼ばずにエラー")
+    void importProducts_EmptyFile_ReturnsError() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv", new byte[0]);
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+
+        String view = adminProductController.importProducts(file, redirectAttributes);
+
+        assertEquals("redirect:/admin/products/import", view);
+        assertEquals("CSVファイルを選択してください。", redirectAttributes.getFlashAttributes().get("error"));
+        verify(productCsvService, never()).importCsv(any());
+    }
+
+    @Test
+    @DisplayName("importProducts: ヘッダー不正時はサービスのメッセージを表示する")
+    void importProducts_WhenIllegalArgument_ShowsMessage() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv", "a,b".getBytes());
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+        when(productCsvService.importCsv(any()))
+                .thenThrow(new IllegalArgumentException("CSVヘッダーに必須列がありません: price"));
+
+        adminProductController.importProducts(file, redirectAttributes);
+
+        assertEquals("CSVヘッダーに必須列がありません: price", redirectAttributes.getFlashAttributes().get("error"));
+    }
+
+    @Test
+    @DisplayName("importProducts: 想定外例外時は汎用エラーメッセージ")
+    void importProducts_WhenException_ShowsGenericError() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv", "a,b".getBytes());
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+        when(productCsvService.importCsv(any())).thenThrow(new IOException("broken"));
+
+        adminProductController.importProducts(file, redirectAttributes);
+
+        assertEquals("CSVインポート時にエラーが発生しました。", redirectAttributes.getFlashAttributes().get("error"));
+    }
+
+    @Test
+    @DisplayName("exportProducts: CSV添付ファイルとしてストリーミング出力する")
+    void exportProducts_ReturnsStreamingCsv() throws Exception {
+        ProductSearchCriteriaDto criteria = new ProductSearchCriteriaDto();
+        criteria.setCategory("Books");
+        when(adminProductService.validateSearchCriteria(criteria)).thenReturn(criteria);
+
+        ResponseEntity<StreamingResponseBody> response = adminProductController.exportProducts(criteria, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        String disposition = response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION);
+        assertTrue(disposition.startsWith("attachment; filename=\"products_"));
+        assertTrue(disposition.endsWith(".csv\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(productCsvService, times(1)).exportCsv(criteria, out, false);
+    }
+
+    @Test
+    @DisplayName("exportProducts: gzip=true の場合は .csv.gz として出力する")
+    void exportProducts_WithGzip_ReturnsGzipAttachment() throws Exception {
+        ProductSearchCriteriaDto criteria = new ProductSearchCriteriaDto();
+        when(adminProductService.validateSearchCriteria(criteria)).thenReturn(criteria);
+
+        ResponseEntity<StreamingResponseBody> response = adminProductController.exportProducts(criteria, true);
+
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith(".csv.gz\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(productCsvService, times(1)).exportCsv(criteria, out, true);
+    }
+
+    @Test
+    @DisplayName("exportProducts: 出力中の想定外例外はIOExceptionとして通知する")
+    void exportProducts_WhenException_ThrowsIOException() throws Exception {
+        ProductSearchCriteriaDto criteria = new ProductSearchCriteriaDto();
+        when(adminProductService.validateSearchCriteria(criteria)).thenReturn(criteria);
+        when(productCsvService.exportCsv(eq(criteria), any(), eq(false)))
+                .thenThrow(new RuntimeException("DB error"));
+
+        ResponseEntity<StreamingResponseBody> response = adminProductController.exportProducts(criteria, false);
+
+        assertThrows(IOException.class, () -> response.getBody().writeTo(new ByteArrayOutputStream()));
     }
 }
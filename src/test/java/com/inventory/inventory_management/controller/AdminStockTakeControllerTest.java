@@ -0,0 +1,115 @@
+package com.inventory.inventory_management.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import com.inventory.inventory_management.dto.response.StockTakeResultDto;
+import com.inventory.inventory_management.service.StockTakeService;
+
+/**
+ * AdminStockTakeControllerのユニットテスト
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdminStockTakeController ユニットテスト")
+class AdminStockTakeControllerTest {
+
+    @Mock
+    private StockTakeService stockTakeService;
+
+    @InjectMocks
+    private AdminStockTakeController adminStockTakeController;
+
+    private final MockMultipartFile file = new MockMultipartFile(
+            "file", "count.csv", "text/csv", "product_code,counted_qty\nA,1".getBytes());
+
+    @Test
+    @DisplayName("showStockTakeForm: 棚卸画面を返す")
+    void showStockTakeForm_ReturnsView() {
+        assertEquals("admin/stock-take", adminStockTakeController.showStockTakeForm(new ExtendedModelMap()));
+    }
+
+    @Test
+    @DisplayName("uploadStockTake: 差異確認時は未反映メッセージと結果を渡す")
+    void uploadStockTake_Preview_SetsResult() throws Exception {
+        StockTakeResultDto result = new StockTakeResultDto();
+        result.setIncreasedCount(2);
+        result.setDecreasedCount(1);
+        when(stockTakeService.processStockTake(any(), eq(false))).thenReturn(result);
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+
+        String view = adminStockTakeController.uploadStockTake(file, false, redirectAttributes);
+
+        assertEquals("redirect:/admin/inventory/stock-take", view);
+        assertEquals(result, redirectAttributes.getFlashAttributes().get("stockTakeResult"));
+        assertEquals("差異を確認しました。（差異あり: 3件）在庫は更新されていません。",
+                redirectAttributes.getFlashAttributes().get("message"));
+    }
+
+    @Test
+    @DisplayName("uploadStockTake: 反映時は更新件数メッセージを表示する")
+    void uploadStockTake_Apply_SetsAppliedMessage() throws Exception {
+        StockTakeResultDto result = new StockTakeResultDto();
+        result.setApplied(true);
+        result.setDecreasedCount(4);
+        when(stockTakeService.processStockTake(any(), eq(true))).thenReturn(result);
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+
+        adminStockTakeController.uploadStockTake(file, true, redirectAttributes);
+
+        assertEquals("棚卸結果を在庫に反映しました。（更新: 4件）", redirectAttributes.getFlashAttributes().get("message"));
+    }
+
+    @Test
+    @DisplayName("uploadStockTake: 空ファイルはサービスを呼ばずにエラー")
+    void uploadStockTake_EmptyFile_ReturnsError() throws Exception {
+        MockMultipartFile empty = new MockMultipartFile("file", "count.csv", "text/csv", new byte[0]);
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+
+        adminStockTakeController.uploadStockTake(empty, true, redirectAttributes);
+
+        assertEquals("CSVファイルを選択してください。", redirectAttributes.getFlashAttributes().get("error"));
+        verify(stockTakeService, never()).processStockTake(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("uploadStockTake: ヘッダー不正時はサービスのメッセージを表示する")
+    void uploadStockTake_WhenIllegalArgument_ShowsMessage() throws Exception {
+        when(stockTakeService.processStockTake(any(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("CSVヘッダーに必須列がありません: product_code, counted_qty"));
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+
+        adminStockTakeController.uploadStockTake(file, false, redirectAttributes);
+
+        assertEquals("CSVヘッダーに必須列がありません: product_code, counted_qty",
+                redirectAttributes.getFlashAttributes().get("error"));
+    }
+
+    @Test
+    @DisplayName("uploadStockTake: 想定外例外時は汎用エラーメッセージ")
+    void uploadStockTake_WhenException_ShowsGenericError() throws Exception {
+        when(stockTakeService.processStockTake(any(), anyBoolean())).thenThrow(new IOException("broken"));
+        RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
+
+        adminStockTakeController.uploadStockTake(file, true, redirectAttributes);
+
+        assertEquals("棚卸処理時にエラーが発生しました。", redirectAttributes.getFlashAttributes().get("error"));
+    }
+}
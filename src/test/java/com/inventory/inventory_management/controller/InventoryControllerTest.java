@@ -10,12 +10,15 @@ import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.repository.ProductRepository;
 import com.inventory.inventory_management.repository.StockTransactionRepository;
+import com.inventory.inventory_management.view.InventoryRowCache;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.context.support.WithUserDetails;
@@ -27,6 +30,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * InventoryControllerのテストクラス
@@ -46,6 +50,9 @@ public class InventoryControllerTest {
     @Autowired
     private StockTransactionRepository stockTransactionRepository;
 
+    @Autowired
+    private InventoryRowCache inventoryRowCache;
+
     private MockMvc mockMvc;
     
     private Integer testProductId;
@@ -361,6 +368,236 @@ public class InventoryControllerTest {
                .andExpect(header().string("Content-Type", org.hamcrest.Matchers.containsString("charset")));
     }
 
+    // ========== 商品行キャッシュテスト ==========
+
+    /**
+     * 2 回目以降の表示では描画済みの商品行を再利用する
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 商品行は描画済みのものを再利用する() throws Exception {
+        String row = "data-product-id=\"" + testProductId + "\" data-product-name=\"テスト商品\" data-current-stock=\"50\"";
+        mockMvc.perform(get("/inventory").param("search", "テスト商品"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(org.hamcrest.Matchers.containsString(row)));
+        long hits = inventoryRowCache.getStats().hits();
+
+        mockMvc.perform(get("/inventory").param("search", "テスト商品"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(org.hamcrest.Matchers.containsString(row)))
+               .andExpect(content().string(org.hamcrest.Matchers.containsString(
+                       "href=\"/inventory/products/" + testProductId + "\"")));
+
+        assertTrue(inventoryRowCache.getStats().hits() > hits);
+    }
+
+    /**
+     * 商品が変更された場合は商品行を描画し直す（更新日時が同じ秒でも在庫数の変更を反映する）
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 商品の変更後は商品行を描画し直す() throws Exception {
+        String row = "data-product-id=\"" + testProductId + "\" data-product-name=\"テスト商品\" data-current-stock=";
+        mockMvc.perform(get("/inventory").param("search", "テスト商品"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(org.hamcrest.Matchers.containsString(row + "\"50\"")));
+
+        Product product = productRepository.findById(testProductId).orElseThrow();
+        product.setStock(7);
+        productRepository.save(product);
+
+        mockMvc.perform(get("/inventory").param("search", "テスト商品"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(org.hamcrest.Matchers.containsString(row + "\"7\"")))
+               .andExpect(content().string(org.hamcrest.Matchers.not(
+                       org.hamcrest.Matchers.containsString(row + "\"50\""))));
+    }
+
+    // ========== 条件付き GET テスト ==========
+
+    /**
+     * 商品・在庫が変わっていなければ If-None-Match に 304 を返し、在庫を更新すると新しい ETag で 200 を返す
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 在庫一覧は変更がなければ304を返す() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        String etag = mockMvc.perform(get("/inventory").session(session))
+               .andExpect(status().isOk())
+               .andExpect(header().string("Cache-Control", "no-cache, private"))
+               .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/inventory").session(session).header("If-None-Match", etag))
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+
+        // 検索条件が異なれば別の ETag
+        mockMvc.perform(get("/inventory").param("page", "1").session(session).header("If-None-Match", etag))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/inventory/update-stock")
+                       .session(session)
+                       .with(csrf())
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"productId\": " + testProductId + ", \"transactionType\": \"in\", \"quantity\": 1}"))
+               .andExpect(status().isOk());
+
+        String updatedEtag = mockMvc.perform(get("/inventory").session(session).header("If-None-Match", etag))
+               .andExpect(status().isOk())
+               .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, updatedEtag);
+    }
+
+    // ========== 在庫一覧APIテスト ==========
+
+    /**
+     * 在庫一覧 API は画面と同じ検索条件で、一覧の行に表示する項目のみを返す
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 在庫一覧APIは検索条件に一致する商品を返す() throws Exception {
+        mockMvc.perform(get("/api/inventory/products")
+                       .param("search", "テスト商品")
+                       .param("category", "Electronics")
+                       .param("stock", "sufficient"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+               .andExpect(header().string("Cache-Control", "no-cache, private"))
+               .andExpect(header().exists("ETag"))
+               .andExpect(jsonPath("$.success").value(true))
+               .andExpect(jsonPath("$.version").exists())
+               .andExpect(jsonPath("$.items.length()").value(2))
+               .andExpect(jsonPath("$.items[0].id").value(testProductId))
+               .andExpect(jsonPath("$.items[0].productName").value("テスト商品"))
+               .andExpect(jsonPath("$.items[0].stock").value(50))
+               .andExpect(jsonPath("$.items[0].status").value("active"))
+               .andExpect(jsonPath("$.items[0].updatedAt").exists())
+               .andExpect(jsonPath("$.items[0].deletedAt").doesNotExist())
+               .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/inventory/products")
+                       .param("search", "テスト商品")
+                       .param("stock", "out"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.items.length()").value(1))
+               .andExpect(jsonPath("$.items[0].productName").value("テスト商品D"));
+    }
+
+    /**
+     * カーソルで次のページを取得すると、同じ並び順の続きが重複・欠落なく返る
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 在庫一覧APIはカーソルで続きを取得できる() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            Product product = new Product();
+            product.setProductCode("CUR" + String.format("%05d", i));
+            product.setProductName("カーソル商品");
+            product.setCategory("Clothing");
+            product.setPrice(new BigDecimal("500.00"));
+            product.setStock(i <= 2 ? 10 : 30);
+            product.setStatus("active");
+            product.setCreatedAt(LocalDateTime.now());
+            product.setUpdatedAt(LocalDateTime.now());
+            productRepository.save(product);
+        }
+
+        String first = mockMvc.perform(get("/api/inventory/products")
+                       .param("search", "カーソル商品")
+                       .param("sort", "stock")
+                       .param("size", "3"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.items.length()").value(3))
+               .andExpect(jsonPath("$.nextCursor").exists())
+               .andReturn().getResponse().getContentAsString();
+        List<Integer> firstIds = JsonPath.read(first, "$.items[*].id");
+        String cursor = JsonPath.read(first, "$.nextCursor");
+
+        String second = mockMvc.perform(get("/api/inventory/products")
+                       .param("search", "カーソル商品")
+                       .param("sort", "stock")
+                       .param("size", "3")
+                       .param("cursor", cursor))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.items.length()").value(1))
+               .andExpect(jsonPath("$.items[0].stock").value(30))
+               .andExpect(jsonPath("$.nextCursor").doesNotExist())
+               .andReturn().getResponse().getContentAsString();
+        List<Integer> secondIds = JsonPath.read(second, "$.items[*].id");
+        assertFalse(firstIds.contains(secondIds.get(0)), "カーソルの続きに前のページの商品が含まれないこと");
+
+        // ページ番号で取得した 2 ページ目とも一致する
+        mockMvc.perform(get("/api/inventory/products")
+                       .param("search", "カーソル商品")
+                       .param("sort", "stock")
+                       .param("size", "3")
+                       .param("page", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.items[0].id").value(secondIds.get(0)));
+
+        // 並び順の異なるカーソルは 400
+        mockMvc.perform(get("/api/inventory/products")
+                       .param("search", "カーソル商品")
+                       .param("sort", "name")
+                       .param("cursor", cursor))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * 不正なカーソル・取得件数は 400
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 在庫一覧APIは不正なパラメータで400を返す() throws Exception {
+        mockMvc.perform(get("/api/inventory/products").param("cursor", "!!invalid!!"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.success").value(false))
+               .andExpect(jsonPath("$.message").exists());
+
+        mockMvc.perform(get("/api/inventory/products").param("size", "101"))
+               .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/inventory/products").param("page", "-1"))
+               .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * 商品・在庫が変わっていなければ 304 を返し、在庫を更新すると新しい在庫数を返す
+     */
+    @Test
+    @WithUserDetails("testuser")
+    public void 在庫一覧APIは変更がなければ304を返す() throws Exception {
+        String etag = mockMvc.perform(get("/api/inventory/products").param("search", "テスト商品"))
+               .andExpect(status().isOk())
+               .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/inventory/products").param("search", "テスト商品").header("If-None-Match", etag))
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/inventory/update-stock")
+                       .with(csrf())
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"productId\": " + testProductId + ", \"transactionType\": \"out\", \"quantity\": 5}"))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/inventory/products").param("search", "テスト商品").header("If-None-Match", etag))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.items[0].stock").value(45));
+    }
+
+    /**
+     * 認証なしで在庫一覧 API にアクセスするとログイン画面にリダイレクトされる
+     */
+    @Test
+    public void 認証なしで在庫一覧APIにアクセスするとリダイレクトされる() throws Exception {
+        mockMvc.perform(get("/api/inventory/products"))
+               .andExpect(status().is3xxRedirection());
+    }
+
     // ========== 文字エンコーディングテスト ==========
 
     /**
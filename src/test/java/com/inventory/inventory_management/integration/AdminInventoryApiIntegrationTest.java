@@ -333,6 +333,71 @@ class AdminInventoryApiIntegrationTest {
                 .andExpect(jsonPath("$.success").value(false));
     }
 
+    /**
+     * 複数商品の履歴取得APIで商品ごとに最新の limit 件が指定順に返ることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("【結合/API】複数商品の履歴取得で商品ごとに最新のlimit件を返す")
+    void historyBatch_ReturnsLatestPerProduct() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            stockTransactionRepository.save(createTransaction(productA.getId(), "in", i, 30 + i - 1, 30 + i,
+                    "A履歴" + i));
+        }
+        stockTransactionRepository.save(createTransaction(productB.getId(), "out", 1, 5, 4, "B履歴1"));
+
+        mockMvc.perform(get("/admin/api/inventory/products/history")
+                .param("productIds", productB.getId() + "," + productA.getId() + ",999999")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.limit").value(2))
+                .andExpect(jsonPath("$.histories.length()").value(2))
+                .andExpect(jsonPath("$.histories[0].product.id").value(productB.getId()))
+                .andExpect(jsonPath("$.histories[0].product.stock").value(5))
+                .andExpect(jsonPath("$.histories[0].transactions.length()").value(1))
+                .andExpect(jsonPath("$.histories[1].product.id").value(productA.getId()))
+                .andExpect(jsonPath("$.histories[1].transactions.length()").value(2))
+                .andExpect(jsonPath("$.histories[1].transactions[0].remarks").value("A履歴4"))
+                .andExpect(jsonPath("$.histories[1].transactions[1].remarks").value("A履歴3"))
+                .andExpect(jsonPath("$.notFoundProductIds[0]").value(999999));
+    }
+
+    /**
+     * 複数商品の履歴取得APIで履歴のない商品は空の履歴で返ることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("【結合/API】複数商品の履歴取得で履歴のない商品は空リスト")
+    void historyBatch_ProductWithoutHistory_ReturnsEmptyList() throws Exception {
+        mockMvc.perform(get("/admin/api/inventory/products/history")
+                .param("productIds", String.valueOf(productA.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(10))
+                .andExpect(jsonPath("$.histories[0].transactions.length()").value(0))
+                .andExpect(jsonPath("$.notFoundProductIds.length()").value(0));
+    }
+
+    /**
+     * 複数商品の履歴取得APIで商品ID未指定・取得件数が範囲外の場合は400となることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("【結合/API】複数商品の履歴取得で不正な指定は400")
+    void historyBatch_InvalidParameters_Returns400() throws Exception {
+        mockMvc.perform(get("/admin/api/inventory/products/history"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        mockMvc.perform(get("/admin/api/inventory/products/history")
+                .param("productIds", String.valueOf(productA.getId()))
+                .param("limit", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     /**
      * 商品削除API成功時にdeletedAtが設定されることを検証
      * @throws Exception テスト実行時の例外
@@ -522,6 +587,36 @@ class AdminInventoryApiIntegrationTest {
                 .andExpect(result -> assertThat(result.getResponse().getStatus()).isIn(302, 403));
     }
 
+    /**
+     * 在庫一覧 API は削除済み商品を含む条件・在庫数の降順に対応することを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("【結合/API】在庫一覧は削除済み商品を含めて在庫数の降順で取得できる")
+    void products_IncludeDeleted_StockDesc() throws Exception {
+        productB.setDeletedAt(LocalDateTime.now());
+        productRepository.save(productB);
+
+        mockMvc.perform(get("/admin/api/inventory/products")
+                .param("search", "API統合商品")
+                .param("sort", "stock_desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(productA.getId()));
+
+        mockMvc.perform(get("/admin/api/inventory/products")
+                .param("search", "API統合商品")
+                .param("sort", "stock_desc")
+                .param("includeDeleted", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(productA.getId()))
+                .andExpect(jsonPath("$.items[1].id").value(productB.getId()))
+                .andExpect(jsonPath("$.items[1].deletedAt").exists());
+    }
+
     /**
      * 復元APIで削除済み商品の復元を繰り返した場合に2回目は500となることを検証
      * @throws Exception テスト実行時の例外
@@ -6,34 +6,47 @@ import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import com.inventory.inventory_management.dto.request.ProductSearchCriteriaDto;
+import com.inventory.inventory_management.dto.response.ProductImportResultDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.service.ProductCsvService;
 
 /**
  * AdminProductController の結合テスト
@@ -52,6 +65,9 @@ class AdminProductIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCsvService productCsvService;
+
     private MockMvc mockMvc;
 
     private Product baseProduct;
@@ -525,6 +541,253 @@ class AdminProductIntegrationTest {
                 .matches("(?s).*<span\\s+id=\"deleteProductName\">.*</span>.*");
     }
 
+    /**
+     * CSVエクスポートが検索条件を反映し、ヘッダーと該当商品のみを出力することを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】CSVエクスポートは検索条件に一致する商品のみを出力する")
+    void exportCsv_AppliesSearchCriteria() throws Exception {
+        createProduct("PRD00011", "書籍CSV商品", "Books", "IT-SKU-CSV-01", 800, 4, "active");
+        Product deleted = createProduct("PRD00012", "削除済みCSV商品", "Books", "IT-SKU-CSV-02", 900, 2, "active");
+        deleted.setDeletedAt(LocalDateTime.now());
+        productRepository.saveAndFlush(deleted);
+
+        ProductSearchCriteriaDto criteria = new ProductSearchCriteriaDto();
+        criteria.setCategory("Books");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = productCsvService.exportCsv(criteria, out, false);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(count).isEqualTo(1);
+        assertThat(csv).startsWith("\uFEFFproduct_code,product_name,category,sku,price,stock,status");
+        assertThat(csv).contains("PRD00011,書籍CSV商品,Books,IT-SKU-CSV-01,800.00,4,active");
+        assertThat(csv).doesNotContain("PRD00001").doesNotContain("PRD00012");
+
+        criteria.setIncludeDeleted(true);
+        ByteArrayOutputStream withDeleted = new ByteArrayOutputStream();
+        assertThat(productCsvService.exportCsv(criteria, withDeleted, false)).isEqualTo(2);
+    }
+
+    /**
+     * gzip指定時のCSVエクスポートが展開可能なgzipで出力されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】CSVエクスポートをgzip圧縮で出力できる")
+    void exportCsv_WithGzip_ProducesValidGzip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productCsvService.exportCsv(new ProductSearchCriteriaDto(), out, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv).contains("PRD00001,管理者商品A,Electronics");
+        }
+    }
+
+    /**
+     * CSVエクスポートエンドポイントが添付ファイルとして非同期ストリーミングを開始することを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】CSVエクスポートエンドポイントが添付ファイルのストリーミングを開始する")
+    void exportProducts_StartsStreamingAttachment() throws Exception {
+        mockMvc.perform(get("/admin/products/export").param("category", "Electronics"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Disposition", containsString("attachment; filename=\"products_")))
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"));
+    }
+
+    /**
+     * 数式の先頭文字で始まる値が、エクスポートで前置したクォートをインポートで除去して元の値に戻ることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】数式の先頭文字で始まる値はCSVのエクスポート→インポートで変わらない")
+    void exportThenImport_FormulaLeadingValues_RoundTrip() throws Exception {
+        Product source = createProduct("PRD00021", "往復CSV商品", "Garden", "-RT-SKU-01", 500, 3, "active");
+        source.setDescription("=SUM(A1:A2)");
+        source.setTags("'@quoted");
+        productRepository.saveAndFlush(source);
+
+        ProductSearchCriteriaDto criteria = new ProductSearchCriteriaDto();
+        criteria.setCategory("Garden");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productCsvService.exportCsv(criteria, out, false);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",'-RT-SKU-01,").contains(",'=SUM(A1:A2),").contains(",''@quoted");
+
+        productRepository.delete(source);
+        productRepository.flush();
+        ProductImportResultDto result = importWithSettings(csv, 1, 16);
+
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        Product imported = productRepository.findAll().stream()
+                .filter(p -> "往復CSV商品".equals(p.getProductName()))
+                .findFirst().orElseThrow();
+        assertThat(imported.getSku()).isEqualTo("-RT-SKU-01");
+        assertThat(imported.getDescription()).isEqualTo("=SUM(A1:A2)");
+        assertThat(imported.getTags()).isEqualTo("'@quoted");
+    }
+
+    /**
+     * CSVインポートが正常行をバッチ登録し、不正行を行番号付きで報告することを検証（逐次処理）
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】CSVインポートは正常行を登録し不正行をエラーとして報告する")
+    void importCsv_InsertsValidRowsAndReportsErrors() throws Exception {
+        ProductImportResultDto result = importWithSettings(IMPORT_TEST_CSV, 1, 16);
+
+        assertImportTestResult(result);
+        assertThat(result.getParallelism()).isEqualTo(1);
+    }
+
+    /**
+     * 並列パイプラインでも逐次処理と同じ結果・同じ行順でエラーが報告されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】並列パイプラインのCSVインポートは逐次処理と同じ結果になる")
+    void importCsv_Pipelined_ProducesSameResultAsSequential() throws Exception {
+        ProductImportResultDto result = importWithSettings(IMPORT_TEST_CSV, 4, 1);
+
+        assertImportTestResult(result);
+        assertThat(result.getParallelism()).isEqualTo(4);
+        assertThat(result.getStageMetrics())
+                .extracting(ProductImportResultDto.StageMetric::getStage)
+                .containsExactly("read", "validate", "write");
+        assertThat(result.getStageMetrics().get(1).getRows()).isEqualTo(8);
+    }
+
+    /**
+     * CSVインポート画面が表示され、使用できる列が案内されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】CSVインポート画面を表示できる")
+    void showImportForm_RendersPage() throws Exception {
+        mockMvc.perform(get("/admin/products/import"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/product-import"))
+                .andExpect(content().string(containsString("product_name, category, sku")));
+    }
+
+    /**
+     * インポート結果（ステージ別実績・行エラー）がインポート画面に表示されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】CSVインポート結果がステージ別実績とともに表示される")
+    void showImportForm_WithResult_RendersStageMetrics() throws Exception {
+        ProductImportResultDto result = importWithSettings(IMPORT_TEST_CSV, 2, 4);
+
+        mockMvc.perform(get("/admin/products/import").flashAttr("importResult", result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("validate")))
+                .andExpect(content().string(containsString("価格は数値で入力してください")));
+    }
+
+    /**
+     * 必須列が不足したCSVをアップロードするとエラーメッセージ付きでインポート画面へ戻ることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】必須列が不足したCSVのインポートはエラーとなる")
+    void importProducts_MissingColumns_RedirectsWithError() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv",
+                "product_name,category\nA,Books\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/admin/products/import").file(file).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/products/import"))
+                .andExpect(flash().attribute("error", "CSVヘッダーに必須列がありません: price, stock"));
+    }
+
+    /**
+     * CSVアップロードでインポート結果がフラッシュ属性に格納されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】CSVアップロードで商品が登録され結果が表示される")
+    void importProducts_Success_RedirectsWithResult() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv",
+                "product_name,category,price,stock\nアップロード商品,Books,500,2\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/admin/products/import").file(file).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/products/import"))
+                .andExpect(flash().attributeExists("importResult"))
+                .andExpect(flash().attribute("message", "CSVインポートが完了しました。（成功: 1件、エラー: 0件）"));
+
+        assertThat(productRepository.findAll())
+                .extracting(Product::getProductName)
+                .contains("アップロード商品");
+    }
+
+    /** インポート検証用CSV（4〜8行目が不正行、9行目は空行） */
+    private static final String IMPORT_TEST_CSV =
+            "\uFEFFproduct_name,category,sku,price,stock,status,description,manufacturing_date\n"
+            + "取込商品1,Books,IT-SKU-IMP-01,1000,5,active,\"説明, カンマ入り\",2024-01-15\n"
+            + "取込商品2,Books,,2000,0,inactive,,\n"
+            + ",Books,,100,1,active,,\n"
+            + "取込商品4,Books,,abc,1,active,,\n"
+            + "取込商品5,Books,IT-SKU-BASE-01,100,1,active,,\n"
+            + "取込商品6,Books,,100,1,unknown,,\n"
+            + "取込商品7,Books,,100,1,active,,2024-02-30\n"
+            + "\n"
+            + "取込商品8,Books,,300,3,,,\n";
+
+    /**
+     * バッチサイズ・コミット間隔を小さくしてCSVインポートを実行する
+     */
+    private ProductImportResultDto importWithSettings(String csv, int parallelism, int queueCapacity) throws Exception {
+        ReflectionTestUtils.setField(productCsvService, "importBatchSize", 2);
+        ReflectionTestUtils.setField(productCsvService, "importCommitInterval", 3);
+        ReflectionTestUtils.setField(productCsvService, "importParallelism", parallelism);
+        ReflectionTestUtils.setField(productCsvService, "importQueueCapacity", queueCapacity);
+        try {
+            return productCsvService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            ReflectionTestUtils.setField(productCsvService, "importBatchSize", 500);
+            ReflectionTestUtils.setField(productCsvService, "importCommitInterval", 5000);
+            ReflectionTestUtils.setField(productCsvService, "importParallelism", 0);
+            ReflectionTestUtils.setField(productCsvService, "importQueueCapacity", 16);
+        }
+    }
+
+    /**
+     * IMPORT_TEST_CSV のインポート結果と登録内容を検証する
+     */
+    private void assertImportTestResult(ProductImportResultDto result) {
+        assertThat(result.getTotalRows()).isEqualTo(8);
+        assertThat(result.getSuccessCount()).isEqualTo(3);
+        assertThat(result.getErrorCount()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(ProductImportResultDto.RowError::getLineNumber)
+                .containsExactly(4L, 5L, 6L, 7L, 8L);
+        assertThat(result.getErrors().get(0).getMessage()).contains("商品名は必須です");
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("価格は数値で入力してください");
+        assertThat(result.getErrors().get(2).getMessage()).contains("IT-SKU-BASE-01");
+
+        Product imported = productRepository.findAll().stream()
+                .filter(p -> "取込商品1".equals(p.getProductName()))
+                .findFirst().orElseThrow();
+        assertThat(imported.getProductCode()).hasSize(8);
+        assertThat(imported.getDescription()).isEqualTo("説明, カンマ入り");
+        assertThat(imported.getManufacturingDate()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(productRepository.findAll())
+                .filteredOn(p -> "取込商品8".equals(p.getProductName()))
+                .singleElement()
+                .satisfies(p -> assertThat(p.getStatus()).isEqualTo("active"));
+    }
+
     private Product createProduct(
             String productCode,
             String productName,
@@ -544,6 +807,6 @@ class AdminProductIntegrationTest {
         product.setDescription("統合テスト商品");
         product.setCreatedAt(LocalDateTime.now().minusDays(1));
         product.setUpdatedAt(LocalDateTime.now().minusHours(1));
-        return productRepository.save(product);
+        return productRepository.saveAndFlush(product);
     }
 }
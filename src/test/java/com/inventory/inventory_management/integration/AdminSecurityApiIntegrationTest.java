@@ -0,0 +1,222 @@
+package com.inventory.inventory_management.integration;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.forwardedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.inventory.inventory_management.security.CspViolationCollector;
+
+/**
+ * AdminSecurityApiController の結合テスト
+ * 管理者のみがアクセスできること、各エンドポイントの JSON の形式、CSP 違反の取得件数の制限を検証
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AdminSecurityApiController 結合テスト")
+class AdminSecurityApiIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CspViolationCollector cspViolationCollector;
+
+    private MockMvc mockMvc;
+
+    /**
+     * 各テスト実行前の初期化
+     */
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * 未ログインの場合はログイン画面へリダイレクトされることを検証
+     * @param endpoint エンドポイント
+     * @throws Exception テスト実行時の例外
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"login-load", "user-details-cache", "login-attempts", "sessions", "audit-log",
+            "csp-violations", "event-executor"})
+    @DisplayName("【結合/API】未ログインの場合はログイン画面へリダイレクト")
+    void anonymous_RedirectsToLogin(String endpoint) throws Exception {
+        mockMvc.perform(get("/admin/api/security/" + endpoint))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/login"));
+    }
+
+    /**
+     * 一般ユーザーの場合はアクセス拒否画面へフォワードされ、監視情報を返さないことを検証
+     * @param endpoint エンドポイント
+     * @throws Exception テスト実行時の例外
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"login-load", "user-details-cache", "login-attempts", "sessions", "audit-log",
+            "csp-violations", "event-executor"})
+    @DisplayName("【結合/API】一般ユーザーの場合はアクセス拒否画面へフォワード")
+    void generalUser_AccessDenied(String endpoint) throws Exception {
+        mockMvc.perform(get("/admin/api/security/" + endpoint)
+                .with(user("generaluser").roles("USER")))
+                .andExpect(forwardedUrl("/access-denied"))
+                .andExpect(content().string(""));
+    }
+
+    /**
+     * ログイン処理の実行状況の形式を検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】login-load はパスワード検証プールと流入制御の状況を返す")
+    void loginLoad_ReturnsPoolAndAdmissionStats() throws Exception {
+        mockMvc.perform(get("/admin/api/security/login-load").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passwordVerification.threads").isNumber())
+                .andExpect(jsonPath("$.passwordVerification.queueCapacity").isNumber())
+                .andExpect(jsonPath("$.passwordVerification.rejected").isNumber())
+                .andExpect(jsonPath("$.loginAdmission.maxConcurrent").isNumber())
+                .andExpect(jsonPath("$.loginAdmission.inFlight").isNumber())
+                .andExpect(jsonPath("$.loginAdmission.rejected").isNumber());
+    }
+
+    /**
+     * 認証用ユーザー情報キャッシュの利用状況の形式を検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】user-details-cache はキャッシュの利用状況を返す")
+    void userDetailsCache_ReturnsStats() throws Exception {
+        mockMvc.perform(get("/admin/api/security/user-details-cache").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").isNumber())
+                .andExpect(jsonPath("$.maxSize").isNumber())
+                .andExpect(jsonPath("$.hits").isNumber())
+                .andExpect(jsonPath("$.misses").isNumber())
+                .andExpect(jsonPath("$.hitRatio").isNumber());
+    }
+
+    /**
+     * ログイン試行の追跡状況の形式を検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】login-attempts はユーザー名・IPアドレスごとの追跡状況を返す")
+    void loginAttempts_ReturnsTableStats() throws Exception {
+        mockMvc.perform(get("/admin/api/security/login-attempts").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernames.size").isNumber())
+                .andExpect(jsonPath("$.usernames.maxEntries").isNumber())
+                .andExpect(jsonPath("$.ipAddresses.size").isNumber())
+                .andExpect(jsonPath("$.ipAddresses.evicted").isNumber())
+                .andExpect(jsonPath("$.sync.store").isString());
+    }
+
+    /**
+     * コンテナのセッションを使用している場合、セッションの書き込み状況は 404 となることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】sessions はコンテナのセッション使用時は404")
+    void sessions_ContainerStore_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/admin/api/security/sessions").with(admin()))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * 監査ログの書き込み状況の形式を検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】audit-log はキューと書き込みの状況を返す")
+    void auditLog_ReturnsStats() throws Exception {
+        mockMvc.perform(get("/admin/api/security/audit-log").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queued").isNumber())
+                .andExpect(jsonPath("$.capacity").isNumber())
+                .andExpect(jsonPath("$.overflowPolicy").isString())
+                .andExpect(jsonPath("$.written").isNumber())
+                .andExpect(jsonPath("$.dropped").isNumber());
+    }
+
+    /**
+     * セキュリティイベント実行器の実行状況の形式を検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】event-executor は実行器の実行状況を返す")
+    void eventExecutor_ReturnsStats() throws Exception {
+        mockMvc.perform(get("/admin/api/security/event-executor").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").isString())
+                .andExpect(jsonPath("$.concurrency").isNumber())
+                .andExpect(jsonPath("$.rejectionPolicy").isString())
+                .andExpect(jsonPath("$.submitted").isNumber())
+                .andExpect(jsonPath("$.maxRunMillis").isNumber());
+    }
+
+    /**
+     * CSP 違反の集計の形式と、取得件数が 1〜100 件に制限されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合/API】csp-violations は受信状況と違反を返し、取得件数を1〜100件に制限する")
+    void cspViolations_ReturnsStatsAndClampsLimit() throws Exception {
+        for (int i = 0; i < 105; i++) {
+            cspViolationCollector.ingest("{\"csp-report\": {\"effective-directive\": \"script-src\","
+                    + " \"blocked-uri\": \"https://evil.example.com/" + i + ".js\","
+                    + " \"document-uri\": \"https://inventory.example.com/admin/security-api-test\"}}");
+        }
+
+        mockMvc.perform(get("/admin/api/security/csp-violations").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.trackedKeys").isNumber())
+                .andExpect(jsonPath("$.stats.maxKeys").isNumber())
+                .andExpect(jsonPath("$.stats.received").isNumber())
+                .andExpect(jsonPath("$.stats.evicted").isNumber())
+                .andExpect(jsonPath("$.violations", hasSize(20)))
+                .andExpect(jsonPath("$.violations[0].directive").value("script-src"))
+                .andExpect(jsonPath("$.violations[0].blockedUri").isString())
+                .andExpect(jsonPath("$.violations[0].documentUri").isString())
+                .andExpect(jsonPath("$.violations[0].total").isNumber())
+                .andExpect(jsonPath("$.violations[0].currentWindow").isNumber())
+                .andExpect(jsonPath("$.violations[0].firstSeen").exists())
+                .andExpect(jsonPath("$.violations[0].lastSeen").exists());
+
+        mockMvc.perform(get("/admin/api/security/csp-violations").param("limit", "1000").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.violations", hasSize(100)));
+        mockMvc.perform(get("/admin/api/security/csp-violations").param("limit", "0").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.violations", hasSize(1)));
+        mockMvc.perform(get("/admin/api/security/csp-violations").param("limit", "-5").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.violations", hasSize(1)));
+    }
+
+    private static RequestPostProcessor admin() {
+        return SecurityMockMvcRequestPostProcessors.user("adminuser").roles("ADMIN");
+    }
+}
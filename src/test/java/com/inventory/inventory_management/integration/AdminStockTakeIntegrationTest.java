@@ -0,0 +1,322 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.inventory.inventory_management.dto.response.StockTakeResultDto;
+import com.inventory.inventory_management.entity.Product;
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.repository.StockTransactionRepository;
+import com.inventory.inventory_management.service.StockTakeService;
+
+/**
+ * AdminStockTakeController / StockTakeService の結合テスト
+ * CSV 取り込み → ステージング → 差異算出 → 一括反映の一連処理を検証
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("AdminStockTakeController 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class AdminStockTakeIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockTransactionRepository stockTransactionRepository;
+
+    @Autowired
+    private StockTakeService stockTakeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Product productA;
+    private Product productB;
+    private Product productC;
+
+    /** 棚卸CSV（A: 増加、B: 減少、C: 差異なし、以降はエラー行） */
+    private static final String STOCK_TAKE_CSV = "product_code,counted_qty\n"
+            + "STK00001,15\n"
+            + "STK00002,3\n"
+            + "STK00003,7\n"
+            + "NOTEXIST,1\n"
+            + "STK00004,-1\n"
+            + ",5\n"
+            + "STK00005,abc\n";
+
+    /**
+     * 各テスト実行前の初期化
+     */
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        stockTransactionRepository.deleteAll();
+        productRepository.deleteAll();
+
+        productA = createProduct("STK00001", "棚卸商品A", 10);
+        productB = createProduct("STK00002", "棚卸商品B", 8);
+        productC = createProduct("STK00003", "棚卸商品C", 7);
+    }
+
+    /**
+     * 差異確認のみの場合は差異レポートを返し、在庫・履歴・ステージングが変化しないことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】差異確認では在庫を更新せずに差異レポートを返す")
+    void processStockTake_Preview_ReportsVariancesWithoutUpdating() throws Exception {
+        StockTakeResultDto result = stockTakeService.processStockTake(toStream(STOCK_TAKE_CSV), false);
+
+        assertThat(result.isApplied()).isFalse();
+        assertThat(result.getTotalRows()).isEqualTo(7);
+        assertThat(result.getMatchedCount()).isEqualTo(3);
+        assertThat(result.getUnchangedCount()).isEqualTo(1);
+        assertThat(result.getIncreasedCount()).isEqualTo(1);
+        assertThat(result.getDecreasedCount()).isEqualTo(1);
+        assertThat(result.getTotalIncrease()).isEqualTo(5);
+        assertThat(result.getTotalDecrease()).isEqualTo(5);
+        assertThat(result.getVariances())
+                .extracting(StockTakeResultDto.Variance::getProductCode, StockTakeResultDto.Variance::getVariance)
+                .containsExactly(
+                        tuple("STK00001", 5),
+                        tuple("STK00002", -5));
+        assertThat(result.getErrors())
+                .extracting(StockTakeResultDto.RowError::getLineNumber)
+                .containsExactly(5L, 6L, 7L, 8L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("商品コード「NOTEXIST」が見つかりません");
+
+        assertThat(currentStock(productA.getId())).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_transactions WHERE remarks = ?", Integer.class, "棚卸による在庫調整")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_take_staging", Integer.class)).isZero();
+    }
+
+    /**
+     * 反映時は差異のある商品のみ在庫を更新し、在庫履歴を in/out で登録することを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "stockadmin", roles = {"ADMIN"})
+    @DisplayName("【結合】反映では差異のある商品の在庫と在庫履歴を一括更新する")
+    void processStockTake_Apply_UpdatesStockAndInsertsTransactions() throws Exception {
+        StockTakeResultDto result = stockTakeService.processStockTake(toStream(STOCK_TAKE_CSV), true);
+
+        assertThat(result.isApplied()).isTrue();
+        assertThat(result.getChangedCount()).isEqualTo(2);
+        assertThat(currentStock(productA.getId())).isEqualTo(15);
+        assertThat(currentStock(productB.getId())).isEqualTo(3);
+        assertThat(currentStock(productC.getId())).isEqualTo(7);
+
+        List<Map<String, Object>> transactions = jdbcTemplate.queryForList(
+                "SELECT product_id, transaction_type, quantity, before_stock, after_stock, user_id, remarks "
+                + "FROM stock_transactions WHERE remarks = ? ORDER BY product_id", "棚卸による在庫調整");
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0))
+                .containsEntry("PRODUCT_ID", productA.getId())
+                .containsEntry("TRANSACTION_TYPE", "in")
+                .containsEntry("QUANTITY", 5)
+                .containsEntry("BEFORE_STOCK", 10)
+                .containsEntry("AFTER_STOCK", 15)
+                .containsEntry("USER_ID", "stockadmin")
+                .containsEntry("REMARKS", "棚卸による在庫調整");
+        assertThat(transactions.get(1))
+                .containsEntry("PRODUCT_ID", productB.getId())
+                .containsEntry("TRANSACTION_TYPE", "out")
+                .containsEntry("QUANTITY", 5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_take_staging", Integer.class)).isZero();
+    }
+
+    /**
+     * 同じ商品コードが複数行ある場合、該当行はすべてエラーとなり反映されないことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】重複した商品コードの行はエラーとなり反映されない")
+    void processStockTake_DuplicateCodes_AreExcluded() throws Exception {
+        String csv = "counted_qty,product_code\n20,STK00001\n30,STK00001\n1,STK00002\n";
+
+        StockTakeResultDto result = stockTakeService.processStockTake(toStream(csv), true);
+
+        assertThat(result.getErrors())
+                .extracting(StockTakeResultDto.RowError::getLineNumber)
+                .containsExactly(2L, 3L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("商品コード「STK00001」が重複しています");
+        assertThat(currentStock(productA.getId())).isEqualTo(10);
+        assertThat(currentStock(productB.getId())).isEqualTo(1);
+    }
+
+    /**
+     * 削除済み商品の行はエラーとなり、在庫・在庫履歴が変化しないことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】削除済み商品の行はエラーとなり反映されない")
+    void processStockTake_DeletedProduct_IsReportedAndNotApplied() throws Exception {
+        productB.setDeletedAt(LocalDateTime.now());
+        productRepository.saveAndFlush(productB);
+        String csv = "product_code,counted_qty\nSTK00001,12\nSTK00002,1\n";
+
+        StockTakeResultDto result = stockTakeService.processStockTake(toStream(csv), true);
+
+        assertThat(result.getChangedCount()).isEqualTo(1);
+        assertThat(result.getErrors())
+                .extracting(StockTakeResultDto.RowError::getLineNumber, StockTakeResultDto.RowError::getMessage)
+                .containsExactly(tuple(3L, "商品コード「STK00002」は削除済みの商品です"));
+        assertThat(currentStock(productA.getId())).isEqualTo(12);
+        assertThat(currentStock(productB.getId())).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_transactions WHERE product_id = ?",
+                Integer.class, productB.getId())).isZero();
+    }
+
+    /**
+     * 差異明細・行エラーは行順に上限件数まで保持し、件数は全件を集計することを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("【結合】差異明細・行エラーは上限件数まで保持する")
+    void processStockTake_DetailRows_AreCapped() throws Exception {
+        ReflectionTestUtils.setField(stockTakeService, "maxDetailRows", 1);
+        try {
+            String csv = "product_code,counted_qty\nSTK00001,15\nNOTEXIST,1\nSTK00002,3\n,5\nSTK00003,x\n";
+
+            StockTakeResultDto result = stockTakeService.processStockTake(toStream(csv), false);
+
+            assertThat(result.getChangedCount()).isEqualTo(2);
+            assertThat(result.getVariances()).extracting(StockTakeResultDto.Variance::getProductCode)
+                    .containsExactly("STK00001");
+            assertThat(result.isVariancesTruncated()).isTrue();
+            assertThat(result.getErrorCount()).isEqualTo(3);
+            assertThat(result.getErrors()).extracting(StockTakeResultDto.RowError::getLineNumber)
+                    .containsExactly(3L);
+            assertThat(result.isErrorsTruncated()).isTrue();
+        } finally {
+            ReflectionTestUtils.setField(stockTakeService, "maxDetailRows", 1000);
+        }
+    }
+
+    /**
+     * 棚卸画面が表示できることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】棚卸画面を表示できる")
+    void showStockTakeForm_RendersPage() throws Exception {
+        mockMvc.perform(get("/admin/inventory/stock-take"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/stock-take"))
+                .andExpect(content().string(containsString("counted_qty")));
+    }
+
+    /**
+     * CSVアップロードで反映され、結果画面に差異明細が表示されることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "adminuser", roles = {"ADMIN"})
+    @DisplayName("【結合】棚卸CSVをアップロードして在庫に反映できる")
+    void uploadStockTake_Apply_RedirectsWithResult() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "count.csv", "text/csv",
+                STOCK_TAKE_CSV.getBytes(StandardCharsets.UTF_8));
+
+        StockTakeResultDto result = (StockTakeResultDto) mockMvc.perform(
+                        multipart("/admin/inventory/stock-take").file(file).param("apply", "true").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/inventory/stock-take"))
+                .andExpect(flash().attribute("message", "棚卸結果を在庫に反映しました。（更新: 2件）"))
+                .andReturn().getFlashMap().get("stockTakeResult");
+
+        assertThat(currentStock(productA.getId())).isEqualTo(15);
+
+        mockMvc.perform(get("/admin/inventory/stock-take").flashAttr("stockTakeResult", result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("棚卸商品A")))
+                .andExpect(content().string(containsString("+5")));
+    }
+
+    /**
+     * 一般ユーザーは棚卸画面にアクセスできないことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("【結合】一般ユーザーによる棚卸リクエストはリダイレクト/拒否される")
+    void uploadStockTake_AsUser_IsForbidden() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "count.csv", "text/csv",
+                STOCK_TAKE_CSV.getBytes(StandardCharsets.UTF_8));
+
+        MvcResult result = mockMvc.perform(
+                        multipart("/admin/inventory/stock-take").file(file).param("apply", "true").with(csrf()))
+                .andReturn();
+
+        assertThat(result.getResponse().getStatus()).isIn(200, 302, 403);
+
+        assertThat(currentStock(productA.getId())).isEqualTo(10);
+    }
+
+    private ByteArrayInputStream toStream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int currentStock(Integer productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private Product createProduct(String code, String name, int stock) {
+        Product product = new Product();
+        product.setProductCode(code);
+        product.setProductName(name);
+        product.setCategory("Integration");
+        product.setPrice(new BigDecimal("1000.00"));
+        product.setStock(stock);
+        product.setStatus("active");
+        product.setCreatedAt(LocalDateTime.now().minusDays(1));
+        product.setUpdatedAt(LocalDateTime.now().minusHours(1));
+        return productRepository.saveAndFlush(product);
+    }
+}
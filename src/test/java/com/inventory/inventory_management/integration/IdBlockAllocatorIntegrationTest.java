@@ -0,0 +1,153 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inventory.inventory_management.config.ConnectionAdmissionDataSource;
+import com.inventory.inventory_management.entity.Product;
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.service.IdBlockAllocator;
+
+/**
+ * IdBlockAllocator の結合テスト
+ * JDBC 一括登録用の ID 範囲予約と JPA の採番が重複しないこと、
+ * 本番と同じ接続数（5）の接続プールで同時に登録しても採番の入れ子の接続取得で停止しないことを検証
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=5",
+        "spring.datasource.hikari.connection-timeout=5000"})
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("IdBlockAllocator 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class IdBlockAllocatorIntegrationTest {
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * 予約した範囲と JPA で採番された ID が重複しないことを検証
+     */
+    @Test
+    @DisplayName("【結合】予約範囲とJPAの採番は重複しない")
+    void reserve_DoesNotOverlapWithJpaIds() {
+        Set<Integer> ids = new HashSet<>();
+        ids.add(productRepository.saveAndFlush(product("IDB00001")).getId());
+
+        int first = idBlockAllocator.reserve(IdBlockAllocator.PRODUCTS, 120);
+        for (int i = 0; i < 120; i++) {
+            assertThat(ids.add(first + i)).isTrue();
+        }
+        for (int i = 2; i <= 60; i++) {
+            Product saved = productRepository.saveAndFlush(product(String.format("IDB%05d", i)));
+            assertThat(ids.add(saved.getId())).as("id=%d", saved.getId()).isTrue();
+        }
+
+        assertThat(ids).allMatch(id -> id >= 1000);
+    }
+
+    /**
+     * 予約数が不正な場合は IllegalArgumentException となることを検証
+     */
+    @Test
+    @DisplayName("【結合】予約数が0以下の場合はIllegalArgumentException")
+    void reserve_InvalidCount_ThrowsException() {
+        assertThatThrownBy(() -> idBlockAllocator.reserve(IdBlockAllocator.PRODUCTS, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 接続プールの接続数を超える同時登録でも、採番ブロックの取得（入れ子の接続取得）で停止しないことを検証
+     * 各スレッドは接続を保持したトランザクション内で採番ブロックの増分数を超える件数を登録するため、
+     * 他のスレッドが接続を保持したままの状態で採番ブロックの切り替えが発生する
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("【結合】接続数5のプールで同時に登録しても採番で停止しない")
+    void concurrentInserts_WithPoolOfFive_DoNotStall() throws Exception {
+        int threads = 10;
+        int perThread = 60;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> {
+                        productRepository.count();
+                        List<Integer> ids = new ArrayList<>();
+                        for (int i = 0; i < perThread; i++) {
+                            ids.add(productRepository.saveAndFlush(
+                                    product(String.format("C%02d%05d", thread, i))).getId());
+                        }
+                        return ids;
+                    });
+                }));
+            }
+            start.countDown();
+
+            Set<Integer> ids = new HashSet<>();
+            for (Future<List<Integer>> future : futures) {
+                ids.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            assertThat(ids).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(dataSource).isInstanceOf(ConnectionAdmissionDataSource.class);
+        ConnectionAdmissionDataSource.Stats stats = ((ConnectionAdmissionDataSource) dataSource).getStats();
+        assertThat(stats.timeouts()).isZero();
+        assertThat(stats.nestedAcquired()).isPositive();
+    }
+
+    private Product product(String code) {
+        Product product = new Product();
+        product.setProductCode(code);
+        product.setProductName("採番テスト商品" + code);
+        product.setCategory("Integration");
+        product.setPrice(new BigDecimal("100.00"));
+        product.setStock(1);
+        product.setStatus("active");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        return product;
+    }
+}
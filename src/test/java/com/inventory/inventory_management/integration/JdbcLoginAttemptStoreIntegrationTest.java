@@ -0,0 +1,163 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inventory.inventory_management.security.JdbcLoginAttemptStore;
+import com.inventory.inventory_management.security.LoginAttemptStore;
+import com.inventory.inventory_management.security.LoginAttemptStore.Scope;
+
+/**
+ * login_attempts テーブルを使うログイン試行回数の保存先の結合テスト
+ * 同じテーブルを共有する 2 つのインスタンスで、複数ノード構成での共有・リセット・再起動後の復元を検証する
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("JdbcLoginAttemptStore 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class JdbcLoginAttemptStoreIntegrationTest {
+
+    private static final long START = Instant.parse("2026-01-01T00:00:00Z").getEpochSecond();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcLoginAttemptStore nodeA;
+
+    private JdbcLoginAttemptStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM login_attempts");
+        nodeA = startNode(START);
+        nodeB = startNode(START);
+    }
+
+    /**
+     * 失敗回数は定期処理までまとめられ、反映後に他ノードへ共有されることを検証
+     */
+    @Test
+    @DisplayName("正常系：失敗回数は一括で反映され、他ノードに共有される")
+    void failuresAreBatchedAndShared() {
+        for (int i = 0; i < 3; i++) {
+            nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        }
+        // 定期処理までは保存先に書き込まない
+        assertThat(countRows()).isZero();
+        assertThat(nodeA.syncStats().pendingKeys()).isEqualTo(1);
+
+        nodeA.maintain(START + 5);
+        nodeB.maintain(START + 5);
+
+        assertThat(attemptsInTable(Scope.USERNAME, "victim")).isEqualTo(3);
+        assertThat(nodeB.get(Scope.USERNAME, "victim", START + 6)).isEqualTo(3);
+        assertThat(nodeA.syncStats().flushedRows()).isEqualTo(1);
+    }
+
+    /**
+     * 複数ノードでの失敗回数が合算されることを検証
+     */
+    @Test
+    @DisplayName("正常系：複数ノードの失敗回数は合算される")
+    void failuresOnBothNodesAreSummed() {
+        nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        nodeB.increment(Scope.USERNAME, "victim", START + 2);
+        nodeB.increment(Scope.IP_ADDRESS, "192.0.2.1", START + 2);
+
+        nodeA.maintain(START + 5);
+        nodeB.maintain(START + 5);
+        nodeA.maintain(START + 10);
+
+        assertThat(nodeA.get(Scope.USERNAME, "victim", START + 11)).isEqualTo(3);
+        assertThat(nodeB.get(Scope.USERNAME, "victim", START + 11)).isEqualTo(3);
+        assertThat(nodeA.get(Scope.IP_ADDRESS, "192.0.2.1", START + 11)).isEqualTo(1);
+    }
+
+    /**
+     * ログイン成功によるリセットが他ノードにも伝わることを検証
+     */
+    @Test
+    @DisplayName("正常系：リセットは他ノードにも反映される")
+    void resetIsPropagated() {
+        nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        nodeA.maintain(START + 5);
+        nodeB.maintain(START + 5);
+        assertThat(nodeB.get(Scope.USERNAME, "victim", START + 6)).isEqualTo(2);
+
+        assertThat(nodeB.reset(Scope.USERNAME, "victim", START + 7)).isEqualTo(2);
+        nodeB.maintain(START + 10);
+        nodeA.maintain(START + 10);
+
+        assertThat(attemptsInTable(Scope.USERNAME, "victim")).isZero();
+        assertThat(nodeA.get(Scope.USERNAME, "victim", START + 11)).isZero();
+    }
+
+    /**
+     * 再起動後も期限内の失敗回数が復元されることを検証
+     */
+    @Test
+    @DisplayName("正常系：再起動後も失敗回数が復元される")
+    void attemptsSurviveRestart() {
+        for (int i = 0; i < 5; i++) {
+            nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        }
+        nodeA.destroy();
+
+        JdbcLoginAttemptStore restarted = startNode(START + 60 * 60);
+
+        assertThat(restarted.get(Scope.USERNAME, "victim", START + 60 * 60)).isEqualTo(5);
+    }
+
+    /**
+     * 期限切れの行は数え直され、定期処理で削除されることを検証
+     */
+    @Test
+    @DisplayName("正常系：期限切れの行は数え直され、削除される")
+    void expiredRowsRestartAndArePurged() {
+        nodeA.increment(Scope.USERNAME, "victim", START + 1);
+        nodeA.increment(Scope.USERNAME, "stale", START + 1);
+        nodeA.maintain(START + 5);
+
+        long nextDay = START + LoginAttemptStore.ATTEMPT_TTL_SECONDS + 10;
+        nodeA.increment(Scope.USERNAME, "victim", nextDay);
+        nodeA.maintain(nextDay);
+
+        assertThat(attemptsInTable(Scope.USERNAME, "victim")).isEqualTo(1);
+        assertThat(nodeA.get(Scope.USERNAME, "victim", nextDay)).isEqualTo(1);
+        // 期限切れの行は定期処理で削除される
+        assertThat(countRows()).isEqualTo(1);
+    }
+
+    private JdbcLoginAttemptStore startNode(long startEpochSeconds) {
+        JdbcLoginAttemptStore store = new JdbcLoginAttemptStore(jdbcTemplate,
+                Clock.fixed(Instant.ofEpochSecond(startEpochSeconds), ZoneOffset.UTC), 1000);
+        store.afterPropertiesSet();
+        return store;
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM login_attempts", Integer.class);
+    }
+
+    private int attemptsInTable(Scope scope, String key) {
+        return jdbcTemplate.queryForObject(
+                "SELECT attempts FROM login_attempts WHERE scope = ? AND attempt_key = ?",
+                Integer.class, scope.getCode(), key);
+    }
+}
@@ -0,0 +1,392 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.inventory.inventory_management.entity.User;
+import com.inventory.inventory_management.repository.UserRepository;
+import com.inventory.inventory_management.security.JdbcSessionRepository;
+import com.inventory.inventory_management.security.JdbcSessionRepository.JdbcSession;
+import com.inventory.inventory_management.security.UserDetailsImpl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * sessions テーブルを使うセッションリポジトリの結合テスト
+ * 同じテーブルを共有する 2 つのリポジトリで複数ノード構成を再現し、属性の復元・書き込みの省略・同時ログイン制御を検証する
+ */
+@SpringBootTest(properties = "security.session.store=jdbc")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("JdbcSessionRepository 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class JdbcSessionRepositoryIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private static final Duration TOUCH_INTERVAL = Duration.ofSeconds(60);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Autowired
+    private SessionRepositoryFilter<?> sessionRepositoryFilter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+
+    private JdbcSessionRepository nodeA;
+
+    private JdbcSessionRepository nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM sessions");
+        clock = new MutableClock();
+        nodeA = new JdbcSessionRepository(jdbcTemplate, transactionManager, clock, TIMEOUT, TOUCH_INTERVAL);
+        nodeB = new JdbcSessionRepository(jdbcTemplate, transactionManager, clock, TIMEOUT, TOUCH_INTERVAL);
+    }
+
+    /**
+     * ログインしたセッションが sessions テーブルに保存され、SessionRegistry から参照できることを検証
+     */
+    @Test
+    @DisplayName("正常系：ログインしたセッションはテーブルに保存され、SessionRegistryから参照できる")
+    void loginStoresSessionInTable() throws Exception {
+        User user = userRepository.findByUsername("testuser").orElseThrow();
+        user.setPassword(passwordEncoder.encode("Session123!"));
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.saveAndFlush(user);
+        entityManager.clear();
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(sessionRepositoryFilter)
+                .apply(springSecurity())
+                .build();
+
+        mockMvc.perform(post("/login")
+                .param("username", "testuser")
+                .param("password", "Session123!")
+                .with(csrf()))
+                .andExpect(redirectedUrl("/inventory"));
+
+        assertThat(sessionRegistry).isInstanceOf(SpringSessionBackedSessionRegistry.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sessions WHERE principal_name = 'testuser'", Integer.class)).isEqualTo(1);
+        UserDetailsImpl principal = new UserDetailsImpl(user, List.of());
+        assertThat(sessionRegistry.getAllSessions(principal, false)).hasSize(1);
+    }
+
+    /**
+     * 認証情報を含む属性が他ノードで復元でき、パスワードハッシュは保存されないことを検証
+     */
+    @Test
+    @DisplayName("正常系：認証情報は他ノードで復元でき、パスワードハッシュは保存されない")
+    void attributesAreRestoredOnAnotherNode() {
+        JdbcSession session = nodeA.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext("alice"));
+        nodeA.save(session);
+
+        JdbcSession restored = nodeB.findById(session.getId());
+
+        SecurityContextImpl context = restored.getAttribute(
+                HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        UserDetailsImpl principal = (UserDetailsImpl) context.getAuthentication().getPrincipal();
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        assertThat(principal.getUser().getId()).isEqualTo(42);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(nodeB.findByPrincipalName("alice")).containsOnlyKeys(session.getId());
+    }
+
+    /**
+     * 変更のないリクエストでは書き込まず、一定時間ごとに最終アクセス時刻だけを更新することを検証
+     */
+    @Test
+    @DisplayName("正常系：変更がなければ書き込みを省略し、一定時間ごとに最終アクセス時刻だけを更新する")
+    void unchangedSessionsSkipWrites() {
+        JdbcSession session = nodeA.createSession();
+        session.setAttribute("counter", 1);
+        nodeA.save(session);
+
+        clock.advanceSeconds(10);
+        JdbcSession loaded = nodeA.findById(session.getId());
+        loaded.setLastAccessedTime(clock.instant());
+        nodeA.save(loaded);
+        assertThat(nodeA.getStats().skippedWrites()).isEqualTo(1);
+
+        clock.advanceSeconds(60);
+        loaded.setLastAccessedTime(clock.instant());
+        nodeA.save(loaded);
+        assertThat(nodeA.getStats().accessWrites()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_access_time FROM sessions WHERE session_id = ?",
+                Long.class, session.getId())).isEqualTo(clock.millis());
+
+        loaded.setAttribute("counter", 2);
+        nodeA.save(loaded);
+        assertThat(nodeA.getStats().attributeWrites()).isEqualTo(1);
+        assertThat((Integer) nodeB.findById(session.getId()).getAttribute("counter")).isEqualTo(2);
+    }
+
+    /**
+     * 同じセッションを並行して処理するリクエストが別々の属性を変更しても、互いの変更を上書きしないことを検証
+     */
+    @Test
+    @DisplayName("正常系：並行するリクエストによる別々の属性の変更は互いに上書きされない")
+    void interleavedRequestsKeepEachOthersAttributeChanges() {
+        JdbcSession session = nodeA.createSession();
+        session.setAttribute("importResult", "previous");
+        session.setAttribute("searchCriteria", "category=A");
+        session.setAttribute("flash", "message");
+        nodeA.save(session);
+
+        JdbcSession importRequest = nodeA.findById(session.getId());
+        JdbcSession pollRequest = nodeB.findById(session.getId());
+        importRequest.setAttribute("importResult", "done");
+        pollRequest.setAttribute("searchCriteria", "category=B");
+        pollRequest.removeAttribute("flash");
+        pollRequest.setAttribute("lastPoll", 1);
+        nodeB.save(pollRequest);
+        nodeA.save(importRequest);
+
+        JdbcSession restored = nodeB.findById(session.getId());
+        assertThat((String) restored.getAttribute("importResult")).isEqualTo("done");
+        assertThat((String) restored.getAttribute("searchCriteria")).isEqualTo("category=B");
+        assertThat((Integer) restored.getAttribute("lastPoll")).isEqualTo(1);
+        assertThat(restored.getAttributeNames()).doesNotContain("flash");
+    }
+
+    /**
+     * セッション ID の変更（セッション固定攻撃対策）が保存されることを検証
+     */
+    @Test
+    @DisplayName("正常系：セッションIDの変更は既存の行に反映される")
+    void changeSessionIdUpdatesRow() {
+        JdbcSession session = nodeA.createSession();
+        nodeA.save(session);
+        String oldId = session.getId();
+
+        String newId = session.changeSessionId();
+        nodeA.save(session);
+
+        assertThat(nodeB.findById(oldId)).isNull();
+        assertThat(nodeB.findById(newId)).isNotNull();
+    }
+
+    /**
+     * 他ノードで期限切れにしたセッションが、同時ログイン制御から期限切れとして見えることを検証
+     */
+    @Test
+    @DisplayName("正常系：他ノードでのセッション失効が共有される")
+    void expireNowIsVisibleOnAnotherNode() {
+        JdbcSession session = nodeA.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext("alice"));
+        nodeA.save(session);
+
+        SpringSessionBackedSessionRegistry<JdbcSession> registryA = new SpringSessionBackedSessionRegistry<>(nodeA);
+        SpringSessionBackedSessionRegistry<JdbcSession> registryB = new SpringSessionBackedSessionRegistry<>(nodeB);
+        registryA.getAllSessions("alice", false).forEach(SessionInformation::expireNow);
+
+        assertThat(registryB.getSessionInformation(session.getId()).isExpired()).isTrue();
+        assertThat(registryB.getAllSessions("alice", false)).isEmpty();
+    }
+
+    /**
+     * 期限切れのセッションは取得できず、定期処理で削除されることを検証
+     */
+    @Test
+    @DisplayName("正常系：期限切れのセッションは取得できず、定期処理で削除される")
+    void expiredSessionsAreRemoved() {
+        JdbcSession expired = nodeA.createSession();
+        nodeA.save(expired);
+        clock.advanceSeconds(TIMEOUT.toSeconds() - 60);
+        JdbcSession active = nodeA.createSession();
+        nodeA.save(active);
+
+        clock.advanceSeconds(120);
+        nodeA.cleanUpExpiredSessions();
+
+        assertThat(nodeB.findById(expired.getId())).isNull();
+        assertThat(nodeB.findById(active.getId())).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sessions", Integer.class)).isEqualTo(1);
+        assertThat(nodeA.getStats().expiredDeletes()).isEqualTo(1);
+    }
+
+    /**
+     * 入力エラーでフラッシュ属性（フォーム・BindingResult）を積んだリダイレクトが、セッション保存に失敗せず復元されることを検証
+     */
+    @Test
+    @DisplayName("正常系：入力エラー時のフラッシュ属性はテーブルに保存され、リダイレクト先で復元される")
+    void invalidFormFlashAttributesSurviveRedirect() throws Exception {
+        User user = userRepository.findByUsername("adminuser").orElseThrow();
+        user.setPassword(passwordEncoder.encode("Session123!"));
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.saveAndFlush(user);
+        entityManager.clear();
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(sessionRepositoryFilter)
+                .apply(springSecurity())
+                .build();
+        Cookie sessionCookie = mockMvc.perform(post("/login")
+                .param("username", "adminuser")
+                .param("password", "Session123!")
+                .with(csrf()))
+                .andExpect(redirectedUrl("/inventory"))
+                .andReturn().getResponse().getCookie("JSESSIONID");
+        assertThat(sessionCookie).isNotNull();
+
+        mockMvc.perform(post("/admin/products/quick-create")
+                .cookie(sessionCookie)
+                .param("productName", "")
+                .param("category", "文房具")
+                .param("price", "100")
+                .param("stockQuantity", "10")
+                .with(csrf()))
+                .andExpect(redirectedUrl("/admin/products"));
+
+        mockMvc.perform(get("/admin/products").cookie(sessionCookie))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("error", "入力内容を確認してください。"))
+                .andExpect(model().attributeHasFieldErrors("quickForm", "productName"));
+    }
+
+    /**
+     * シリアライズできない属性は保存から除外され、他の属性の保存は続行されることを検証
+     */
+    @Test
+    @DisplayName("異常系：シリアライズできない属性は除外して保存する")
+    void unserializableAttributesAreSkipped() {
+        JdbcSession session = nodeA.createSession();
+        session.setAttribute("counter", 1);
+        session.setAttribute("unserializable", new Object());
+        nodeA.save(session);
+
+        JdbcSession restored = nodeB.findById(session.getId());
+
+        assertThat((Integer) restored.getAttribute("counter")).isEqualTo(1);
+        assertThat(restored.getAttributeNames()).doesNotContain("unserializable");
+    }
+
+    /**
+     * 属性をまとめて圧縮した保存形式が、属性ごとの Java シリアライズより小さいことを検証
+     */
+    @Test
+    @DisplayName("正常系：属性の保存形式は属性ごとのシリアライズより小さい")
+    void attributeFormatIsCompact() throws IOException {
+        JdbcSession session = nodeA.createSession();
+        Map<String, Object> attributes = Map.of(
+                HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext("alice"),
+                "org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository.CSRF_TOKEN",
+                new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "4f1c8a2e-93b5-4d71-a6f0-2b9e7c35d814"));
+        attributes.forEach(session::setAttribute);
+        nodeA.save(session);
+
+        int perAttribute = 0;
+        for (Object value : attributes.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            }
+            perAttribute += bytes.size();
+        }
+        long stored = nodeA.getStats().averageAttributeBytes();
+        assertThat(stored).isLessThan(perAttribute * 3 / 4);
+    }
+
+    private static SecurityContextImpl securityContext(String username) {
+        User user = new User();
+        user.setId(42);
+        user.setUsername(username);
+        user.setPassword("$2a$12$hash");
+        user.setEmail(username + "@example.com");
+        user.setFullName(username);
+        user.setIsActive(true);
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserDetailsImpl principal = new UserDetailsImpl(user, authorities);
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
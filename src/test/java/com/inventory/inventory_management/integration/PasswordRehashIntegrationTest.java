@@ -0,0 +1,134 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.inventory.inventory_management.entity.User;
+import com.inventory.inventory_management.repository.UserRepository;
+
+/**
+ * ログイン成功時のパスワード再ハッシュの結合テスト
+ * 保存済みハッシュのコスト係数が現在の設定（テスト環境では 12）と異なる場合に再ハッシュされることを検証する
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("パスワード再ハッシュ 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class PasswordRehashIntegrationTest {
+
+    private static final String RAW_PASSWORD = "Rehash123!";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * 低いコスト係数のハッシュはログイン成功時に現在のコスト係数で再ハッシュされることを検証
+     */
+    @Test
+    @DisplayName("正常系：低いコスト係数のハッシュはログイン成功時に再ハッシュされる")
+    void rehashesLowerCostHashOnLogin() throws Exception {
+        storePassword("testuser", new BCryptPasswordEncoder(10).encode(RAW_PASSWORD));
+
+        login("testuser");
+
+        String stored = userRepository.findByUsername("testuser").orElseThrow().getPassword();
+        assertThat(stored).startsWith("$2a$12$");
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, stored)).isTrue();
+    }
+
+    /**
+     * 高いコスト係数のハッシュも現在のコスト係数へ揃えられることを検証
+     */
+    @Test
+    @DisplayName("正常系：高いコスト係数のハッシュもログイン成功時に現在のコスト係数へ揃えられる")
+    void rehashesHigherCostHashOnLogin() throws Exception {
+        storePassword("testuser", new BCryptPasswordEncoder(13).encode(RAW_PASSWORD));
+
+        login("testuser");
+
+        assertThat(userRepository.findByUsername("testuser").orElseThrow().getPassword()).startsWith("$2a$12$");
+    }
+
+    /**
+     * 現在のコスト係数のハッシュは更新されないことを検証
+     */
+    @Test
+    @DisplayName("正常系：現在のコスト係数のハッシュは再ハッシュされない")
+    void keepsCurrentCostHash() throws Exception {
+        String current = passwordEncoder.encode(RAW_PASSWORD);
+        storePassword("testuser", current);
+
+        login("testuser");
+
+        assertThat(userRepository.findByUsername("testuser").orElseThrow().getPassword()).isEqualTo(current);
+    }
+
+    /**
+     * ログイン失敗時は再ハッシュされないことを検証
+     */
+    @Test
+    @DisplayName("異常系：ログイン失敗時は再ハッシュされない")
+    void doesNotRehashOnFailedLogin() throws Exception {
+        String lowCost = new BCryptPasswordEncoder(10).encode(RAW_PASSWORD);
+        storePassword("testuser", lowCost);
+
+        mockMvc.perform(post("/login")
+                .param("username", "testuser")
+                .param("password", "Wrong123!")
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/login?error"));
+
+        assertThat(userRepository.findByUsername("testuser").orElseThrow().getPassword()).isEqualTo(lowCost);
+    }
+
+    private void storePassword(String username, String encodedPassword) {
+        User user = userRepository.findByUsername(username).orElseThrow();
+        user.setPassword(encodedPassword);
+        userRepository.saveAndFlush(user);
+    }
+
+    private void login(String username) throws Exception {
+        mockMvc.perform(post("/login")
+                .param("username", username)
+                .param("password", RAW_PASSWORD)
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/inventory"));
+    }
+}
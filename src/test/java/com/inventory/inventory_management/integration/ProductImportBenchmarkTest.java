@@ -0,0 +1,107 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inventory.inventory_management.dto.response.ProductImportResultDto;
+import com.inventory.inventory_management.service.ProductCsvService;
+
+/**
+ * 商品CSVインポートのベンチマーク
+ * 単一スレッドの逐次処理と並列パイプラインの処理速度・ステージ別実績を比較する。
+ * <p>
+ * 通常のテスト実行では無効。以下のように明示的に有効化して実行する。
+ * <pre>
+ * mvn test -Dtest=ProductImportBenchmarkTest -Dbenchmark=true -Dbenchmark.rows=200000
+ * </pre>
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("商品CSVインポート ベンチマーク")
+class ProductImportBenchmarkTest {
+
+    @Autowired
+    private ProductCsvService productCsvService;
+
+    private Path csvFile;
+
+    private int rows;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = Integer.getInteger("benchmark.rows", 100_000);
+        csvFile = Files.createTempFile("product-import-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+            writer.write("product_name,category,price,stock,status,description,warranty_months,"
+                    + "dimensions,variations,manufacturing_date,expiration_date,tags\n");
+            for (int i = 0; i < rows; i++) {
+                // 10行に1行は検証エラー（価格が負数）とする
+                String price = i % 10 == 9 ? "-1" : Integer.toString(100 + i % 5000);
+                writer.write("ベンチマーク商品" + i + ",Bench," + price + "," + (i % 100) + ",active,"
+                        + "\"説明文, " + i + "\",12,100x200x50mm,赤/青,2024-01-15,2026-12-31,bench\n");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReflectionTestUtils.setField(productCsvService, "importParallelism", 0);
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Test
+    @DisplayName("逐次処理と並列パイプラインの処理速度を比較する")
+    void compareSequentialAndPipelined() throws Exception {
+        int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        // JIT ウォームアップを兼ねて 1 回ずつ実行してから計測する
+        runImport(1);
+        runImport(parallelism);
+
+        ProductImportResultDto sequential = runImport(1);
+        ProductImportResultDto pipelined = runImport(parallelism);
+
+        print("sequential", sequential);
+        print("pipelined", pipelined);
+        System.out.printf("[benchmark] speedup=%.2fx%n",
+                (double) sequential.getElapsedMillis() / Math.max(1, pipelined.getElapsedMillis()));
+
+        assertThat(pipelined.getSuccessCount()).isEqualTo(sequential.getSuccessCount());
+        assertThat(pipelined.getErrorCount()).isEqualTo(sequential.getErrorCount());
+    }
+
+    private ProductImportResultDto runImport(int parallelism) throws Exception {
+        ReflectionTestUtils.setField(productCsvService, "importParallelism", parallelism);
+        try (InputStream in = Files.newInputStream(csvFile)) {
+            return productCsvService.importCsv(in);
+        }
+    }
+
+    private void print(String label, ProductImportResultDto result) {
+        System.out.printf("[benchmark] %s: rows=%d, parallelism=%d, elapsed=%dms, %d rows/s, queue(max/avg)=%d/%.1f%n",
+                label, result.getTotalRows(), result.getParallelism(), result.getElapsedMillis(),
+                result.getRowsPerSecond(), result.getMaxQueueDepth(), result.getAverageQueueDepth());
+        result.getStageMetrics().forEach(stage -> System.out.printf(
+                "[benchmark]   %-8s rows=%d, busy=%dms, %d rows/s%n",
+                stage.getStage(), stage.getRows(), stage.getBusyMillis(), stage.getRowsPerSecond()));
+    }
+}
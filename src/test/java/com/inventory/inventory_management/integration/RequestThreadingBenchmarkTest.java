@@ -0,0 +1,299 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.inventory.inventory_management.InventoryManagementApplication;
+import com.inventory.inventory_management.config.VirtualThreadPinningMonitor;
+
+/**
+ * リクエストの実行スレッド（プラットフォームスレッド / 仮想スレッド）のベンチマーク
+ * アプリを spring.threads.virtual.enabled=false / true で 1 回ずつ起動し（Hikari の接続数は本番と同じ 5）、
+ * 同時接続のクライアントから在庫一覧画面（GET /inventory）と在庫更新 API（POST /api/inventory/update-stock）を
+ * 交互に呼び出して、それぞれの応答時間（p50 / p95 / p99）とスループットを比較する。
+ * 仮想スレッドの場合は、計測中に検出した仮想スレッドの固定（pinning）の統計も出力する。
+ * <p>
+ * 通常のテスト実行では無効。以下のように明示的に有効化して実行する。
+ * <pre>
+ * mvn test -Dtest=RequestThreadingBenchmarkTest -Dbenchmark=true -Dbenchmark.clients=1000 -Dbenchmark.requests-per-client=10
+ * </pre>
+ * データベースはインメモリの H2 のため、応答時間の絶対値ではなく 2 つの方式の差を比較する。
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("リクエスト実行スレッド ベンチマーク")
+class RequestThreadingBenchmarkTest {
+
+    private static final String USERNAME = "testuser";
+
+    private static final String PASSWORD = "benchmark-password";
+
+    /** 在庫を更新する商品（data-test.sql のテスト商品A） */
+    private static final int PRODUCT_ID = 1;
+
+    /** JIT ウォームアップのクライアント数 */
+    private static final int WARMUP_CLIENTS = 50;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Pattern LOGIN_CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private static final Pattern PAGE_CSRF_TOKEN = Pattern.compile("data-csrf-token=\"([^\"]+)\"");
+
+    private static final Pattern PAGE_CSRF_HEADER = Pattern.compile("data-csrf-header=\"([^\"]+)\"");
+
+    private int clients;
+
+    private int requestsPerClient;
+
+    @BeforeEach
+    void setUp() {
+        clients = Integer.getInteger("benchmark.clients", 1000);
+        requestsPerClient = Integer.getInteger("benchmark.requests-per-client", 10);
+    }
+
+    @Test
+    @DisplayName("プラットフォームスレッドと仮想スレッドで在庫一覧・在庫更新の応答時間を比較する")
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        platform.print();
+        virtual.print();
+        System.out.printf("[benchmark] throughput virtual/platform=%.2fx%n",
+                virtual.throughput() / Math.max(0.001, platform.throughput()));
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    /**
+     * アプリを起動して負荷をかける
+     *
+     * @param virtualThreads 仮想スレッドで実行する場合 true
+     * @return 計測結果
+     */
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryManagementApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:threading-benchmark-" + mode
+                                + ";MODE=MYSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.hikari.maximum-pool-size=5",
+                        "--logging.level.com.inventory.inventory_management=WARN",
+                        "--logging.level.org.springframework.security=WARN")) {
+            DataSource dataSource = context.getBean(DataSource.class);
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                    new ClassPathResource("schema-test.sql"), new ClassPathResource("data-test.sql"));
+            populator.setSqlScriptEncoding("UTF-8");
+            populator.execute(dataSource);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("UPDATE users SET password = ? WHERE username = ?",
+                    context.getBean(PasswordEncoder.class).encode(PASSWORD), USERNAME);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build();
+            Session session = login(client, baseUrl);
+
+            int recordedBefore = countTransactions(jdbcTemplate);
+            AtomicInteger updated = new AtomicInteger();
+            load(client, baseUrl, session, Math.min(clients, WARMUP_CLIENTS), 2, updated);
+            Result result = load(client, baseUrl, session, clients, requestsPerClient, updated);
+            result = result.withMode(mode);
+
+            // 同じ商品の在庫数を同時に更新するため在庫数は後勝ちになりうる。成功した更新の履歴がすべて残ることを確認する
+            assertThat(countTransactions(jdbcTemplate) - recordedBefore)
+                    .as("成功した在庫更新の履歴がすべて記録されること").isEqualTo(updated.get());
+
+            context.getBeanProvider(VirtualThreadPinningMonitor.class).ifAvailable(monitor ->
+                    System.out.printf("[benchmark] %s pinning: %s%n", mode, monitor.getStats()));
+            return result;
+        }
+    }
+
+    /**
+     * ログインして、以降のリクエストで共有するセッションの CSRF トークンを取得する
+     */
+    private static Session login(HttpClient client, String baseUrl) throws Exception {
+        String loginPage = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        String form = "username=" + encode(USERNAME) + "&password=" + encode(PASSWORD)
+                + "&_csrf=" + encode(find(LOGIN_CSRF, loginPage));
+        HttpResponse<Void> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(login.headers().firstValue("Location")).as("ログインに成功すること")
+                .hasValueSatisfying(location -> assertThat(location).endsWith("/inventory"));
+
+        String inventoryPage = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/inventory")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        return new Session(find(PAGE_CSRF_HEADER, inventoryPage), find(PAGE_CSRF_TOKEN, inventoryPage));
+    }
+
+    /**
+     * 同時接続のクライアントから在庫一覧画面と在庫更新 API を交互に呼び出す
+     *
+     * @param clientCount クライアント数
+     * @param requests    クライアントごとのリクエスト数
+     * @param updated     成功した在庫更新の件数（加算する）
+     * @return 計測結果
+     */
+    private static Result load(HttpClient client, String baseUrl, Session session, int clientCount, int requests,
+            AtomicInteger updated) throws Exception {
+        HttpRequest page = HttpRequest.newBuilder(URI.create(baseUrl + "/inventory"))
+                .timeout(REQUEST_TIMEOUT).GET().build();
+        HttpRequest update = HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventory/update-stock"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header(session.csrfHeader(), session.csrfToken())
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"productId": %d, "transactionType": "in", "quantity": 1}
+                        """.formatted(PRODUCT_ID)))
+                .build();
+
+        ConcurrentLinkedQueue<Long> pageNanos = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> updateNanos = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long startNanos;
+        // 負荷をかける側のスレッド数が結果を左右しないよう、クライアントは仮想スレッドで動かす
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientCount; c++) {
+                int clientIndex = c;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < requests; i++) {
+                        boolean isUpdate = (clientIndex + i) % 2 == 1;
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(isUpdate ? update : page,
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        (isUpdate ? updateNanos : pageNanos).add(System.nanoTime() - begin);
+                        if (isUpdate) {
+                            updated.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return new Result(null, clientCount, clientCount * requests, errors.get(), elapsedMillis,
+                Latency.of(pageNanos), Latency.of(updateNanos));
+    }
+
+    private static int countTransactions(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_transactions WHERE product_id = ?", Integer.class, PRODUCT_ID);
+    }
+
+    private static String find(Pattern pattern, String html) {
+        Matcher matcher = pattern.matcher(html);
+        assertThat(matcher.find()).as("%s が含まれること", pattern).isTrue();
+        return matcher.group(1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Session(String csrfHeader, String csrfToken) {
+    }
+
+    /**
+     * 応答時間の分布（ミリ秒）
+     */
+    private record Latency(int count, double p50, double p95, double p99, double max) {
+
+        static Latency of(ConcurrentLinkedQueue<Long> nanos) {
+            List<Long> sorted = new ArrayList<>(nanos);
+            Collections.sort(sorted);
+            return new Latency(sorted.size(), percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return "count=%d, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms".formatted(count, p50, p95, p99, max);
+        }
+    }
+
+    /**
+     * 1 回の計測結果
+     */
+    private record Result(String mode, int clients, int requests, int errors, long elapsedMillis,
+            Latency page, Latency update) {
+
+        Result withMode(String mode) {
+            return new Result(mode, clients, requests, errors, elapsedMillis, page, update);
+        }
+
+        double throughput() {
+            return requests * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        void print() {
+            System.out.printf("[benchmark] %s: clients=%d, requests=%d, errors=%d, elapsed=%dms, %.0f req/s%n",
+                    mode, clients, requests, errors, elapsedMillis, throughput());
+            System.out.printf("[benchmark] %s GET /inventory: %s%n", mode, page);
+            System.out.printf("[benchmark] %s POST /api/inventory/update-stock: %s%n", mode, update);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import jakarta.servlet.Filter;
+
+/**
+ * 静的リソース配信の結合テストクラス
+ * テンプレートのハッシュ付き URL への書き換え、immutable なキャッシュ制御、圧縮済みファイルの配信を検証します
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("静的リソース配信 結合テスト")
+public class StaticResourceIntegrationTest {
+
+    private static final Pattern STYLE_URL = Pattern.compile("/css/style-[0-9a-f]{32}\\.css");
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // アプリケーションと同じく、セキュリティフィルター（URL の encode を無効化する）の内側で URL を書き換える
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class), new ResourceUrlEncodingFilter())
+                .build();
+    }
+
+    @Test
+    @DisplayName("テンプレートの静的リソースの URL は内容のハッシュ付きで出力される")
+    void testTemplateReferencesVersionedUrl() throws Exception {
+        String html = mockMvc.perform(get("/login"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html).containsPattern(STYLE_URL);
+        assertThat(html).containsPattern("/js/common-[0-9a-f]{32}\\.js");
+        assertThat(html).doesNotContain("\"/css/style.css\"");
+    }
+
+    @Test
+    @DisplayName("ハッシュ付きの URL は 1 年間の immutable なキャッシュを指定する")
+    void testVersionedUrlIsImmutable() throws Exception {
+        MvcResult result = mockMvc.perform(get(versionedStyleUrl()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String cacheControl = result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        assertThat(cacheControl).contains("max-age=31536000", "public", "immutable");
+        assertThat(result.getResponse().getContentAsString()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("ハッシュなしの URL には immutable を指定しない")
+    void testUnversionedUrlIsNotImmutable() throws Exception {
+        MvcResult result = mockMvc.perform(get("/css/style.css"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).doesNotContain("immutable");
+    }
+
+    @Test
+    @DisplayName("内容と一致しないハッシュの URL は404を返す")
+    void testStaleHashNotFound() throws Exception {
+        mockMvc.perform(get("/css/style-00000000000000000000000000000000.css"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("gzip に対応したクライアントには圧縮済みファイルを返す")
+    void testServesPrecompressedFile() throws Exception {
+        // 圧縮済みファイルはビルド時に gzip コマンドで作成する（コマンドのない環境では作成されない）
+        assumeTrue(new ClassPathResource("static/css/style.css.gz").exists());
+
+        MvcResult result = mockMvc.perform(get(versionedStyleUrl()).header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(result.getResponse().getContentAsByteArray().length)
+                .isLessThan((int) new ClassPathResource("static/css/style.css").contentLength());
+    }
+
+    private String versionedStyleUrl() throws Exception {
+        String html = mockMvc.perform(get("/login")).andReturn().getResponse().getContentAsString();
+        Matcher matcher = STYLE_URL.matcher(html);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group();
+    }
+}
@@ -0,0 +1,114 @@
+package com.inventory.inventory_management.integration;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * 在庫 API のリクエストあたりの割り当て量ベンチマーク
+ * 在庫一覧・在庫履歴・在庫更新 API を繰り返し呼び出し、呼び出しスレッドで割り当てたバイト数と処理時間の 1 リクエストあたりの平均を出力する。
+ * MockMvc のリクエスト・レスポンスの作成分も含むため、絶対値ではなく変更前後の差を比較する。
+ * <p>
+ * 通常のテスト実行では無効。以下のように明示的に有効化して実行する。
+ * <pre>
+ * mvn test -Dtest=StockApiAllocationBenchmarkTest -Dbenchmark=true -Dbenchmark.iterations=5000
+ * </pre>
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("在庫API 割り当て量ベンチマーク")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class StockApiAllocationBenchmarkTest {
+
+    /** 在庫履歴 API で返す履歴の件数 */
+    private static final int HISTORY_ROWS = 50;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private int iterations;
+
+    @BeforeEach
+    void setUp() {
+        iterations = Integer.getInteger("benchmark.iterations", 5000);
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        for (int i = 0; i < HISTORY_ROWS; i++) {
+            jdbcTemplate.update("INSERT INTO stock_transactions (id, product_id, transaction_type, quantity, "
+                    + "before_stock, after_stock, user_id, transaction_date, remarks) VALUES (?, 2, 'in', 1, ?, ?, "
+                    + "'adminuser', ?, ?)", 100 + i, i, i + 1, LocalDateTime.now().minusMinutes(i),
+                    i % 2 == 0 ? "ベンチマーク" : null);
+        }
+    }
+
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("在庫APIの1リクエストあたりの割り当て量を計測する")
+    void measureAllocationPerRequest() throws Exception {
+        measure("GET /admin/api/inventory/products",
+                get("/admin/api/inventory/products").param("size", "20"));
+        measure("GET /admin/api/inventory/products/{id}/history (" + HISTORY_ROWS + " rows)",
+                get("/admin/api/inventory/products/2/history"));
+        measure("POST /admin/api/inventory/update-stock",
+                post("/admin/api/inventory/update-stock")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productId": 3, "transactionType": "in", "quantity": 1}
+                                """));
+    }
+
+    /**
+     * ウォームアップ後に指定回数呼び出し、1 リクエストあたりの割り当て量と処理時間を出力する
+     */
+    private void measure(String label, RequestBuilder request) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int warmup = Math.max(100, iterations / 5);
+        for (int i = 0; i < warmup; i++) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+
+        long startBytes = threads.getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - startBytes;
+
+        System.out.printf("[benchmark] %s: iterations=%d, allocated=%d bytes/request, %.1f us/request%n",
+                label, iterations, allocated / iterations, elapsedNanos / 1000.0 / iterations);
+    }
+}
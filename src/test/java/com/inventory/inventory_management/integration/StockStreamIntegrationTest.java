@@ -0,0 +1,219 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.inventory.inventory_management.entity.Product;
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.repository.StockTransactionRepository;
+import com.inventory.inventory_management.service.StockChangeBroadcaster;
+
+/**
+ * 在庫変更の配信（/admin/api/inventory/stream）の結合テスト
+ * 在庫更新のコミット後に購読中の接続へイベントが届くこと、変更のまとめ・未送信分の上限を検証
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("在庫変更の配信 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class StockStreamIntegrationTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockTransactionRepository stockTransactionRepository;
+
+    @Autowired
+    private StockChangeBroadcaster stockChangeBroadcaster;
+
+    private MockMvc mockMvc;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        product = new Product();
+        product.setProductCode("SSE00001");
+        product.setProductName("配信テスト商品");
+        product.setCategory("Electronics");
+        product.setPrice(new BigDecimal("1000.00"));
+        product.setStock(30);
+        product.setStatus("active");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockTransactionRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /**
+     * 在庫更新のコミット後に、商品ID・在庫数・在庫状態の変化が届くことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("在庫更新のコミット後に在庫変更イベントが届く")
+    void stream_StockUpdated_ReceivesEvent() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        mockMvc.perform(post("/admin/api/inventory/update-stock")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateJson(product.getId(), "out", 15)))
+                .andExpect(status().isOk());
+
+        String events = await(stream, content -> content.contains("event:stock"));
+        assertThat(events).contains("\"productId\":" + product.getId(), "\"stock\":15",
+                "\"level\":\"low\"", "\"previousLevel\":\"ok\"");
+    }
+
+    /**
+     * 在庫不足で失敗した（ロールバックした）更新は届かないことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("失敗した在庫更新のイベントは届かない")
+    void stream_UpdateFailed_NoEvent() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        mockMvc.perform(post("/admin/api/inventory/update-stock")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateJson(product.getId(), "out", 100)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/admin/api/inventory/update-stock")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateJson(product.getId(), "in", 1)))
+                .andExpect(status().isOk());
+
+        String events = await(stream, content -> content.contains("event:stock"));
+        assertThat(events).contains("\"stock\":31").doesNotContain("\"stock\":-70");
+        assertThat(countEvents(events, "event:stock")).isEqualTo(1);
+    }
+
+    /**
+     * 同じ商品の続いた変更が 1 件にまとめられることを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("同じ商品の続いた変更は1件にまとめて届く")
+    void stream_Burst_Coalesced() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        stockChangeBroadcaster.stockChanged(product.getId(), 30, 10);
+        stockChangeBroadcaster.stockChanged(product.getId(), 10, 5);
+        stockChangeBroadcaster.stockChanged(product.getId(), 5, 0);
+
+        String events = await(stream, content -> content.contains("event:stock"));
+        assertThat(countEvents(events, "event:stock")).isEqualTo(1);
+        assertThat(events).contains("\"stock\":0", "\"level\":\"out\"", "\"previousLevel\":\"ok\"");
+    }
+
+    /**
+     * 未送信の変更が上限を超えた場合は、変更の代わりに resync イベントが届くことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @WithUserDetails("adminuser")
+    @DisplayName("未送信の変更が上限を超えるとresyncイベントが届く")
+    void stream_BufferOverflow_Resync() throws Exception {
+        MockHttpServletResponse stream = subscribe();
+
+        // 未送信の変更の上限（inventory.stock-stream.buffer-size の既定値 256）を超える商品数
+        for (int productId = 9001; productId <= 9300; productId++) {
+            stockChangeBroadcaster.stockChanged(productId, 30, 10);
+        }
+
+        String events = await(stream, content -> content.contains("event:resync"));
+        assertThat(events).doesNotContain("event:stock");
+    }
+
+    /**
+     * 未認証では購読できないことを検証
+     * @throws Exception テスト実行時の例外
+     */
+    @Test
+    @DisplayName("未認証では在庫変更の配信を購読できない")
+    void stream_NoAuth_AccessDenied() throws Exception {
+        mockMvc.perform(get("/admin/api/inventory/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isIn(302, 401, 403));
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        return mockMvc.perform(get("/admin/api/inventory/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andReturn().getResponse();
+    }
+
+    /**
+     * 条件を満たすまで受信した内容を待つ（条件を満たした後も、まとめ・送信の間隔の分だけ待ってから返す）
+     */
+    private static String await(MockHttpServletResponse stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.test(stream.getContentAsString()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(500);
+        String content = stream.getContentAsString();
+        assertThat(condition.test(content)).as("受信内容: %s", content).isTrue();
+        return content;
+    }
+
+    private static int countEvents(String content, String line) {
+        return content.split(line, -1).length - 1;
+    }
+
+    private static String updateJson(Integer productId, String transactionType, int quantity) {
+        return """
+                {
+                  "productId": %d,
+                  "transactionType": "%s",
+                  "quantity": %d
+                }
+                """.formatted(productId, transactionType, quantity);
+    }
+}
@@ -0,0 +1,128 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inventory.inventory_management.entity.Product;
+import com.inventory.inventory_management.entity.StockTransaction;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 在庫履歴の一括 INSERT ベンチマーク
+ * 1 行ずつ送信する場合（IDENTITY 採番時と同じ送信方式）と、採番テーブル + JDBC バッチで送信する場合の処理速度を比較する。
+ * <p>
+ * 通常のテスト実行では無効。以下のように明示的に有効化して実行する。
+ * <pre>
+ * mvn test -Dtest=StockTransactionInsertBenchmarkTest -Dbenchmark=true -Dbenchmark.rows=100000
+ * </pre>
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("在庫履歴一括INSERT ベンチマーク")
+class StockTransactionInsertBenchmarkTest {
+
+    /** flush/clear 間隔（永続化コンテキストの肥大化を防ぐ） */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    private int rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = Integer.getInteger("benchmark.rows", 100_000);
+
+        product = new Product();
+        product.setProductCode("BENCH001");
+        product.setProductName("ベンチマーク商品");
+        product.setCategory("Bench");
+        product.setPrice(new BigDecimal("100.00"));
+        product.setStock(0);
+        product.setStatus("active");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(product);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("1行ずつのINSERTとJDBCバッチINSERTの処理速度を比較する")
+    void compareRowByRowAndBatchedInserts() {
+        // JIT ウォームアップを兼ねて少量を 1 回ずつ実行してから計測する
+        insert(Math.min(rows, 10_000), 1);
+        insert(Math.min(rows, 10_000), 50);
+
+        long rowByRow = insert(rows, 1);
+        long batched = insert(rows, 50);
+
+        print("row-by-row (batch_size=1)", rowByRow);
+        print("batched (batch_size=50)", batched);
+        System.out.printf("[benchmark] speedup=%.2fx%n", (double) rowByRow / Math.max(1, batched));
+
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_transactions WHERE product_id = ?", Integer.class, product.getId());
+        assertThat(count).isEqualTo(2 * rows + 2 * Math.min(rows, 10_000));
+    }
+
+    /**
+     * 在庫履歴を指定件数 INSERT する
+     *
+     * @param count     件数
+     * @param batchSize JDBC バッチサイズ（1 の場合は 1 行ずつ送信）
+     * @return 所要時間（ミリ秒）
+     */
+    private long insert(int count, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            StockTransaction transaction = new StockTransaction();
+            transaction.setProductId(product.getId());
+            transaction.setTransactionType(i % 2 == 0 ? "in" : "out");
+            transaction.setQuantity(1);
+            transaction.setBeforeStock(i % 2);
+            transaction.setAfterStock((i + 1) % 2);
+            transaction.setUserId("bench");
+            transaction.setTransactionDate(now);
+            transaction.setRemarks("ベンチマーク");
+            entityManager.persist(transaction);
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        session.setJdbcBatchSize(null);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void print(String label, long elapsedMillis) {
+        System.out.printf("[benchmark] %s: rows=%d, elapsed=%dms, %d rows/s%n",
+                label, rows, elapsedMillis, rows * 1000L / Math.max(1, elapsedMillis));
+    }
+}
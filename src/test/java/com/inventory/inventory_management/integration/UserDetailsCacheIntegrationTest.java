@@ -0,0 +1,140 @@
+package com.inventory.inventory_management.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.inventory.inventory_management.entity.User;
+import com.inventory.inventory_management.repository.UserRepository;
+import com.inventory.inventory_management.security.UserDetailsCache;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 認証用ユーザー情報キャッシュの結合テスト
+ * 同一ノードでのキャッシュヒットと、他ノードでの更新（users テーブルの直接更新で再現）の即時反映を検証する
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("UserDetailsキャッシュ 結合テスト")
+@Sql(scripts = {"/schema-test.sql", "/data-test.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class UserDetailsCacheIntegrationTest {
+
+    private static final String RAW_PASSWORD = "Cache123!";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        User user = userRepository.findByUsername("testuser").orElseThrow();
+        user.setPassword(passwordEncoder.encode(RAW_PASSWORD));
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.saveAndFlush(user);
+        // 永続化コンテキストに残る丸め前の更新日時ではなく、DB の値をキャッシュに格納させる
+        entityManager.clear();
+        userDetailsCache.evict("testuser");
+    }
+
+    /**
+     * 2回目以降のログインはキャッシュから認証情報を取得することを検証
+     */
+    @Test
+    @DisplayName("正常系：2回目のログインはキャッシュにヒットする")
+    void secondLoginHitsCache() throws Exception {
+        login(RAW_PASSWORD, "/inventory");
+        long hitsBefore = userDetailsCache.getStats().hits();
+
+        login(RAW_PASSWORD, "/inventory");
+
+        assertThat(userDetailsCache.getStats().hits()).isEqualTo(hitsBefore + 1);
+    }
+
+    /**
+     * 他ノードでユーザーが無効化された場合、キャッシュ済みでも即座にログインできなくなることを検証
+     */
+    @Test
+    @DisplayName("正常系：他ノードで無効化されたユーザーは即座にログインできなくなる")
+    void deactivationOnAnotherNodeLocksOutImmediately() throws Exception {
+        login(RAW_PASSWORD, "/inventory");
+
+        updateOnAnotherNode("UPDATE users SET is_active = FALSE, updated_at = ? WHERE username = 'testuser'");
+        long staleBefore = userDetailsCache.getStats().staleReloads();
+
+        login(RAW_PASSWORD, "/login?error");
+
+        assertThat(userDetailsCache.getStats().staleReloads()).isEqualTo(staleBefore + 1);
+    }
+
+    /**
+     * 他ノードでパスワードが変更された場合、キャッシュ済みの旧パスワードではログインできないことを検証
+     */
+    @Test
+    @DisplayName("正常系：他ノードでパスワードが変更された場合は旧パスワードでログインできない")
+    void passwordChangeOnAnotherNodeIsVisibleImmediately() throws Exception {
+        login(RAW_PASSWORD, "/inventory");
+
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE username = 'testuser'",
+                passwordEncoder.encode("Changed123!"));
+        entityManager.clear();
+
+        login(RAW_PASSWORD, "/login?error");
+        login("Changed123!", "/inventory");
+    }
+
+    private void updateOnAnotherNode(String sql) {
+        jdbcTemplate.update(sql, Timestamp.valueOf(LocalDateTime.now().plusSeconds(1)));
+        // 他ノードの更新は別トランザクションのため、このテストの永続化コンテキストには残さない
+        entityManager.clear();
+    }
+
+    private void login(String password, String expectedRedirect) throws Exception {
+        mockMvc.perform(post("/login")
+                .param("username", "testuser")
+                .param("password", password)
+                .with(csrf()))
+                .andExpect(redirectedUrl(expectedRedirect));
+    }
+}
@@ -3,13 +3,18 @@ package com.inventory.inventory_management.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.annotation.Rollback;
@@ -19,6 +24,9 @@ import com.inventory.inventory_management.entity.Role;
 import com.inventory.inventory_management.entity.User;
 import com.inventory.inventory_management.entity.UserRole;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 /**
  * UserRepositoryのテストクラス
  * データベースとの連携をテストする統合テストです
@@ -37,6 +45,9 @@ class UserRepositoryTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private User testUser;
     private Role testRole;
 
@@ -447,4 +458,74 @@ class UserRepositoryTest {
         // then
         assertEquals(beforeCount + 1, afterCount);
     }
+
+    /**
+     * 正常系：該当ページのユーザーのみをロール情報込みで取得できる
+     */
+    @Test
+    @DisplayName("正常系：searchUsers()でページ単位にロール情報込みのユーザーを取得できる")
+    void testSearchUsers_PagesWithRoles() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            saveUserWithRole("pageuser" + i, "page" + i + "@example.com", "ページユーザー" + i, true);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Page<User> page = userRepository.searchUsers("pageuser", null, null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "username")));
+
+        // then
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        assertEquals(List.of("pageuser3", "pageuser2"), page.getContent().stream().map(User::getUsername).toList());
+        for (User user : page.getContent()) {
+            assertTrue(Hibernate.isInitialized(user.getUserRoles()));
+            assertEquals("ROLE_USER", user.getUserRoles().iterator().next().getRole().getRoleName());
+        }
+    }
+
+    /**
+     * 正常系：キーワード・アクティブ状態・ロールで絞り込める
+     */
+    @Test
+    @DisplayName("正常系：searchUsers()でキーワード・アクティブ状態・ロールを組み合わせて検索できる")
+    void testSearchUsers_Filters() {
+        // given
+        saveUserWithRole("filter_a", "filter.a@example.com", "絞り込みA", true);
+        saveUserWithRole("filterxb", "filter.b@example.com", "絞り込みB", false);
+
+        // when / then
+        assertEquals(List.of("filter_a"), usernames(userRepository.searchUsers("filter_", null, null, byUsername())));
+        assertEquals(List.of("filterxb"), usernames(userRepository.searchUsers("filter", false, null, byUsername())));
+        assertEquals(List.of("filter_a", "filterxb"),
+                usernames(userRepository.searchUsers("絞り込み", null, testRole.getId(), byUsername())));
+        assertTrue(userRepository.searchUsers("filter", null, -1, byUsername()).isEmpty());
+    }
+
+    private void saveUserWithRole(String username, String email, String fullName, boolean active) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(email);
+        user.setFullName(fullName);
+        user.setIsActive(active);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        UserRole userRole = new UserRole();
+        userRole.setUser(user);
+        userRole.setRole(testRole);
+        userRole.setAssignedAt(LocalDateTime.now());
+        user.getUserRoles().add(userRole);
+        userRepository.save(user);
+    }
+
+    private static PageRequest byUsername() {
+        return PageRequest.of(0, 20, Sort.by("username"));
+    }
+
+    private static List<String> usernames(Page<User> page) {
+        return page.getContent().stream().map(User::getUsername).toList();
+    }
 }
@@ -58,7 +58,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("testuser");
+        verify(loginAttemptService, times(1)).loginFailed(eq("testuser"), any());
     }
 
     /**
@@ -81,7 +81,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("testuser");
+        verify(loginAttemptService, times(1)).loginFailed("testuser", "192.168.1.100");
         verify(webAuthenticationDetails, times(1)).getRemoteAddress();
         verify(webAuthenticationDetails, times(1)).getSessionId();
     }
@@ -101,7 +101,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("admin");
+        verify(loginAttemptService, times(1)).loginFailed(eq("admin"), any());
     }
 
     /**
@@ -119,7 +119,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("adminuser");
+        verify(loginAttemptService, times(1)).loginFailed(eq("adminuser"), any());
     }
 
     /**
@@ -138,7 +138,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(3)).loginFailed("testuser");
+        verify(loginAttemptService, times(3)).loginFailed(eq("testuser"), any());
     }
 
     /**
@@ -148,7 +148,7 @@ class AuthenticationFailureListenerTest {
     @DisplayName("異常系：LoginAttemptServiceが例外をスローしても処理が継続する")
     void testOnApplicationEvent_LoginAttemptServiceThrowsException() {
         // given
-        doThrow(new RuntimeException("Test exception")).when(loginAttemptService).loginFailed(anyString());
+        doThrow(new RuntimeException("Test exception")).when(loginAttemptService).loginFailed(anyString(), any());
         AuthenticationFailureBadCredentialsEvent event = 
             new AuthenticationFailureBadCredentialsEvent(authentication, badCredentialsException);
 
@@ -156,7 +156,7 @@ class AuthenticationFailureListenerTest {
         // 例外がスローされずに処理が完了することを確認
         authenticationFailureListener.onApplicationEvent(event);
         
-        verify(loginAttemptService, times(1)).loginFailed("testuser");
+        verify(loginAttemptService, times(1)).loginFailed(eq("testuser"), any());
     }
 
     /**
@@ -175,7 +175,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("testuser");
+        verify(loginAttemptService, times(1)).loginFailed(eq("testuser"), any());
     }
 
     /**
@@ -194,7 +194,7 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("testuser");
+        verify(loginAttemptService, times(1)).loginFailed(eq("testuser"), any());
     }
 
     /**
@@ -212,6 +212,6 @@ class AuthenticationFailureListenerTest {
         authenticationFailureListener.onApplicationEvent(event);
 
         // then
-        verify(loginAttemptService, times(1)).loginFailed("");
+        verify(loginAttemptService, times(1)).loginFailed(eq(""), any());
     }
 }
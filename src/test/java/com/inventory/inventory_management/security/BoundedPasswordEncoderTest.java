@@ -0,0 +1,144 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BoundedPasswordEncoderのテストクラス
+ */
+@DisplayName("BoundedPasswordEncoderのテスト")
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("encode・matchesは委譲先エンコーダーの結果を返す")
+    void testDelegatesToEncoder() {
+        encoder = new BoundedPasswordEncoder(new PlainPasswordEncoder(), 1, 1, 1000);
+
+        assertThat(encoder.encode("secret")).isEqualTo("{plain}secret");
+        assertThat(encoder.matches("secret", "{plain}secret")).isTrue();
+        assertThat(encoder.matches("wrong", "{plain}secret")).isFalse();
+
+        BoundedPasswordEncoder.Stats stats = encoder.getStats();
+        assertThat(stats.completed()).isEqualTo(2);
+        assertThat(stats.rejected()).isZero();
+        assertThat(stats.threads()).isEqualTo(1);
+        assertThat(stats.queueCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("待ち行列が満杯の場合は待たずに拒否する")
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(started, release), 1, 1, 5000);
+
+        // 1件目が実行中、2件目が待ち行列に入った状態を作る
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        waitUntilQueued(1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "c"))
+                .isInstanceOf(PasswordVerificationRejectedException.class);
+        // ハッシュ化は制限の対象外のため、プールが満杯でも呼び出し元のスレッドで実行する
+        assertThat(encoder.encode("d")).isEqualTo("d");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+
+        BoundedPasswordEncoder.Stats stats = encoder.getStats();
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.completed()).isEqualTo(2);
+        assertThat(stats.maxQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("タイムアウトを超えた場合は拒否する")
+    void testRejectsOnTimeout() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(started, release), 1, 1, 50);
+
+        try {
+            assertThatThrownBy(() -> encoder.matches("a", "a"))
+                    .isInstanceOf(PasswordVerificationRejectedException.class);
+            assertThat(encoder.getStats().timedOut()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void waitUntilQueued(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getStats().queueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(encoder.getStats().queueDepth()).isEqualTo(depth);
+    }
+
+    /**
+     * 平文比較のみを行うテスト用エンコーダー
+     */
+    private static class PlainPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    /**
+     * 解放されるまで照合を完了しないテスト用エンコーダー
+     */
+    private static class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch release;
+
+        BlockingPasswordEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * CalibratedBCryptPasswordEncoderのテストクラス
+ */
+@DisplayName("CalibratedBCryptPasswordEncoderのテスト")
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("指定したコスト係数でハッシュを生成し、照合できる")
+    void testEncodeWithConfiguredCost() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        String encoded = encoder.encode("Password1");
+
+        assertThat(encoded).startsWith("$2a$05$");
+        assertThat(encoder.matches("Password1", encoded)).isTrue();
+        assertThat(encoder.matches("Password2", encoded)).isFalse();
+    }
+
+    @Test
+    @DisplayName("コスト係数が異なるハッシュのみ再ハッシュ対象と判定する")
+    void testUpgradeEncodingWhenCostDiffers() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Password1"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("Password1"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("Password1"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("保存済みハッシュからコスト係数を取り出す")
+    void testCostOf() {
+        assertThat(CalibratedBCryptPasswordEncoder.costOf("$2a$12$abcdefghijklmnopqrstuv")).isEqualTo(12);
+        assertThat(CalibratedBCryptPasswordEncoder.costOf("$2b$04$abcdefghijklmnopqrstuv")).isEqualTo(4);
+        assertThat(CalibratedBCryptPasswordEncoder.costOf("plain")).isZero();
+    }
+
+    @Test
+    @DisplayName("計測結果が目標時間を大きく下回る場合はコスト係数の上限を採用する")
+    void testCalibrateUsesMaxCostWhenTargetIsGenerous() {
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(60_000, 4, 6);
+
+        assertThat(encoder.getCost()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("最小コストでも目標時間を超える場合はコスト係数の下限を採用する")
+    void testCalibrateUsesMinCostWhenTargetIsTooStrict() {
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(0, 4, 6);
+
+        assertThat(encoder.getCost()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,227 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * CspViolationCollectorのテストクラス
+ */
+@DisplayName("CspViolationCollectorのテスト")
+class CspViolationCollectorTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("同じ違反は 1 件にまとめ、集計期間内の最初の 1 件のみログに出力する")
+    void testDeduplicatesWithinWindow() {
+        CspViolationCollector collector = collector(0.0, 60, 100);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(collector.ingest(legacyReport("https://cdn.example.com/lib.js?v=" + i,
+                    "https://app.example.com/inventory?page=" + i))).isEqualTo(1);
+        }
+
+        List<CspViolationCollector.Violation> violations = collector.getTopViolations(10);
+        assertThat(violations).hasSize(1);
+        CspViolationCollector.Violation violation = violations.get(0);
+        assertThat(violation.directive()).isEqualTo("script-src-elem");
+        assertThat(violation.blockedUri()).isEqualTo("https://cdn.example.com/lib.js");
+        assertThat(violation.documentUri()).isEqualTo("https://app.example.com/inventory");
+        assertThat(violation.total()).isEqualTo(50);
+        assertThat(violation.currentWindow()).isEqualTo(50);
+        assertThat(collector.getStats().logged()).isEqualTo(1);
+
+        // 集計期間を過ぎると再びログに出力する
+        clock.advanceSeconds(301);
+        collector.ingest(legacyReport("https://cdn.example.com/lib.js", "https://app.example.com/inventory"));
+        assertThat(collector.getStats().logged()).isEqualTo(2);
+        assertThat(collector.getTopViolations(1).get(0).currentWindow()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("集計期間内の 2 件目以降は sample-rate の割合でログに出力する")
+    void testSamplesRepeatedViolations() {
+        CspViolationCollector collector = collector(1.0, 1000, 100);
+
+        for (int i = 0; i < 10; i++) {
+            collector.ingest(legacyReport("inline", "https://app.example.com/"));
+        }
+
+        assertThat(collector.getStats().logged()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("ログの出力件数は 1 分あたりの上限を超えない")
+    void testRateLimitsLogging() {
+        CspViolationCollector collector = collector(0.0, 3, 100);
+
+        for (int i = 0; i < 10; i++) {
+            collector.ingest(legacyReport("https://cdn" + i + ".example.com/a.js", "https://app.example.com/"));
+        }
+
+        CspViolationCollector.Stats stats = collector.getStats();
+        assertThat(stats.logged()).isEqualTo(3);
+        assertThat(stats.suppressed()).isEqualTo(7);
+
+        clock.advanceSeconds(60);
+        collector.ingest(legacyReport("https://cdn10.example.com/a.js", "https://app.example.com/"));
+        assertThat(collector.getStats().logged()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Reporting API 形式の複数レポートを集計し、件数の多い順に返す")
+    void testReportingApiFormatAndTopN() {
+        CspViolationCollector collector = collector(0.0, 60, 100);
+        String body = """
+                [
+                  {"type": "csp-violation", "body": {"effectiveDirective": "img-src",
+                    "blockedURL": "https://img.example.com/a.png", "documentURL": "https://app.example.com/"}},
+                  {"type": "csp-violation", "body": {"effectiveDirective": "img-src",
+                    "blockedURL": "https://img.example.com/a.png", "documentURL": "https://app.example.com/"}},
+                  {"type": "csp-violation", "body": {"effectiveDirective": "style-src-elem",
+                    "blockedURL": "inline", "documentURL": "https://app.example.com/"}}
+                ]
+                """;
+
+        assertThat(collector.ingest(body)).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            collector.ingest(legacyReport("eval", "https://app.example.com/"));
+        }
+
+        List<CspViolationCollector.Violation> top = collector.getTopViolations(2);
+        assertThat(top).extracting(CspViolationCollector.Violation::directive)
+                .containsExactly("script-src-elem", "img-src");
+        assertThat(top).extracting(CspViolationCollector.Violation::total).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("古い形式の violated-directive からディレクティブ名を取り出す")
+    void testViolatedDirectiveFallback() {
+        CspViolationCollector collector = collector(0.0, 60, 100);
+
+        collector.ingest("""
+                {"csp-report": {"violated-directive": "script-src 'self'",
+                  "blocked-uri": "https://cdn.example.com/lib.js", "document-uri": "https://app.example.com/"}}
+                """);
+
+        assertThat(collector.getTopViolations(1).get(0).directive()).isEqualTo("script-src");
+    }
+
+    @Test
+    @DisplayName("解析できないレポート・上限を超えるレポートは件数のみ記録する")
+    void testMalformedReports() {
+        CspViolationCollector collector = collector(0.0, 60, 100);
+
+        assertThat(collector.ingest("not json")).isZero();
+        assertThat(collector.ingest("{\"other\": 1}")).isZero();
+        assertThat(collector.ingest("")).isZero();
+        assertThat(collector.ingest("{\"csp-report\": {\"blocked-uri\": \"" + "x".repeat(20_000) + "\"}}")).isZero();
+
+        assertThat(collector.getStats().malformed()).isEqualTo(4);
+        assertThat(collector.getStats().received()).isZero();
+    }
+
+    @Test
+    @DisplayName("組み合わせ数の上限に達すると件数の最も少ない組み合わせを削除して集計する")
+    void testBoundsTrackedKeys() {
+        CspViolationCollector collector = collector(0.0, 60, 2);
+        collector.ingest(legacyReport("https://cdn0.example.com/a.js", "https://app.example.com/"));
+        collector.ingest(legacyReport("https://cdn0.example.com/a.js", "https://app.example.com/"));
+
+        for (int i = 1; i < 5; i++) {
+            clock.advanceSeconds(1);
+            collector.ingest(legacyReport("https://cdn" + i + ".example.com/a.js", "https://app.example.com/"));
+        }
+
+        CspViolationCollector.Stats stats = collector.getStats();
+        assertThat(stats.trackedKeys()).isEqualTo(2);
+        assertThat(stats.evicted()).isEqualTo(3);
+        assertThat(stats.received()).isEqualTo(6);
+        assertThat(collector.getTopViolations(10)).extracting(CspViolationCollector.Violation::blockedUri)
+                .containsExactly("https://cdn0.example.com/a.js", "https://cdn4.example.com/a.js");
+    }
+
+    @Test
+    @DisplayName("偽造したレポートで上限まで埋められても、新しい違反はログに出力する")
+    void testLogsNewViolationWhenTableIsFull() {
+        CspViolationCollector collector = collector(0.0, 2000, 1000);
+        for (int i = 0; i < 1000; i++) {
+            collector.ingest(legacyReport("https://evil.example.com/a.js", "https://app.example.com/forged/" + i));
+        }
+        assertThat(collector.getStats().trackedKeys()).isEqualTo(1000);
+        long logged = collector.getStats().logged();
+
+        clock.advanceSeconds(1);
+        collector.ingest(legacyReport("https://injected.example.net/x.js", "https://app.example.com/inventory"));
+
+        assertThat(collector.getStats().logged()).isGreaterThan(logged);
+        assertThat(collector.getStats().trackedKeys()).isEqualTo(1000);
+        assertThat(collector.getTopViolations(1000)).extracting(CspViolationCollector.Violation::blockedUri)
+                .contains("https://injected.example.net/x.js");
+    }
+
+    @Test
+    @DisplayName("保持期間を過ぎた集計を削除する")
+    void testRemovesExpiredEntries() {
+        CspViolationCollector collector = collector(0.0, 60, 100);
+        collector.ingest(legacyReport("https://old.example.com/a.js", "https://app.example.com/"));
+        clock.advanceSeconds(23 * 3600);
+        collector.ingest(legacyReport("https://new.example.com/a.js", "https://app.example.com/"));
+        clock.advanceSeconds(3600 + 1);
+
+        collector.removeExpiredEntries();
+
+        assertThat(collector.getTopViolations(10)).extracting(CspViolationCollector.Violation::blockedUri)
+                .containsExactly("https://new.example.com/a.js");
+        assertThat(collector.getStats().expired()).isEqualTo(1);
+    }
+
+    private CspViolationCollector collector(double sampleRate, int maxLogsPerMinute, int maxKeys) {
+        return new CspViolationCollector(new JsonMapper(), clock, Duration.ofMinutes(5), maxKeys, sampleRate,
+                maxLogsPerMinute, Duration.ofHours(24), 16_384);
+    }
+
+    private static String legacyReport(String blockedUri, String documentUri) {
+        return """
+                {"csp-report": {"effective-directive": "script-src-elem", "blocked-uri": "%s", "document-uri": "%s"}}
+                """.formatted(blockedUri, documentUri);
+    }
+
+    /**
+     * テスト用の進められる時計
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
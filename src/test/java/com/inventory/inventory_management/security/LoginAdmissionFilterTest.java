@@ -0,0 +1,82 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * LoginAdmissionFilterのテストクラス
+ */
+@DisplayName("LoginAdmissionFilterのテスト")
+class LoginAdmissionFilterTest {
+
+    @Test
+    @DisplayName("ログイン処理以外のリクエストは流入制御の対象外")
+    void testNonLoginRequestPassesThrough() throws Exception {
+        LoginAdmissionFilter filter = new LoginAdmissionFilter(1);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/login"), new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/admin/products"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(filter.getStats().admitted()).isZero();
+    }
+
+    @Test
+    @DisplayName("上限を超えたログイン要求はログイン画面（?busy）へリダイレクトする")
+    void testRejectsWhenLimitExceeded() throws Exception {
+        LoginAdmissionFilter filter = new LoginAdmissionFilter(1);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain rejectedChain = mock(FilterChain.class);
+
+        // 1件目の処理中に2件目のログイン要求が到着した状態を再現
+        FilterChain firstChain = (request, response) -> {
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", "/admin/login"), second, rejectedChain);
+            nested.set(second);
+        };
+        filter.doFilter(new MockHttpServletRequest("POST", "/login"), new MockHttpServletResponse(), firstChain);
+
+        assertThat(nested.get().getRedirectedUrl()).isEqualTo("/admin/login?busy");
+        verify(rejectedChain, never()).doFilter(any(), any());
+
+        LoginAdmissionFilter.Stats stats = filter.getStats();
+        assertThat(stats.admitted()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("後続処理で例外が発生しても許可を解放する")
+    void testReleasesPermitOnException() throws Exception {
+        LoginAdmissionFilter filter = new LoginAdmissionFilter(1);
+        FilterChain failingChain = (request, response) -> {
+            throw new IllegalStateException("failure");
+        };
+
+        try {
+            filter.doFilter(new MockHttpServletRequest("POST", "/login"), new MockHttpServletResponse(), failingChain);
+        } catch (IllegalStateException expected) {
+            // 想定どおり
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/login"), new MockHttpServletResponse(), chain);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(filter.getStats().inFlight()).isZero();
+    }
+}
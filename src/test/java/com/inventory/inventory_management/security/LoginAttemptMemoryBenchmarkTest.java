@@ -0,0 +1,87 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * ログイン試行の追跡に必要なメモリ量のベンチマーク
+ * 従来の構造（ConcurrentHashMap と LocalDateTime を持つ試行情報）と、
+ * 現在の LoginAttemptService（エポック秒・タイミングホイール）の 1 キーあたりのヒープ使用量を比較する。
+ * キー文字列自体は両者で共有し、計測から除外する。
+ * <p>
+ * 通常のテスト実行では無効。以下のように明示的に有効化して実行する。
+ * <pre>
+ * mvn test -Dtest=LoginAttemptMemoryBenchmarkTest -Dbenchmark=true -Dbenchmark.keys=500000
+ * </pre>
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("ログイン試行追跡 メモリベンチマーク")
+class LoginAttemptMemoryBenchmarkTest {
+
+    @Test
+    @DisplayName("1キーあたりのヒープ使用量を比較する")
+    void compareMemoryPerKey() {
+        int keys = Integer.getInteger("benchmark.keys", 200_000);
+        String[] usernames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            usernames[i] = "stuffing-user-" + i;
+        }
+
+        long baseline = usedHeap();
+        ConcurrentHashMap<String, LegacyAttempt> legacy = new ConcurrentHashMap<>();
+        for (String username : usernames) {
+            legacy.put(username, new LegacyAttempt(1, LocalDateTime.now()));
+        }
+        long legacyBytes = usedHeap() - baseline;
+        assertThat(legacy).hasSize(keys);
+        legacy = null;
+
+        baseline = usedHeap();
+        LoginAttemptService service = new LoginAttemptService(Clock.systemUTC(), keys, 50);
+        for (String username : usernames) {
+            service.loginFailed(username);
+        }
+        long currentBytes = usedHeap() - baseline;
+        assertThat(service.getStats().usernames().size()).isEqualTo(keys);
+
+        System.out.printf("[benchmark] login attempts keys=%d legacy=%.1f bytes/key current=%.1f bytes/key (%.2fx)%n",
+                keys, (double) legacyBytes / keys, (double) currentBytes / keys,
+                (double) legacyBytes / Math.max(1, currentBytes));
+
+        // 上限を超える件数を投入しても追跡件数は上限で頭打ちになる
+        LoginAttemptService bounded = new LoginAttemptService(Clock.systemUTC(), keys / 10, 50);
+        for (String username : usernames) {
+            bounded.loginFailed(username);
+        }
+        assertThat(bounded.getStats().usernames().size()).isEqualTo(keys / 10);
+        System.out.printf("[benchmark] login attempts bounded maxEntries=%d evicted=%d%n",
+                keys / 10, bounded.getStats().usernames().evicted());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 従来の試行情報（試行回数と LocalDateTime の最終試行時刻）
+     */
+    private record LegacyAttempt(int attempts, LocalDateTime lastAttempt) {
+    }
+}
@@ -2,6 +2,11 @@ package com.inventory.inventory_management.security;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,10 @@ import org.junit.jupiter.api.Test;
 @DisplayName("LoginAttemptService単体テスト")
 class LoginAttemptServiceTest {
 
+    private static final int MAX_IP_ATTEMPTS = 20;
+
+    private MutableClock clock;
+
     private LoginAttemptService loginAttemptService;
 
     /**
@@ -20,7 +29,8 @@ class LoginAttemptServiceTest {
      */
     @BeforeEach
     void setUp() {
-        loginAttemptService = new LoginAttemptService();
+        clock = new MutableClock();
+        loginAttemptService = new LoginAttemptService(clock, 1000, MAX_IP_ATTEMPTS);
     }
 
     /**
@@ -256,31 +266,39 @@ class LoginAttemptServiceTest {
      */
     @Test
     @DisplayName("正常系：isBlockedで期限切れエントリが解除される")
-    @SuppressWarnings("unchecked")
-    void testIsBlocked_ExpiredEntryIsCleared() throws Exception {
+    void testIsBlocked_ExpiredEntryIsCleared() {
         // given
         String username = "testuser";
-        loginAttemptService.loginFailed(username);
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.loginFailed(username);
+        }
+        assertTrue(loginAttemptService.isBlocked(username));
 
-        java.lang.reflect.Field field = LoginAttemptService.class.getDeclaredField("attemptsCache");
-        field.setAccessible(true);
-        java.util.concurrent.ConcurrentHashMap<String, Object> cache =
-            (java.util.concurrent.ConcurrentHashMap<String, Object>) field.get(loginAttemptService);
+        // when
+        clock.advanceSeconds(25 * 60 * 60);
+
+        // then
+        assertFalse(loginAttemptService.isBlocked(username));
+        assertEquals(0, loginAttemptService.getAttempts(username));
+    }
 
-        Class<?> loginAttemptClass = Class.forName(
-            "com.inventory.inventory_management.security.LoginAttemptService$LoginAttempt");
-        java.lang.reflect.Constructor<?> constructor =
-            loginAttemptClass.getDeclaredConstructor(int.class, java.time.LocalDateTime.class);
-        constructor.setAccessible(true);
-        Object expiredAttempt = constructor.newInstance(5, java.time.LocalDateTime.now().minusHours(25));
-        cache.put(username, expiredAttempt);
+    /**
+     * 正常系：24時間以内の失敗は保持される
+     */
+    @Test
+    @DisplayName("正常系：最後の失敗から24時間以内は試行回数が保持される")
+    void testAttemptsKeptWithinTtl() {
+        // given
+        String username = "testuser";
+        loginAttemptService.loginFailed(username);
+        clock.advanceSeconds(23 * 60 * 60);
+        loginAttemptService.loginFailed(username);
 
         // when
-        boolean blocked = loginAttemptService.isBlocked(username);
+        clock.advanceSeconds(23 * 60 * 60);
 
         // then
-        assertFalse(blocked);
-        assertEquals(0, loginAttemptService.getAttempts(username));
+        assertEquals(2, loginAttemptService.getAttempts(username));
     }
 
     /**
@@ -288,30 +306,143 @@ class LoginAttemptServiceTest {
      */
     @Test
     @DisplayName("正常系：cleanupExpiredEntriesで期限切れエントリが削除される")
-    @SuppressWarnings("unchecked")
-    void testCleanupExpiredEntries() throws Exception {
+    void testCleanupExpiredEntries() {
         // given
-        String username = "testuser";
-        loginAttemptService.loginFailed(username);
-        
-        // 24時間以上前のエントリをシミュレートするため、Reflectionを使用
-        java.lang.reflect.Field field = LoginAttemptService.class.getDeclaredField("attemptsCache");
-        field.setAccessible(true);
-        java.util.concurrent.ConcurrentHashMap<String, Object> cache = 
-            (java.util.concurrent.ConcurrentHashMap<String, Object>) field.get(loginAttemptService);
-        
-        // 内部クラスのインスタンスを作成（24時間以上前の時刻）
-        Class<?> loginAttemptClass = Class.forName("com.inventory.inventory_management.security.LoginAttemptService$LoginAttempt");
-        java.lang.reflect.Constructor<?> constructor = loginAttemptClass.getDeclaredConstructor(int.class, java.time.LocalDateTime.class);
-        constructor.setAccessible(true);
-        Object expiredAttempt = constructor.newInstance(3, java.time.LocalDateTime.now().minusHours(25));
-        cache.put(username, expiredAttempt);
+        loginAttemptService.loginFailed("testuser", "192.0.2.1");
+        loginAttemptService.loginFailed("otheruser", "192.0.2.2");
+        assertEquals(2, loginAttemptService.getStats().usernames().size());
 
         // when
+        clock.advanceSeconds(25 * 60 * 60);
         loginAttemptService.cleanupExpiredEntries();
 
         // then
-        assertEquals(0, loginAttemptService.getAttempts(username));
-        assertFalse(loginAttemptService.isBlocked(username));
+        LoginAttemptService.Stats stats = loginAttemptService.getStats();
+        assertEquals(0, stats.usernames().size());
+        assertEquals(0, stats.ipAddresses().size());
+        assertEquals(2, stats.usernames().expired());
+        assertEquals(2, stats.ipAddresses().expired());
+    }
+
+    /**
+     * 正常系：接続元ごとの失敗回数でブロックされる
+     */
+    @Test
+    @DisplayName("正常系：同一接続元から多数のユーザー名で失敗するとその接続元がブロックされる")
+    void testIpBlockedAfterMaxIpAttempts() {
+        // when
+        for (int i = 0; i < MAX_IP_ATTEMPTS; i++) {
+            loginAttemptService.loginFailed("user" + i, "198.51.100.7");
+        }
+
+        // then
+        assertTrue(loginAttemptService.isIpBlocked("198.51.100.7"));
+        assertFalse(loginAttemptService.isIpBlocked("198.51.100.8"));
+        assertFalse(loginAttemptService.isBlocked("user0"));
+        assertEquals(MAX_IP_ATTEMPTS, loginAttemptService.getIpAttempts("198.51.100.7"));
+    }
+
+    /**
+     * 正常系：上限回数が 0 の場合は接続元の失敗回数を追跡するがブロックしない
+     */
+    @Test
+    @DisplayName("正常系：接続元の上限回数が0の場合は追跡のみでブロックしない")
+    void testIpNotBlockedWhenIpBlockingDisabled() {
+        // given
+        LoginAttemptService trackingOnly = new LoginAttemptService(clock, 1000, 0);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            trackingOnly.loginFailed("user" + i, "198.51.100.7");
+        }
+
+        // then
+        assertFalse(trackingOnly.isIpBlocked("198.51.100.7"));
+        assertEquals(100, trackingOnly.getIpAttempts("198.51.100.7"));
+    }
+
+    /**
+     * 正常系：ログイン成功では接続元の失敗回数はリセットされない
+     */
+    @Test
+    @DisplayName("正常系：ログイン成功では接続元の失敗回数はリセットされない")
+    void testLoginSucceededKeepsIpAttempts() {
+        // given
+        loginAttemptService.loginFailed("testuser", "198.51.100.7");
+
+        // when
+        loginAttemptService.loginSucceeded("testuser");
+
+        // then
+        assertEquals(0, loginAttemptService.getAttempts("testuser"));
+        assertEquals(1, loginAttemptService.getIpAttempts("198.51.100.7"));
+    }
+
+    /**
+     * 正常系：IPアドレスが不明な場合はユーザー名のみ記録される
+     */
+    @Test
+    @DisplayName("正常系：IPアドレスが不明な場合はユーザー名のみ記録される")
+    void testLoginFailedWithoutIpAddress() {
+        // when
+        loginAttemptService.loginFailed("testuser", null);
+
+        // then
+        assertEquals(1, loginAttemptService.getAttempts("testuser"));
+        assertEquals(0, loginAttemptService.getStats().ipAddresses().size());
+        assertFalse(loginAttemptService.isIpBlocked(null));
+    }
+
+    /**
+     * 正常系：追跡件数の上限を超えると最も早く期限切れになるエントリから破棄される
+     */
+    @Test
+    @DisplayName("正常系：追跡件数の上限を超えると最も古い失敗のエントリから破棄される")
+    void testCapacityEvictsEarliestExpiring() {
+        // given
+        LoginAttemptService bounded = new LoginAttemptService(clock, 3, MAX_IP_ATTEMPTS);
+        bounded.loginFailed("oldest");
+        clock.advanceSeconds(120);
+        bounded.loginFailed("middle");
+        clock.advanceSeconds(120);
+        bounded.loginFailed("newest");
+        clock.advanceSeconds(120);
+
+        // when
+        bounded.loginFailed("incoming");
+
+        // then
+        assertEquals(0, bounded.getAttempts("oldest"));
+        assertEquals(1, bounded.getAttempts("middle"));
+        assertEquals(1, bounded.getAttempts("incoming"));
+        assertEquals(3, bounded.getStats().usernames().size());
+        assertEquals(1, bounded.getStats().usernames().evicted());
+    }
+
+    /**
+     * テスト用の進められる時計
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
     }
 }
@@ -0,0 +1,174 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.inventory.inventory_management.security.SecurityEventExecutor.RejectionPolicy;
+
+/**
+ * SecurityEventExecutorのテストクラス
+ */
+@DisplayName("SecurityEventExecutorのテスト")
+class SecurityEventExecutorTest {
+
+    private SecurityEventExecutor executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        MDC.clear();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("名前付きの仮想スレッドで実行し、投入時の MDC を引き継ぐ")
+    void testRunsOnNamedVirtualThreadWithMdc() throws InterruptedException {
+        executor = new SecurityEventExecutor("security-event", 2, 10, RejectionPolicy.CALLER_RUNS, 1000);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicReference<String> requestId = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        MDC.put("requestId", "req-1");
+        executor.execute(() -> {
+            thread.set(Thread.currentThread());
+            requestId.set(MDC.get("requestId"));
+            done.countDown();
+        });
+        MDC.remove("requestId");
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(thread.get().isVirtual()).isTrue();
+        assertThat(thread.get().getName()).startsWith("security-event-");
+        assertThat(requestId.get()).isEqualTo("req-1");
+    }
+
+    @Test
+    @DisplayName("同時実行数を超えたタスクは待機し、待機件数を記録する")
+    void testLimitsConcurrency() throws InterruptedException {
+        executor = new SecurityEventExecutor("security-event", 2, 10, RejectionPolicy.CALLER_RUNS, 1000);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitRelease();
+            });
+        }
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntil(() -> executor.getStats().queueDepth() == 3);
+        SecurityEventExecutor.Stats stats = executor.getStats();
+        assertThat(stats.active()).isEqualTo(2);
+        assertThat(stats.maxQueueDepth()).isGreaterThanOrEqualTo(3);
+
+        release.countDown();
+        waitUntil(() -> executor.getStats().completed() == 5);
+        assertThat(executor.getStats().queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("caller-runs は上限を超えたタスクを呼び出し元のスレッドで実行する")
+    void testCallerRunsWhenFull() {
+        executor = new SecurityEventExecutor("security-event", 1, 0, RejectionPolicy.CALLER_RUNS, 1000);
+        executor.execute(this::awaitRelease);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        executor.execute(() -> thread.set(Thread.currentThread()));
+
+        assertThat(thread.get()).isSameAs(Thread.currentThread());
+        assertThat(executor.getStats().callerRuns()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("discard は上限を超えたタスクを破棄し、abort は例外を送出する")
+    void testDiscardAndAbortWhenFull() {
+        executor = new SecurityEventExecutor("security-event", 1, 0, RejectionPolicy.DISCARD, 1000);
+        executor.execute(this::awaitRelease);
+        AtomicInteger runs = new AtomicInteger();
+
+        executor.execute(runs::incrementAndGet);
+
+        assertThat(runs).hasValue(0);
+        assertThat(executor.getStats().rejected()).isEqualTo(1);
+
+        SecurityEventExecutor aborting = new SecurityEventExecutor("security-event", 1, 0, RejectionPolicy.ABORT, 1000);
+        aborting.execute(this::awaitRelease);
+        assertThatThrownBy(() -> aborting.execute(runs::incrementAndGet)).isInstanceOf(TaskRejectedException.class);
+        assertThat(aborting.getStats().rejected()).isEqualTo(1);
+        release.countDown();
+        aborting.stop();
+    }
+
+    @Test
+    @DisplayName("例外で終了したタスクは失敗件数として記録し、実行器は処理を続ける")
+    void testCountsFailedTasks() {
+        executor = new SecurityEventExecutor("security-event", 1, 10, RejectionPolicy.CALLER_RUNS, 1000);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.execute(() -> { });
+
+        waitUntil(() -> executor.getStats().completed() == 1 && executor.getStats().failed() == 1);
+    }
+
+    @Test
+    @DisplayName("終了時は実行中・待機中のタスクの完了を待ち、以降のタスクは呼び出し元で実行する")
+    void testStopDrainsOutstandingTasks() throws InterruptedException {
+        executor = new SecurityEventExecutor("security-event", 1, 10, RejectionPolicy.DISCARD, 5000);
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                sleep(20);
+                runs.incrementAndGet();
+            });
+        }
+
+        executor.stop();
+
+        assertThat(runs).hasValue(5);
+        assertThat(executor.isRunning()).isFalse();
+        executor.execute(runs::incrementAndGet);
+        assertThat(runs).hasValue(6);
+        assertThat(executor.getStats().rejected()).isZero();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("条件を満たさないままタイムアウト").isNegative();
+            sleep(5);
+        }
+    }
+}
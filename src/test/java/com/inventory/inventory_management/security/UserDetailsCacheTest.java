@@ -0,0 +1,158 @@
+package com.inventory.inventory_management.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.inventory.inventory_management.entity.User;
+import com.inventory.inventory_management.repository.UserRepository.CredentialVersion;
+
+/**
+ * UserDetailsCacheのテストクラス
+ */
+@DisplayName("UserDetailsCacheのテスト")
+class UserDetailsCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private UserDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache(2, 300);
+    }
+
+    @Test
+    @DisplayName("バージョンが一致する場合はキャッシュ済みの情報を返す")
+    void testHitWhenVersionMatches() {
+        UserDetailsImpl details = userDetails("alice", "$2a$12$hash", true);
+        cache.put("alice", details);
+
+        assertThat(cache.get("alice", version("$2a$12$hash", true, UPDATED_AT))).isSameAs(details);
+
+        UserDetailsCache.Stats stats = cache.getStats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("未格納の場合はバージョンを検索せずにミスとする")
+    void testMissDoesNotLookUpVersion() {
+        AtomicInteger lookups = new AtomicInteger();
+
+        assertThat(cache.get("alice", () -> {
+            lookups.incrementAndGet();
+            return Optional.empty();
+        })).isNull();
+
+        assertThat(lookups).hasValue(0);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("他ノードで無効化・パスワード変更された場合は破棄する")
+    void testStaleWhenVersionDiffers() {
+        cache.put("alice", userDetails("alice", "$2a$12$hash", true));
+        cache.put("bob", userDetails("bob", "$2a$12$hash", true));
+
+        assertThat(cache.get("alice", version("$2a$12$hash", false, UPDATED_AT.plusMinutes(1)))).isNull();
+        assertThat(cache.get("bob", version("$2a$12$changed", true, UPDATED_AT))).isNull();
+
+        UserDetailsCache.Stats stats = cache.getStats();
+        assertThat(stats.staleReloads()).isEqualTo(2);
+        assertThat(stats.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("ユーザーが削除された場合は破棄する")
+    void testStaleWhenUserRemoved() {
+        cache.put("alice", userDetails("alice", "$2a$12$hash", true));
+
+        assertThat(cache.get("alice", Optional::empty)).isNull();
+        assertThat(cache.getStats().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("明示的に破棄したエントリはミスとなる")
+    void testEvict() {
+        cache.put("alice", userDetails("alice", "$2a$12$hash", true));
+
+        cache.evict("alice");
+        cache.evict(null);
+
+        assertThat(cache.get("alice", version("$2a$12$hash", true, UPDATED_AT))).isNull();
+        assertThat(cache.getStats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("件数上限を超えた場合は最も長く参照されていないエントリを破棄する")
+    void testEvictsLeastRecentlyUsed() {
+        cache.put("alice", userDetails("alice", "$2a$12$hash", true));
+        cache.put("bob", userDetails("bob", "$2a$12$hash", true));
+        cache.get("alice", version("$2a$12$hash", true, UPDATED_AT));
+
+        cache.put("carol", userDetails("carol", "$2a$12$hash", true));
+
+        assertThat(cache.getStats().size()).isEqualTo(2);
+        assertThat(cache.get("bob", version("$2a$12$hash", true, UPDATED_AT))).isNull();
+        assertThat(cache.get("alice", version("$2a$12$hash", true, UPDATED_AT))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("有効期限を過ぎたエントリはミスとなる")
+    void testExpiredEntry() {
+        UserDetailsCache expiring = new UserDetailsCache(10, 0);
+        expiring.put("alice", userDetails("alice", "$2a$12$hash", true));
+
+        assertThat(expiring.get("alice", version("$2a$12$hash", true, UPDATED_AT))).isNull();
+        assertThat(expiring.getStats().expirations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("件数上限が0の場合はキャッシュしない")
+    void testDisabled() {
+        UserDetailsCache disabled = new UserDetailsCache(0, 300);
+        disabled.put("alice", userDetails("alice", "$2a$12$hash", true));
+
+        assertThat(disabled.get("alice", version("$2a$12$hash", true, UPDATED_AT))).isNull();
+        assertThat(disabled.getStats().size()).isZero();
+    }
+
+    private static UserDetailsImpl userDetails(String username, String password, boolean active) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(password);
+        user.setIsActive(active);
+        user.setUpdatedAt(UPDATED_AT);
+        return new UserDetailsImpl(user, new ArrayList<>());
+    }
+
+    private static Supplier<Optional<CredentialVersion>> version(String password, boolean active,
+            LocalDateTime updatedAt) {
+        CredentialVersion version = new CredentialVersion() {
+            @Override
+            public String getPassword() {
+                return password;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return active;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+        return () -> Optional.of(version);
+    }
+}
@@ -16,8 +16,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.inventory.inventory_management.entity.Role;
 import com.inventory.inventory_management.entity.User;
@@ -38,6 +41,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private LoginAttemptService loginAttemptService;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -253,6 +259,29 @@ class UserDetailsServiceImplTest {
         verify(userRepository, never()).findByUsernameWithRoles(anyString());
     }
 
+    /**
+     * 異常系：ブロックされている接続元からのログイン
+     */
+    @Test
+    @DisplayName("異常系：ブロックされている接続元からのログインでUsernameNotFoundExceptionがスローされる")
+    void testLoadUserByUsername_IpBlocked() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.10");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(loginAttemptService.isBlocked("testuser")).thenReturn(false);
+        when(loginAttemptService.isIpBlocked("203.0.113.10")).thenReturn(true);
+
+        try {
+            // when & then
+            assertThrows(UsernameNotFoundException.class,
+                    () -> userDetailsService.loadUserByUsername("testuser"));
+            verify(userRepository, never()).findByUsernameWithRoles(anyString());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     /**
      * 異常系：無効なユーザー（is_active=false）
      */
@@ -296,4 +325,83 @@ class UserDetailsServiceImplTest {
         verify(loginAttemptService, times(1)).isBlocked("testuser");
         verify(userRepository, times(1)).findByUsernameWithRoles("testuser");
     }
+
+    /**
+     * 正常系：ログイン成功時の再ハッシュでパスワードを更新する
+     */
+    @Test
+    @DisplayName("正常系：再ハッシュしたパスワードを保存し、認証済みユーザー情報にも反映する")
+    void testUpdatePassword() {
+        // given
+        User storedUser = new User();
+        storedUser.setId(testUser.getId());
+        storedUser.setUsername("testuser");
+        storedUser.setPassword(testUser.getPassword());
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(storedUser));
+        when(userRepository.save(storedUser)).thenReturn(storedUser);
+        UserDetailsImpl principal = new UserDetailsImpl(testUser, new ArrayList<>());
+
+        // when
+        UserDetails updated = userDetailsService.updatePassword(principal, "$2a$12$rehashed");
+
+        // then
+        assertSame(principal, updated);
+        assertEquals("$2a$12$rehashed", updated.getPassword());
+        assertEquals("$2a$12$rehashed", storedUser.getPassword());
+        verify(userRepository, times(1)).save(storedUser);
+        verify(userDetailsCache, times(1)).evict("testuser");
+    }
+
+    /**
+     * 異常系：再ハッシュ対象のユーザーが存在しない
+     */
+    @Test
+    @DisplayName("異常系：再ハッシュ対象のユーザーが存在しない場合は例外をスローする")
+    void testUpdatePassword_UserNotFound() {
+        // given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        UserDetailsImpl principal = new UserDetailsImpl(testUser, new ArrayList<>());
+
+        // when & then
+        assertThrows(UsernameNotFoundException.class,
+            () -> userDetailsService.updatePassword(principal, "$2a$12$rehashed"));
+        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * 正常系：キャッシュ済みのユーザー情報はロールの JOIN FETCH を行わずに返す
+     */
+    @Test
+    @DisplayName("正常系：キャッシュにヒットした場合はロール込みの検索を行わない")
+    void testLoadUserByUsername_CacheHit() {
+        // given
+        UserDetailsImpl cached = new UserDetailsImpl(testUser, new ArrayList<>());
+        when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
+        when(userDetailsCache.get(eq("testuser"), any())).thenReturn(cached);
+
+        // when
+        UserDetails userDetails = userDetailsService.loadUserByUsername("testuser");
+
+        // then
+        assertSame(cached, userDetails);
+        verify(userRepository, never()).findByUsernameWithRoles(anyString());
+        verify(userDetailsCache, never()).put(anyString(), any());
+    }
+
+    /**
+     * 正常系：キャッシュにない場合はロール込みで検索し、キャッシュに格納する
+     */
+    @Test
+    @DisplayName("正常系：キャッシュにない場合は検索結果をキャッシュに格納する")
+    void testLoadUserByUsername_CacheMissStoresResult() {
+        // given
+        when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
+
+        // when
+        UserDetails userDetails = userDetailsService.loadUserByUsername("testuser");
+
+        // then
+        verify(userDetailsCache, times(1)).put("testuser", (UserDetailsImpl) userDetails);
+    }
 }
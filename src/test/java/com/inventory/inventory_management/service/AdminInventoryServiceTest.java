@@ -14,7 +14,9 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +27,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +37,8 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.inventory.inventory_management.audit.AuditLogWriter;
+import com.inventory.inventory_management.dto.response.StockTransactionDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.entity.StockTransaction;
 import com.inventory.inventory_management.repository.ProductRepository;
@@ -53,6 +58,18 @@ class AdminInventoryServiceTest {
     @Mock
     private StockTransactionRepository stockTransactionRepository;
 
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private StockChangeBroadcaster stockChangeBroadcaster;
+
     @InjectMocks
     private AdminInventoryService adminInventoryService;
 
@@ -278,6 +295,9 @@ class AdminInventoryServiceTest {
 
                 assertEquals(15, result.getStock());
                 verify(stockTransactionRepository).save(any(StockTransaction.class));
+                verify(auditLogWriter).record(eq("STOCK_IN"), eq("products"), eq(1),
+                        eq(Map.of("stock", 10)), any());
+                verify(stockChangeBroadcaster).stockChanged(1, 10, 15);
         }
 
         /**
@@ -510,6 +530,81 @@ class AdminInventoryServiceTest {
                 assertTrue(result.isEmpty());
         }
 
+    /**
+     * API 用の在庫履歴取得で limit が件数の上限としてクエリに渡されることを検証
+     */
+    @Test
+    @DisplayName("在庫履歴DTO: limit指定でクエリの上限になる")
+    void getStockHistory_WithLimit_PassesLimitToQuery() {
+        StockTransactionDto t1 = new StockTransactionDto(1, 1, "in", 5, 0, 5, "adminuser", LocalDateTime.now(), null);
+        when(stockTransactionRepository.findHistoryByProductId(1, Limit.of(2))).thenReturn(List.of(t1));
+
+        List<StockTransactionDto> result = adminInventoryService.getStockHistory(1, 2);
+
+        assertEquals(List.of(t1), result);
+    }
+
+    /**
+     * API 用の在庫履歴取得で limit が未指定・0以下の場合は上限なしで検索することを検証
+     */
+    @Test
+    @DisplayName("在庫履歴DTO: limit未指定・0以下なら上限なし")
+    void getStockHistory_WithoutLimit_QueriesUnlimited() {
+        when(stockTransactionRepository.findHistoryByProductId(anyInt(), eq(Limit.unlimited()))).thenReturn(List.of());
+
+        adminInventoryService.getStockHistory(2, null);
+        adminInventoryService.getStockHistory(2, 0);
+
+        verify(stockTransactionRepository, times(2)).findHistoryByProductId(2, Limit.unlimited());
+    }
+
+    /**
+     * 複数商品の在庫履歴取得で、商品・履歴をそれぞれ 1 回の検索で取得し、指定順に組み立てることを検証
+     */
+    @Test
+    @DisplayName("複数商品の在庫履歴: 商品ごとの履歴を指定順に返す")
+    void getStockHistories_GroupsByProductInRequestedOrder() {
+        Product a = new Product();
+        a.setId(1);
+        a.setProductName("商品A");
+        a.setStock(10);
+        Product b = new Product();
+        b.setId(2);
+        b.setProductName("商品B");
+        b.setStock(20);
+        LocalDateTime now = LocalDateTime.now();
+        StockTransactionDto a1 = new StockTransactionDto(11, 1, "in", 1, 9, 10, "adminuser", now, null);
+        StockTransactionDto b1 = new StockTransactionDto(21, 2, "in", 2, 18, 20, "adminuser", now, null);
+        when(productRepository.findAllById(List.of(2, 1, 3))).thenReturn(List.of(a, b));
+        when(stockTransactionRepository.findLatestByProductIds(List.of(2, 1, 3), 5)).thenReturn(List.of(a1, b1));
+
+        AdminInventoryService.StockHistories result = adminInventoryService.getStockHistories(List.of(2, 1, 2, 3), 5);
+
+        assertEquals(5, result.limit());
+        assertEquals(2, result.histories().size());
+        assertEquals(2, result.histories().get(0).product().id());
+        assertEquals(List.of(b1), result.histories().get(0).transactions());
+        assertEquals(List.of(a1), result.histories().get(1).transactions());
+        assertEquals(List.of(3), result.notFoundProductIds());
+    }
+
+    /**
+     * 複数商品の在庫履歴取得で、商品ID・取得件数が範囲外の場合は検索せずに例外となることを検証
+     */
+    @Test
+    @DisplayName("複数商品の在庫履歴: 範囲外の指定は例外")
+    void getStockHistories_OutOfRange_ThrowsException() {
+        List<Integer> tooMany = IntStream.rangeClosed(1, AdminInventoryService.MAX_HISTORY_PRODUCTS + 1)
+                .boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> adminInventoryService.getStockHistories(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> adminInventoryService.getStockHistories(tooMany, null));
+        assertThrows(IllegalArgumentException.class, () -> adminInventoryService.getStockHistories(List.of(1), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> adminInventoryService.getStockHistories(List.of(1), AdminInventoryService.MAX_HISTORY_LIMIT + 1));
+        verify(stockTransactionRepository, never()).findLatestByProductIds(any(), anyInt());
+    }
+
     /**
      * 論理削除済み商品の復元が成功することを検証
      */
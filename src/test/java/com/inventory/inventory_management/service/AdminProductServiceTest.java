@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -29,6 +30,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.inventory.inventory_management.audit.AuditLogWriter;
 import com.inventory.inventory_management.dto.request.ProductSearchCriteriaDto;
 import com.inventory.inventory_management.entity.Product;
 import com.inventory.inventory_management.form.ProductDetailForm;
@@ -45,6 +47,18 @@ class AdminProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCodeAllocator productCodeAllocator;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private AdminProductService adminProductService;
 
@@ -102,13 +116,13 @@ class AdminProductServiceTest {
     @Test
     @DisplayName("getAllCategories: カテゴリ一覧を返す")
     void getAllCategories_ReturnsCategories() {
-        when(productRepository.findAllCategories()).thenReturn(List.of("Books", "Electronics"));
+        when(referenceDataCache.getCategories()).thenReturn(List.of("Books", "Electronics"));
 
         List<String> categories = adminProductService.getAllCategories();
 
         assertEquals(2, categories.size());
         assertEquals("Books", categories.get(0));
-        verify(productRepository).findAllCategories();
+        verify(referenceDataCache).getCategories();
     }
 
     @Test
@@ -121,7 +135,7 @@ class AdminProductServiceTest {
         form.setStockQuantity(null);
         form.setStatus(null);
 
-        when(productRepository.findByProductCode(anyString())).thenReturn(null);
+        when(productCodeAllocator.allocate()).thenReturn("A3F7B9C2");
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
             Product saved = invocation.getArgument(0);
             saved.setId(10);
@@ -135,10 +149,11 @@ class AdminProductServiceTest {
         assertEquals("Books", saved.getCategory());
         assertEquals(0, saved.getStock());
         assertEquals("active", saved.getStatus());
-        assertNotNull(saved.getProductCode());
+        assertEquals("A3F7B9C2", saved.getProductCode());
         assertNotNull(saved.getCreatedAt());
         assertNotNull(saved.getUpdatedAt());
         verify(productRepository).save(any(Product.class));
+        verify(referenceDataCache).productChanged(null, "Books");
     }
 
     @Test
@@ -159,7 +174,7 @@ class AdminProductServiceTest {
         form.setExpirationDate("2026-01-01");
         form.setTags("  tag  ");
 
-        when(productRepository.findByProductCode(anyString())).thenReturn(null);
+        when(productCodeAllocator.allocate()).thenReturn("B4C8D0E2");
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
             Product saved = invocation.getArgument(0);
             saved.setId(20);
@@ -230,6 +245,7 @@ class AdminProductServiceTest {
         assertEquals(LocalDate.of(2025, 2, 1), saved.getManufacturingDate());
         assertNotNull(saved.getUpdatedAt());
         verify(productRepository).save(any(Product.class));
+        verify(referenceDataCache).productChanged("Old", "New");
     }
 
     @Test
@@ -238,6 +254,7 @@ class AdminProductServiceTest {
         Product product = new Product();
         product.setId(1);
         product.setProductName("削除対象");
+        product.setCategory("Books");
 
         when(productRepository.findById(1)).thenReturn(Optional.of(product));
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -247,6 +264,8 @@ class AdminProductServiceTest {
         assertNotNull(product.getDeletedAt());
         assertNotNull(product.getUpdatedAt());
         verify(productRepository).save(product);
+        verify(auditLogWriter).record(eq("DELETE"), eq("products"), eq(1), any(), any());
+        verify(referenceDataCache).productChanged("Books", null);
     }
 
     @Test
@@ -353,4 +372,15 @@ class AdminProductServiceTest {
         assertEquals("inactive", form.getStatus());
         verifyNoInteractions(productRepository);
     }
+
+    @Test
+    @DisplayName("reserveProductCodes: 商品コード採番サービスへ委譲する")
+    void reserveProductCodes_DelegatesToAllocator() {
+        when(productCodeAllocator.allocate(3)).thenReturn(List.of("AAAAAAAA", "BBBBBBBB", "CCCCCCCC"));
+
+        List<String> codes = adminProductService.reserveProductCodes(3);
+
+        assertEquals(List.of("AAAAAAAA", "BBBBBBBB", "CCCCCCCC"), codes);
+        verifyNoInteractions(productRepository);
+    }
 }
@@ -28,6 +28,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.inventory.inventory_management.audit.AuditLogWriter;
 import com.inventory.inventory_management.dto.request.UserSearchCriteriaDto;
 import com.inventory.inventory_management.entity.Role;
 import com.inventory.inventory_management.entity.User;
@@ -36,6 +37,7 @@ import com.inventory.inventory_management.form.UserCreateForm;
 import com.inventory.inventory_management.form.UserEditForm;
 import com.inventory.inventory_management.repository.RoleRepository;
 import com.inventory.inventory_management.repository.UserRepository;
+import com.inventory.inventory_management.security.UserDetailsCache;
 
 /**
  * AdminUserService のユニットテスト
@@ -53,6 +55,15 @@ class AdminUserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
     @InjectMocks
     private AdminUserService adminUserService;
 
@@ -224,6 +235,8 @@ class AdminUserServiceTest {
         assertEquals("ROLE_ADMIN", updated.getUserRoles().get(0).getRole().getRoleName());
 
         verify(userRepository).save(user);
+        verify(userDetailsCache).evict("olduser");
+        verify(userDetailsCache).evict("newuser");
     }
 
     @Test
@@ -315,6 +328,8 @@ class AdminUserServiceTest {
         assertFalse(result.getIsActive());
         assertNotNull(result.getUpdatedAt());
         verify(userRepository).save(target);
+        verify(userDetailsCache).evict("targetuser");
+        verify(auditLogWriter).record(eq("DEACTIVATE"), eq("users"), eq(10), any(), any());
     }
 
     @Test
@@ -335,8 +350,8 @@ class AdminUserServiceTest {
     }
 
     @Test
-    @DisplayName("getAllRoles: リポジトリ結果を返す")
-    void getAllRoles_ReturnsRepositoryResult() {
+    @DisplayName("getAllRoles: キャッシュのロール一覧を返す")
+    void getAllRoles_ReturnsCachedRoles() {
         Role roleUser = new Role();
         roleUser.setId(1);
         roleUser.setRoleName("ROLE_USER");
@@ -345,7 +360,7 @@ class AdminUserServiceTest {
         roleAdmin.setId(2);
         roleAdmin.setRoleName("ROLE_ADMIN");
 
-        when(roleRepository.findAll()).thenReturn(List.of(roleUser, roleAdmin));
+        when(referenceDataCache.getRoles()).thenReturn(List.of(roleUser, roleAdmin));
 
         List<Role> roles = adminUserService.getAllRoles();
 
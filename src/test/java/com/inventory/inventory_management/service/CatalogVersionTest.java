@@ -0,0 +1,150 @@
+package com.inventory.inventory_management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * CatalogVersionのテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogVersionのテスト")
+class CatalogVersionTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("変更の通知がなければ読み込み済みのバージョンを返す")
+    void testServesLoadedVersionUntilChanged() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, transactionManager, 60_000);
+        stubSignature("a.10.5", "b.10.6");
+
+        String first = catalogVersion.getVersion();
+        assertThat(catalogVersion.getVersion()).isEqualTo(first).isEqualTo("a.10.5");
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), ArgumentMatchers.<RowMapper<String>>any());
+
+        catalogVersion.changed();
+        assertThat(catalogVersion.getVersion()).isEqualTo("b.10.6");
+    }
+
+    @Test
+    @DisplayName("変更後に読み込んだ値が変わらない場合は世代番号を進める")
+    void testBumpsGenerationWhenSignatureUnchanged() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, transactionManager, 60_000);
+        stubSignature("a.10.5", "a.10.5", "a.10.5", "c.11.5");
+
+        assertThat(catalogVersion.getVersion()).isEqualTo("a.10.5");
+        catalogVersion.changed();
+        assertThat(catalogVersion.getVersion()).isEqualTo("a.10.5.1");
+        catalogVersion.changed();
+        assertThat(catalogVersion.getVersion()).isEqualTo("a.10.5.2");
+        catalogVersion.changed();
+        assertThat(catalogVersion.getVersion()).isEqualTo("c.11.5");
+    }
+
+    @Test
+    @DisplayName("読み込み間隔が経過した場合は他ノードの変更を反映するため読み込み直す")
+    void testReloadsAfterRefreshInterval() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, transactionManager, 0);
+        stubSignature("a.10.5", "a.10.5");
+
+        catalogVersion.getVersion();
+        assertThat(catalogVersion.getVersion()).isEqualTo("a.10.5");
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), ArgumentMatchers.<RowMapper<String>>any());
+    }
+
+    @Test
+    @DisplayName("変更を通知すると変更カウンタを加算し、行がなければ作成する")
+    void testChangedIncrementsSharedCounter() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, transactionManager, 60_000);
+        when(jdbcTemplate.update(startsWith("UPDATE catalog_version"))).thenReturn(0, 1);
+
+        catalogVersion.changed();
+        catalogVersion.changed();
+
+        verify(jdbcTemplate, times(2)).update(startsWith("UPDATE catalog_version"));
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO catalog_version"));
+    }
+
+    @Test
+    @DisplayName("他ノードで同じ秒のうちに変更した場合も、変更カウンタにより読み込み直したバージョンが変わる")
+    void testOtherNodeChangeWithinSameSecondChangesVersion() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:catalog-" + UUID.randomUUID() + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.execute("CREATE TABLE products (id INT NOT NULL PRIMARY KEY, product_name VARCHAR(100) NOT NULL,"
+                + " updated_at TIMESTAMP(0) NOT NULL)");
+        database.execute("CREATE TABLE stock_transactions (id INT NOT NULL PRIMARY KEY)");
+        database.execute("CREATE TABLE catalog_version (id INT NOT NULL PRIMARY KEY, version BIGINT NOT NULL)");
+        database.update("INSERT INTO products (id, product_name, updated_at) VALUES (1, '商品A', '2026-01-01 10:00:00')");
+        DataSourceTransactionManager dataSourceTransactionManager = new DataSourceTransactionManager(dataSource);
+        try {
+            CatalogVersion editingNode = new CatalogVersion(database, dataSourceTransactionManager, 60_000);
+            CatalogVersion otherNode = new CatalogVersion(database, dataSourceTransactionManager, 0);
+            String before = otherNode.getVersion();
+
+            // updated_at は秒精度のため、同じ秒のうちの商品名の変更では MAX(updated_at)・件数が変わらない
+            new TransactionTemplate(dataSourceTransactionManager).executeWithoutResult(status -> {
+                database.update("UPDATE products SET product_name = '商品B', updated_at = '2026-01-01 10:00:00'"
+                        + " WHERE id = 1");
+                editingNode.changed();
+            });
+
+            assertThat(otherNode.getVersion()).isNotEqualTo(before);
+            assertThat(database.queryForObject("SELECT version FROM catalog_version WHERE id = 1", Long.class))
+                    .isEqualTo(1L);
+        } finally {
+            database.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    @DisplayName("画面用の ETag はパラメータ・ユーザーごとに異なり、パラメータの順序には依存しない")
+    void testPageEtagVariesByParametersAndUser() {
+        CatalogVersion catalogVersion = new CatalogVersion(jdbcTemplate, transactionManager, 60_000);
+        stubSignature("a.10.5");
+
+        String etag = catalogVersion.pageEtag("inventory", request("user1", "search", "a", "page", "1"));
+
+        assertThat(etag).startsWith("\"inventory-a.10.5-").endsWith("\"");
+        assertThat(catalogVersion.pageEtag("inventory", request("user1", "page", "1", "search", "a"))).isEqualTo(etag);
+        assertThat(catalogVersion.pageEtag("inventory", request("user1", "search", "a", "page", "2"))).isNotEqualTo(etag);
+        assertThat(catalogVersion.pageEtag("inventory", request("user2", "search", "a", "page", "1"))).isNotEqualTo(etag);
+    }
+
+    private void stubSignature(String first, String... rest) {
+        when(jdbcTemplate.queryForObject(anyString(), ArgumentMatchers.<RowMapper<String>>any())).thenReturn(first, rest);
+    }
+
+    private static MockHttpServletRequest request(String user, String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inventory");
+        request.setRemoteUser(user);
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,157 @@
+package com.inventory.inventory_management.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.inventory.inventory_management.dto.response.InventoryItemDto;
+import com.inventory.inventory_management.repository.InventoryItemQuery;
+import com.inventory.inventory_management.repository.ProductRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * InventoryItemServiceのユニットテスト
+ * 検索条件の変換とカーソルの作成・復元を検証
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryItemService ユニットテスト")
+class InventoryItemServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private InventoryItemService inventoryItemService;
+
+    /**
+     * 各テストメソッド実行前の初期化処理
+     */
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryItemService, "pageSize", 20);
+    }
+
+    @Test
+    @DisplayName("在庫状態フィルタ・ページ番号が検索条件に変換される")
+    void findItems_ConvertsConditions() {
+        when(productRepository.findInventoryItems(any())).thenReturn(List.of());
+
+        inventoryItemService.findItems("  ノート  ", "Electronics", "active", "low", "stock", false, 2, null, null);
+
+        ArgumentCaptor<InventoryItemQuery> captor = ArgumentCaptor.forClass(InventoryItemQuery.class);
+        verify(productRepository).findInventoryItems(captor.capture());
+        InventoryItemQuery query = captor.getValue();
+        assertEquals("ノート", query.keyword());
+        assertEquals(1, query.minStock());
+        assertEquals(20, query.maxStock());
+        assertEquals(InventoryItemQuery.Order.STOCK, query.order());
+        assertNull(query.after());
+        assertEquals(40, query.offset());
+        assertEquals(21, query.limit(), "次のページの有無を判定するため 1 件多く取得する");
+    }
+
+    @Test
+    @DisplayName("不明なソート種別は画面と同じく商品名順になる")
+    void findItems_UnknownSort_DefaultsToName() {
+        when(productRepository.findInventoryItems(any())).thenReturn(List.of());
+
+        inventoryItemService.findItems(null, null, null, "all", "invalid", false, 0, null, null);
+
+        verify(productRepository).findInventoryItems(argThat(query ->
+                query.order() == InventoryItemQuery.Order.NAME && query.minStock() == null && query.maxStock() == null));
+    }
+
+    @Test
+    @DisplayName("取得件数より多く見つかった場合は次のページのカーソルを返す")
+    void findItems_MoreThanLimit_ReturnsNextCursor() {
+        List<InventoryItemDto> found = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            found.add(item(i, 10 * i));
+        }
+        when(productRepository.findInventoryItems(any())).thenReturn(found);
+
+        InventoryItemService.InventoryItems result =
+                inventoryItemService.findItems(null, null, null, null, "stock", false, 0, null, 2);
+
+        assertEquals(2, result.items().size());
+        assertNotNull(result.nextCursor());
+
+        // カーソルは最後に返した商品の位置を指す
+        InventoryItemQuery.Cursor after =
+                InventoryItemService.decodeCursor(result.nextCursor(), InventoryItemQuery.Order.STOCK);
+        assertEquals(2, after.id());
+        assertEquals("20", after.value());
+    }
+
+    @Test
+    @DisplayName("取得件数以下の場合は次のページのカーソルを返さない")
+    void findItems_WithinLimit_ReturnsNoCursor() {
+        when(productRepository.findInventoryItems(any())).thenReturn(List.of(item(1, 10)));
+
+        InventoryItemService.InventoryItems result =
+                inventoryItemService.findItems(null, null, null, null, null, false, 0, null, 2);
+
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("カーソルを指定した場合はカーソルの位置から検索する")
+    void findItems_WithCursor_SearchesAfterCursor() {
+        InventoryItemDto last = item(5, 30);
+        String cursor = InventoryItemService.encodeCursor(InventoryItemQuery.Order.UPDATED, last);
+        when(productRepository.findInventoryItems(any())).thenReturn(List.of());
+
+        inventoryItemService.findItems(null, null, null, null, "updated", true, 0, cursor, null);
+
+        verify(productRepository).findInventoryItems(argThat(query ->
+                query.includeDeleted()
+                        && query.after().id() == 5
+                        && query.after().value().equals(last.updatedAt().toString())));
+    }
+
+    @Test
+    @DisplayName("不正なカーソル・並び順の異なるカーソルはIllegalArgumentException")
+    void findItems_InvalidCursor_ThrowsException() {
+        String stockCursor = InventoryItemService.encodeCursor(InventoryItemQuery.Order.STOCK, item(1, 10));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                inventoryItemService.findItems(null, null, null, null, "stock", false, 0, "!!invalid!!", null));
+        assertThrows(IllegalArgumentException.class, () ->
+                inventoryItemService.findItems(null, null, null, null, "name", false, 0, stockCursor, null));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("不正なページ番号・取得件数はIllegalArgumentException")
+    void findItems_InvalidPaging_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                inventoryItemService.findItems(null, null, null, null, null, false, -1, null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                inventoryItemService.findItems(null, null, null, null, null, false, 0, null, 0));
+        assertThrows(IllegalArgumentException.class, () ->
+                inventoryItemService.findItems(null, null, null, null, null, false, 0, null, InventoryItemService.MAX_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () ->
+                inventoryItemService.findItems(null, null, null, null, null, false, Integer.MAX_VALUE, null, 100));
+        verifyNoInteractions(productRepository);
+    }
+
+    private static InventoryItemDto item(int id, int stock) {
+        return new InventoryItemDto(id, "PRD" + id, "商品" + id, "Electronics", new BigDecimal("1000.00"),
+                stock, "active", LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id), null);
+    }
+}
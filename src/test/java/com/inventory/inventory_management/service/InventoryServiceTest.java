@@ -45,6 +45,12 @@ class InventoryServiceTest {
     @Mock
     private StockTransactionRepository stockTransactionRepository;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private StockChangeBroadcaster stockChangeBroadcaster;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -214,7 +220,7 @@ class InventoryServiceTest {
         // Then: 商品名の昇順ソートが適用される
         verify(productRepository).findBySearchConditions(
                 isNull(), isNull(), isNull(), 
-                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.ASC, "productName"))));
+                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.ASC, "productName").and(Sort.by(Sort.Direction.ASC, "id")))));
     }
 
     /**
@@ -235,7 +241,7 @@ class InventoryServiceTest {
         // Then: 在庫数の昇順ソートが適用される
         verify(productRepository).findBySearchConditions(
                 isNull(), isNull(), isNull(), 
-                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.ASC, "stock"))));
+                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.ASC, "stock").and(Sort.by(Sort.Direction.ASC, "id")))));
     }
 
     /**
@@ -256,7 +262,7 @@ class InventoryServiceTest {
         // Then: 更新日の降順ソートが適用される
         verify(productRepository).findBySearchConditions(
                 isNull(), isNull(), isNull(), 
-                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.DESC, "updatedAt"))));
+                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.DESC, "updatedAt").and(Sort.by(Sort.Direction.ASC, "id")))));
     }
 
     /**
@@ -605,6 +611,7 @@ class InventoryServiceTest {
             "入庫処理".equals(transaction.getRemarks()) &&
             "testuser".equals(transaction.getUserId())
         ));
+        verify(stockChangeBroadcaster).stockChanged(1, 50, 60);
     }
 
     /**
@@ -0,0 +1,115 @@
+package com.inventory.inventory_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.inventory.inventory_management.repository.ProductRepository;
+
+/**
+ * ProductCodeAllocatorのユニットテスト
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCodeAllocator ユニットテスト")
+class ProductCodeAllocatorTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ProductCodeAllocator productCodeAllocator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productCodeAllocator, "poolSize", 10);
+        ReflectionTestUtils.setField(productCodeAllocator, "bloomExpectedCodes", 1000);
+    }
+
+    @Test
+    @DisplayName("allocate: プールから払い出すため、補充までは重複確認クエリを発行しない")
+    void allocate_UsesPoolWithoutQueryPerCode() {
+        when(productRepository.findExistingProductCodes(any())).thenReturn(List.of());
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 11; i++) {
+            codes.add(productCodeAllocator.allocate());
+        }
+
+        assertEquals(11, codes.size());
+        codes.forEach(code -> assertTrue(code.matches("[0-9A-F]{8}")));
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        verify(productRepository, times(1)).findExistingProductCodes(any());
+        verify(productRepository, times(0)).findByProductCode(any());
+    }
+
+    @Test
+    @DisplayName("allocate: 既存コードと重複した候補を除いて必要数を払い出す")
+    void allocate_ExcludesExistingCodes() {
+        List<String> duplicated = new ArrayList<>();
+        when(productRepository.findExistingProductCodes(any()))
+                .thenAnswer(invocation -> {
+                    Collection<String> candidates = invocation.getArgument(0);
+                    duplicated.add(candidates.iterator().next());
+                    return List.copyOf(duplicated);
+                })
+                .thenReturn(List.of());
+
+        List<String> codes = productCodeAllocator.allocate(5);
+
+        assertEquals(5, codes.size());
+        assertEquals(5, codes.stream().distinct().count());
+        assertFalse(codes.contains(duplicated.get(0)));
+        verify(productRepository, times(2)).findExistingProductCodes(any());
+    }
+
+    @Test
+    @DisplayName("allocate: ブルームフィルタの登録数が想定件数を超えると次回の補充時に作り直す")
+    void allocate_RebuildsFilterWhenSaturated() {
+        ReflectionTestUtils.setField(productCodeAllocator, "bloomExpectedCodes", 5);
+        when(productRepository.findExistingProductCodes(any())).thenReturn(List.of());
+
+        productCodeAllocator.allocate(1);
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        productCodeAllocator.allocate(10);
+        productCodeAllocator.allocate(1);
+
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("allocate: 重複が解消しない場合はIllegalStateException")
+    void allocate_WhenAlwaysDuplicated_ThrowsException() {
+        when(productRepository.findExistingProductCodes(any()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<String>>getArgument(0)));
+
+        assertThrows(IllegalStateException.class, () -> productCodeAllocator.allocate(3));
+        verify(productRepository, times(10)).findExistingProductCodes(any());
+    }
+}
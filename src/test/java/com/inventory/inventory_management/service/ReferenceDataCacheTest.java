@@ -0,0 +1,114 @@
+package com.inventory.inventory_management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.inventory.inventory_management.entity.Role;
+import com.inventory.inventory_management.repository.ProductRepository;
+import com.inventory.inventory_management.repository.RoleRepository;
+
+/**
+ * ReferenceDataCacheのテストクラス
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceDataCacheのテスト")
+class ReferenceDataCacheTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ReferenceDataCache cache;
+
+    @Test
+    @DisplayName("ロール一覧は初回のみ読み込み、破棄後に読み込み直す")
+    void testLoadsRolesOnce() {
+        Role role = new Role();
+        role.setRoleName("ROLE_USER");
+        when(roleRepository.findAll()).thenReturn(List.of(role));
+
+        assertThat(cache.getRoles()).containsExactly(role);
+        assertThat(cache.getRoles()).containsExactly(role);
+        verify(roleRepository, times(1)).findAll();
+
+        cache.invalidateRoles();
+        cache.getRoles();
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("カテゴリ一覧は初回のみ読み込み、追加は差分で反映してバージョンを進める")
+    void testAddsCategoryIncrementally() {
+        when(productRepository.findAllCategories()).thenReturn(List.of("Books", "Electronics"));
+        ReferenceDataCache.Categories first = cache.getCategorySnapshot();
+
+        cache.productChanged(null, "Food");
+        cache.productChanged(null, "Books");
+
+        ReferenceDataCache.Categories second = cache.getCategorySnapshot();
+        assertThat(second.values()).containsExactly("Books", "Electronics", "Food");
+        assertThat(second.version()).isEqualTo(first.version() + 1);
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        verify(productRepository, times(1)).findAllCategories();
+    }
+
+    @Test
+    @DisplayName("未削除の商品が残っていないカテゴリのみ除外する")
+    void testRemovesCategoryOnlyWhenNoProductRemains() {
+        when(productRepository.findAllCategories()).thenReturn(List.of("Books", "Electronics"));
+        cache.getCategories();
+        when(productRepository.existsByCategoryAndDeletedAtIsNull("Books")).thenReturn(true);
+        when(productRepository.existsByCategoryAndDeletedAtIsNull("Electronics")).thenReturn(false);
+
+        cache.productChanged("Books", null);
+        assertThat(cache.getCategories()).containsExactly("Books", "Electronics");
+
+        cache.productChanged("Electronics", "Food");
+        assertThat(cache.getCategories()).containsExactly("Books", "Food");
+    }
+
+    @Test
+    @DisplayName("未読み込みの場合は差分を反映せず、破棄後は読み込み直す")
+    void testInvalidateReloads() {
+        cache.productChanged("Books", null);
+        verify(productRepository, never()).existsByCategoryAndDeletedAtIsNull("Books");
+
+        when(productRepository.findAllCategories()).thenReturn(List.of("Books"));
+        String etag = cache.getCategorySnapshot().etag();
+        cache.invalidateCategories();
+
+        // 内容が同じであれば ETag も同じ
+        assertThat(cache.getCategorySnapshot().etag()).isEqualTo(etag);
+        verify(productRepository, times(2)).findAllCategories();
+    }
+
+    @Test
+    @DisplayName("定期更新は内容が変わった場合のみバージョンを進める")
+    void testRefreshBumpsVersionOnlyOnChange() {
+        when(productRepository.findAllCategories()).thenReturn(List.of("Books"));
+        long version = cache.getCategorySnapshot().version();
+
+        cache.refresh();
+        assertThat(cache.getCategorySnapshot().version()).isEqualTo(version);
+
+        when(productRepository.findAllCategories()).thenReturn(List.of("Books", "Toys"));
+        cache.refresh();
+        assertThat(cache.getCategorySnapshot().version()).isEqualTo(version + 1);
+        assertThat(cache.getCategories()).containsExactly("Books", "Toys");
+    }
+}
@@ -0,0 +1,179 @@
+package com.inventory.inventory_management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.inventory.inventory_management.dto.response.StockChangeEvent;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * StockChangeBroadcasterのテスト
+ * 接続への送信の内容は結合テスト（StockStreamIntegrationTest）で検証する
+ */
+@DisplayName("StockChangeBroadcasterのテスト")
+class StockChangeBroadcasterTest {
+
+    private StockChangeBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (broadcaster != null) {
+            broadcaster.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("在庫数から在庫状態を求め、続いた変更は最初の変更前の状態と最後の在庫数にまとめる")
+    void event_LevelAndMerge() {
+        assertEquals("out", StockChangeEvent.level(0));
+        assertEquals("low", StockChangeEvent.level(1));
+        assertEquals("low", StockChangeEvent.level(20));
+        assertEquals("ok", StockChangeEvent.level(21));
+
+        StockChangeEvent merged = StockChangeEvent.of(1, 30, 10).merge(StockChangeEvent.of(1, 10, 0));
+
+        assertEquals(new StockChangeEvent(1, 0, "out", "ok"), merged);
+    }
+
+    @Test
+    @DisplayName("購読数が上限に達している場合はIllegalStateException")
+    void subscribe_OverLimit_ThrowsException() {
+        broadcaster = create(2);
+
+        assertNotNull(broadcaster.subscribe());
+        assertNotNull(broadcaster.subscribe());
+        assertThrows(IllegalStateException.class, broadcaster::subscribe);
+
+        StockChangeBroadcaster.Stats stats = broadcaster.getStats();
+        assertEquals(2, stats.subscribers());
+        assertEquals(1, stats.rejected());
+    }
+
+    @Test
+    @DisplayName("トランザクション内の変更はコミット後に受け付ける")
+    void stockChanged_InTransaction_PublishedAfterCommit() {
+        broadcaster = create(10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.stockChanged(1, 10, 5);
+        assertEquals(0, broadcaster.getStats().published());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, broadcaster.getStats().published());
+    }
+
+    @Test
+    @DisplayName("ロールバックした変更は受け付けない")
+    void stockChanged_RolledBack_NotPublished() {
+        broadcaster = create(10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.stockChanged(1, 10, 5);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, broadcaster.getStats().published());
+    }
+
+    @Test
+    @DisplayName("書き込みが応答しない購読者がいても他の購読者には配信し、send-timeout を超えた購読者は外す")
+    void stockChanged_StalledSubscriber_OthersStillReceiveEvents() throws InterruptedException {
+        broadcaster = new StockChangeBroadcaster(JsonMapper.builder().build(), 10, 256, 10, 25000, 60000, 200, 1);
+        broadcaster.afterPropertiesSet();
+        BlockingEmitter stalled = new BlockingEmitter();
+        RecordingEmitter active = new RecordingEmitter();
+        broadcaster.subscribe(stalled);
+        broadcaster.subscribe(active);
+
+        broadcaster.stockChanged(1, 10, 5);
+        assertTrue(stalled.entered.await(5, TimeUnit.SECONDS));
+        assertTrue(active.received.tryAcquire(5, TimeUnit.SECONDS));
+
+        // 応答しない購読者の書き込み中も、送信の開始用のスレッド（1 スレッド）は止まらない
+        broadcaster.stockChanged(2, 10, 5);
+        assertTrue(active.received.tryAcquire(5, TimeUnit.SECONDS));
+
+        assertTrue(stalled.interrupted.await(5, TimeUnit.SECONDS));
+        StockChangeBroadcaster.Stats stats = broadcaster.getStats();
+        assertEquals(1, stats.dropped());
+        assertEquals(1, stats.subscribers());
+
+        broadcaster.stockChanged(3, 10, 5);
+        assertTrue(active.received.tryAcquire(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("購読数・バッファ・書き込みの待ち時間・スレッド数が0以下の場合はIllegalArgumentException")
+    void constructor_InvalidSettings_ThrowsException() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockChangeBroadcaster(jsonMapper, 0, 256, 250, 25000, 60000, 10000, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockChangeBroadcaster(jsonMapper, 10, 0, 250, 25000, 60000, 10000, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockChangeBroadcaster(jsonMapper, 10, 256, 250, 25000, 60000, 0, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockChangeBroadcaster(jsonMapper, 10, 256, 250, 25000, 60000, 10000, 0));
+    }
+
+    private static StockChangeBroadcaster create(int maxSubscribers) {
+        StockChangeBroadcaster broadcaster = new StockChangeBroadcaster(JsonMapper.builder().build(),
+                maxSubscribers, 256, 250, 25000, 60000, 10000, 1);
+        broadcaster.afterPropertiesSet();
+        return broadcaster;
+    }
+
+    /**
+     * 書き込みが応答しない接続（割り込まれるまでブロックする）
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new InterruptedIOException("割り込まれました");
+            }
+        }
+    }
+
+    /**
+     * 書き込みの回数を記録する接続
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final Semaphore received = new Semaphore(0);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.release();
+        }
+    }
+}
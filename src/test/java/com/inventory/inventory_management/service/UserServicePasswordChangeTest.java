@@ -22,6 +22,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.inventory.inventory_management.entity.User;
 import com.inventory.inventory_management.repository.UserRepository;
+import com.inventory.inventory_management.security.PasswordVerificationRejectedException;
+import com.inventory.inventory_management.security.UserDetailsCache;
 
 /**
  * UserServiceのテスト
@@ -35,6 +37,9 @@ class UserServicePasswordChangeTest {
     
     @Mock
     private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
     
     @InjectMocks
     private UserService userService;
@@ -76,8 +81,23 @@ class UserServicePasswordChangeTest {
         verify(passwordEncoder, times(2)).matches(anyString(), anyString());
         verify(passwordEncoder, times(1)).encode(newPassword);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userDetailsCache, times(1)).evict(username);
     }
     
+    @Test
+    @DisplayName("異常系: ログイン集中によりパスワード検証が拒否された場合はそのまま送出する")
+    void changePassword_VerificationRejected_Rethrows() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("OldPass123!", testUser.getPassword()))
+                .thenThrow(new PasswordVerificationRejectedException());
+
+        // When & Then
+        assertThrows(PasswordVerificationRejectedException.class,
+                () -> userService.changePassword("testuser", "OldPass123!", "NewPass123!"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     @DisplayName("異常系: ユーザーが見つからない")
     void changePassword_UserNotFound() {
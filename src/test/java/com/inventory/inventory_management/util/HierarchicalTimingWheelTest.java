@@ -0,0 +1,142 @@
+package com.inventory.inventory_management.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * HierarchicalTimingWheelのテストクラス
+ */
+@DisplayName("HierarchicalTimingWheelのテスト")
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_767_225_600L;
+
+    @Test
+    @DisplayName("期限に達した要素だけを取り出す")
+    void testAdvanceExpiresOnlyDueNodes() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(60, 2, START);
+        Item soon = new Item("soon");
+        Item later = new Item("later");
+        wheel.schedule(soon, START + 90);
+        wheel.schedule(later, START + 24 * 60 * 60);
+
+        List<Item> expired = new ArrayList<>();
+        assertThat(wheel.advance(START + 60, expired::add)).isZero();
+        assertThat(wheel.advance(START + 120, expired::add)).isEqualTo(1);
+
+        assertThat(expired).containsExactly(soon);
+        assertThat(soon.isScheduled()).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("再登録すると期限が更新される")
+    void testRescheduleMovesDeadline() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(60, 2, START);
+        Item item = new Item("item");
+        wheel.schedule(item, START + 120);
+        wheel.schedule(item, START + 600);
+
+        List<Item> expired = new ArrayList<>();
+        wheel.advance(START + 300, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advance(START + 600, expired::add);
+        assertThat(expired).containsExactly(item);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("登録解除した要素は取り出されない")
+    void testCancel() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(60, 2, START);
+        Item item = new Item("item");
+        wheel.schedule(item, START + 120);
+
+        assertThat(wheel.cancel(item)).isTrue();
+        assertThat(wheel.cancel(item)).isFalse();
+
+        List<Item> expired = new ArrayList<>();
+        wheel.advance(START + 600, expired::add);
+        assertThat(expired).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("上位階層・範囲外の期限も期限到達後の最初の進行で取り出す")
+    void testRandomDeadlinesExpireOnTime() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(60, 2, START);
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Item item = new Item("item" + i);
+            // 最上位階層の範囲（約68時間）を超える期限も含める
+            wheel.schedule(item, START + random.nextInt(100 * 60 * 60));
+            items.add(item);
+        }
+
+        long now = START;
+        long previous = START;
+        List<Item> expired = new ArrayList<>();
+        while (wheel.size() > 0) {
+            previous = now;
+            now += 1 + random.nextInt(600);
+            long current = now;
+            long before = previous;
+            wheel.advance(now, item -> {
+                assertThat(item.getDeadline()).isLessThanOrEqualTo(current);
+                // 前回の進行時点で期限切れだった要素が取り残されていないこと（1 tick の誤差は許容）
+                assertThat(item.getDeadline()).isGreaterThan(before - 60);
+                expired.add(item);
+            });
+        }
+        assertThat(expired).hasSameSizeAs(items);
+    }
+
+    @Test
+    @DisplayName("pollEarliestは最も早く期限切れになるスロットの要素を返す")
+    void testPollEarliest() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(60, 2, START);
+        Item far = new Item("far");
+        Item near = new Item("near");
+        Item middle = new Item("middle");
+        wheel.schedule(far, START + 20 * 60 * 60);
+        wheel.schedule(near, START + 5 * 60);
+        wheel.schedule(middle, START + 3 * 60 * 60);
+
+        assertThat(wheel.pollEarliest()).isSameAs(near);
+        assertThat(wheel.pollEarliest()).isSameAs(middle);
+        assertThat(wheel.pollEarliest()).isSameAs(far);
+        assertThat(wheel.pollEarliest()).isNull();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("不正な引数は例外とする")
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<Item>(0, 2, START))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<Item>(60, 0, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class Item extends HierarchicalTimingWheel.Node {
+
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
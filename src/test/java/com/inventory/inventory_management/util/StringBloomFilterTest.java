@@ -0,0 +1,68 @@
+package com.inventory.inventory_management.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * StringBloomFilterのユニットテスト
+ */
+@DisplayName("StringBloomFilter ユニットテスト")
+class StringBloomFilterTest {
+
+    @Test
+    @DisplayName("mightContain: 登録済みの値は必ず true（偽陰性なし）")
+    void mightContain_RegisteredValues_AlwaysTrue() {
+        StringBloomFilter filter = new StringBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(String.format("%08X", i * 7919));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(String.format("%08X", i * 7919)));
+        }
+    }
+
+    @Test
+    @DisplayName("mightContain: 未登録の値の偽陽性率が設計値程度に収まる")
+    void mightContain_UnregisteredValues_FalsePositiveRateIsBounded() {
+        StringBloomFilter filter = new StringBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("P" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("Q" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "falsePositives=" + falsePositives);
+    }
+
+    @Test
+    @DisplayName("isSaturated: 想定件数を超えて登録すると true")
+    void isSaturated_AfterExpectedInsertions_ReturnsTrue() {
+        StringBloomFilter filter = new StringBloomFilter(100, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.put("P" + i);
+        }
+        assertFalse(filter.isSaturated());
+
+        filter.put("P100");
+
+        assertTrue(filter.isSaturated());
+        assertEquals(101, filter.getInsertions());
+    }
+
+    @Test
+    @DisplayName("コンストラクタ: 不正な偽陽性率はIllegalArgumentException")
+    void constructor_InvalidRate_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new StringBloomFilter(100, 1.0));
+    }
+}
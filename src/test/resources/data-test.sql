@@ -39,7 +39,7 @@ INSERT INTO products (id, product_code, product_name, category, sku, price, stoc
 INSERT INTO products (id, product_code, product_name, category, sku, price, stock, status, description, created_at, updated_at) VALUES (4, 'P0000004', 'テスト商品D', 'Books', 'SKU-TEST-004', 1500.00, 0, 'active', 'テスト用の商品D（在庫切れ）', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 
 -- テスト用在庫履歴データ（remarksカラムを含む）
-INSERT INTO stock_transactions (product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (1, 'in', 50, 0, 50, 'testuser', CURRENT_TIMESTAMP, '初期在庫入庫');
-INSERT INTO stock_transactions (product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (2, 'in', 30, 0, 30, 'testuser', CURRENT_TIMESTAMP, '初期在庫入庫');
-INSERT INTO stock_transactions (product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (3, 'in', 20, 0, 20, 'adminuser', CURRENT_TIMESTAMP, '初期在庫入庫');
-INSERT INTO stock_transactions (product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (3, 'out', 10, 20, 10, 'adminuser', CURRENT_TIMESTAMP, 'テスト出庫処理');
+INSERT INTO stock_transactions (id, product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (1, 1, 'in', 50, 0, 50, 'testuser', CURRENT_TIMESTAMP, '初期在庫入庫');
+INSERT INTO stock_transactions (id, product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (2, 2, 'in', 30, 0, 30, 'testuser', CURRENT_TIMESTAMP, '初期在庫入庫');
+INSERT INTO stock_transactions (id, product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (3, 3, 'in', 20, 0, 20, 'adminuser', CURRENT_TIMESTAMP, '初期在庫入庫');
+INSERT INTO stock_transactions (id, product_id, transaction_type, quantity, before_stock, after_stock, user_id, transaction_date, remarks) VALUES (4, 3, 'out', 10, 20, 10, 'adminuser', CURRENT_TIMESTAMP, 'テスト出庫処理');
@@ -0,0 +1,6 @@
+-- テスト用主キー採番テーブルの初期化（Hibernate のスキーマ生成直後に 1 回だけ実行される）
+-- data-test.sql の固定 ID と衝突しないよう、1001 から採番する
+DELETE FROM id_generators;
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('products', 1000);
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('stock_transactions', 1000);
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('users', 1000);
@@ -100,3 +100,49 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL ON UPDATE CASCADE
 );
+
+-- 主キー採番テーブル（テストでは Hibernate が生成し、id-generators-test.sql で初期化する）
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- 商品カタログの変更カウンタ
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id INT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- 棚卸ステージングテーブル
+CREATE TABLE IF NOT EXISTS stock_take_staging (
+    run_id VARCHAR(36) NOT NULL,
+    line_number INT NOT NULL,
+    product_code VARCHAR(8) NOT NULL,
+    counted_qty INTEGER NOT NULL,
+    PRIMARY KEY (run_id, line_number),
+    CHECK (counted_qty >= 0)
+);
+CREATE INDEX IF NOT EXISTS idx_stock_take_staging_code ON stock_take_staging(run_id, product_code);
+
+-- ログイン試行回数テーブル
+CREATE TABLE IF NOT EXISTS login_attempts (
+    scope VARCHAR(16) NOT NULL,
+    attempt_key VARCHAR(255) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_attempt_at BIGINT NOT NULL,
+    PRIMARY KEY (scope, attempt_key)
+);
+CREATE INDEX IF NOT EXISTS idx_login_attempts_last ON login_attempts(last_attempt_at);
+
+-- セッションテーブル
+CREATE TABLE IF NOT EXISTS sessions (
+    session_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    principal_name VARCHAR(100) NULL,
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    attributes BLOB NULL
+);
+CREATE INDEX IF NOT EXISTS idx_sessions_principal ON sessions(principal_name);
+CREATE INDEX IF NOT EXISTS idx_sessions_expiry ON sessions(expiry_time);
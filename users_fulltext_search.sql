@@ -0,0 +1,17 @@
+-- ユーザー検索の FULLTEXT インデックス（ft_users_search）の作成
+-- user.search.fulltext=true にする前に、MySQL で手動で実行する（schema.sql では作成しない）
+--
+-- ngram パーサーはストップワードを含むトークンを索引しないため、
+-- ストップワードを無効にした状態でインデックスを作成しないと、LIKE では一致するユーザーが絞り込みで漏れる。
+-- innodb_ft_enable_stopword はインデックスの作成時に参照されるため、同じセッションで設定してから作成すること。
+
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+-- 以前のバージョンの起動時に作成されたインデックスがある場合は、先に削除して作り直す
+-- ALTER TABLE users DROP INDEX ft_users_search;
+
+CREATE FULLTEXT INDEX ft_users_search ON users(username, email, full_name) WITH PARSER ngram;
+
+-- user.search.fulltext を使わない環境で、以前のバージョンが作成したインデックスを残している場合は、
+-- ユーザーの登録・更新ごとの索引更新を避けるため、次の文だけを実行して削除する
+-- ALTER TABLE users DROP INDEX ft_users_search;